@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.benchmarks;
+
+import net.pkhapps.appmodel4flow.property.CombinedValue;
+import net.pkhapps.appmodel4flow.property.ComputedValue;
+import net.pkhapps.appmodel4flow.property.DefaultObservableValue;
+import net.pkhapps.appmodel4flow.property.ObservableValue;
+import net.pkhapps.appmodel4flow.property.support.Combiners;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks propagating a change through graphs of {@link ComputedValue}s and {@link CombinedValue}s:
+ * <ul>
+ * <li>a <em>deep</em> graph, which is a chain of computed values,</li>
+ * <li>a <em>wide</em> graph, which is a single combined value with many dependencies, and</li>
+ * <li>a <em>ladder</em> graph, where every layer consists of two computed values that both depend on both values of
+ * the previous layer. Without topological scheduling, the number of recomputations would grow exponentially with
+ * the number of layers.</li>
+ * </ul>
+ * The total number of recomputations during each iteration is reported as a secondary result.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComputedGraphBenchmark {
+
+    @Param({"10", "100"})
+    public int size;
+
+    private DefaultObservableValue<Integer> deepSource;
+    private ObservableValue<Integer> deepResult;
+    private final List<DefaultObservableValue<Boolean>> wideSources = new ArrayList<>();
+    private ObservableValue<Boolean> wideResult;
+    private DefaultObservableValue<Integer> ladderSource;
+    private ObservableValue<Integer> ladderResult;
+    private int counter;
+    private long recomputations;
+
+    @Setup
+    public void setUp() {
+        deepSource = new DefaultObservableValue<>(0);
+        ObservableValue<Integer> previous = deepSource;
+        for (int i = 0; i < size; ++i) {
+            var dependency = previous;
+            previous = new ComputedValue<>(() -> {
+                recomputations++;
+                return dependency.getValue() + 1;
+            }, dependency);
+        }
+        deepResult = previous;
+
+        List<ObservableValue<Boolean>> flags = new ArrayList<>();
+        for (int i = 0; i < size; ++i) {
+            var flag = new DefaultObservableValue<>(true);
+            wideSources.add(flag);
+            flags.add(flag);
+        }
+        wideResult = new CombinedValue<>(Combiners.allTrue(), flags);
+
+        // Keep the ladder at a size where a naive implementation would still terminate
+        var layers = Math.min(size, 20);
+        ladderSource = new DefaultObservableValue<>(0);
+        ObservableValue<Integer> left = new ComputedValue<>(ladderSource::getValue, ladderSource);
+        ObservableValue<Integer> right = new ComputedValue<>(() -> -ladderSource.getValue(), ladderSource);
+        for (int i = 0; i < layers; ++i) {
+            var previousLeft = left;
+            var previousRight = right;
+            left = new ComputedValue<>(() -> {
+                recomputations++;
+                return previousLeft.getValue() + previousRight.getValue();
+            }, previousLeft, previousRight);
+            right = new ComputedValue<>(() -> {
+                recomputations++;
+                return previousLeft.getValue() - previousRight.getValue();
+            }, previousLeft, previousRight);
+        }
+        ladderResult = left;
+    }
+
+    @Benchmark
+    public Integer deep(RecomputeCounter recomputeCounter) {
+        var before = recomputations;
+        deepSource.setValue(++counter);
+        recomputeCounter.recomputations += recomputations - before;
+        return deepResult.getValue();
+    }
+
+    @Benchmark
+    public Boolean wide() {
+        var flag = wideSources.get(++counter % wideSources.size());
+        flag.setValue(!flag.getValue());
+        return wideResult.getValue();
+    }
+
+    @Benchmark
+    public Integer ladder(RecomputeCounter recomputeCounter) {
+        var before = recomputations;
+        ladderSource.setValue(++counter);
+        recomputeCounter.recomputations += recomputations - before;
+        return ladderResult.getValue();
+    }
+
+    /**
+     * Reports the number of recomputations as a secondary benchmark result.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class RecomputeCounter {
+
+        public long recomputations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            recomputations = 0;
+        }
+    }
+}
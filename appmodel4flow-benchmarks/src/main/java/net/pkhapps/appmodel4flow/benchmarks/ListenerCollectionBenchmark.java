@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.benchmarks;
+
+import com.vaadin.flow.function.SerializableConsumer;
+import net.pkhapps.appmodel4flow.util.ListenerCollection;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link ListenerCollection#fireEvent(Object)} with different numbers of strong and weak listeners.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListenerCollectionBenchmark {
+
+    @Param({"1", "10", "1000"})
+    public int listenerCount;
+
+    @Param({"strong", "weak"})
+    public String reference;
+
+    private final List<SerializableConsumer<String>> listeners = new ArrayList<>();
+
+    private ListenerCollection<String> listenerCollection;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        listenerCollection = new ListenerCollection<>();
+        for (int i = 0; i < listenerCount; ++i) {
+            SerializableConsumer<String> listener = blackhole::consume;
+            // Keep the listeners strongly reachable so that the weak ones are not garbage collected
+            listeners.add(listener);
+            if ("weak".equals(reference)) {
+                listenerCollection.addWeakListener(listener);
+            } else {
+                listenerCollection.addListener(listener);
+            }
+        }
+    }
+
+    @Benchmark
+    public void fireEvent() {
+        listenerCollection.fireEvent("event");
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.benchmarks;
+
+import net.pkhapps.appmodel4flow.property.DefaultObservableValue;
+import net.pkhapps.appmodel4flow.property.ObservableValue;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks chains of {@link ObservableValue#map(com.vaadin.flow.function.SerializableFunction) mapped} values, both
+ * when the source value changes and when the end of the chain is read repeatedly.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MappedValueBenchmark {
+
+    @Param({"1", "10"})
+    public int chainLength;
+
+    private DefaultObservableValue<Integer> source;
+    private ObservableValue<Integer> observedEnd;
+    private ObservableValue<Integer> unobservedEnd;
+    private int counter;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        source = new DefaultObservableValue<>(0);
+        ObservableValue<Integer> observed = source;
+        ObservableValue<Integer> unobserved = source;
+        for (int i = 0; i < chainLength; ++i) {
+            observed = observed.map(value -> value + 1);
+            unobserved = unobserved.map(value -> value + 1);
+        }
+        observed.addValueChangeListener(blackhole::consume);
+        observedEnd = observed;
+        unobservedEnd = unobserved;
+    }
+
+    @Benchmark
+    public void setSourceValue() {
+        source.setValue(++counter);
+    }
+
+    @Benchmark
+    public Integer getValue() {
+        return unobservedEnd.getValue();
+    }
+
+    @Benchmark
+    public Integer setSourceValueAndGetValue() {
+        source.setValue(++counter);
+        return observedEnd.getValue();
+    }
+}
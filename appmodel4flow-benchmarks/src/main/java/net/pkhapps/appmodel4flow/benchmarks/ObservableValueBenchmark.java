@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.benchmarks;
+
+import net.pkhapps.appmodel4flow.property.DefaultObservableInt;
+import net.pkhapps.appmodel4flow.property.DefaultObservableValue;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks setting the value of {@link DefaultObservableValue} (and its primitive counterpart
+ * {@link DefaultObservableInt}) that has a single listener.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ObservableValueBenchmark {
+
+    private DefaultObservableValue<Integer> value;
+    private DefaultObservableValue<Integer> valueWithoutListeners;
+    private DefaultObservableInt intValue;
+    private int counter;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        value = new DefaultObservableValue<>(0);
+        value.addValueChangeListener(blackhole::consume);
+        valueWithoutListeners = new DefaultObservableValue<>(0);
+        intValue = new DefaultObservableInt();
+        intValue.addIntChangeListener((sender, oldValue, newValue) -> blackhole.consume(newValue));
+    }
+
+    @Benchmark
+    public void setValue() {
+        value.setValue(++counter);
+    }
+
+    @Benchmark
+    public void setValue_noListeners() {
+        valueWithoutListeners.setValue(++counter);
+    }
+
+    @Benchmark
+    public void setIntValue() {
+        intValue.setIntValue(++counter);
+    }
+}
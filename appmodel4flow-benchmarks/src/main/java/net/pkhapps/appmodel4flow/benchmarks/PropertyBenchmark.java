@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.benchmarks;
+
+import net.pkhapps.appmodel4flow.property.DefaultProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the dirty tracking of {@link DefaultProperty}: making a property dirty and clean again by setting its
+ * value, and resetting the dirty flag.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PropertyBenchmark {
+
+    private DefaultProperty<String> property;
+    private int counter;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        property = new DefaultProperty<>("clean");
+        property.addValueChangeListener(blackhole::consume);
+        property.isDirty().addValueChangeListener(blackhole::consume);
+    }
+
+    @Benchmark
+    public void setValueAndBackToCleanValue() {
+        property.setValue("dirty");
+        property.setValue("clean");
+    }
+
+    @Benchmark
+    public void setValueAndResetDirtyFlag() {
+        property.setValue(Integer.toString(++counter));
+        property.resetDirtyFlag();
+    }
+
+    @Benchmark
+    public void setCleanValue() {
+        property.setCleanValue(Integer.toString(++counter));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.pkhapps.appmodel4flow.benchmarks;
+
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.data.provider.DataProvider;
+import net.pkhapps.appmodel4flow.binding.SelectionModelGridBinding;
+import net.pkhapps.appmodel4flow.selection.DefaultSelectionModel;
+import net.pkhapps.appmodel4flow.selection.Selection;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link SelectionModelGridBinding} with a multi-select grid of twice as many rows as there are selected
+ * rows:
+ * <ul>
+ * <li><em>toggleOneRow</em> toggles a single row through the selection model, which passes the added or removed row
+ * on to the grid,</li>
+ * <li><em>replaceSelection</em> replaces the whole selection with one that differs by a single row, which makes the
+ * binding compare the selection with the selection of the grid, and</li>
+ * <li><em>deselectAllAndReselect</em> updates a grid without a binding the way the binding used to, by deselecting
+ * all rows and then selecting the rows one by one. It is included as a baseline.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SelectionGridBindingBenchmark {
+
+    @Param({"1000", "10000"})
+    public int selectedRows;
+
+    private DefaultSelectionModel<Integer> selectionModel;
+    private Grid<Integer> baselineGrid;
+    private List<Integer> firstSelection;
+    private List<Integer> secondSelection;
+    private boolean toggle;
+
+    @Setup
+    public void setUp() {
+        var rows = new ArrayList<Integer>(selectedRows * 2);
+        for (int i = 0; i < selectedRows * 2; ++i) {
+            rows.add(i);
+        }
+        firstSelection = new ArrayList<>(rows.subList(0, selectedRows));
+        secondSelection = new ArrayList<>(rows.subList(1, selectedRows + 1));
+
+        var grid = createGrid(rows);
+        selectionModel = new DefaultSelectionModel<>();
+        new SelectionModelGridBinding<>(selectionModel, grid);
+        selectionModel.select(firstSelection);
+
+        baselineGrid = createGrid(rows);
+        firstSelection.forEach(baselineGrid::select);
+    }
+
+    private static Grid<Integer> createGrid(List<Integer> rows) {
+        var grid = new Grid<Integer>();
+        grid.setSelectionMode(Grid.SelectionMode.MULTI);
+        grid.setDataProvider(DataProvider.ofCollection(rows));
+        return grid;
+    }
+
+    @Benchmark
+    public Selection<Integer> toggleOneRow() {
+        selectionModel.toggle(selectedRows);
+        return selectionModel.getSelection();
+    }
+
+    @Benchmark
+    public Selection<Integer> replaceSelection() {
+        toggle = !toggle;
+        selectionModel.select(toggle ? secondSelection : firstSelection);
+        return selectionModel.getSelection();
+    }
+
+    @Benchmark
+    public Grid<Integer> deselectAllAndReselect() {
+        toggle = !toggle;
+        baselineGrid.deselectAll();
+        (toggle ? secondSelection : firstSelection).forEach(baselineGrid::select);
+        return baselineGrid;
+    }
+}
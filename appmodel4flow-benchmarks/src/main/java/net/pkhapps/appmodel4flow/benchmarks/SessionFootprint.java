@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.benchmarks;
+
+import net.pkhapps.appmodel4flow.property.*;
+import net.pkhapps.appmodel4flow.property.support.Combiners;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the retained heap of a typical session-sized set of observable values. This is not a JMH benchmark but a
+ * plain program that creates a number of sessions, forces garbage collection and reports the used heap per session.
+ * <p>
+ * Every session contains 200 observable values, 100 computed values depending on two of them each, 100 mapped values
+ * with a listener and 10 combined values with 10 dependencies each. Run it with a fixed heap size to get stable
+ * results:
+ * <pre>
+ * java -Xms1g -Xmx1g -cp appmodel4flow-benchmarks/target/benchmarks.jar net.pkhapps.appmodel4flow.benchmarks.SessionFootprint
+ * </pre>
+ */
+public final class SessionFootprint {
+
+    private static final int SESSIONS = 1000;
+
+    private SessionFootprint() {
+    }
+
+    public static void main(String[] args) {
+        var sessions = args.length > 0 ? Integer.parseInt(args[0]) : SESSIONS;
+        var before = usedHeap();
+        List<Object> retained = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; ++i) {
+            retained.add(createSession());
+        }
+        var after = usedHeap();
+        System.out.printf("Sessions: %d, retained heap per session: %d bytes%n", retained.size(),
+                (after - before) / retained.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object createSession() {
+        List<Object> session = new ArrayList<>();
+        List<DefaultObservableValue<String>> values = new ArrayList<>();
+        for (int i = 0; i < 200; ++i) {
+            var value = new DefaultObservableValue<>("value" + i);
+            values.add(value);
+            session.add(value);
+        }
+        for (int i = 0; i < 100; ++i) {
+            var first = values.get(2 * i);
+            var second = values.get(2 * i + 1);
+            session.add(new ComputedValue<>(() -> first.getValue() + second.getValue(), first, second));
+        }
+        for (int i = 0; i < 100; ++i) {
+            var mapped = values.get(i).map(String::length);
+            ObservableValue.ChangeListener<Integer> listener = (sender, oldValue, value) -> {
+            };
+            mapped.addWeakChangeListener(listener);
+            session.add(mapped);
+            session.add(listener);
+        }
+        for (int i = 0; i < 10; ++i) {
+            ObservableValue<Boolean>[] flags = new ObservableValue[10];
+            for (int j = 0; j < flags.length; ++j) {
+                flags[j] = new DefaultObservableValue<>(true);
+            }
+            session.add(new CombinedValue<>(Combiners.allTrue(), flags));
+            session.add(flags);
+        }
+        return session;
+    }
+
+    private static long usedHeap() {
+        var runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; ++i) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
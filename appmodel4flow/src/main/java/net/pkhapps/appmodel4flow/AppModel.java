@@ -20,10 +20,13 @@ import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.HasEnabled;
 import com.vaadin.flow.component.HasText;
 import com.vaadin.flow.component.HasValue;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.data.binder.HasDataProvider;
 import com.vaadin.flow.data.converter.Converter;
+import com.vaadin.flow.data.provider.DataProvider;
 import com.vaadin.flow.function.SerializableRunnable;
 import com.vaadin.flow.function.SerializableSupplier;
 import com.vaadin.flow.shared.Registration;
@@ -34,12 +37,17 @@ import net.pkhapps.appmodel4flow.action.support.CompositeAction;
 import net.pkhapps.appmodel4flow.binding.*;
 import net.pkhapps.appmodel4flow.binding.group.BindingGroup;
 import net.pkhapps.appmodel4flow.binding.group.FieldBindingGroup;
+import net.pkhapps.appmodel4flow.list.ObservableList;
+import net.pkhapps.appmodel4flow.property.Batch;
 import net.pkhapps.appmodel4flow.property.ObservableValue;
 import net.pkhapps.appmodel4flow.property.Property;
 import net.pkhapps.appmodel4flow.selection.DefaultSelectionModel;
+import net.pkhapps.appmodel4flow.selection.IdSelectionModel;
+import net.pkhapps.appmodel4flow.selection.ItemLoader;
 import net.pkhapps.appmodel4flow.selection.SelectionModel;
 
 import javax.annotation.Nonnull;
+import java.util.Locale;
 import java.util.Objects;
 
 /**
@@ -63,6 +71,20 @@ public final class AppModel {
         return new DefaultSelectionModel<>();
     }
 
+    /**
+     * Creates and returns a new {@link IdSelectionModel} that only stores the ids of the selected items.
+     *
+     * @param dataProvider the data provider to get the ids from, never {@code null}.
+     * @param loader       the loader to load the selected items with, never {@code null}.
+     * @param <T>          the type of the items in the selection.
+     * @return the selection model, never {@code null}.
+     */
+    @Nonnull
+    public static <T> IdSelectionModel<T> newSelectionModel(@Nonnull DataProvider<T, ?> dataProvider,
+                                                           @Nonnull ItemLoader<T> loader) {
+        return new IdSelectionModel<>(dataProvider, loader);
+    }
+
     /**
      * Creates and returns a new {@link BindingGroup}.
      *
@@ -83,6 +105,28 @@ public final class AppModel {
         return new FieldBindingGroup();
     }
 
+    /**
+     * Runs the given command inside a {@link Batch}. All value change events fired during the batch are coalesced and
+     * delivered once when the command has completed.
+     *
+     * @param command the command to run, never {@code null}.
+     * @see Batch#run(Runnable)
+     */
+    public static void batch(@Nonnull Runnable command) {
+        Batch.run(command);
+    }
+
+    /**
+     * Begins a new {@link Batch} (or joins the one that is already active). Use this with a try-with-resources block.
+     *
+     * @return the batch to close when done, never {@code null}.
+     * @see Batch#begin()
+     */
+    @Nonnull
+    public static Batch beginBatch() {
+        return Batch.begin();
+    }
+
     /**
      * Binds the specified {@link SelectionModel} and {@link Grid} together.
      *
@@ -109,6 +153,24 @@ public final class AppModel {
         return new SelectionModelComboBoxBinding<>(model, comboBox);
     }
 
+    /**
+     * Binds the specified {@link ObservableList} to a component that shows items from a data provider, such as a
+     * {@link Grid}. The component is given an {@link ObservableListDataProvider} that only refreshes the affected items
+     * when items are replaced in the list.
+     *
+     * @param list      the list to bind, never {@code null}.
+     * @param component the component to bind, never {@code null}.
+     * @param <T>       the type of the items in the list and component.
+     * @return a registration handle for the binding, never {@code null}.
+     */
+    @Nonnull
+    public static <T> Registration bind(@Nonnull ObservableList<T> list, @Nonnull HasDataProvider<T> component) {
+        Objects.requireNonNull(component, "component must not be null");
+        var dataProvider = new ObservableListDataProvider<>(list);
+        component.setDataProvider(dataProvider);
+        return dataProvider;
+    }
+
     /**
      * Binds the given {@link Action} and {@link Button} together.
      *
@@ -305,4 +367,21 @@ public final class AppModel {
                                                                                 @Nonnull COMPONENT component) {
         return new ComponentBinding<>(model, component, HasText::setText);
     }
+
+    /**
+     * Changes the locale of the given UI and converts the values of all the field bindings whose fields are attached
+     * to the UI again, in a single {@link Batch}. Does nothing if the UI already has the given locale.
+     *
+     * @param ui     the UI, never {@code null}.
+     * @param locale the new locale, never {@code null}.
+     * @see ObservableValueFieldBinding#updateLocale(UI)
+     */
+    public static void setLocale(@Nonnull UI ui, @Nonnull Locale locale) {
+        Objects.requireNonNull(ui, "ui must not be null");
+        Objects.requireNonNull(locale, "locale must not be null");
+        if (!locale.equals(ui.getLocale())) {
+            ui.setLocale(locale);
+            ObservableValueFieldBinding.updateLocale(ui);
+        }
+    }
 }
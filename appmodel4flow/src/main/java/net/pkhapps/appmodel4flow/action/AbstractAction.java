@@ -19,7 +19,8 @@ package net.pkhapps.appmodel4flow.action;
 import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.shared.Registration;
 import lombok.extern.slf4j.Slf4j;
-import net.pkhapps.appmodel4flow.property.DefaultObservableValue;
+import net.pkhapps.appmodel4flow.metrics.AppModelMetrics;
+import net.pkhapps.appmodel4flow.property.DefaultObservableBoolean;
 import net.pkhapps.appmodel4flow.property.ObservableValue;
 import net.pkhapps.appmodel4flow.util.ListenerCollection;
 
@@ -64,6 +65,8 @@ public abstract class AbstractAction<OUTPUT> implements Action<OUTPUT> {
     @Override
     public OUTPUT perform() {
         if (isPerformable().getValue()) {
+            final var metrics = AppModelMetrics.getCurrent();
+            final var start = metrics.isEnabled() ? System.nanoTime() : 0L;
             try {
                 final var output = doPerform();
                 if (performListeners != null) {
@@ -71,9 +74,15 @@ public abstract class AbstractAction<OUTPUT> implements Action<OUTPUT> {
                     log.debug("Firing event {}", event);
                     performListeners.fireEvent(event);
                 }
+                if (metrics.isEnabled()) {
+                    metrics.actionPerformed(this, System.nanoTime() - start, false);
+                }
                 return output;
             } catch (RuntimeException ex) {
                 log.error("An error occurred while performing action " + this, ex);
+                if (metrics.isEnabled()) {
+                    metrics.actionPerformed(this, System.nanoTime() - start, true);
+                }
                 throw ex;
             }
         } else {
@@ -105,7 +114,7 @@ public abstract class AbstractAction<OUTPUT> implements Action<OUTPUT> {
     @SuppressWarnings("WeakerAccess")
     protected void setPerformable(boolean performable) {
         if (isPerformable instanceof IsPerformableValue) {
-            ((IsPerformableValue) isPerformable).setValue(performable);
+            ((IsPerformableValue) isPerformable).setBooleanValue(performable);
         } else {
             throw new UnsupportedOperationException("The isPerformable value is external and cannot be set using this method");
         }
@@ -130,7 +139,7 @@ public abstract class AbstractAction<OUTPUT> implements Action<OUTPUT> {
         return performListeners;
     }
 
-    private static class IsPerformableValue extends DefaultObservableValue<Boolean> {
+    private static class IsPerformableValue extends DefaultObservableBoolean {
 
         private static final long serialVersionUID = 1L;
 
@@ -17,8 +17,8 @@
 package net.pkhapps.appmodel4flow.binding;
 
 import com.vaadin.flow.shared.Registration;
-import net.pkhapps.appmodel4flow.property.ObservableValue;
 import net.pkhapps.appmodel4flow.selection.Selection;
+import net.pkhapps.appmodel4flow.selection.SelectionChangeEvent;
 import net.pkhapps.appmodel4flow.selection.SelectionModel;
 
 import javax.annotation.Nonnull;
@@ -52,17 +52,23 @@ public abstract class AbstractSelectionModelBinding<T> implements Serializable,
     protected AbstractSelectionModelBinding(@Nonnull SelectionModel<T> selectionModel) {
         this.selectionModel = Objects.requireNonNull(selectionModel, "selectionModel must not be null");
 
-        selectionModelRegistration = selectionModel.addValueChangeListener(this::onSelectionChanged);
+        selectionModelRegistration = selectionModel.addSelectionChangeListener(this::updateSelection);
     }
 
-    private void onSelectionChanged(@Nonnull ObservableValue.ValueChangeEvent<Selection<T>> event) {
-        if (event.getValue() != null) { // Should never happen but is technically possible
-            updateSelection(event.getValue());
-        }
+    /**
+     * Updates the UI component after the selection has changed. The default implementation passes the new selection
+     * to {@link #updateSelection(Selection)}. Subclasses that can apply the added and removed items directly should
+     * override this method.
+     *
+     * @param event the selection change event, never {@code null}.
+     */
+    @SuppressWarnings("WeakerAccess")
+    protected void updateSelection(@Nonnull SelectionChangeEvent<T> event) {
+        updateSelection(event.getSelection());
     }
 
     /**
-     * Updates the UI component with the given selection.
+     * Updates the UI component with the given selection. This is also used to initialize the UI component.
      *
      * @param selection the new selection, never {@code null}.
      */
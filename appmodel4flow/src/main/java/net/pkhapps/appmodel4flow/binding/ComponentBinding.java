@@ -58,7 +58,7 @@ public class ComponentBinding<MODEL, COMPONENT extends Component> implements Reg
         this.model = Objects.requireNonNull(model, "model must not be null");
         this.component = Objects.requireNonNull(component, "component must not be null");
         this.setterMethod = Objects.requireNonNull(setterMethod, "setterMethod must not be null");
-        modelRegistration = model.addValueChangeListener(event -> updateComponentState());
+        modelRegistration = model.addInvalidationListener(sender -> updateComponentState());
         updateComponentState();
     }
 
@@ -31,6 +31,18 @@ import java.io.Serializable;
  */
 public interface FieldBinding<MODEL, PRESENTATION> extends Serializable, Registration {
 
+    /**
+     * Bit mask of the {@link #isPresentationValid() presentationValid} flag, for bindings that are also
+     * {@link net.pkhapps.appmodel4flow.property.FlagSet.Owner}s.
+     */
+    int PRESENTATION_VALID_FLAG = 1;
+
+    /**
+     * Bit mask of the {@link #isModelValid() modelValid} flag, for bindings that are also
+     * {@link net.pkhapps.appmodel4flow.property.FlagSet.Owner}s.
+     */
+    int MODEL_VALID_FLAG = 1 << 1;
+
     /**
      * Returns the UI field.
      *
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.binding;
+
+import com.vaadin.flow.data.provider.ListDataProvider;
+import com.vaadin.flow.shared.Registration;
+import net.pkhapps.appmodel4flow.list.ListChangeEvent;
+import net.pkhapps.appmodel4flow.list.ObservableList;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Objects;
+
+/**
+ * A {@link ListDataProvider} that is backed directly by an {@link ObservableList} and refreshes the components that
+ * use it when the list changes. If the list only had items replaced by items with the same
+ * {@link #getId(Object) id}, only those items are refreshed. Otherwise, e.g. when items have been added, removed or
+ * moved, the whole data provider is refreshed once per {@link ListChangeEvent}.
+ * <p>
+ * Removing this registration stops the data provider from listening to the list.
+ *
+ * @param <T> the type of the items in the list.
+ */
+@NotThreadSafe
+public class ObservableListDataProvider<T> extends ListDataProvider<T> implements Registration {
+
+    private static final long serialVersionUID = 1L;
+
+    private Registration listRegistration;
+
+    /**
+     * Creates a new {@code ObservableListDataProvider}.
+     *
+     * @param list the list to provide the items of, never {@code null}.
+     */
+    public ObservableListDataProvider(@Nonnull ObservableList<T> list) {
+        super(Objects.requireNonNull(list, "list must not be null"));
+        listRegistration = list.addListChangeListener(this::onListChange);
+    }
+
+    private void onListChange(@Nonnull ListChangeEvent<T> event) {
+        if (!event.isReplacementOnly() || getFilter() != null) {
+            // Items may have been added to or removed from the filtered result, so only a full refresh will do
+            refreshAll();
+            return;
+        }
+        for (var change : event.getChanges()) {
+            var removedItems = change.getRemovedItems();
+            var items = change.getItems();
+            for (int i = 0; i < items.size(); ++i) {
+                if (!Objects.equals(getId(removedItems.get(i)), getId(items.get(i)))) {
+                    // The old item is not known by the id of the new one, so it cannot be refreshed in place
+                    refreshAll();
+                    return;
+                }
+            }
+        }
+        for (var change : event.getChanges()) {
+            change.getItems().forEach(this::refreshItem);
+        }
+    }
+
+    @Override
+    public void remove() {
+        if (listRegistration != null) {
+            listRegistration.remove();
+            listRegistration = null;
+        }
+    }
+}
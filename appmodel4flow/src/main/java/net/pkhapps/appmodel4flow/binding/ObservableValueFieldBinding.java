@@ -22,7 +22,8 @@ import com.vaadin.flow.component.UI;
 import com.vaadin.flow.data.binder.ValueContext;
 import com.vaadin.flow.data.converter.Converter;
 import com.vaadin.flow.shared.Registration;
-import net.pkhapps.appmodel4flow.property.DefaultObservableValue;
+import net.pkhapps.appmodel4flow.property.FlagSet;
+import net.pkhapps.appmodel4flow.property.ObservableBoolean;
 import net.pkhapps.appmodel4flow.property.ObservableValue;
 
 import javax.annotation.Nonnull;
@@ -39,7 +40,8 @@ import java.util.Objects;
  * @param <PRESENTATION> the value type of the field.
  */
 @NotThreadSafe
-public class ObservableValueFieldBinding<MODEL, PRESENTATION> implements FieldBinding<MODEL, PRESENTATION> {
+public class ObservableValueFieldBinding<MODEL, PRESENTATION> implements FieldBinding<MODEL, PRESENTATION>,
+        FlagSet.Owner {
 
     private static final long serialVersionUID = 1L;
 
@@ -47,8 +49,12 @@ public class ObservableValueFieldBinding<MODEL, PRESENTATION> implements FieldBi
     private final HasValue<? extends HasValue.ValueChangeEvent<PRESENTATION>, PRESENTATION> field;
     private final Converter<PRESENTATION, MODEL> converter;
     private final Registration modelRegistration;
-    private final DefaultObservableValue<Boolean> presentationValid = new DefaultObservableValue<>(true);
-    private final DefaultObservableValue<Boolean> modelValid = new DefaultObservableValue<>(true);
+    private final FlagSet flags = new FlagSet(PRESENTATION_VALID_FLAG | MODEL_VALID_FLAG);
+    private Registration attachRegistration;
+    private Registration detachRegistration;
+    private UIFieldBindings uiFieldBindings;
+    private ValueContext valueContext;
+    private Locale valueContextLocale;
 
     /**
      * Creates a new {@code ObservableValueFieldBinding}.
@@ -64,7 +70,48 @@ public class ObservableValueFieldBinding<MODEL, PRESENTATION> implements FieldBi
         this.field = Objects.requireNonNull(field, "field must not be null");
         this.converter = Objects.requireNonNull(converter, "converter must not be null");
         field.setReadOnly(true);
-        modelRegistration = model.addValueChangeListener(event -> updateFieldState());
+        modelRegistration = model.addInvalidationListener(sender -> updateFieldState());
+        if (field instanceof Component) {
+            var component = (Component) field;
+            attachRegistration = component.addAttachListener(event -> onAttach(event.getUI()));
+            detachRegistration = component.addDetachListener(event -> onDetach());
+            component.getUI().ifPresent(this::onAttach);
+        }
+        updateFieldState();
+    }
+
+    /**
+     * Invalidates the cached {@link ValueContext} of every field binding whose field is attached to the given UI and
+     * converts the model values of the fields again, all in one {@link net.pkhapps.appmodel4flow.property.Batch}.
+     * Call this after changing the {@link UI#setLocale(Locale) locale} of the UI, since Vaadin only informs components
+     * about the change.
+     *
+     * @param ui the UI whose locale has changed, never {@code null}.
+     * @see net.pkhapps.appmodel4flow.AppModel#setLocale(UI, Locale)
+     */
+    public static void updateLocale(@Nonnull UI ui) {
+        UIFieldBindings.updateLocale(Objects.requireNonNull(ui, "ui must not be null"));
+    }
+
+    private void onAttach(@Nonnull UI ui) {
+        invalidateValueContext();
+        uiFieldBindings = UIFieldBindings.of(ui);
+        uiFieldBindings.add(this);
+    }
+
+    private void onDetach() {
+        invalidateValueContext();
+        if (uiFieldBindings != null) {
+            uiFieldBindings.remove(this);
+            uiFieldBindings = null;
+        }
+    }
+
+    /**
+     * Invalidates the value context and converts the model value again.
+     */
+    void updateLocale() {
+        invalidateValueContext();
         updateFieldState();
     }
 
@@ -95,12 +142,53 @@ public class ObservableValueFieldBinding<MODEL, PRESENTATION> implements FieldBi
         if (model.isEmpty()) {
             field.setValue(field.getEmptyValue());
         } else {
-            field.setValue(converter.convertToPresentation(model.getValue(), createValueContext()));
+            field.setValue(converter.convertToPresentation(model.getValue(), getValueContext()));
         }
     }
 
     /**
-     * Creates and returns a new {@link ValueContext} to be used by the {@link #getConverter() converter}.
+     * Returns the {@link ValueContext} to be used by the {@link #getConverter() converter} and validators. The context
+     * is created by {@link #createValueContext()} and reused until the field is attached or detached, or the locale
+     * of the field changes.
+     *
+     * @return the value context, never {@code null}.
+     */
+    @Nonnull
+    @SuppressWarnings("WeakerAccess")
+    protected ValueContext getValueContext() {
+        var locale = currentLocale();
+        if (valueContext == null || !locale.equals(valueContextLocale)) {
+            valueContext = createValueContext();
+            valueContextLocale = locale;
+        }
+        return valueContext;
+    }
+
+    /**
+     * Discards the cached {@link ValueContext}, so that the next call to {@link #getValueContext()} creates a new one.
+     */
+    @SuppressWarnings("WeakerAccess")
+    protected void invalidateValueContext() {
+        valueContext = null;
+    }
+
+    @Nonnull
+    private Locale currentLocale() {
+        // Same lookup as ValueContext, but without creating one
+        UI ui = null;
+        if (field instanceof Component) {
+            ui = ((Component) field).getUI().orElse(null);
+        }
+        if (ui == null) {
+            ui = UI.getCurrent();
+        }
+        var locale = ui == null ? null : ui.getLocale();
+        return locale == null ? Locale.getDefault() : locale;
+    }
+
+    /**
+     * Creates and returns a new {@link ValueContext} to be used by the {@link #getConverter() converter}. Use
+     * {@link #getValueContext()} to get the cached context instead.
      *
      * @return the value context, never {@code null}.
      */
@@ -110,26 +198,24 @@ public class ObservableValueFieldBinding<MODEL, PRESENTATION> implements FieldBi
         if (field instanceof Component) {
             return new ValueContext((Component) field);
         } else {
-            Locale locale = null;
-            if (UI.getCurrent() != null) {
-                locale = UI.getCurrent().getLocale();
-            }
-            if (locale == null) {
-                locale = Locale.getDefault();
-            }
-            return new ValueContext(null, field, locale);
+            return new ValueContext(null, field, currentLocale());
         }
     }
 
     @Override
     public void remove() {
         modelRegistration.remove();
+        if (attachRegistration != null) {
+            attachRegistration.remove();
+            detachRegistration.remove();
+        }
+        onDetach();
     }
 
     @Nonnull
     @Override
-    public ObservableValue<Boolean> isPresentationValid() {
-        return presentationValid;
+    public ObservableBoolean isPresentationValid() {
+        return flags.observe(PRESENTATION_VALID_FLAG);
     }
 
     /**
@@ -139,13 +225,22 @@ public class ObservableValueFieldBinding<MODEL, PRESENTATION> implements FieldBi
      */
     @SuppressWarnings("WeakerAccess")
     protected void setPresentationValid(boolean presentationValid) {
-        this.presentationValid.setValue(presentationValid);
+        flags.set(PRESENTATION_VALID_FLAG, presentationValid);
     }
 
     @Nonnull
     @Override
-    public ObservableValue<Boolean> isModelValid() {
-        return modelValid;
+    public ObservableBoolean isModelValid() {
+        return flags.observe(MODEL_VALID_FLAG);
+    }
+
+    /**
+     * Returns the value of the {@link #isModelValid() modelValid} flag without creating an observable view of it.
+     *
+     * @return true if the model value is valid, false if it is not.
+     */
+    boolean hasValidModel() {
+        return flags.isSet(MODEL_VALID_FLAG);
     }
 
     @Override
@@ -153,6 +248,22 @@ public class ObservableValueFieldBinding<MODEL, PRESENTATION> implements FieldBi
         // NOP, subclasses should override.
     }
 
+    @Override
+    public boolean isFlagSet(int flag) {
+        return flags.isSet(flag);
+    }
+
+    @Nonnull
+    @Override
+    public Registration addFlagListener(@Nonnull FlagSet.FlagListener listener) {
+        return flags.addFlagListener(listener);
+    }
+
+    @Override
+    public void addWeakFlagListener(@Nonnull FlagSet.FlagListener listener) {
+        flags.addWeakFlagListener(listener);
+    }
+
     /**
      * Sets the value of the {@link #isModelValid()} () presentationValid} flag.
      *
@@ -160,6 +271,6 @@ public class ObservableValueFieldBinding<MODEL, PRESENTATION> implements FieldBi
      */
     @SuppressWarnings("WeakerAccess")
     protected void setModelValid(boolean modelValid) {
-        this.modelValid.setValue(modelValid);
+        flags.set(MODEL_VALID_FLAG, modelValid);
     }
 }
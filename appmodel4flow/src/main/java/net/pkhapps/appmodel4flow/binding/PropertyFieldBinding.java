@@ -23,18 +23,25 @@ import com.vaadin.flow.data.binder.Validator;
 import com.vaadin.flow.data.converter.Converter;
 import com.vaadin.flow.function.SerializableSupplier;
 import com.vaadin.flow.shared.Registration;
+import net.pkhapps.appmodel4flow.property.FlagSet;
 import net.pkhapps.appmodel4flow.property.Property;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Binding that binds a {@link Property} (the model) and a {@link HasValue} (the field) together in a two-way binding,
  * where changes made to the field are reflected in the model and vice versa. If the model is marked as read-only,
  * the field will also be marked read-only but not the other way around.
+ * <p>
+ * Validation is cheap enough to run on every keystroke. The validation results are kept in reused buffers, a validator
+ * is not invoked again when the field produces the same model value it already validated, and the
+ * {@link BindingResultHandler} is only notified when the conversion error or the validation results change. The
+ * validation results are compared by their {@link ValidationResult#getErrorLevel() error levels} and messages, so a
+ * change in a warning or an info message is reported as well. Validation can also be configured to
+ * {@link #withStopAtFirstValidationErrorEnabled() stop at the first error}.
  *
  * @param <MODEL>        the value type of the model.
  * @param <PRESENTATION> the value type of the field.
@@ -49,10 +56,12 @@ public class PropertyFieldBinding<MODEL, PRESENTATION> extends ObservableValueFi
     private final Registration fieldValueRegistration;
     private BindingResultHandler<MODEL, PRESENTATION> bindingResultHandler;
     private boolean writeInvalidModelValuesEnabled = true;
-    private final List<Validator<MODEL>> validators = new ArrayList<>();
+    private final ValidatorChain<MODEL> validators = new ValidatorChain<>();
     private SerializableSupplier<String> requiredErrorMessageSupplier;
     private Result<MODEL> conversionResult;
-    private Collection<ValidationResult> validationResults;
+    private List<ValidationResult> validationResults;
+    private String reportedConversionError;
+    private boolean reported;
 
     /**
      * Creates a new {@code PropertyFieldBinding}.
@@ -67,7 +76,17 @@ public class PropertyFieldBinding<MODEL, PRESENTATION> extends ObservableValueFi
         super(model, field, converter);
         conversionResult = Result.ok(model.getValue());
         validationResults = Collections.emptyList();
-        propertyReadOnlyRegistration = model.isReadOnly().addValueChangeListener(event -> updateFieldReadOnlyState());
+        if (model instanceof FlagSet.Owner) {
+            // Follows the flag without creating an observable view of it
+            propertyReadOnlyRegistration = ((FlagSet.Owner) model).addFlagListener((flag, value) -> {
+                if (flag == Property.READ_ONLY_FLAG) {
+                    updateFieldReadOnlyState();
+                }
+            });
+        } else {
+            propertyReadOnlyRegistration = model.isReadOnly()
+                    .addInvalidationListener(sender -> updateFieldReadOnlyState());
+        }
         fieldValueRegistration = field.addValueChangeListener(event -> updatePropertyValue());
         updateFieldReadOnlyState();
     }
@@ -79,14 +98,19 @@ public class PropertyFieldBinding<MODEL, PRESENTATION> extends ObservableValueFi
     }
 
     private void updateFieldReadOnlyState() {
-        getField().setReadOnly(getModel().isReadOnly().getValue());
+        var model = getModel();
+        if (model instanceof FlagSet.Owner) {
+            getField().setReadOnly(((FlagSet.Owner) model).isFlagSet(Property.READ_ONLY_FLAG));
+        } else {
+            getField().setReadOnly(model.isReadOnly().getValue());
+        }
     }
 
     private void updatePropertyValue() {
-        var result = getConverter().convertToModel(getField().getValue(), createValueContext());
+        var result = getConverter().convertToModel(getField().getValue(), getValueContext());
         setConversionResult(result);
         result.ifOk(this::writePropertyValue);
-        notifyBindingResultHandler();
+        notifyBindingResultHandler(false);
     }
 
     private void setConversionResult(@Nonnull Result<MODEL> conversionResult) {
@@ -94,26 +118,60 @@ public class PropertyFieldBinding<MODEL, PRESENTATION> extends ObservableValueFi
         setPresentationValid(!conversionResult.isError());
     }
 
-    private void setValidationResults(@Nonnull Collection<ValidationResult> validationResults) {
-        this.validationResults = Set.copyOf(validationResults);
-        var hasErrors = validationResults.stream().anyMatch(ValidationResult::isError);
-        setModelValid(!hasErrors);
-    }
-
     private void writePropertyValue(@Nullable MODEL value) {
         validate(value, true);
-        if (!isModelValid().getValue() && !writeInvalidModelValuesEnabled) {
+        if (!hasValidModel() && !writeInvalidModelValuesEnabled) {
             return;
         }
         getModel().setValue(value);
     }
 
-    private void notifyBindingResultHandler() {
-        if (bindingResultHandler != null) {
+    /**
+     * Notifies the binding result handler if the conversion error or the validation results have changed since it was
+     * last notified, or if {@code force} is true.
+     */
+    private void notifyBindingResultHandler(boolean force) {
+        if (bindingResultHandler == null) {
+            return;
+        }
+        if (force || !isReported()) {
+            reported = true;
+            reportedConversionError = getConversionError();
+            validationResults = List.copyOf(validators.getResults());
             bindingResultHandler.handleBindingResult(this, conversionResult, validationResults);
         }
     }
 
+    /**
+     * Returns whether the current conversion error and validation results are the ones that were last reported,
+     * without copying them.
+     */
+    private boolean isReported() {
+        if (!reported || !Objects.equals(getConversionError(), reportedConversionError)) {
+            return false;
+        }
+        var results = validators.getResults();
+        if (results.size() != validationResults.size()) {
+            return false;
+        }
+        for (var i = 0; i < results.size(); ++i) {
+            if (!isSameResult(results.get(i), validationResults.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Nullable
+    private String getConversionError() {
+        return conversionResult.isError() ? conversionResult.getMessage().orElse("") : null;
+    }
+
+    private static boolean isSameResult(@Nonnull ValidationResult result, @Nonnull ValidationResult other) {
+        return result.getErrorLevel().equals(other.getErrorLevel())
+                && (result.getErrorLevel().isEmpty() || result.getErrorMessage().equals(other.getErrorMessage()));
+    }
+
     @Nonnull
     @Override
     public TwoWayFieldBinding<MODEL, PRESENTATION> withValidator(@Nonnull Validator<MODEL> validator) {
@@ -127,6 +185,7 @@ public class PropertyFieldBinding<MODEL, PRESENTATION> extends ObservableValueFi
     public TwoWayFieldBinding<MODEL, PRESENTATION> withBindingResultHandler(
             @Nullable BindingResultHandler<MODEL, PRESENTATION> bindingResultHandler) {
         this.bindingResultHandler = bindingResultHandler;
+        reported = false;
         return this;
     }
 
@@ -137,6 +196,13 @@ public class PropertyFieldBinding<MODEL, PRESENTATION> extends ObservableValueFi
         return this;
     }
 
+    @Nonnull
+    @Override
+    public TwoWayFieldBinding<MODEL, PRESENTATION> withStopAtFirstValidationErrorEnabled() {
+        validators.setStopAtFirstError(true);
+        return this;
+    }
+
     @Nonnull
     @Override
     public TwoWayFieldBinding<MODEL, PRESENTATION> asRequired(@Nonnull SerializableSupplier<String> errorMessageSupplier) {
@@ -145,6 +211,8 @@ public class PropertyFieldBinding<MODEL, PRESENTATION> extends ObservableValueFi
         getField().setRequiredIndicatorVisible(true);
         if (!alreadyMarkedAsRequired) { // In case somebody would call this method to change the error message supplier.
             validators.add(createRequiredValidator());
+        } else {
+            validators.clearMemos();
         }
         return this;
     }
@@ -160,27 +228,40 @@ public class PropertyFieldBinding<MODEL, PRESENTATION> extends ObservableValueFi
         };
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * All validators are invoked, even if they have already validated the current value, since they may depend on
+     * something else than the value.
+     */
     @Override
     public void validateModel() {
         validate(getModel().getValue(), false);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The binding result handler is notified even if the results have not changed since it was last notified.
+     */
     @Override
     public void validateModelAndHandleResults() {
-        validate(getModel().getValue(), true);
+        if (validate(getModel().getValue(), false)) {
+            notifyBindingResultHandler(true);
+        }
     }
 
-    private void validate(@Nullable MODEL value, boolean notifyBindingResultHandler) {
-        if (validators.size() > 0) {
-            var valueContext = createValueContext();
-            var validationResults = validators.stream().map(validator -> validator.apply(value, valueContext)).collect(Collectors.toSet());
-            setValidationResults(validationResults);
-            if (notifyBindingResultHandler) {
-                notifyBindingResultHandler();
-            }
-        } else {
+    /**
+     * Validates the given value and returns whether there were any validators to run. If {@code useMemo} is true,
+     * validators that have already validated the same value are not invoked again.
+     */
+    private boolean validate(@Nullable MODEL value, boolean useMemo) {
+        if (validators.isEmpty()) {
             setModelValid(true);
+            return false;
         }
+        setModelValid(!validators.validate(value, getValueContext(), useMemo));
+        return true;
     }
 
     @Override
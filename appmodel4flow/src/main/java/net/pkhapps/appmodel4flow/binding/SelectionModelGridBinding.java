@@ -17,18 +17,40 @@
 package net.pkhapps.appmodel4flow.binding;
 
 import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.GridMultiSelectionModel;
+import com.vaadin.flow.data.selection.MultiSelectionEvent;
 import com.vaadin.flow.data.selection.SelectionEvent;
+import net.pkhapps.appmodel4flow.property.Batch;
+import net.pkhapps.appmodel4flow.selection.IdSelection;
+import net.pkhapps.appmodel4flow.selection.IdSelectionChangeEvent;
+import net.pkhapps.appmodel4flow.selection.RangeSelection;
 import net.pkhapps.appmodel4flow.selection.Selection;
+import net.pkhapps.appmodel4flow.selection.SelectionChangeEvent;
 import net.pkhapps.appmodel4flow.selection.SelectionModel;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.NotThreadSafe;
+import java.util.LinkedHashSet;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Binding that binds a {@link SelectionModel} and a {@link Grid} together. When the selection is changed in the model,
  * the grid is updated and vice versa. Remember to call {@link #remove()} when the binding is no longer needed to avoid
  * memory leaks.
+ * <p>
+ * Only the items that were added to or removed from the selection are passed on, in both directions. In a multi-select
+ * grid, they are applied in a single {@code updateSelection} call, which means that the grid only sends the rows whose
+ * selection state actually changed to the client. If the model is an
+ * {@link net.pkhapps.appmodel4flow.selection.IdSelectionModel IdSelectionModel}, only the items whose ids were added
+ * are loaded. {@link net.pkhapps.appmodel4flow.selection.AllExceptSelection AllExceptSelection}s and
+ * {@link RangeSelection}s stay compact in the model: changes made in the grid are applied to them with
+ * {@link SelectionModel#add(java.util.Collection) add} and {@link SelectionModel#remove(java.util.Collection) remove},
+ * and changes made in the model are passed on to the grid as the difference between the selections.
+ * <p>
+ * When a change made in the grid is applied to the model, only the echo of that very change is kept from being passed
+ * back to the grid. If a listener of the model adjusts the selection, or the model does not accept the change, the
+ * grid is updated to match the model.
  *
  * @param <T> the type of items in the grid and selection model.
  */
@@ -41,6 +63,10 @@ public class SelectionModelGridBinding<T> extends AbstractSelectionModelBinding<
 
     private boolean selectionUpdateInProgress = false;
 
+    // The items that were added to and removed from the grid selection while the change is being applied to the model
+    private transient Set<T> gridAdded = null;
+    private transient Set<T> gridRemoved = null;
+
     /**
      * Creates a new {@code SelectionModelGridBinding}.
      *
@@ -54,20 +80,190 @@ public class SelectionModelGridBinding<T> extends AbstractSelectionModelBinding<
         updateSelection(selectionModel.getSelection());
     }
 
+    @Override
+    protected void updateSelection(@Nonnull SelectionChangeEvent<T> event) {
+        if (!selectionUpdateInProgress) {
+            if (isMultiSelect() && event instanceof IdSelectionChangeEvent) {
+                var idEvent = (IdSelectionChangeEvent<T>) event;
+                // The removed items are already in the grid, so there is no need to load them. Items that were just
+                // removed in the grid are no longer selected in it, so they are skipped as well.
+                var removed = new LinkedHashSet<T>();
+                if (!idEvent.getRemovedIds().isEmpty()) {
+                    for (var item : grid.getSelectedItems()) {
+                        if (idEvent.getRemovedIds().contains(idEvent.getSelection().getId(item))) {
+                            removed.add(item);
+                        }
+                    }
+                }
+                updateGridSelection(getAddedItemsNotFromGrid(idEvent), removed);
+            } else if (isMultiSelect()) {
+                updateGridSelection(without(event.getAddedItems(), gridAdded),
+                        without(event.getRemovedItems(), gridRemoved));
+            } else {
+                updateSelection(event.getSelection());
+            }
+        }
+    }
+
     @Override
     protected void updateSelection(@Nonnull Selection<T> selection) {
+        if (isMultiSelect()) {
+            if (selection instanceof IdSelection) {
+                updateGridSelection((IdSelection<T>) selection);
+                return;
+            }
+            if (selection instanceof RangeSelection) {
+                updateGridSelection((RangeSelection<T>) selection);
+                return;
+            }
+            var selectedInGrid = grid.getSelectedItems();
+            var added = new LinkedHashSet<T>();
+            selection.forEach(item -> {
+                if (!selectedInGrid.contains(item)) {
+                    added.add(item);
+                }
+            });
+            var removed = new LinkedHashSet<T>();
+            for (var item : selectedInGrid) {
+                if (!selection.contains(item)) {
+                    removed.add(item);
+                }
+            }
+            updateGridSelection(added, removed);
+        } else {
+            var item = selection.getFirst();
+            if (item.isEmpty()) {
+                if (!grid.getSelectedItems().isEmpty()) {
+                    runGuarded(grid::deselectAll);
+                }
+            } else if (!grid.getSelectedItems().contains(item.get())) {
+                runGuarded(() -> grid.select(item.get()));
+            }
+        }
+    }
+
+    @Nonnull
+    private Set<T> getAddedItemsNotFromGrid(@Nonnull IdSelectionChangeEvent<T> event) {
+        if (gridAdded == null) {
+            return event.getAddedItems();
+        }
+        // Only the items that were not added in the grid itself have to be loaded
+        var selection = event.getSelection();
+        var addedIds = new LinkedHashSet<>(event.getAddedIds());
+        gridAdded.forEach(item -> addedIds.remove(selection.getId(item)));
+        var added = new LinkedHashSet<T>();
+        if (!addedIds.isEmpty()) {
+            selection.getLoader().load(addedIds).forEach(added::add);
+        }
+        return added;
+    }
+
+    @Nonnull
+    private static <T> Set<T> without(@Nonnull Set<T> items, Set<T> excluded) {
+        if (excluded == null || excluded.isEmpty() || items.isEmpty()) {
+            return items;
+        }
+        var result = new LinkedHashSet<>(items);
+        result.removeAll(excluded);
+        return result;
+    }
+
+    private void updateGridSelection(@Nonnull IdSelection<T> selection) {
+        // Compare ids so that only the items that are missing from the grid have to be loaded
+        var addedIds = new LinkedHashSet<>(selection.getIds());
+        var removed = new LinkedHashSet<T>();
+        for (var item : grid.getSelectedItems()) {
+            if (!addedIds.remove(selection.getId(item))) {
+                removed.add(item);
+            }
+        }
+        var added = new LinkedHashSet<T>();
+        if (!addedIds.isEmpty()) {
+            selection.getLoader().load(addedIds).forEach(added::add);
+        }
+        updateGridSelection(added, removed);
+    }
+
+    private void updateGridSelection(@Nonnull RangeSelection<T> selection) {
+        // Go through the selected indices instead of looking up the index of every item that is selected in the grid
+        var removed = new LinkedHashSet<>(grid.getSelectedItems());
+        var added = new LinkedHashSet<T>();
+        var source = selection.getSource();
+        selection.indices().forEach(index -> {
+            var item = source.get(index);
+            if (!removed.remove(item)) {
+                added.add(item);
+            }
+        });
+        updateGridSelection(added, removed);
+    }
+
+    private void updateGridSelection(@Nonnull Set<T> added, @Nonnull Set<T> removed) {
+        if (!added.isEmpty() || !removed.isEmpty()) {
+            runGuarded(() -> grid.asMultiSelect().updateSelection(added, removed));
+        }
+    }
+
+    private boolean isMultiSelect() {
+        return grid.getSelectionModel() instanceof GridMultiSelectionModel;
+    }
+
+    private void runGuarded(@Nonnull Runnable command) {
         selectionUpdateInProgress = true;
         try {
-            grid.deselectAll();
-            selection.forEach(grid::select);
+            command.run();
         } finally {
             selectionUpdateInProgress = false;
         }
     }
 
     private void onGridSelectionEvent(@Nonnull SelectionEvent<Grid<T>, T> event) {
-        if (!selectionUpdateInProgress) {
-            getSelectionModel().select(event.getAllSelectedItems());
+        if (selectionUpdateInProgress) {
+            return;
+        }
+        if (event instanceof MultiSelectionEvent) {
+            var multiSelectionEvent = (MultiSelectionEvent<Grid<T>, T>) event;
+            var added = multiSelectionEvent.getAddedSelection();
+            var removed = multiSelectionEvent.getRemovedSelection();
+            gridAdded = added;
+            gridRemoved = removed;
+            try {
+                Batch.run(() -> {
+                    getSelectionModel().remove(removed);
+                    getSelectionModel().add(added);
+                });
+            } finally {
+                gridAdded = null;
+                gridRemoved = null;
+            }
+            updateGridSelectionIfRejected(added, removed);
+        } else {
+            // Run in a batch so that the listeners of the model are allowed to adjust the selection
+            Batch.run(() -> getSelectionModel().select(event.getAllSelectedItems()));
+            // Selecting an item that is already selected in the grid does nothing
+            updateSelection(getSelectionModel().getSelection());
+        }
+    }
+
+    /**
+     * Updates the grid if the model did not end up with the change that was made in the grid, e.g. because a listener
+     * of the model adjusted the selection. Only the items of the change are checked.
+     */
+    private void updateGridSelectionIfRejected(@Nonnull Set<T> added, @Nonnull Set<T> removed) {
+        var selection = getSelectionModel().getSelection();
+        var gridSelectionModel = grid.getSelectionModel();
+        var toDeselect = new LinkedHashSet<T>();
+        for (var item : added) {
+            if (!selection.contains(item) && gridSelectionModel.isSelected(item)) {
+                toDeselect.add(item);
+            }
+        }
+        var toSelect = new LinkedHashSet<T>();
+        for (var item : removed) {
+            if (selection.contains(item) && !gridSelectionModel.isSelected(item)) {
+                toSelect.add(item);
+            }
         }
+        updateGridSelection(toSelect, toDeselect);
     }
 }
@@ -76,6 +76,20 @@ public interface TwoWayFieldBinding<MODEL, PRESENTATION> extends FieldBinding<MO
     @Nonnull
     TwoWayFieldBinding<MODEL, PRESENTATION> withWriteInvalidModelValuesDisabled();
 
+    /**
+     * By default, the binding will run all {@link #withValidator(Validator) validators} and report all errors. This
+     * method makes the binding stop at the first validator that reports an error, in the order the validators were
+     * added.
+     * <p>
+     * The default implementation does nothing, so bindings that do not override it keep running all validators.
+     *
+     * @return this binding, to allow for method chaining.
+     */
+    @Nonnull
+    default TwoWayFieldBinding<MODEL, PRESENTATION> withStopAtFirstValidationErrorEnabled() {
+        return this;
+    }
+
     /**
      * Marks the field as required using the specified error message supplier. If you want to invoke the required value
      * check manually before the user has changed the field, call {@link #validateModel()} or
@@ -127,7 +141,8 @@ public interface TwoWayFieldBinding<MODEL, PRESENTATION> extends FieldBinding<MO
     interface BindingResultHandler<MODEL, PRESENTATION> extends Serializable {
 
         /**
-         * Called whenever a value conversion or a value validation has taken place inside a binding.
+         * Called whenever a value conversion or a value validation has taken place inside a binding and the error
+         * messages have changed since the handler was last called.
          *
          * @param binding           the binding that invoked the handler, never {@code null}.
          * @param conversionResult  the conversion result when converting from presentation to model, never {@code null}.
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.pkhapps.appmodel4flow.binding;
+
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import net.pkhapps.appmodel4flow.property.Batch;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The {@link ObservableValueFieldBinding}s whose fields are attached to a particular {@link UI}. Bindings add
+ * themselves when their fields are attached and remove themselves when the fields are detached, so that all of them
+ * can be converted again when the locale of the UI changes. The instance is stored as component data of the UI.
+ */
+@NotThreadSafe
+final class UIFieldBindings implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Set<ObservableValueFieldBinding<?, ?>> bindings = new LinkedHashSet<>();
+
+    private UIFieldBindings() {
+    }
+
+    /**
+     * Returns the bindings of the given UI, creating the instance if needed.
+     */
+    @Nonnull
+    static UIFieldBindings of(@Nonnull UI ui) {
+        var uiFieldBindings = ComponentUtil.getData(ui, UIFieldBindings.class);
+        if (uiFieldBindings == null) {
+            uiFieldBindings = new UIFieldBindings();
+            ComponentUtil.setData(ui, UIFieldBindings.class, uiFieldBindings);
+        }
+        return uiFieldBindings;
+    }
+
+    /**
+     * Invalidates the value contexts of all the bindings of the given UI and converts their model values again in a
+     * single {@link Batch}.
+     */
+    static void updateLocale(@Nonnull UI ui) {
+        var uiFieldBindings = ComponentUtil.getData(ui, UIFieldBindings.class);
+        if (uiFieldBindings != null) {
+            // Copied, since updating a field may cause bindings to be added or removed
+            var bindings = new ArrayList<>(uiFieldBindings.bindings);
+            Batch.run(() -> bindings.forEach(ObservableValueFieldBinding::updateLocale));
+        }
+    }
+
+    void add(@Nonnull ObservableValueFieldBinding<?, ?> binding) {
+        bindings.add(binding);
+    }
+
+    void remove(@Nonnull ObservableValueFieldBinding<?, ?> binding) {
+        bindings.remove(binding);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.pkhapps.appmodel4flow.binding;
+
+import com.vaadin.flow.data.binder.ValidationResult;
+import com.vaadin.flow.data.binder.Validator;
+import com.vaadin.flow.data.binder.ValueContext;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The validators of a {@link PropertyFieldBinding} and the results of the latest validation. The results are kept in
+ * a buffer that is reused from one validation to the next. Every validator remembers the value and value context it
+ * last validated along with the result, so that validating the same value again does not invoke the validator. The
+ * chain can also be configured to stop at the first error.
+ *
+ * @param <MODEL> the type of the validated value.
+ */
+@NotThreadSafe
+final class ValidatorChain<MODEL> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Link<MODEL>> links = new ArrayList<>();
+    private final List<ValidationResult> results = new ArrayList<>();
+    private final List<ValidationResult> unmodifiableResults = Collections.unmodifiableList(results);
+    private boolean stopAtFirstError = false;
+    private boolean hasErrors = false;
+
+    void add(@Nonnull Validator<MODEL> validator) {
+        links.add(new Link<>(Objects.requireNonNull(validator, "validator must not be null")));
+    }
+
+    boolean isEmpty() {
+        return links.isEmpty();
+    }
+
+    void setStopAtFirstError(boolean stopAtFirstError) {
+        this.stopAtFirstError = stopAtFirstError;
+    }
+
+    /**
+     * Makes all validators forget the values they have validated, so that they are invoked on the next validation.
+     */
+    void clearMemos() {
+        links.forEach(Link::clearMemo);
+    }
+
+    /**
+     * Validates the given value, replacing the results of the previous validation.
+     *
+     * @param value        the value to validate.
+     * @param valueContext the value context to pass to the validators, never {@code null}.
+     * @param useMemo      whether validators that have already validated the same value in the same context may
+     *                     return their previous results. This should be false when the validators are run because
+     *                     something else than the value may have changed.
+     * @return true if at least one validator reported an error, false otherwise.
+     */
+    boolean validate(@Nullable MODEL value, @Nonnull ValueContext valueContext, boolean useMemo) {
+        results.clear();
+        hasErrors = false;
+        for (var link : links) {
+            var result = link.apply(value, valueContext, useMemo);
+            results.add(result);
+            if (result.isError()) {
+                hasErrors = true;
+                if (stopAtFirstError) {
+                    break;
+                }
+            }
+        }
+        return hasErrors;
+    }
+
+    /**
+     * Returns whether the latest validation reported any errors.
+     */
+    boolean hasErrors() {
+        return hasErrors;
+    }
+
+    /**
+     * Returns the results of the latest validation. The list is a view of a buffer that changes on every validation.
+     */
+    @Nonnull
+    List<ValidationResult> getResults() {
+        return unmodifiableResults;
+    }
+
+    /**
+     * A validator together with the value it last validated and the result.
+     */
+    private static final class Link<MODEL> implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Validator<MODEL> validator;
+        private boolean memoized;
+        private MODEL lastValue;
+        private ValueContext lastValueContext;
+        private ValidationResult lastResult;
+
+        private Link(@Nonnull Validator<MODEL> validator) {
+            this.validator = validator;
+        }
+
+        void clearMemo() {
+            memoized = false;
+            lastValue = null;
+            lastValueContext = null;
+            lastResult = null;
+        }
+
+        @Nonnull
+        ValidationResult apply(@Nullable MODEL value, @Nonnull ValueContext valueContext, boolean useMemo) {
+            if (useMemo && memoized && lastValueContext == valueContext && Objects.equals(lastValue, value)) {
+                return lastResult;
+            }
+            lastResult = validator.apply(value, valueContext);
+            lastValue = value;
+            lastValueContext = valueContext;
+            memoized = true;
+            return lastResult;
+        }
+    }
+}
@@ -26,7 +26,6 @@ import net.pkhapps.appmodel4flow.util.MethodCache;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Objects;
 
@@ -87,23 +86,28 @@ public class DefaultBindingResultHandler implements FieldBindingGroup.BindingRes
                                     @Nullable Result<?> conversionResult,
                                     @Nullable Collection<ValidationResult> validationResults) {
         Objects.requireNonNull(binding, "binding must not be null");
-        var errorMessages = new ArrayList<String>();
+        StringBuilder errorMessage = null;
 
-        if (conversionResult != null && conversionResult.isError()) {
-            conversionResult.getMessage().ifPresent(errorMessages::add);
+        if (conversionResult != null && conversionResult.isError() && conversionResult.getMessage().isPresent()) {
+            errorMessage = new StringBuilder(conversionResult.getMessage().get());
         }
 
         if (validationResults != null) {
-            validationResults.stream()
-                    .filter(ValidationResult::isError)
-                    .map(ValidationResult::getErrorMessage)
-                    .forEach(errorMessages::add);
+            for (var result : validationResults) {
+                if (result.isError()) {
+                    if (errorMessage == null) {
+                        errorMessage = new StringBuilder(result.getErrorMessage());
+                    } else {
+                        errorMessage.append('\n').append(result.getErrorMessage());
+                    }
+                }
+            }
         }
 
-        if (errorMessages.isEmpty()) {
+        if (errorMessage == null) {
             clearErrorMessage(binding.getField());
         } else {
-            setErrorMessage(binding.getField(), String.join("\n", errorMessages));
+            setErrorMessage(binding.getField(), errorMessage.toString());
         }
     }
 }
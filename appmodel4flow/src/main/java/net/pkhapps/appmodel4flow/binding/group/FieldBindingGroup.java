@@ -18,12 +18,12 @@ package net.pkhapps.appmodel4flow.binding.group;
 
 import com.vaadin.flow.data.binder.Result;
 import com.vaadin.flow.data.binder.ValidationResult;
-import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.shared.Registration;
 import net.pkhapps.appmodel4flow.binding.FieldBinding;
 import net.pkhapps.appmodel4flow.binding.PropertyFieldBinding;
 import net.pkhapps.appmodel4flow.binding.TwoWayFieldBinding;
-import net.pkhapps.appmodel4flow.property.DefaultObservableValue;
+import net.pkhapps.appmodel4flow.property.Batch;
+import net.pkhapps.appmodel4flow.property.FlagSet;
 import net.pkhapps.appmodel4flow.property.ObservableValue;
 import net.pkhapps.appmodel4flow.property.Property;
 
@@ -32,6 +32,8 @@ import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.stream.Stream;
 
 /**
@@ -39,18 +41,26 @@ import java.util.stream.Stream;
  * It provides features for handling {@link #withBindingResultHandler(BindingResultHandler) binding results}
  * in one place and also collectively tracks the status of the {@link Property#isDirty() dirty},
  * {@link FieldBinding#isPresentationValid() presentationValid} and {@link FieldBinding#isModelValid() modelValid} flags.
+ * <p>
+ * The group keeps count of the bindings that are dirty or invalid, so a change to a single binding does not require
+ * looking at all the others. Bindings and properties that are {@link FlagSet.Owner}s are followed through their flags
+ * directly, without creating the observable views of the flags.
  */
 @NotThreadSafe
 public class FieldBindingGroup extends BindingGroup {
 
     private static final long serialVersionUID = 1L;
 
-    private final DefaultObservableValue<Boolean> dirty = new DefaultObservableValue<>(false);
-    private final DefaultObservableValue<Boolean> presentationValid = new DefaultObservableValue<>(true);
-    private final DefaultObservableValue<Boolean> modelValid = new DefaultObservableValue<>(true);
-    private final SerializableConsumer<ObservableValue.ValueChangeEvent<Boolean>> dirtyListener = (event) -> updateDirtyFlag();
-    private final SerializableConsumer<ObservableValue.ValueChangeEvent<Boolean>> modelValidListener = (event) -> updateModelValidFlag();
-    private final SerializableConsumer<ObservableValue.ValueChangeEvent<Boolean>> presentationValidListener = (event) -> updatePresentationValidFlag();
+    private static final int DIRTY = 1;
+    private static final int PRESENTATION_VALID = 1 << 1;
+    private static final int MODEL_VALID = 1 << 2;
+
+    private final FlagSet flags = new FlagSet(PRESENTATION_VALID | MODEL_VALID);
+    // The trackers are only weakly referenced by the bindings and properties, so they are kept alive here
+    private final Map<Registration, BindingTracker> trackers = new HashMap<>();
+    private int dirtyCount;
+    private int invalidPresentationCount;
+    private int invalidModelCount;
     private BindingResultHandler bindingResultHandler = new DefaultBindingResultHandler();
 
     /**
@@ -66,21 +76,13 @@ public class FieldBindingGroup extends BindingGroup {
         if (binding instanceof FieldBinding) {
             var fieldBinding = (FieldBinding<?, ?>) binding;
             fieldBinding.validateModel();
-            fieldBinding.isModelValid().addWeakValueChangeListener(modelValidListener);
-            if (!fieldBinding.isModelValid().getValue()) {
-                modelValid.setValue(false);
-            }
-            fieldBinding.isPresentationValid().addWeakValueChangeListener(presentationValidListener);
-            if (!fieldBinding.isPresentationValid().getValue()) {
-                presentationValid.setValue(false);
+            if (binding instanceof TwoWayFieldBinding) {
+                ((TwoWayFieldBinding<?, ?>) binding).withBindingResultHandler(this::handleBindingResult);
             }
-        }
-        if (binding instanceof TwoWayFieldBinding) {
-            var twoWayFieldBinding = (TwoWayFieldBinding<?, ?>) binding;
-            twoWayFieldBinding.withBindingResultHandler(this::handleBindingResult);
-            twoWayFieldBinding.getModel().isDirty().addWeakValueChangeListener(dirtyListener);
-            if (twoWayFieldBinding.getModel().isDirty().getValue()) {
-                dirty.setValue(true);
+            if (!trackers.containsKey(binding)) {
+                var tracker = new BindingTracker(this, fieldBinding);
+                trackers.put(binding, tracker);
+                tracker.update();
             }
         }
         return (FieldBindingGroup) super.withBinding(binding);
@@ -92,6 +94,10 @@ public class FieldBindingGroup extends BindingGroup {
         if (binding instanceof TwoWayFieldBinding) {
             ((TwoWayFieldBinding<?, ?>) binding).withBindingResultHandler(null);
         }
+        var tracker = trackers.remove(binding);
+        if (tracker != null) {
+            tracker.stop();
+        }
     }
 
     /**
@@ -101,39 +107,35 @@ public class FieldBindingGroup extends BindingGroup {
      */
     @Nonnull
     public ObservableValue<Boolean> isDirty() {
-        return dirty;
+        return flags.observe(DIRTY);
     }
 
     /**
-     * Invokes {@link Property#resetDirtyFlag()} for all bound properties.
+     * Invokes {@link Property#resetDirtyFlag()} for all bound properties inside a single {@link Batch}.
      */
     @SuppressWarnings("WeakerAccess")
     public void resetDirtyFlag() {
-        getTwoWayBindings().forEach(binding -> binding.getModel().resetDirtyFlag());
+        Batch.run(() -> getTwoWayBindings().forEach(binding -> binding.getModel().resetDirtyFlag()));
     }
 
     /**
-     * Invokes {@link Property#discard()} for all bound properties.
+     * Invokes {@link Property#discard()} for all bound properties inside a single {@link Batch}.
      */
     @SuppressWarnings("WeakerAccess")
     public void discard() {
-        getTwoWayBindings().forEach(binding -> binding.getModel().discard());
+        Batch.run(() -> getTwoWayBindings().forEach(binding -> binding.getModel().discard()));
     }
 
-    private void updateDirtyFlag() {
-        // TODO Optimize so that this is only called once when set as a result of resetDirtyFlag or discard
-        dirty.setValue(getTwoWayBindings().map(binding -> binding.getModel().isDirty())
-                .anyMatch(ObservableValue::getValue));
-    }
-
-    private void updatePresentationValidFlag() {
-        presentationValid.setValue(getFieldBindings().map(FieldBinding::isPresentationValid)
-                .allMatch(ObservableValue::getValue));
-    }
-
-    private void updateModelValidFlag() {
-        modelValid.setValue(getFieldBindings().map(FieldBinding::isModelValid)
-                .allMatch(ObservableValue::getValue));
+    /**
+     * Adjusts the counters of dirty and invalid bindings by the given amounts and updates the flags of this group.
+     */
+    void updateCounts(int dirtyDelta, int invalidPresentationDelta, int invalidModelDelta) {
+        dirtyCount += dirtyDelta;
+        invalidPresentationCount += invalidPresentationDelta;
+        invalidModelCount += invalidModelDelta;
+        flags.set(DIRTY, dirtyCount > 0);
+        flags.set(PRESENTATION_VALID, invalidPresentationCount == 0);
+        flags.set(MODEL_VALID, invalidModelCount == 0);
     }
 
     @Nonnull
@@ -142,12 +144,6 @@ public class FieldBindingGroup extends BindingGroup {
                 .map(binding -> (TwoWayFieldBinding<?, ?>) binding);
     }
 
-    @Nonnull
-    private Stream<FieldBinding<?, ?>> getFieldBindings() {
-        return getBindings().filter(FieldBinding.class::isInstance)
-                .map(binding -> (FieldBinding<?, ?>) binding);
-    }
-
     /**
      * Returns whether all bindings have valid presentation values.
      *
@@ -156,7 +152,7 @@ public class FieldBindingGroup extends BindingGroup {
      */
     @Nonnull
     public ObservableValue<Boolean> isPresentationValid() {
-        return presentationValid;
+        return flags.observe(PRESENTATION_VALID);
     }
 
     /**
@@ -167,7 +163,7 @@ public class FieldBindingGroup extends BindingGroup {
      */
     @Nonnull
     public ObservableValue<Boolean> isModelValid() {
-        return modelValid;
+        return flags.observe(MODEL_VALID);
     }
 
     /**
@@ -194,6 +190,90 @@ public class FieldBindingGroup extends BindingGroup {
         }
     }
 
+    /**
+     * Follows the flags of a single binding and keeps the counters of the group up to date. The observable views of the
+     * flags are only used if the binding or its property is not a {@link FlagSet.Owner}.
+     */
+    private static final class BindingTracker implements FlagSet.FlagListener, ObservableValue.InvalidationListener {
+
+        private static final long serialVersionUID = 1L;
+
+        private final FieldBindingGroup group;
+        private final FieldBinding<?, ?> binding;
+        private final Property<?> property;
+        private boolean active = true;
+        private boolean dirty = false;
+        private boolean presentationValid = true;
+        private boolean modelValid = true;
+
+        BindingTracker(@Nonnull FieldBindingGroup group, @Nonnull FieldBinding<?, ?> binding) {
+            this.group = group;
+            this.binding = binding;
+            this.property = binding instanceof TwoWayFieldBinding ? ((TwoWayFieldBinding<?, ?>) binding).getModel()
+                    : null;
+            if (binding instanceof FlagSet.Owner) {
+                ((FlagSet.Owner) binding).addWeakFlagListener(this);
+            } else {
+                binding.isPresentationValid().addWeakInvalidationListener(this);
+                binding.isModelValid().addWeakInvalidationListener(this);
+            }
+            if (property instanceof FlagSet.Owner) {
+                ((FlagSet.Owner) property).addWeakFlagListener(this);
+            } else if (property != null) {
+                property.isDirty().addWeakInvalidationListener(this);
+            }
+        }
+
+        @Override
+        public void flagChanged(int flag, boolean value) {
+            update();
+        }
+
+        @Override
+        public void invalidated(@Nonnull ObservableValue<?> sender) {
+            update();
+        }
+
+        void update() {
+            if (active) {
+                setState(isDirty(), isBindingFlagSet(FieldBinding.PRESENTATION_VALID_FLAG),
+                        isBindingFlagSet(FieldBinding.MODEL_VALID_FLAG));
+            }
+        }
+
+        private boolean isDirty() {
+            if (property instanceof FlagSet.Owner) {
+                return ((FlagSet.Owner) property).isFlagSet(Property.DIRTY_FLAG);
+            }
+            return property != null && property.isDirty().getValue();
+        }
+
+        private boolean isBindingFlagSet(int flag) {
+            if (binding instanceof FlagSet.Owner) {
+                return ((FlagSet.Owner) binding).isFlagSet(flag);
+            } else if (flag == FieldBinding.PRESENTATION_VALID_FLAG) {
+                return binding.isPresentationValid().getValue();
+            } else {
+                return binding.isModelValid().getValue();
+            }
+        }
+
+        void stop() {
+            setState(false, true, true);
+            active = false;
+        }
+
+        private void setState(boolean dirty, boolean presentationValid, boolean modelValid) {
+            var dirtyDelta = Boolean.compare(dirty, this.dirty);
+            var invalidPresentationDelta = Boolean.compare(this.presentationValid, presentationValid);
+            var invalidModelDelta = Boolean.compare(this.modelValid, modelValid);
+            this.dirty = dirty;
+            this.presentationValid = presentationValid;
+            this.modelValid = modelValid;
+            group.updateCounts(dirtyDelta, invalidPresentationDelta, invalidModelDelta);
+        }
+    }
+
     /**
      * Functional interface for collectively handling the validation results of all bindings in a
      * {@link FieldBindingGroup}. This interface is almost identical to {@link TwoWayFieldBinding.BindingResultHandler}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.list;
+
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.shared.Registration;
+import net.pkhapps.appmodel4flow.property.Batch;
+import net.pkhapps.appmodel4flow.util.ListenerCollection;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class for implementations of {@link ObservableList}. Subclasses report their changes through
+ * {@link #addChange(ListChangeEvent.Change)}. Adjacent changes of the same type are merged and all changes made
+ * between {@link #beginChange()} and {@link #endChange()}, or while a {@link Batch} is active, are delivered as a single
+ * {@link ListChangeEvent}. Changes are not recorded at all while the list has no listeners.
+ *
+ * @param <T> the type of the items in the list.
+ */
+@NotThreadSafe
+public abstract class AbstractObservableList<T> extends AbstractList<T> implements ObservableList<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ListenerCollection<ListChangeEvent<T>> listeners = new ListenerCollection<>();
+    private transient List<ListChangeEvent.Change<T>> pendingChanges;
+    private transient Runnable flushTask;
+    private transient int changeDepth;
+
+    /**
+     * Default constructor.
+     */
+    protected AbstractObservableList() {
+        flushTask = this::flushChanges;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        flushTask = this::flushChanges;
+    }
+
+    @Nonnull
+    @Override
+    public Registration addListChangeListener(@Nonnull SerializableConsumer<ListChangeEvent<T>> listener) {
+        return listeners.addListener(listener);
+    }
+
+    @Override
+    public void addWeakListChangeListener(@Nonnull SerializableConsumer<ListChangeEvent<T>> listener) {
+        listeners.addWeakListener(listener);
+    }
+
+    /**
+     * Returns whether this list has any listeners. Changes are only recorded if it does, so subclasses can use this
+     * to skip copying the items that a {@link ListChangeEvent.Change} needs when nobody would see it.
+     *
+     * @return true if there is at least one listener, false if there are none.
+     */
+    protected boolean hasListChangeListeners() {
+        return listeners.containsListeners();
+    }
+
+    /**
+     * Begins a compound change. All changes reported until the matching call to {@link #endChange()} are delivered as
+     * a single event. Compound changes can be nested.
+     */
+    protected void beginChange() {
+        changeDepth++;
+    }
+
+    /**
+     * Ends a compound change started by {@link #beginChange()}. If this was the outermost compound change, the
+     * collected changes are delivered to the listeners, or postponed until the current {@link Batch} is closed.
+     */
+    protected void endChange() {
+        if (--changeDepth == 0 && pendingChanges != null) {
+            Batch.runOrDefer(flushTask);
+        }
+    }
+
+    /**
+     * Reports a change to the list. Subclasses should call this method after every modification, once the list has
+     * been brought to its new state. If the change is adjacent to the previous one and of the same type, the two are
+     * merged.
+     *
+     * @param change the change, never {@code null}. It must not have been delivered to any listeners yet.
+     */
+    protected void addChange(@Nonnull ListChangeEvent.Change<T> change) {
+        if (!hasListChangeListeners()) {
+            return;
+        }
+        if (pendingChanges == null) {
+            pendingChanges = new ArrayList<>();
+        }
+        var size = pendingChanges.size();
+        if (size == 0 || !pendingChanges.get(size - 1).merge(change)) {
+            pendingChanges.add(change);
+        }
+        if (changeDepth == 0) {
+            Batch.runOrDefer(flushTask);
+        }
+    }
+
+    private void flushChanges() {
+        var changes = pendingChanges;
+        if (changes != null) {
+            pendingChanges = null;
+            listeners.fireEvent(new ListChangeEvent<>(this, changes));
+        }
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.list;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Default implementation of {@link ObservableList}, backed by an {@link ArrayList}. Bulk operations such as
+ * {@link #addAll(Collection)}, {@link #removeIf(Predicate)}, {@link #sort(Comparator)} and {@link #setAll(Collection)}
+ * fire a single event with as few changes as possible. While the list has no listeners, no changes are built and the
+ * items are not copied for them. To combine several operations into a single event, run them
+ * inside a {@link net.pkhapps.appmodel4flow.property.Batch Batch}:
+ * <pre>
+ * Batch.run(() -> {
+ *     list.remove(0);
+ *     list.add(newItem);
+ * });
+ * </pre>
+ *
+ * @param <T> the type of the items in the list.
+ */
+@NotThreadSafe
+public class DefaultObservableList<T> extends AbstractObservableList<T> implements RandomAccess {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ArrayList<T> items;
+
+    /**
+     * Creates a new, empty {@code DefaultObservableList}.
+     */
+    public DefaultObservableList() {
+        items = new ArrayList<>();
+    }
+
+    /**
+     * Creates a new {@code DefaultObservableList}.
+     *
+     * @param items the initial items of the list, never {@code null}.
+     */
+    public DefaultObservableList(@Nonnull Collection<? extends T> items) {
+        this.items = new ArrayList<>(Objects.requireNonNull(items, "items must not be null"));
+    }
+
+    @Override
+    public T get(int index) {
+        return items.get(index);
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public T set(int index, T element) {
+        var old = items.set(index, element);
+        if (hasListChangeListeners()) {
+            addChange(ListChangeEvent.Change.replaced(index, Collections.singletonList(old),
+                    Collections.singletonList(element)));
+        }
+        return old;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        items.add(index, element);
+        modCount++;
+        if (hasListChangeListeners()) {
+            addChange(ListChangeEvent.Change.added(index, Collections.singletonList(element)));
+        }
+    }
+
+    @Override
+    public T remove(int index) {
+        var old = items.remove(index);
+        modCount++;
+        if (hasListChangeListeners()) {
+            addChange(ListChangeEvent.Change.removed(index, Collections.singletonList(old)));
+        }
+        return old;
+    }
+
+    @Override
+    public boolean addAll(@Nonnull Collection<? extends T> c) {
+        return addAll(items.size(), c);
+    }
+
+    @Override
+    public boolean addAll(int index, @Nonnull Collection<? extends T> c) {
+        var added = new ArrayList<T>(c);
+        if (added.isEmpty()) {
+            return false;
+        }
+        items.addAll(index, added);
+        modCount++;
+        if (hasListChangeListeners()) {
+            addChange(ListChangeEvent.Change.added(index, added));
+        }
+        return true;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        var range = items.subList(fromIndex, toIndex);
+        if (!hasListChangeListeners()) {
+            range.clear();
+            modCount++;
+            return;
+        }
+        var removed = new ArrayList<>(range);
+        range.clear();
+        modCount++;
+        addChange(ListChangeEvent.Change.removed(fromIndex, removed));
+    }
+
+    @Override
+    public void clear() {
+        removeRange(0, items.size());
+    }
+
+    @Override
+    public boolean removeIf(@Nonnull Predicate<? super T> filter) {
+        Objects.requireNonNull(filter, "filter must not be null");
+        if (!hasListChangeListeners()) {
+            if (items.removeIf(filter)) {
+                modCount++;
+                return true;
+            }
+            return false;
+        }
+        var kept = new ArrayList<T>(items.size());
+        var run = new ArrayList<T>();
+        var removedCount = 0;
+        beginChange();
+        try {
+            for (int i = 0; i < items.size(); ++i) {
+                var item = items.get(i);
+                if (filter.test(item)) {
+                    run.add(item);
+                } else {
+                    if (!run.isEmpty()) {
+                        // The index is relative to the list with the previous runs already removed
+                        addChange(ListChangeEvent.Change.removed(i - run.size() - removedCount, run));
+                        removedCount += run.size();
+                        run.clear();
+                    }
+                    kept.add(item);
+                }
+            }
+            if (!run.isEmpty()) {
+                addChange(ListChangeEvent.Change.removed(items.size() - run.size() - removedCount, run));
+                removedCount += run.size();
+            }
+            if (removedCount > 0) {
+                items.clear();
+                items.addAll(kept);
+                modCount++;
+            }
+        } finally {
+            endChange();
+        }
+        return removedCount > 0;
+    }
+
+    @Override
+    public boolean removeAll(@Nonnull Collection<?> c) {
+        Objects.requireNonNull(c, "c must not be null");
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(@Nonnull Collection<?> c) {
+        Objects.requireNonNull(c, "c must not be null");
+        return removeIf(item -> !c.contains(item));
+    }
+
+    @Override
+    public void replaceAll(@Nonnull UnaryOperator<T> operator) {
+        beginChange();
+        try {
+            super.replaceAll(operator);
+        } finally {
+            endChange();
+        }
+    }
+
+    @Override
+    public void sort(Comparator<? super T> c) {
+        if (!hasListChangeListeners()) {
+            items.sort(c);
+            modCount++;
+            return;
+        }
+        var old = new ArrayList<>(items);
+        items.sort(c);
+        modCount++;
+        fireReplaced(old);
+    }
+
+    /**
+     * Replaces the contents of this list with the given items. If the size of the list does not change, this is
+     * reported as a single replacement. Otherwise, it is reported as a removal of all the old items followed by an
+     * addition of all the new items.
+     *
+     * @param newItems the new items, never {@code null}.
+     */
+    public void setAll(@Nonnull Collection<? extends T> newItems) {
+        Objects.requireNonNull(newItems, "newItems must not be null");
+        if (!hasListChangeListeners()) {
+            var copy = new ArrayList<T>(newItems);
+            items.clear();
+            items.addAll(copy);
+            modCount++;
+            return;
+        }
+        var old = new ArrayList<>(items);
+        items.clear();
+        items.addAll(newItems);
+        modCount++;
+        if (old.size() == items.size()) {
+            fireReplaced(old);
+        } else {
+            beginChange();
+            try {
+                if (!old.isEmpty()) {
+                    addChange(ListChangeEvent.Change.removed(0, old));
+                }
+                if (!items.isEmpty()) {
+                    addChange(ListChangeEvent.Change.added(0, items));
+                }
+            } finally {
+                endChange();
+            }
+        }
+    }
+
+    /**
+     * Moves the item at the given index to another index.
+     *
+     * @param fromIndex the current index of the item.
+     * @param toIndex   the index the item should have after the move.
+     */
+    public void move(int fromIndex, int toIndex) {
+        move(fromIndex, toIndex, 1);
+    }
+
+    /**
+     * Moves a range of items to another position in the list.
+     *
+     * @param fromIndex the current index of the first item to move.
+     * @param toIndex   the index the first item should have after the move.
+     * @param count     the number of items to move.
+     */
+    public void move(int fromIndex, int toIndex, int count) {
+        var size = items.size();
+        if (count < 0 || fromIndex < 0 || fromIndex + count > size || toIndex < 0 || toIndex + count > size) {
+            throw new IndexOutOfBoundsException("Cannot move " + count + " item(s) from " + fromIndex + " to "
+                    + toIndex + " in a list of size " + size);
+        }
+        if (count == 0 || fromIndex == toIndex) {
+            return;
+        }
+        var range = items.subList(fromIndex, fromIndex + count);
+        var moved = new ArrayList<>(range);
+        range.clear();
+        items.addAll(toIndex, moved);
+        modCount++;
+        if (hasListChangeListeners()) {
+            addChange(ListChangeEvent.Change.moved(fromIndex, toIndex, moved));
+        }
+    }
+
+    /**
+     * Reports the items that differ between the given old contents and the current contents, which must be of the
+     * same size, as a single replacement.
+     */
+    private void fireReplaced(@Nonnull List<T> old) {
+        var first = 0;
+        var last = old.size() - 1;
+        while (first <= last && old.get(first) == items.get(first)) {
+            first++;
+        }
+        while (last >= first && old.get(last) == items.get(last)) {
+            last--;
+        }
+        if (first <= last) {
+            addChange(ListChangeEvent.Change.replaced(first, old.subList(first, last + 1),
+                    items.subList(first, last + 1)));
+        }
+    }
+}
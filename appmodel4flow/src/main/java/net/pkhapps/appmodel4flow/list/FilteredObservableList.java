@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.list;
+
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.function.SerializablePredicate;
+import lombok.ToString;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Read-only {@link ObservableList} that contains the items of another observable list that match a predicate. Along
+ * with the matching items, the list keeps the sorted indices of the items in the source list, so that the position of
+ * a changed source item in this list can be found with a binary search. Only the added and replaced items of a change
+ * are tested against the predicate.
+ *
+ * @param <T> the type of the items in the list.
+ */
+@NotThreadSafe
+@ToString(of = "source")
+class FilteredObservableList<T> extends AbstractObservableList<T> implements RandomAccess {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ObservableList<T> source;
+    private final SerializablePredicate<T> predicate;
+    private final ArrayList<T> items = new ArrayList<>();
+    private int[] sourceIndices;
+    private final SerializableConsumer<ListChangeEvent<T>> sourceListener = this::onSourceChange;
+
+    FilteredObservableList(@Nonnull ObservableList<T> source, @Nonnull SerializablePredicate<T> predicate) {
+        this.source = Objects.requireNonNull(source, "source must not be null");
+        this.predicate = Objects.requireNonNull(predicate, "predicate must not be null");
+        sourceIndices = new int[Math.max(10, source.size())];
+        for (int i = 0; i < source.size(); ++i) {
+            var item = source.get(i);
+            if (predicate.test(item)) {
+                sourceIndices[items.size()] = i;
+                items.add(item);
+            }
+        }
+        source.addWeakListChangeListener(sourceListener);
+    }
+
+    @Override
+    public T get(int index) {
+        return items.get(index);
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    private void onSourceChange(@Nonnull ListChangeEvent<T> event) {
+        beginChange();
+        try {
+            for (var change : event.getChanges()) {
+                switch (change.getType()) {
+                    case ADDED:
+                        onSourceItemsAdded(change.getFrom(), change.getItems());
+                        break;
+                    case REMOVED:
+                        onSourceItemsRemoved(change.getFrom(), change.size());
+                        break;
+                    case REPLACED:
+                        onSourceItemsReplaced(change.getFrom(), change.getItems());
+                        break;
+                    case MOVED:
+                        onSourceItemsMoved(change.getFrom(), change.getTo(), change.size());
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown change type " + change.getType());
+                }
+            }
+            modCount++;
+        } finally {
+            endChange();
+        }
+    }
+
+    private void onSourceItemsAdded(int from, @Nonnull List<T> added) {
+        var position = positionOf(from);
+        shiftSourceIndices(position, added.size());
+        var matching = new ArrayList<T>();
+        for (int i = 0; i < added.size(); ++i) {
+            var item = added.get(i);
+            if (predicate.test(item)) {
+                insertItem(position + matching.size(), from + i, item);
+                matching.add(item);
+            }
+        }
+        if (!matching.isEmpty()) {
+            addChange(ListChangeEvent.Change.added(position, matching));
+        }
+    }
+
+    private void onSourceItemsRemoved(int from, int count) {
+        var position = positionOf(from);
+        var removed = removeItems(position, positionOf(from + count));
+        shiftSourceIndices(position, -count);
+        if (!removed.isEmpty()) {
+            addChange(ListChangeEvent.Change.removed(position, removed));
+        }
+    }
+
+    private void onSourceItemsReplaced(int from, @Nonnull List<T> replacements) {
+        for (int i = 0; i < replacements.size(); ++i) {
+            var sourceIndex = from + i;
+            var item = replacements.get(i);
+            var position = positionOf(sourceIndex);
+            var present = position < items.size() && sourceIndices[position] == sourceIndex;
+            var matches = predicate.test(item);
+            if (present && matches) {
+                var old = items.set(position, item);
+                addChange(ListChangeEvent.Change.replaced(position, Collections.singletonList(old),
+                        Collections.singletonList(item)));
+            } else if (present) {
+                addChange(ListChangeEvent.Change.removed(position, removeItems(position, position + 1)));
+            } else if (matches) {
+                insertItem(position, sourceIndex, item);
+                addChange(ListChangeEvent.Change.added(position, Collections.singletonList(item)));
+            }
+        }
+    }
+
+    private void onSourceItemsMoved(int from, int to, int count) {
+        var position = positionOf(from);
+        var end = positionOf(from + count);
+        if (position == end) {
+            // None of the moved items are in this list, but the indices of the items in between have changed
+            shiftSourceIndices(position, -count);
+            shiftSourceIndices(positionOf(to), count);
+            return;
+        }
+        var movedSourceIndices = Arrays.copyOfRange(sourceIndices, position, end);
+        var moved = removeItems(position, end);
+        shiftSourceIndices(position, -count);
+        var newPosition = positionOf(to);
+        shiftSourceIndices(newPosition, count);
+        for (int i = 0; i < moved.size(); ++i) {
+            insertItem(newPosition + i, movedSourceIndices[i] - from + to, moved.get(i));
+        }
+        if (newPosition != position) {
+            addChange(ListChangeEvent.Change.moved(position, newPosition, moved));
+        }
+    }
+
+    /**
+     * Returns the position in this list of the first item whose source index is equal to or greater than the given
+     * source index.
+     */
+    private int positionOf(int sourceIndex) {
+        var low = 0;
+        var high = items.size();
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (sourceIndices[middle] < sourceIndex) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void shiftSourceIndices(int fromPosition, int delta) {
+        for (int i = fromPosition; i < items.size(); ++i) {
+            sourceIndices[i] += delta;
+        }
+    }
+
+    private void insertItem(int position, int sourceIndex, T item) {
+        var size = items.size();
+        if (size == sourceIndices.length) {
+            sourceIndices = Arrays.copyOf(sourceIndices, size + (size >> 1) + 1);
+        }
+        System.arraycopy(sourceIndices, position, sourceIndices, position + 1, size - position);
+        sourceIndices[position] = sourceIndex;
+        items.add(position, item);
+    }
+
+    @Nonnull
+    private List<T> removeItems(int fromPosition, int toPosition) {
+        var range = items.subList(fromPosition, toPosition);
+        var removed = new ArrayList<>(range);
+        var size = items.size();
+        System.arraycopy(sourceIndices, toPosition, sourceIndices, fromPosition, size - toPosition);
+        range.clear();
+        return removed;
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.list;
+
+import lombok.ToString;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Event fired by an {@link ObservableList} when it has changed. The event contains one or more {@link Change}s that
+ * describe ranges of items that were added, removed, replaced or moved. The changes are listed in the order they were
+ * made and the indices of every change refer to the list as it was after all the previous changes had been applied.
+ * In other words, a listener can bring a copy of the list up to date by applying the changes one by one.
+ *
+ * @param <T> the type of the items in the list.
+ */
+@SuppressWarnings("WeakerAccess")
+@Immutable
+@ToString
+public class ListChangeEvent<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ObservableList<T> sender;
+    private final List<Change<T>> changes;
+
+    /**
+     * Creates a new {@code ListChangeEvent}.
+     *
+     * @param sender  the list that fired the event, never {@code null}.
+     * @param changes the changes, never {@code null} and never empty.
+     */
+    public ListChangeEvent(@Nonnull ObservableList<T> sender, @Nonnull List<Change<T>> changes) {
+        this.sender = Objects.requireNonNull(sender, "sender must not be null");
+        Objects.requireNonNull(changes, "changes must not be null");
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("changes must not be empty");
+        }
+        this.changes = Collections.unmodifiableList(changes);
+    }
+
+    /**
+     * Returns the {@link ObservableList} that fired this event.
+     *
+     * @return the list, never {@code null}.
+     */
+    @Nonnull
+    public ObservableList<T> getSender() {
+        return sender;
+    }
+
+    /**
+     * Returns the changes in the order they were made.
+     *
+     * @return an unmodifiable list of changes, never {@code null} and never empty.
+     */
+    @Nonnull
+    public List<Change<T>> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Returns whether all the changes in this event are {@link Type#REPLACED replacements}, meaning that the size of
+     * the list and the positions of the items are unchanged.
+     *
+     * @return true if only items were replaced, false if the structure of the list has changed.
+     */
+    public boolean isReplacementOnly() {
+        for (var change : changes) {
+            if (change.getType() != Type.REPLACED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Enumeration of change types.
+     */
+    public enum Type {
+        /**
+         * A range of items was inserted into the list.
+         */
+        ADDED,
+        /**
+         * A range of items was removed from the list.
+         */
+        REMOVED,
+        /**
+         * A range of items was replaced by the same number of other items.
+         */
+        REPLACED,
+        /**
+         * A range of items was moved to another position in the list.
+         */
+        MOVED
+    }
+
+    /**
+     * A change to a single range of items.
+     *
+     * @param <T> the type of the items in the list.
+     */
+    @ToString
+    public static final class Change<T> implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Type type;
+        private int from;
+        private int to;
+        private final List<T> items;
+        private final List<T> removedItems;
+
+        private Change(@Nonnull Type type, int from, int to, @Nonnull List<T> items, @Nonnull List<T> removedItems) {
+            this.type = type;
+            this.from = from;
+            this.to = to;
+            this.items = items;
+            this.removedItems = removedItems;
+        }
+
+        /**
+         * Creates a change that describes items that were inserted into the list.
+         *
+         * @param from  the index of the first inserted item.
+         * @param items the inserted items, never {@code null}.
+         * @param <T>   the type of the items in the list.
+         * @return the change, never {@code null}.
+         */
+        @Nonnull
+        public static <T> Change<T> added(int from, @Nonnull List<? extends T> items) {
+            return new Change<>(Type.ADDED, from, from, new ArrayList<>(items), new ArrayList<>());
+        }
+
+        /**
+         * Creates a change that describes items that were removed from the list.
+         *
+         * @param from         the index the first removed item had.
+         * @param removedItems the removed items, never {@code null}.
+         * @param <T>          the type of the items in the list.
+         * @return the change, never {@code null}.
+         */
+        @Nonnull
+        public static <T> Change<T> removed(int from, @Nonnull List<? extends T> removedItems) {
+            return new Change<>(Type.REMOVED, from, from, new ArrayList<>(), new ArrayList<>(removedItems));
+        }
+
+        /**
+         * Creates a change that describes items that were replaced by other items.
+         *
+         * @param from         the index of the first replaced item.
+         * @param removedItems the items that were replaced, never {@code null}.
+         * @param items        the new items, never {@code null} and of the same size as {@code removedItems}.
+         * @param <T>          the type of the items in the list.
+         * @return the change, never {@code null}.
+         */
+        @Nonnull
+        public static <T> Change<T> replaced(int from, @Nonnull List<? extends T> removedItems,
+                                             @Nonnull List<? extends T> items) {
+            if (removedItems.size() != items.size()) {
+                throw new IllegalArgumentException("removedItems and items must be of the same size");
+            }
+            return new Change<>(Type.REPLACED, from, from, new ArrayList<>(items), new ArrayList<>(removedItems));
+        }
+
+        /**
+         * Creates a change that describes items that were moved to another position.
+         *
+         * @param from  the index the first moved item had before the move.
+         * @param to    the index the first moved item has after the move.
+         * @param items the moved items, never {@code null}.
+         * @param <T>   the type of the items in the list.
+         * @return the change, never {@code null}.
+         */
+        @Nonnull
+        public static <T> Change<T> moved(int from, int to, @Nonnull List<? extends T> items) {
+            return new Change<>(Type.MOVED, from, to, new ArrayList<>(items), new ArrayList<>());
+        }
+
+        /**
+         * Returns the type of the change.
+         *
+         * @return the type, never {@code null}.
+         */
+        @Nonnull
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * Returns the index of the first affected item. For {@link Type#REMOVED removals} and
+         * {@link Type#MOVED moves}, this is the index the item had before the change.
+         *
+         * @return the index of the first affected item.
+         */
+        public int getFrom() {
+            return from;
+        }
+
+        /**
+         * Returns the index the first moved item has after a {@link Type#MOVED move}. For other changes, this is the
+         * same as {@link #getFrom()}.
+         *
+         * @return the new index of the first moved item.
+         */
+        public int getTo() {
+            return to;
+        }
+
+        /**
+         * Returns the items that were added, that replaced other items or that were moved, depending on the
+         * {@link #getType() type} of the change.
+         *
+         * @return an unmodifiable list of items, never {@code null}. Empty for {@link Type#REMOVED removals}.
+         */
+        @Nonnull
+        public List<T> getItems() {
+            return Collections.unmodifiableList(items);
+        }
+
+        /**
+         * Returns the items that were removed or replaced, depending on the {@link #getType() type} of the change.
+         *
+         * @return an unmodifiable list of items, never {@code null}. Empty for {@link Type#ADDED additions} and
+         * {@link Type#MOVED moves}.
+         */
+        @Nonnull
+        public List<T> getRemovedItems() {
+            return Collections.unmodifiableList(removedItems);
+        }
+
+        /**
+         * Returns the number of affected items.
+         *
+         * @return the number of added, removed, replaced or moved items.
+         */
+        public int size() {
+            return type == Type.REMOVED ? removedItems.size() : items.size();
+        }
+
+        /**
+         * Tries to merge the given change, which was made right after this one, into this change. This is only
+         * possible when both changes are of the same type and the ranges are adjacent. Only changes that have not yet
+         * been delivered to any listeners may be merged.
+         *
+         * @param next the next change, never {@code null}.
+         * @return true if the change was merged into this change, false if it has to be kept as a separate change.
+         */
+        boolean merge(@Nonnull Change<T> next) {
+            if (next.type != type) {
+                return false;
+            }
+            switch (type) {
+                case ADDED:
+                    if (next.from >= from && next.from <= from + items.size()) {
+                        items.addAll(next.from - from, next.items);
+                        return true;
+                    }
+                    return false;
+                case REMOVED:
+                    if (next.from == from) {
+                        removedItems.addAll(next.removedItems);
+                        return true;
+                    } else if (next.from + next.removedItems.size() == from) {
+                        removedItems.addAll(0, next.removedItems);
+                        from = next.from;
+                        to = next.to;
+                        return true;
+                    }
+                    return false;
+                case REPLACED:
+                    if (next.from == from + items.size()) {
+                        items.addAll(next.items);
+                        removedItems.addAll(next.removedItems);
+                        return true;
+                    }
+                    return false;
+                default:
+                    return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.list;
+
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.function.SerializableFunction;
+import lombok.ToString;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Read-only {@link ObservableList} that contains the mapped items of another observable list. The mapped items are
+ * cached and only the added and replaced items of a change are mapped.
+ *
+ * @param <S> the type of the items in the source list.
+ * @param <T> the type of the items in this list.
+ */
+@NotThreadSafe
+@ToString(of = "source")
+class MappedObservableList<S, T> extends AbstractObservableList<T> implements RandomAccess {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ObservableList<S> source;
+    private final SerializableFunction<S, T> mapFunction;
+    private final ArrayList<T> items;
+    private final SerializableConsumer<ListChangeEvent<S>> sourceListener = this::onSourceChange;
+
+    MappedObservableList(@Nonnull ObservableList<S> source, @Nonnull SerializableFunction<S, T> mapFunction) {
+        this.source = Objects.requireNonNull(source, "source must not be null");
+        this.mapFunction = Objects.requireNonNull(mapFunction, "mapFunction must not be null");
+        this.items = new ArrayList<>(map(source));
+        source.addWeakListChangeListener(sourceListener);
+    }
+
+    @Override
+    public T get(int index) {
+        return items.get(index);
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    @Nonnull
+    private List<T> map(@Nonnull List<S> sourceItems) {
+        var mapped = new ArrayList<T>(sourceItems.size());
+        for (var item : sourceItems) {
+            mapped.add(mapFunction.apply(item));
+        }
+        return mapped;
+    }
+
+    private void onSourceChange(@Nonnull ListChangeEvent<S> event) {
+        beginChange();
+        try {
+            for (var change : event.getChanges()) {
+                var from = change.getFrom();
+                if (change.getType() == ListChangeEvent.Type.ADDED) {
+                    var added = map(change.getItems());
+                    items.addAll(from, added);
+                    addChange(ListChangeEvent.Change.added(from, added));
+                    continue;
+                }
+                var range = items.subList(from, from + change.size());
+                switch (change.getType()) {
+                    case REMOVED:
+                        var removed = new ArrayList<>(range);
+                        range.clear();
+                        addChange(ListChangeEvent.Change.removed(from, removed));
+                        break;
+                    case REPLACED:
+                        var replaced = new ArrayList<>(range);
+                        var replacements = map(change.getItems());
+                        for (int i = 0; i < replacements.size(); ++i) {
+                            range.set(i, replacements.get(i));
+                        }
+                        addChange(ListChangeEvent.Change.replaced(from, replaced, replacements));
+                        break;
+                    case MOVED:
+                        var moved = new ArrayList<>(range);
+                        range.clear();
+                        items.addAll(change.getTo(), moved);
+                        addChange(ListChangeEvent.Change.moved(from, change.getTo(), moved));
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown change type " + change.getType());
+                }
+            }
+            modCount++;
+        } finally {
+            endChange();
+        }
+    }
+}
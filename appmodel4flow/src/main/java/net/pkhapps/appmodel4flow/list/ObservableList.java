@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.list;
+
+import com.vaadin.flow.function.SerializableComparator;
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.function.SerializablePredicate;
+import com.vaadin.flow.shared.Registration;
+
+import javax.annotation.Nonnull;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A list that notifies its listeners of changes to ranges of items. Unlike an
+ * {@link net.pkhapps.appmodel4flow.property.ObservableValue ObservableValue} of a list, which can only report that the
+ * whole list was replaced, an observable list reports exactly which items were added, removed, replaced or moved (see
+ * {@link ListChangeEvent}). This allows listeners, derived lists and bindings to do work in proportion to the size of
+ * the change instead of the size of the list.
+ * <p>
+ * Changes made while a {@link net.pkhapps.appmodel4flow.property.Batch Batch} is active are collected and delivered as
+ * a single event when the batch is closed.
+ *
+ * @param <T> the type of the items in the list.
+ */
+public interface ObservableList<T> extends List<T>, Serializable {
+
+    /**
+     * Registers a listener to be notified when the list changes. The listener will be strongly referenced.
+     *
+     * @param listener the listener, never {@code null}.
+     * @return a registration handle for removing the listener, never {@code null}.
+     */
+    @Nonnull
+    Registration addListChangeListener(@Nonnull SerializableConsumer<ListChangeEvent<T>> listener);
+
+    /**
+     * Registers a listener to be notified when the list changes. The listener will be weakly referenced and
+     * automatically removed once garbage collected.
+     *
+     * @param listener the listener, never {@code null}.
+     */
+    void addWeakListChangeListener(@Nonnull SerializableConsumer<ListChangeEvent<T>> listener);
+
+    /**
+     * Returns a read-only list that contains the items of this list that match the given predicate, in the same
+     * order. The returned list is updated incrementally when this list changes. Items that change in a way that
+     * affects the predicate must be {@link List#set(int, Object) replaced} in this list for the change to be picked
+     * up.
+     *
+     * @param predicate the predicate to filter by, never {@code null}.
+     * @return the filtered list, never {@code null}.
+     */
+    @Nonnull
+    default ObservableList<T> filtered(@Nonnull SerializablePredicate<T> predicate) {
+        return new FilteredObservableList<>(this, predicate);
+    }
+
+    /**
+     * Returns a read-only list that contains the items of this list mapped using the given function, in the same
+     * order. Every item is only mapped once, when it is added to or replaced in this list.
+     *
+     * @param mapFunction the function to map the items with, never {@code null}.
+     * @param <E>         the type of the items in the mapped list.
+     * @return the mapped list, never {@code null}.
+     */
+    @Nonnull
+    default <E> ObservableList<E> mapped(@Nonnull SerializableFunction<T, E> mapFunction) {
+        return new MappedObservableList<>(this, mapFunction);
+    }
+
+    /**
+     * Returns a read-only list that contains the items of this list sorted using the given comparator. The returned
+     * list is updated incrementally when this list changes. The relative order of items that are equal according to
+     * the comparator is unspecified.
+     *
+     * @param comparator the comparator to sort by, never {@code null}.
+     * @return the sorted list, never {@code null}.
+     */
+    @Nonnull
+    default ObservableList<T> sorted(@Nonnull SerializableComparator<T> comparator) {
+        return new SortedObservableList<>(this, comparator);
+    }
+}
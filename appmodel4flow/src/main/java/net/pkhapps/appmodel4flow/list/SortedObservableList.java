@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.list;
+
+import com.vaadin.flow.function.SerializableComparator;
+import com.vaadin.flow.function.SerializableConsumer;
+import lombok.ToString;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Read-only {@link ObservableList} that contains the items of another observable list in sorted order. Added items
+ * are inserted at the position found by a binary search and removed items are looked up in the same way, so a change
+ * never causes the whole list to be sorted again. Moves in the source list do not affect this list at all.
+ *
+ * @param <T> the type of the items in the list.
+ */
+@NotThreadSafe
+@ToString(of = "source")
+class SortedObservableList<T> extends AbstractObservableList<T> implements RandomAccess {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ObservableList<T> source;
+    private final SerializableComparator<T> comparator;
+    private final ArrayList<T> items;
+    private final SerializableConsumer<ListChangeEvent<T>> sourceListener = this::onSourceChange;
+
+    SortedObservableList(@Nonnull ObservableList<T> source, @Nonnull SerializableComparator<T> comparator) {
+        this.source = Objects.requireNonNull(source, "source must not be null");
+        this.comparator = Objects.requireNonNull(comparator, "comparator must not be null");
+        this.items = new ArrayList<>(source);
+        this.items.sort(comparator);
+        source.addWeakListChangeListener(sourceListener);
+    }
+
+    @Override
+    public T get(int index) {
+        return items.get(index);
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    private void onSourceChange(@Nonnull ListChangeEvent<T> event) {
+        beginChange();
+        try {
+            for (var change : event.getChanges()) {
+                switch (change.getType()) {
+                    case ADDED:
+                        change.getItems().forEach(this::insertItem);
+                        break;
+                    case REMOVED:
+                        change.getRemovedItems().forEach(this::removeItem);
+                        break;
+                    case REPLACED:
+                        var removedItems = change.getRemovedItems();
+                        var replacements = change.getItems();
+                        for (int i = 0; i < replacements.size(); ++i) {
+                            replaceItem(removedItems.get(i), replacements.get(i));
+                        }
+                        break;
+                    case MOVED:
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown change type " + change.getType());
+                }
+            }
+            modCount++;
+        } finally {
+            endChange();
+        }
+    }
+
+    private void insertItem(T item) {
+        var position = insertionPointOf(item);
+        items.add(position, item);
+        addChange(ListChangeEvent.Change.added(position, Collections.singletonList(item)));
+    }
+
+    private void removeItem(T item) {
+        var position = indexOfItem(item);
+        if (position >= 0) {
+            items.remove(position);
+            addChange(ListChangeEvent.Change.removed(position, Collections.singletonList(item)));
+        }
+    }
+
+    private void replaceItem(T old, T item) {
+        var position = indexOfItem(old);
+        if (position < 0) {
+            insertItem(item);
+            return;
+        }
+        // Replace in place if the new item still sorts between its neighbours
+        if ((position == 0 || comparator.compare(items.get(position - 1), item) <= 0)
+                && (position == items.size() - 1 || comparator.compare(item, items.get(position + 1)) <= 0)) {
+            items.set(position, item);
+            addChange(ListChangeEvent.Change.replaced(position, Collections.singletonList(old),
+                    Collections.singletonList(item)));
+        } else {
+            items.remove(position);
+            addChange(ListChangeEvent.Change.removed(position, Collections.singletonList(old)));
+            insertItem(item);
+        }
+    }
+
+    /**
+     * Returns the position after the last item that is less than or equal to the given item.
+     */
+    private int insertionPointOf(T item) {
+        var low = 0;
+        var high = items.size();
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (comparator.compare(items.get(middle), item) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the position of an item that is equal to the given item, or -1 if there is none.
+     */
+    private int indexOfItem(T item) {
+        var low = 0;
+        var high = items.size();
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (comparator.compare(items.get(middle), item) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        for (int i = low; i < items.size() && comparator.compare(items.get(i), item) == 0; ++i) {
+            if (Objects.equals(items.get(i), item)) {
+                return i;
+            }
+        }
+        // The item may have been changed in a way that affects the sort order without being replaced
+        return items.indexOf(item);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.metrics;
+
+import net.pkhapps.appmodel4flow.action.Action;
+import net.pkhapps.appmodel4flow.property.ObservableValue;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Service provider interface for collecting metrics about the activity of the observable values, listeners and
+ * actions. The metrics are JVM wide: a single instance is {@link #setCurrent(AppModelMetrics) installed} e.g. when
+ * the application starts, and it is invoked from all threads and sessions. Implementations must therefore be
+ * thread-safe and fast.
+ * <p>
+ * By default, no metrics are collected. The library checks {@link #isEnabled()} before it measures anything, so the
+ * cost of the disabled default is a single field read per event. Override the methods you are interested in.
+ *
+ * @see InMemoryAppModelMetrics
+ */
+@ThreadSafe
+public abstract class AppModelMetrics {
+
+    private static final AppModelMetrics NO_OP = new AppModelMetrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    private static volatile AppModelMetrics current = NO_OP;
+
+    /**
+     * Returns the currently installed metrics.
+     *
+     * @return the metrics, never {@code null}. If no metrics have been installed, a disabled no-op instance is
+     * returned.
+     */
+    @Nonnull
+    public static AppModelMetrics getCurrent() {
+        return current;
+    }
+
+    /**
+     * Installs the given metrics for the whole JVM.
+     *
+     * @param metrics the metrics to install, or {@code null} to disable metrics collection.
+     */
+    public static void setCurrent(@Nullable AppModelMetrics metrics) {
+        current = metrics == null ? NO_OP : metrics;
+    }
+
+    /**
+     * Returns whether metrics are collected at all. If this method returns false, none of the other methods are
+     * invoked.
+     *
+     * @return true if metrics are collected, false if not.
+     */
+    public boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Called after a value change or any other event has been dispatched to its listeners. A value change is reported
+     * once by the observable value, no matter how many kinds of listeners (such as primitive and boxed listeners) it
+     * was delivered to. Other events are reported by the
+     * {@link net.pkhapps.appmodel4flow.util.ListenerCollection listener collection} that fired them.
+     *
+     * @param source        the observable value whose listeners were notified, or the event object for other events,
+     *                      never {@code null}.
+     * @param listenerCount the total number of listeners that were notified.
+     */
+    public void eventDispatched(@Nonnull Object source, int listenerCount) {
+    }
+
+    /**
+     * Called after a computed value has recomputed its value.
+     *
+     * @param computedValue the computed value, never {@code null}.
+     * @param durationNanos the time it took to compute the value, in nanoseconds.
+     */
+    public void valueComputed(@Nonnull ObservableValue<?> computedValue, long durationNanos) {
+    }
+
+    /**
+     * Called after an action has been performed, successfully or not. Attempts to perform an action that is not
+     * performable are not reported.
+     *
+     * @param action        the action, never {@code null}.
+     * @param durationNanos the time it took to perform the action, including notifying its listeners, in nanoseconds.
+     * @param failed        true if the action threw an exception, false if it completed normally.
+     */
+    public void actionPerformed(@Nonnull Action<?> action, long durationNanos, boolean failed) {
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.metrics;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Servlet that writes the statistics of the current {@link InMemoryAppModelMetrics} in plain text. A {@code POST}
+ * request resets the statistics. If some other metrics (or none) are installed, the servlet responds with
+ * {@code 404}.
+ * <p>
+ * The servlet is not registered automatically. Register it under a path of your choosing, preferably one that is
+ * only accessible to administrators, e.g. by extending it and annotating the subclass with {@code @WebServlet}.
+ */
+public class AppModelMetricsServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        var metrics = AppModelMetrics.getCurrent();
+        if (metrics instanceof InMemoryAppModelMetrics) {
+            resp.setContentType("text/plain");
+            resp.setCharacterEncoding("UTF-8");
+            ((InMemoryAppModelMetrics) metrics).writeTo(resp.getWriter());
+        } else {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND, "No in-memory metrics installed");
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        var metrics = AppModelMetrics.getCurrent();
+        if (metrics instanceof InMemoryAppModelMetrics) {
+            ((InMemoryAppModelMetrics) metrics).reset();
+            resp.setStatus(HttpServletResponse.SC_NO_CONTENT);
+        } else {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND, "No in-memory metrics installed");
+        }
+    }
+}
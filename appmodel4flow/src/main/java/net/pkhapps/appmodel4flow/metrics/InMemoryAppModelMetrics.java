@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.metrics;
+
+import net.pkhapps.appmodel4flow.action.Action;
+import net.pkhapps.appmodel4flow.property.ObservableValue;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.PrintWriter;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of {@link AppModelMetrics} that keeps simple statistics in memory, grouped by the class of the
+ * observable value, event or action. The statistics can be written out in plain text, e.g. by
+ * {@link AppModelMetricsServlet}.
+ */
+@ThreadSafe
+public class InMemoryAppModelMetrics extends AppModelMetrics {
+
+    private final Map<String, EventStatistics> eventStatistics = new ConcurrentHashMap<>();
+    private final Map<String, TimingStatistics> computationStatistics = new ConcurrentHashMap<>();
+    private final Map<String, TimingStatistics> actionStatistics = new ConcurrentHashMap<>();
+
+    @Override
+    public void eventDispatched(@Nonnull Object source, int listenerCount) {
+        eventStatistics.computeIfAbsent(source.getClass().getName(), key -> new EventStatistics())
+                .record(listenerCount);
+    }
+
+    @Override
+    public void valueComputed(@Nonnull ObservableValue<?> computedValue, long durationNanos) {
+        computationStatistics.computeIfAbsent(computedValue.getClass().getName(), key -> new TimingStatistics())
+                .record(durationNanos, false);
+    }
+
+    @Override
+    public void actionPerformed(@Nonnull Action<?> action, long durationNanos, boolean failed) {
+        actionStatistics.computeIfAbsent(action.getClass().getName(), key -> new TimingStatistics())
+                .record(durationNanos, failed);
+    }
+
+    /**
+     * Returns the statistics of dispatched events, keyed by the class name of the event source.
+     *
+     * @return an unmodifiable map of statistics, never {@code null}.
+     */
+    @Nonnull
+    public Map<String, EventStatistics> getEventStatistics() {
+        return Collections.unmodifiableMap(eventStatistics);
+    }
+
+    /**
+     * Returns the statistics of computed values, keyed by the class name of the computed value.
+     *
+     * @return an unmodifiable map of statistics, never {@code null}.
+     */
+    @Nonnull
+    public Map<String, TimingStatistics> getComputationStatistics() {
+        return Collections.unmodifiableMap(computationStatistics);
+    }
+
+    /**
+     * Returns the statistics of performed actions, keyed by the class name of the action.
+     *
+     * @return an unmodifiable map of statistics, never {@code null}.
+     */
+    @Nonnull
+    public Map<String, TimingStatistics> getActionStatistics() {
+        return Collections.unmodifiableMap(actionStatistics);
+    }
+
+    /**
+     * Clears all statistics.
+     */
+    public void reset() {
+        eventStatistics.clear();
+        computationStatistics.clear();
+        actionStatistics.clear();
+    }
+
+    /**
+     * Writes all statistics to the given writer in plain text, the most frequent first.
+     *
+     * @param writer the writer to write to, never {@code null}.
+     */
+    public void writeTo(@Nonnull PrintWriter writer) {
+        Objects.requireNonNull(writer, "writer must not be null");
+        writer.println("# Events");
+        writer.println("source\tevents\tnotifications\tmaxListeners");
+        eventStatistics.entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, EventStatistics> entry) -> entry.getValue().getCount()).reversed())
+                .forEach(entry -> writer.printf("%s\t%d\t%d\t%d%n", entry.getKey(), entry.getValue().getCount(),
+                        entry.getValue().getNotificationCount(), entry.getValue().getMaxListenerCount()));
+        writer.println();
+        writer.println("# Computations");
+        writeTimingStatistics(writer, computationStatistics);
+        writer.println();
+        writer.println("# Actions");
+        writeTimingStatistics(writer, actionStatistics);
+        writer.flush();
+    }
+
+    private static void writeTimingStatistics(@Nonnull PrintWriter writer,
+                                              @Nonnull Map<String, TimingStatistics> statistics) {
+        writer.print("class\tcount\tfailures\ttotalMicros\tmaxMicros");
+        for (long bound : TimingStatistics.BUCKET_BOUNDS_MICROS) {
+            writer.printf("\t<%dus", bound);
+        }
+        writer.println("\tslower");
+        statistics.entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, TimingStatistics> entry) -> entry.getValue().getCount()).reversed())
+                .forEach(entry -> {
+                    var value = entry.getValue();
+                    writer.printf("%s\t%d\t%d\t%d\t%d", entry.getKey(), value.getCount(), value.getFailureCount(),
+                            TimeUnit.NANOSECONDS.toMicros(value.getTotalNanos()),
+                            TimeUnit.NANOSECONDS.toMicros(value.getMaxNanos()));
+                    for (long bucket : value.getHistogram()) {
+                        writer.printf("\t%d", bucket);
+                    }
+                    writer.println();
+                });
+    }
+
+    /**
+     * Statistics of the events dispatched from sources of a single class.
+     */
+    @ThreadSafe
+    public static final class EventStatistics {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder notificationCount = new LongAdder();
+        private final LongAccumulator maxListenerCount = new LongAccumulator(Math::max, 0);
+
+        void record(int listenerCount) {
+            count.increment();
+            notificationCount.add(listenerCount);
+            maxListenerCount.accumulate(listenerCount);
+        }
+
+        /**
+         * Returns the number of dispatched events.
+         *
+         * @return the number of events.
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Returns the total number of times a listener was notified, i.e. the sum of the fan-out of all events.
+         *
+         * @return the number of notifications.
+         */
+        public long getNotificationCount() {
+            return notificationCount.sum();
+        }
+
+        /**
+         * Returns the largest number of listeners that were notified of a single event.
+         *
+         * @return the maximum fan-out.
+         */
+        public long getMaxListenerCount() {
+            return maxListenerCount.get();
+        }
+    }
+
+    /**
+     * Statistics of the durations of computations or actions of a single class, including a coarse histogram.
+     */
+    @ThreadSafe
+    public static final class TimingStatistics {
+
+        /**
+         * The exclusive upper bounds of the histogram buckets, in microseconds. The last bucket of the histogram has
+         * no upper bound.
+         */
+        static final long[] BUCKET_BOUNDS_MICROS = {10, 100, 1_000, 10_000, 100_000, 1_000_000};
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failureCount = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MICROS.length + 1];
+
+        TimingStatistics() {
+            for (int i = 0; i < buckets.length; ++i) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long durationNanos, boolean failed) {
+            count.increment();
+            if (failed) {
+                failureCount.increment();
+            }
+            totalNanos.add(durationNanos);
+            maxNanos.accumulate(durationNanos);
+            var micros = TimeUnit.NANOSECONDS.toMicros(durationNanos);
+            var bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MICROS.length && micros >= BUCKET_BOUNDS_MICROS[bucket]) {
+                ++bucket;
+            }
+            buckets[bucket].increment();
+        }
+
+        /**
+         * Returns the number of recorded computations or actions.
+         *
+         * @return the count.
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Returns the number of actions that failed. This is always 0 for computations.
+         *
+         * @return the number of failures.
+         */
+        public long getFailureCount() {
+            return failureCount.sum();
+        }
+
+        /**
+         * Returns the total duration of all recorded computations or actions.
+         *
+         * @return the total duration in nanoseconds.
+         */
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        /**
+         * Returns the duration of the slowest recorded computation or action.
+         *
+         * @return the maximum duration in nanoseconds.
+         */
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        /**
+         * Returns the number of computations or actions in each bucket of the histogram. The buckets are below 10 µs,
+         * 100 µs, 1 ms, 10 ms, 100 ms, 1 s, and 1 s or slower.
+         *
+         * @return a new array of counts, never {@code null}.
+         */
+        @Nonnull
+        public long[] getHistogram() {
+            var histogram = new long[buckets.length];
+            for (int i = 0; i < buckets.length; ++i) {
+                histogram[i] = buckets[i].sum();
+            }
+            return histogram;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.model;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.shared.Registration;
+import lombok.extern.slf4j.Slf4j;
+import net.pkhapps.appmodel4flow.binding.PushController;
+import net.pkhapps.appmodel4flow.property.ConcurrentObservableValue;
+import net.pkhapps.appmodel4flow.property.DefaultObservableValue;
+import net.pkhapps.appmodel4flow.property.ObservableValue;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link ConcurrentObservableValue} that is shared by all sessions of the application, e.g. a queue length or the
+ * status of a system. Instead of listening to the shared value directly, every {@link UI} that wants to show the value
+ * {@link #subscribe(UI) subscribes} to it and gets a UI specific copy of the value that can be bound to components
+ * like any other observable value.
+ * <p>
+ * When the shared value changes, the change is pushed to every subscribed UI through the {@link PushController} that
+ * was current when the UI subscribed. Each UI has at most one pending update at a time: if the value changes again
+ * before the previous update has been delivered, the changes are coalesced and the UI only sees the latest value. The
+ * updates are handed over to the UIs by a bounded executor, so that a slow session does not stall the others. A UI
+ * that an update cannot be pushed to, e.g. because it has been detached, is unsubscribed.
+ * <p>
+ * Instances should be stored in the application scope (e.g. a static field or an application scoped bean). The
+ * subscriptions are not serialized, so a deserialized copy of the value has no subscribers.
+ *
+ * @param <T> the value type.
+ */
+@ThreadSafe
+@Slf4j
+public class ApplicationScopedValue<T> extends ConcurrentObservableValue<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final InvalidationListener fanOutListener = (sender) -> fanOut();
+    private transient Executor executor;
+    private transient Map<UI, Subscription<T>> subscriptions;
+
+    /**
+     * Creates a new, empty {@code ApplicationScopedValue} that uses the default executor.
+     */
+    public ApplicationScopedValue() {
+        this(null);
+    }
+
+    /**
+     * Creates a new {@code ApplicationScopedValue} that uses the default executor.
+     *
+     * @param value the initial value, may be {@code null}.
+     */
+    public ApplicationScopedValue(T value) {
+        this(getDefaultExecutor(), value);
+    }
+
+    /**
+     * Creates a new {@code ApplicationScopedValue}.
+     *
+     * @param executor the executor to use when pushing the changes to the UIs, never {@code null}. It should have a
+     *                 bounded number of threads.
+     * @param value    the initial value, may be {@code null}.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public ApplicationScopedValue(@Nonnull Executor executor, T value) {
+        super(value);
+        this.executor = Objects.requireNonNull(executor, "executor must not be null");
+        this.subscriptions = new ConcurrentHashMap<>();
+        addInvalidationListener(fanOutListener);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        executor = getDefaultExecutor();
+        subscriptions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Subscribes the given UI to this value, using the current {@link PushController}. This method must be called
+     * while the session of the UI is locked, typically by the UI thread. The subscription is removed automatically when
+     * the UI is detached.
+     *
+     * @param ui the UI to subscribe, never {@code null}.
+     * @return an observable value that follows this value and is only changed while the session of the UI is locked,
+     * never {@code null}. If the UI is already subscribed, the same value is returned again.
+     */
+    @Nonnull
+    public ObservableValue<T> subscribe(@Nonnull UI ui) {
+        return subscribe(ui, PushController.getCurrent());
+    }
+
+    /**
+     * Subscribes the given UI to this value. This method must be called while the session of the UI is locked,
+     * typically by the UI thread. The subscription is removed automatically when the UI is detached.
+     *
+     * @param ui             the UI to subscribe, never {@code null}.
+     * @param pushController the push controller to deliver the changes through, never {@code null}. It must be
+     *                       thread-safe.
+     * @return an observable value that follows this value and is only changed while the session of the UI is locked,
+     * never {@code null}. If the UI is already subscribed, the same value is returned again.
+     */
+    @Nonnull
+    public ObservableValue<T> subscribe(@Nonnull UI ui, @Nonnull PushController pushController) {
+        Objects.requireNonNull(ui, "ui must not be null");
+        Objects.requireNonNull(pushController, "pushController must not be null");
+        var subscription = subscriptions.computeIfAbsent(ui, key -> new Subscription<>(this, key, pushController));
+        // Any change after the subscription was added is pushed, so this is the latest value or an older one
+        subscription.localValue.setValue(getValue());
+        return subscription.localValue;
+    }
+
+    /**
+     * Removes the subscription of the given UI. The UI specific value is no longer updated. If the UI is not
+     * subscribed, nothing happens.
+     *
+     * @param ui the UI to unsubscribe, never {@code null}.
+     */
+    public void unsubscribe(@Nonnull UI ui) {
+        Objects.requireNonNull(ui, "ui must not be null");
+        var subscription = subscriptions.get(ui);
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+    /**
+     * Returns the number of subscribed UIs.
+     *
+     * @return the number of subscriptions.
+     */
+    public int getSubscriptionCount() {
+        return subscriptions.size();
+    }
+
+    private void fanOut() {
+        for (var subscription : subscriptions.values()) {
+            if (subscription.updatePending.compareAndSet(false, true)) {
+                try {
+                    executor.execute(subscription::push);
+                } catch (RejectedExecutionException ex) {
+                    log.warn("Could not push the value of {} to {}", this, subscription.ui, ex);
+                    subscription.updatePending.set(false);
+                }
+            }
+        }
+    }
+
+    @Nonnull
+    private static Executor getDefaultExecutor() {
+        return DefaultExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * The subscription of a single UI.
+     */
+    private static final class Subscription<T> {
+
+        private final ApplicationScopedValue<T> owner;
+        private final UI ui;
+        private final PushController pushController;
+        private final DefaultObservableValue<T> localValue = new DefaultObservableValue<>();
+        private final AtomicBoolean updatePending = new AtomicBoolean();
+        private final Registration detachRegistration;
+
+        Subscription(@Nonnull ApplicationScopedValue<T> owner, @Nonnull UI ui,
+                     @Nonnull PushController pushController) {
+            this.owner = owner;
+            this.ui = ui;
+            this.pushController = pushController;
+            this.detachRegistration = ui.addDetachListener(event -> owner.unsubscribe(ui));
+        }
+
+        void push() {
+            try {
+                pushController.push(this::update, ui);
+            } catch (RuntimeException ex) {
+                // E.g. the UI has been detached or its session closed, so it will never receive another update
+                log.warn("Could not push the value of {} to {}, unsubscribing", owner, ui, ex);
+                updatePending.set(false);
+                cancel();
+            }
+        }
+
+        void cancel() {
+            // Only removes this subscription, the UI may have subscribed again in the meantime
+            if (owner.subscriptions.remove(ui, this)) {
+                detachRegistration.remove();
+            }
+        }
+
+        void update() {
+            // Cleared before reading the value, so that any later change schedules a new update
+            updatePending.set(false);
+            localValue.setValue(owner.getValue());
+        }
+    }
+
+    /**
+     * Holder of the default executor, which is only created when needed.
+     */
+    private static final class DefaultExecutorHolder {
+
+        private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+        private static final Executor EXECUTOR = createExecutor();
+
+        @Nonnull
+        private static Executor createExecutor() {
+            var threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+            var executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        var thread = new Thread(runnable, "appmodel4flow-fanout-" + THREAD_COUNT.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+}
@@ -16,13 +16,19 @@
 
 package net.pkhapps.appmodel4flow.property;
 
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.shared.Registration;
+import net.pkhapps.appmodel4flow.metrics.AppModelMetrics;
+
+import javax.annotation.Nonnull;
 import javax.annotation.concurrent.NotThreadSafe;
 import java.io.*;
+import java.util.Collection;
 import java.util.Objects;
 
 /**
  * Base class for computed values ({@link CombinedValue} and {@link ComputedValue}). The computed value is kept in a
- * cache and is only recomputed on demand.
+ * cache and is only recomputed on demand. See {@link Evaluation} for the different ways of recomputing the value.
  *
  * @param <T> the type of the computed value.
  */
@@ -35,6 +41,30 @@ public abstract class AbstractComputedValue<T> extends AbstractObservableValue<T
 
     private transient boolean recomputeCachedValue = false;
 
+    private transient boolean updatePending = false;
+
+    private transient boolean computing = false;
+
+    private int height = 1;
+
+    private final Evaluation evaluation;
+
+    /**
+     * Creates a new {@code AbstractComputedValue} that uses {@link Evaluation#EAGER eager} evaluation.
+     */
+    protected AbstractComputedValue() {
+        this(Evaluation.EAGER);
+    }
+
+    /**
+     * Creates a new {@code AbstractComputedValue}.
+     *
+     * @param evaluation the evaluation mode to use, never {@code null}.
+     */
+    protected AbstractComputedValue(@Nonnull Evaluation evaluation) {
+        this.evaluation = Objects.requireNonNull(evaluation, "evaluation must not be null");
+    }
+
     private void writeObject(ObjectOutputStream out) throws IOException {
         out.defaultWriteObject();
         if (cachedValue instanceof Serializable) {
@@ -54,14 +84,121 @@ public abstract class AbstractComputedValue<T> extends AbstractObservableValue<T
 
     /**
      * Recomputes and updates the cached value. If this results in a change of the value, an event is
-     * {@link #fireValueChangeEvent(Object, Object) fired}.
+     * {@link #fireValueChangeEvent(Object, Object) fired}. If the new value is {@link #isEquivalent(Object, Object)
+     * equivalent} to the old one, the old one is kept.
      */
     @SuppressWarnings("WeakerAccess")
     protected void updateCachedValue() {
         var old = cachedValue;
-        cachedValue = computeValue();
-        if (!Objects.equals(old, cachedValue)) {
-            fireValueChangeEvent(old, cachedValue);
+        var metrics = AppModelMetrics.getCurrent();
+        T value;
+        computing = true;
+        try {
+            if (metrics.isEnabled()) {
+                var start = System.nanoTime();
+                value = computeValue();
+                metrics.valueComputed(this, System.nanoTime() - start);
+            } else {
+                value = computeValue();
+            }
+        } finally {
+            computing = false;
+        }
+        if (!isEquivalent(old, value)) {
+            cachedValue = value;
+            fireValueChangeEvent(old, value);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public AbstractComputedValue<T> withEquivalence(@Nonnull Equivalence<T> equivalence) {
+        return (AbstractComputedValue<T>) super.withEquivalence(equivalence);
+    }
+
+    /**
+     * Computes the topological height of this computed value from the values it depends on. The height is used to
+     * make sure that a computed value is only recomputed after all its dependencies have been recomputed. Subclasses
+     * should call this method from the constructor before adding any listeners to the dependencies.
+     *
+     * @param dependencies the observable values that this computed value depends on, never {@code null}.
+     */
+    @SuppressWarnings("WeakerAccess")
+    protected void updateHeight(@Nonnull Collection<? extends ObservableValue> dependencies) {
+        Objects.requireNonNull(dependencies, "dependencies must not be null");
+        var maxDependencyHeight = 0;
+        for (ObservableValue<?> dependency : dependencies) {
+            maxDependencyHeight = Math.max(maxDependencyHeight, Propagation.heightOf(dependency));
+        }
+        height = maxDependencyHeight + 1;
+    }
+
+    @Override
+    int getHeight() {
+        return height;
+    }
+
+    /**
+     * Marks the cached value as invalid. Subclasses call this when any of the values that this computed value depends
+     * on has changed, and from the constructor to compute the initial value.
+     * <p>
+     * In {@link Evaluation#EAGER eager} mode, or in {@link Evaluation#LAZY lazy} mode when there are listeners that
+     * need the value, the computed value is scheduled to be {@link #updateCachedValue() updated} once the change has
+     * been delivered to all listeners, after all computed values with a lower height. This means that the value is only
+     * recomputed once, no matter how many of its dependencies changed. If a {@link Batch} is active, this happens when
+     * the batch is closed.
+     * <p>
+     * In lazy mode when the only listeners are {@link InvalidationListener}s, such as other computed values, the
+     * invalidation is passed on to them without recomputing the value. A chain of lazy values is therefore only
+     * recomputed when something reads the value at the end of it. Like any invalidation listener, they are not notified
+     * again until the value has been read. In both modes, reading the value or adding a listener that needs the value
+     * before the update has been performed will cause it to be performed immediately.
+     */
+    @SuppressWarnings("WeakerAccess")
+    protected void invalidate() {
+        // Dependencies that are brought up to date while this value is being computed notify it of their new values,
+        // but the computation has read those values already
+        if (!updatePending && !computing) {
+            updatePending = true;
+            if (evaluation == Evaluation.EAGER || hasValueConsumers()) {
+                Propagation.schedule(this);
+            } else {
+                notifyInvalidationListeners();
+            }
+        }
+    }
+
+    /**
+     * Returns whether the cached value has been invalidated and not yet recomputed.
+     *
+     * @return true if the value is invalid, false if it is up to date.
+     */
+    @SuppressWarnings("WeakerAccess")
+    protected boolean isInvalid() {
+        return updatePending;
+    }
+
+    /**
+     * Returns the evaluation mode of this computed value.
+     *
+     * @return the evaluation mode, never {@code null}.
+     */
+    @Nonnull
+    public Evaluation getEvaluation() {
+        return evaluation;
+    }
+
+    @Override
+    void updatePendingValue() {
+        if (updatePending) {
+            updatePending = false;
+            // The values read while computing are dependencies of this value, not of a value that is reading this one
+            var suspendedFrame = DependencyTracker.suspend();
+            try {
+                updateCachedValue();
+            } finally {
+                DependencyTracker.resume(suspendedFrame);
+            }
         }
     }
 
@@ -74,13 +211,36 @@ public abstract class AbstractComputedValue<T> extends AbstractObservableValue<T
 
     @Override
     public T getValue() {
+        DependencyTracker.recordRead(this);
+        updatePendingValue();
         if (recomputeCachedValue) {
+            var suspendedFrame = DependencyTracker.suspend();
             try {
                 cachedValue = computeValue();
             } finally {
                 recomputeCachedValue = false;
+                DependencyTracker.resume(suspendedFrame);
             }
         }
         return cachedValue;
     }
+
+    /**
+     * Enumeration of the ways a computed value can be evaluated.
+     */
+    public enum Evaluation {
+        /**
+         * The value is recomputed whenever any of its dependencies changes, regardless of whether anybody is
+         * observing it.
+         */
+        EAGER,
+        /**
+         * When any of the dependencies changes, the value is only marked as invalid and recomputed the next time it
+         * is read. If the value has listeners that need the value, it is recomputed right away like an eager value so
+         * that the listeners can be notified. {@link InvalidationListener}s, such as other lazy values that depend on
+         * this one, are only told that the value is invalid. Use this for values that are expensive to compute and not
+         * always observed, e.g. values shown in hidden tabs or detached views.
+         */
+        LAZY
+    }
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import com.vaadin.flow.shared.Registration;
+import net.pkhapps.appmodel4flow.util.GenericListenerCollection;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.Serializable;
+
+/**
+ * Base class for the primitive-specialized observable values, such as {@link DefaultObservableInt}. It manages the
+ * primitive change listeners and delivers the changes: primitive listeners are notified without boxing, and the boxed
+ * {@link ObservableValue} API is only served when listeners have been registered through it.
+ * <p>
+ * The old and new values of the change that is being notified are kept as raw bits in a {@code long}, which is wide
+ * enough for every primitive type. The dispatchers of the subclasses read the values back from the sender, so
+ * notifying the primitive listeners does not allocate anything. Changes made to the value by a listener while the
+ * listeners are being notified are ignored.
+ *
+ * @param <T>        the boxed value type.
+ * @param <LISTENER> the primitive listener type.
+ */
+@NotThreadSafe
+abstract class AbstractObservablePrimitive<T, LISTENER extends Serializable> extends AbstractObservableValue<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient boolean updatingValue = false;
+
+    private GenericListenerCollection<LISTENER> primitiveChangeListeners;
+
+    // Only set while the primitive listeners are being notified
+    private transient long notifiedOldBits = 0;
+    private transient long notifiedBits = 0;
+
+    AbstractObservablePrimitive() {
+    }
+
+    /**
+     * Converts the given boxed value into the raw bits used for notifying the primitive listeners.
+     */
+    abstract long toBits(@Nonnull T value);
+
+    /**
+     * Converts the given raw bits back into a boxed value.
+     */
+    @Nonnull
+    abstract T fromBits(long bits);
+
+    /**
+     * Dispatches the change that is currently being notified to the given primitive listeners, using
+     * {@link #getNotifiedOldBits()} and {@link #getNotifiedBits()}.
+     *
+     * @return the number of listeners that were notified.
+     */
+    abstract int dispatchPrimitiveChange(@Nonnull GenericListenerCollection<LISTENER> listeners);
+
+    /**
+     * Returns the raw bits of the old value of the change that is currently being notified.
+     */
+    final long getNotifiedOldBits() {
+        return notifiedOldBits;
+    }
+
+    /**
+     * Returns the raw bits of the new value of the change that is currently being notified.
+     */
+    final long getNotifiedBits() {
+        return notifiedBits;
+    }
+
+    /**
+     * Returns whether the listeners are currently being notified of a change made through a setter, in which case the
+     * value must not be changed.
+     */
+    final boolean isUpdatingValue() {
+        return updatingValue;
+    }
+
+    @Nonnull
+    final Registration addPrimitiveChangeListener(@Nonnull LISTENER listener) {
+        return getPrimitiveChangeListeners().addListener(listener);
+    }
+
+    final void addWeakPrimitiveChangeListener(@Nonnull LISTENER listener) {
+        getPrimitiveChangeListeners().addWeakListener(listener);
+    }
+
+    @Nonnull
+    private GenericListenerCollection<LISTENER> getPrimitiveChangeListeners() {
+        if (primitiveChangeListeners == null) {
+            primitiveChangeListeners = new GenericListenerCollection<>();
+        }
+        return primitiveChangeListeners;
+    }
+
+    /**
+     * Notifies the listeners that the value has changed. Called by the setters of the subclasses after the value has
+     * been changed.
+     *
+     * @param oldBits the raw bits of the old value.
+     * @param bits    the raw bits of the current (new) value.
+     */
+    final void fireChange(long oldBits, long bits) {
+        updatingValue = true;
+        try {
+            if (Batch.isActive()) {
+                // Primitive listeners are notified together with the others when the batch delivers the coalesced event
+                if (hasValueChangeListeners()) {
+                    fireValueChangeEvent(fromBits(oldBits), fromBits(bits));
+                }
+            } else {
+                var notified = notifyPrimitiveChangeListeners(oldBits, bits);
+                if (super.hasValueChangeListeners()) {
+                    notified += dispatchValueChange(fromBits(oldBits), fromBits(bits));
+                }
+                reportEventDispatched(notified);
+            }
+        } finally {
+            updatingValue = false;
+        }
+    }
+
+    private int notifyPrimitiveChangeListeners(long oldBits, long bits) {
+        if (primitiveChangeListeners == null) {
+            return 0;
+        } else {
+            // A listener may cause this value to be notified again, so the state of the outer notification is restored
+            var outerOldBits = notifiedOldBits;
+            var outerBits = notifiedBits;
+            notifiedOldBits = oldBits;
+            notifiedBits = bits;
+            try {
+                return dispatchPrimitiveChange(primitiveChangeListeners);
+            } finally {
+                notifiedOldBits = outerOldBits;
+                notifiedBits = outerBits;
+            }
+        }
+    }
+
+    @Override
+    protected boolean hasValueChangeListeners() {
+        return super.hasValueChangeListeners()
+                || (primitiveChangeListeners != null && primitiveChangeListeners.containsListeners());
+    }
+
+    @Override
+    protected void notifyValueChangeListeners(T old, T value) {
+        var notified = notifyPrimitiveChangeListeners(toBits(old), toBits(value));
+        reportEventDispatched(notified + dispatchValueChange(old, value));
+    }
+}
@@ -21,6 +21,7 @@ import com.vaadin.flow.function.SerializableFunction;
 import com.vaadin.flow.function.SerializablePredicate;
 import com.vaadin.flow.shared.Registration;
 import lombok.ToString;
+import net.pkhapps.appmodel4flow.metrics.AppModelMetrics;
 import net.pkhapps.appmodel4flow.util.ListenerCollection;
 
 import javax.annotation.Nonnull;
@@ -30,6 +31,10 @@ import java.util.Objects;
 
 /**
  * Base class for implementations of {@link ObservableValue}.
+ * <p>
+ * Listeners registered as {@link ChangeListener}s or {@link InvalidationListener}s are invoked directly. A
+ * {@link net.pkhapps.appmodel4flow.property.ObservableValue.ValueChangeEvent} is only created when there is at least
+ * one other kind of value change listener, and then only once per change.
  *
  * @param <T> the value type.
  */
@@ -40,6 +45,12 @@ public abstract class AbstractObservableValue<T> implements ObservableValue<T> {
 
     private ListenerCollection<ValueChangeEvent<T>> valueChangeEventListeners;
     private SerializablePredicate<T> isEmpty;
+    private Equivalence<T> equivalence;
+
+    // Only set while the listeners are being notified
+    private transient T notifiedOldValue = null;
+    private transient T notifiedValue = null;
+    private transient ValueChangeEvent<T> notifiedEvent = null;
 
     @SuppressWarnings("WeakerAccess")
     protected AbstractObservableValue() {
@@ -69,14 +80,50 @@ public abstract class AbstractObservableValue<T> implements ObservableValue<T> {
         return this;
     }
 
+    /**
+     * Specifies the {@link Equivalence} that will be used to check whether a new value is the same as the old one, in
+     * which case no event is fired. If not set, {@link Objects#equals(Object, Object)} is used.
+     *
+     * @param equivalence the equivalence to use, never {@code null}.
+     * @return this {@code ObservableValue}, to allow for method chaining. Superclasses probably want to override to
+     * return the correct type.
+     * @see net.pkhapps.appmodel4flow.property.support.Equivalences
+     */
+    @Nonnull
+    protected AbstractObservableValue<T> withEquivalence(@Nonnull Equivalence<T> equivalence) {
+        this.equivalence = Objects.requireNonNull(equivalence, "equivalence must not be null");
+        return this;
+    }
+
+    /**
+     * Checks whether the given values are equivalent according to the {@link #withEquivalence(Equivalence)
+     * equivalence} of this observable value. Subclasses should use this instead of {@code Objects.equals} when
+     * deciding whether the value has changed.
+     *
+     * @param first  the first value.
+     * @param second the second value.
+     * @return true if the values are equivalent, false if they are not.
+     */
+    @SuppressWarnings("WeakerAccess")
+    protected boolean isEquivalent(@Nullable T first, @Nullable T second) {
+        return equivalence == null ? Objects.equals(first, second) : equivalence.isEquivalent(first, second);
+    }
+
     @Nonnull
     @Override
     public Registration addValueChangeListener(@Nonnull SerializableConsumer<ValueChangeEvent<T>> listener) {
+        if (isValueConsumer(listener)) {
+            // Bring the value up to date silently, so that the listener gets the correct old value in the next event
+            updatePendingValue();
+        }
         return getValueChangeEventListeners().addListener(listener);
     }
 
     @Override
     public void addWeakValueChangeListener(@Nonnull SerializableConsumer<ValueChangeEvent<T>> listener) {
+        if (isValueConsumer(listener)) {
+            updatePendingValue();
+        }
         getValueChangeEventListeners().addWeakListener(listener);
     }
 
@@ -94,6 +141,12 @@ public abstract class AbstractObservableValue<T> implements ObservableValue<T> {
         return new MappedObservableValue<>(this, mapFunction);
     }
 
+    @Nonnull
+    @Override
+    public <E> ObservableValue<E> map(@Nonnull SerializableFunction<T, E> mapFunction, boolean mapOldValue) {
+        return new MappedObservableValue<>(this, mapFunction, mapOldValue);
+    }
+
     /**
      * Method for implementations of {@link WritableObservableValue#map(SerializableFunction, SerializableFunction)}.
      * This method is included in this class to keep the class hierarchy as simple as possible.
@@ -116,17 +169,177 @@ public abstract class AbstractObservableValue<T> implements ObservableValue<T> {
 
     /**
      * Fires a {@link net.pkhapps.appmodel4flow.property.ObservableValue.ValueChangeEvent} to all registered listeners.
+     * If a {@link Batch} is active, the event is coalesced with any other events fired by this observable value during
+     * the batch and delivered when the batch is closed.
      *
      * @param old   the old value.
      * @param value the current (new) value.
      */
     @SuppressWarnings("WeakerAccess")
     protected void fireValueChangeEvent(T old, T value) {
+        if (!hasValueChangeListeners()) {
+            return;
+        }
+        var batch = Batch.getCurrent();
+        if (batch != null) {
+            batch.deferValueChangeEvent(this, old, value);
+        } else {
+            notifyValueChangeListeners(old, value);
+        }
+    }
+
+    /**
+     * Notifies all registered listeners of a value change right away. This is called by
+     * {@link #fireValueChangeEvent(Object, Object)} and by {@link Batch} when it delivers coalesced events. Subclasses
+     * that maintain additional listeners should override this method as well as {@link #hasValueChangeListeners()}.
+     *
+     * @param old   the old value.
+     * @param value the current (new) value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    protected void notifyValueChangeListeners(T old, T value) {
+        reportEventDispatched(dispatchValueChange(old, value));
+    }
+
+    /**
+     * Notifies the listeners registered through {@link #addValueChangeListener(SerializableConsumer)} of a value
+     * change, without reporting it to the {@link AppModelMetrics}.
+     *
+     * @return the number of listeners that were notified.
+     */
+    final int dispatchValueChange(T old, T value) {
+        var notified = 0;
+        if (valueChangeEventListeners != null && valueChangeEventListeners.containsListeners()) {
+            // A listener may cause this value to be notified again, so the state of the outer notification is restored
+            var outerOldValue = notifiedOldValue;
+            var outerValue = notifiedValue;
+            var outerEvent = notifiedEvent;
+            notifiedOldValue = old;
+            notifiedValue = value;
+            notifiedEvent = null;
+            Propagation.begin();
+            try {
+                notified = valueChangeEventListeners.dispatch(AbstractObservableValue::notifyListener, this);
+            } finally {
+                notifiedOldValue = outerOldValue;
+                notifiedValue = outerValue;
+                notifiedEvent = outerEvent;
+                Propagation.end();
+            }
+        }
+        return notified;
+    }
+
+    /**
+     * Reports a value change of this observable value that has been delivered to the given number of listeners to the
+     * {@link AppModelMetrics}. Called once per change, no matter how many listener collections it was dispatched to.
+     */
+    final void reportEventDispatched(int listenerCount) {
+        if (listenerCount > 0) {
+            var metrics = AppModelMetrics.getCurrent();
+            if (metrics.isEnabled()) {
+                metrics.eventDispatched(this, listenerCount);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void notifyListener(@Nonnull SerializableConsumer<ValueChangeEvent<T>> listener,
+                                           @Nonnull AbstractObservableValue<T> sender) {
+        if (listener instanceof ChangeListener) {
+            ((ChangeListener<T>) listener).valueChanged(sender, sender.notifiedOldValue, sender.notifiedValue);
+        } else if (listener instanceof InvalidationListener) {
+            ((InvalidationListener) listener).invalidated(sender);
+        } else {
+            if (sender.notifiedEvent == null) {
+                sender.notifiedEvent = new ValueChangeEvent<>(sender, sender.notifiedOldValue, sender.notifiedValue);
+            }
+            listener.accept(sender.notifiedEvent);
+        }
+    }
+
+    /**
+     * Notifies the {@link InvalidationListener}s that the value has been invalidated, without providing the value.
+     * Listeners that need the value are not notified. Used by lazy computed values that pass on an invalidation
+     * without recomputing the value.
+     */
+    void notifyInvalidationListeners() {
         if (valueChangeEventListeners != null) {
-            valueChangeEventListeners.fireEvent(new ValueChangeEvent<>(this, old, value));
+            Propagation.begin();
+            try {
+                valueChangeEventListeners.dispatch(AbstractObservableValue::notifyInvalidationListener, this);
+            } finally {
+                Propagation.end();
+            }
+        }
+    }
+
+    private static void notifyInvalidationListener(@Nonnull SerializableConsumer<?> listener,
+                                                   @Nonnull AbstractObservableValue<?> sender) {
+        if (listener instanceof InvalidationListener) {
+            ((InvalidationListener) listener).invalidated(sender);
+        } else if (listener instanceof SourceValueListener) {
+            ((SourceValueListener<?>) listener).mappedValue.notifyInvalidationListeners();
         }
     }
 
+    /**
+     * Returns whether any of the listeners needs the value when it changes, as opposed to only being told that it has
+     * been invalidated. A {@link #map(SerializableFunction) mapped} view of this value only needs the value if any of
+     * its own listeners does.
+     *
+     * @return true if at least one listener needs the value, false if there are none or all of them are
+     * {@link InvalidationListener}s.
+     */
+    boolean hasValueConsumers() {
+        return valueChangeEventListeners != null
+                && valueChangeEventListeners.containsListener(AbstractObservableValue::isValueConsumer);
+    }
+
+    private static boolean isValueConsumer(@Nonnull SerializableConsumer<?> listener) {
+        if (listener instanceof InvalidationListener) {
+            return false;
+        } else if (listener instanceof SourceValueListener) {
+            return ((SourceValueListener<?>) listener).mappedValue.hasValueConsumers();
+        } else {
+            return true;
+        }
+    }
+
+    /**
+     * Brings a value that is computed on demand up to date, without notifying any listeners. Called before a listener
+     * that needs the value is added. Does nothing by default.
+     */
+    void updatePendingValue() {
+    }
+
+    /**
+     * Returns the topological height of this observable value, used by {@link Propagation}.
+     *
+     * @return the height, zero for values that do not depend on other values.
+     */
+    int getHeight() {
+        return 0;
+    }
+
+    /**
+     * Returns whether there are any listeners registered through {@link #addValueChangeListener(SerializableConsumer)}
+     * or {@link #addWeakValueChangeListener(SerializableConsumer)}. Subclasses can use this to avoid preparing (e.g.
+     * boxing) values for {@link #fireValueChangeEvent(Object, Object)} when nobody is listening. Subclasses that
+     * maintain additional listeners should override this method.
+     *
+     * @return true if there is at least one listener, false if there are none.
+     */
+    @SuppressWarnings("WeakerAccess")
+    protected boolean hasValueChangeListeners() {
+        return valueChangeEventListeners != null && valueChangeEventListeners.containsListeners();
+    }
+
+    /**
+     * Observable value that maps the value of another observable value. The most recently mapped value is cached
+     * together with the source value it was mapped from, so the map function is only invoked again when the source
+     * value has been replaced by another instance.
+     */
     @ToString(of = "sourceValue")
     private static class MappedObservableValue<E, T> extends AbstractObservableValue<E> {
 
@@ -134,25 +347,52 @@ public abstract class AbstractObservableValue<T> implements ObservableValue<T> {
 
         private final ObservableValue<T> sourceValue;
         private final SerializableFunction<T, E> mapFunction;
-        private final SerializableConsumer<ValueChangeEvent<T>> sourceValueListener = this::onSourceValueChangeEvent;
+        private final boolean mapOldValue;
+        private final ChangeListener<T> sourceValueListener = new SourceValueListener<>(this);
+        private transient MappedValueCache<T, E> cache;
 
         MappedObservableValue(@Nonnull ObservableValue<T> sourceValue,
                               @Nonnull SerializableFunction<T, E> mapFunction) {
+            this(sourceValue, mapFunction, true);
+        }
+
+        MappedObservableValue(@Nonnull ObservableValue<T> sourceValue,
+                              @Nonnull SerializableFunction<T, E> mapFunction,
+                              boolean mapOldValue) {
             this.sourceValue = Objects.requireNonNull(sourceValue, "sourceValue must not be null");
             this.mapFunction = Objects.requireNonNull(mapFunction, "mapFunction must not be null");
-            sourceValue.addWeakValueChangeListener(sourceValueListener);
+            this.mapOldValue = mapOldValue;
+            sourceValue.addWeakChangeListener(sourceValueListener);
         }
 
-        private void onSourceValueChangeEvent(ValueChangeEvent<T> event) {
-            var oldValue = mapValue(event.getOldValue());
-            var newValue = mapValue(event.getValue());
-            if (!Objects.equals(oldValue, newValue)) {
+        void onSourceValueChange(@Nonnull ObservableValue<T> sender, T old, T value) {
+            if (!hasValueChangeListeners()) {
+                // Nothing to fire, and the cache is checked against the source value on the next read anyway
+                return;
+            }
+            E oldValue;
+            if (cache != null && Objects.equals(cache.sourceValue, old)) {
+                oldValue = cache.value;
+            } else if (mapOldValue) {
+                oldValue = mapFunction.apply(old);
+            } else {
+                oldValue = cache == null ? null : cache.value;
+            }
+            var newValue = mapValue(value);
+            if (!isEquivalent(oldValue, newValue)) {
                 fireValueChangeEvent(oldValue, newValue);
             }
         }
 
         private E mapValue(T original) {
-            return mapFunction.apply(original);
+            if (cache == null) {
+                cache = new MappedValueCache<>(original, mapFunction.apply(original));
+            } else if (!Objects.equals(cache.sourceValue, original)) {
+                var mapped = mapFunction.apply(original);
+                cache.sourceValue = original;
+                cache.value = mapped;
+            }
+            return cache.value;
         }
 
         @Nonnull
@@ -160,9 +400,57 @@ public abstract class AbstractObservableValue<T> implements ObservableValue<T> {
             return sourceValue;
         }
 
+        @Override
+        void updatePendingValue() {
+            if (sourceValue instanceof AbstractObservableValue) {
+                ((AbstractObservableValue<T>) sourceValue).updatePendingValue();
+            }
+        }
+
+        @Override
+        int getHeight() {
+            return Propagation.heightOf(sourceValue);
+        }
+
         @Override
         public E getValue() {
-            return mapValue(sourceValue.getValue());
+            DependencyTracker.recordRead(this);
+            var suspendedFrame = DependencyTracker.suspend();
+            try {
+                return mapValue(sourceValue.getValue());
+            } finally {
+                DependencyTracker.resume(suspendedFrame);
+            }
+        }
+    }
+
+    /**
+     * The listener that a {@link MappedObservableValue} registers with its source value. This is a class of its own so
+     * that the source can tell it apart from other listeners, see {@link #hasValueConsumers()}.
+     */
+    private static final class SourceValueListener<T> implements ChangeListener<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final MappedObservableValue<?, T> mappedValue;
+
+        SourceValueListener(@Nonnull MappedObservableValue<?, T> mappedValue) {
+            this.mappedValue = mappedValue;
+        }
+
+        @Override
+        public void valueChanged(@Nonnull ObservableValue<T> sender, @Nullable T oldValue, @Nullable T value) {
+            mappedValue.onSourceValueChange(sender, oldValue, value);
+        }
+    }
+
+    private static final class MappedValueCache<T, E> {
+        private T sourceValue;
+        private E value;
+
+        MappedValueCache(T sourceValue, E value) {
+            this.sourceValue = sourceValue;
+            this.value = value;
         }
     }
 
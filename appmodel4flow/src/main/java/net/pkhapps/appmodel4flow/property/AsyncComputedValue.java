@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.function.SerializableSupplier;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import net.pkhapps.appmodel4flow.binding.PushController;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link ObservableValue} that is computed from a set of other {@link ObservableValue}s like {@link ComputedValue},
+ * but in the background. Use this for values that are slow to compute, e.g. because they call remote services, so
+ * that the computation does not block the UI thread or hold the session lock.
+ * <p>
+ * Whenever any of the dependencies changes, a new computation is started on the executor. A computation that is still
+ * running when a newer one is started is cancelled (interrupted) and its result is ignored should it complete anyway.
+ * The result of the latest computation is delivered through the {@link PushController} to the {@link UI} that was
+ * current when the computation was started, and the value is then updated and an event fired on the UI thread. If
+ * there was no current UI, the value is updated on the executor thread. Starting and completing computations is
+ * synchronized on this value, so a result can never be mistaken for the result of a newer computation. The listeners
+ * are always notified outside of the lock.
+ * <p>
+ * The first computation is started when the value or the {@link #isComputing() computing flag} is first requested, when
+ * a listener that needs the value is added, or when a dependency changes, whichever happens first. Until it has
+ * completed, the value is {@code null}. While a computation is in progress,
+ * {@link #isComputing()} is true and the value is the result of the previous computation. If a computation fails, the
+ * error is logged and the previous value is kept.
+ * <p>
+ * Because the value supplier runs on another thread, it should not read any values that may be changed by the UI
+ * thread at the same time, other than immutable values. By default, the supplier runs on a shared pool of daemon
+ * threads. An executor can be passed to the constructor, but it is not serialized: a deserialized instance uses the
+ * default executor.
+ *
+ * @param <T> the value type.
+ * @see ComputedValue
+ */
+@NotThreadSafe
+@Slf4j
+@ToString(of = "dependencies")
+public class AsyncComputedValue<T> extends AbstractObservableValue<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Collection<? extends ObservableValue> dependencies;
+    private final SerializableSupplier<T> valueSupplier;
+    private final InvalidationListener dependencyInvalidationListener = (sender) -> startComputation();
+    private final DefaultObservableBoolean computing = new DefaultObservableBoolean(false);
+    private transient Executor executor;
+    /**
+     * Guarded by {@code this}, since the result of a computation is delivered on the executor thread if there was no
+     * current UI.
+     */
+    private transient Computation<T> currentComputation;
+    private volatile T value;
+    /**
+     * Guarded by {@code this}.
+     */
+    private long generation;
+    private boolean started;
+
+    /**
+     * Creates a new {@code AsyncComputedValue} that runs the value supplier on the default executor.
+     *
+     * @param valueSupplier the function that will be used to compute the value, never {@code null}.
+     * @param dependencies  the observable values that this computed value depends on, never {@code null} but must
+     *                      contain at least one value.
+     */
+    public AsyncComputedValue(@Nonnull SerializableSupplier<T> valueSupplier,
+                              @Nonnull ObservableValue... dependencies) {
+        this(getDefaultExecutor(), valueSupplier, Set.of(dependencies));
+    }
+
+    /**
+     * Creates a new {@code AsyncComputedValue}.
+     *
+     * @param executor      the executor to run the value supplier on, never {@code null}.
+     * @param valueSupplier the function that will be used to compute the value, never {@code null}.
+     * @param dependencies  the observable values that this computed value depends on, never {@code null} but must
+     *                      contain at least one value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public AsyncComputedValue(@Nonnull Executor executor, @Nonnull SerializableSupplier<T> valueSupplier,
+                              @Nonnull ObservableValue... dependencies) {
+        this(executor, valueSupplier, Set.of(dependencies));
+    }
+
+    /**
+     * Creates a new {@code AsyncComputedValue}.
+     *
+     * @param executor      the executor to run the value supplier on, never {@code null}.
+     * @param valueSupplier the function that will be used to compute the value, never {@code null}.
+     * @param dependencies  the observable values that this computed value depends on, never {@code null} but must
+     *                      contain at least one value.
+     */
+    @SuppressWarnings({"unchecked", "WeakerAccess"})
+    public AsyncComputedValue(@Nonnull Executor executor, @Nonnull SerializableSupplier<T> valueSupplier,
+                              @Nonnull Collection<? extends ObservableValue> dependencies) {
+        this.executor = Objects.requireNonNull(executor, "executor must not be null");
+        this.valueSupplier = Objects.requireNonNull(valueSupplier, "valueSupplier must not be null");
+        Objects.requireNonNull(dependencies, "dependencies must not be null");
+        if (dependencies.size() == 0) {
+            throw new IllegalArgumentException("Need at least one dependency");
+        }
+        this.dependencies = dependencies;
+        this.dependencies.forEach(dependency -> dependency.addWeakInvalidationListener(dependencyInvalidationListener));
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        executor = getDefaultExecutor();
+        if (computing.getBooleanValue()) {
+            // The computation that was in progress was lost, start over when the value is next requested
+            started = false;
+        }
+    }
+
+    @Override
+    public T getValue() {
+        DependencyTracker.recordRead(this);
+        startIfNotStarted();
+        return value;
+    }
+
+    @Override
+    void updatePendingValue() {
+        startIfNotStarted();
+    }
+
+    /**
+     * Returns an observable flag that is true while a computation is in progress.
+     *
+     * @return the flag, never {@code null}.
+     */
+    @Nonnull
+    public ObservableBoolean isComputing() {
+        startIfNotStarted();
+        return computing;
+    }
+
+    private void startIfNotStarted() {
+        if (!started) {
+            startComputation();
+        }
+    }
+
+    private void startComputation() {
+        started = true;
+        Computation<T> computation;
+        synchronized (this) {
+            if (currentComputation != null) {
+                currentComputation.cancel(true);
+            }
+            computation = new Computation<>(this, ++generation, UI.getCurrent(), PushController.getCurrent());
+            currentComputation = computation;
+        }
+        computing.setBooleanValue(true);
+        executor.execute(computation);
+    }
+
+    void completeComputation(@Nonnull Computation<T> computation, @Nullable T result) {
+        T old;
+        boolean changed;
+        synchronized (this) {
+            if (computation != currentComputation) {
+                log.debug("Ignoring the result of superseded computation {} of {}", computation.generation, this);
+                return;
+            }
+            currentComputation = null;
+            old = value;
+            changed = !isEquivalent(old, result);
+            if (changed) {
+                value = result;
+            }
+        }
+        if (changed) {
+            fireValueChangeEvent(old, result);
+        }
+        clearComputingFlagIfIdle();
+    }
+
+    void failComputation(@Nonnull Computation<T> computation) {
+        synchronized (this) {
+            if (computation != currentComputation) {
+                return;
+            }
+            currentComputation = null;
+        }
+        clearComputingFlagIfIdle();
+    }
+
+    private void clearComputingFlagIfIdle() {
+        boolean idle;
+        synchronized (this) {
+            // A listener may have started a new computation already
+            idle = currentComputation == null;
+        }
+        if (idle) {
+            computing.setBooleanValue(false);
+        }
+    }
+
+    @Nonnull
+    private static Executor getDefaultExecutor() {
+        return DefaultExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * A single run of the value supplier.
+     */
+    private static final class Computation<T> extends FutureTask<T> {
+
+        private final AsyncComputedValue<T> owner;
+        private final long generation;
+        private final UI ui;
+        private final PushController pushController;
+
+        Computation(@Nonnull AsyncComputedValue<T> owner, long generation, @Nullable UI ui,
+                    @Nonnull PushController pushController) {
+            super(owner.valueSupplier::get);
+            this.owner = owner;
+            this.generation = generation;
+            this.ui = ui;
+            this.pushController = pushController;
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                var result = get();
+                pushController.push(() -> owner.completeComputation(this, result), ui);
+            } catch (ExecutionException ex) {
+                log.error("Error computing the value of " + owner, ex.getCause());
+                pushController.push(() -> owner.failComputation(this), ui);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Holder of the default executor, which is only created when needed.
+     */
+    private static final class DefaultExecutorHolder {
+
+        private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+        private static final Executor EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+            var thread = new Thread(runnable, "appmodel4flow-async-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.*;
+
+/**
+ * A batch of updates to observable values, bound to the current thread. While a batch is active, value change events
+ * fired by {@link AbstractObservableValue}s are not delivered to the listeners right away. Instead, they are coalesced
+ * per observable value into a single event (from the value the observable had when it first changed to the value it
+ * has when the batch is closed) and delivered when the outermost batch is closed. If the value ends up being equal to
+ * the original value, no event is delivered at all. {@link AbstractComputedValue computed values} also postpone their
+ * recomputation so that they are only recomputed once per batch. Because of this, a computed value still returns its
+ * old value inside the batch, even if the values it depends on have changed.
+ * <p>
+ * Batches can be nested. Only closing the outermost batch will deliver the events. Any changes made by listeners while
+ * the events are being delivered are collected and delivered in the same way before the batch is finally closed.
+ * <p>
+ * Use either {@link #run(Runnable)} or a try-with-resources block:
+ * <pre>
+ * try (var batch = Batch.begin()) {
+ *     firstName.setCleanValue(contact.getFirstName());
+ *     lastName.setCleanValue(contact.getLastName());
+ * }
+ * </pre>
+ */
+@NotThreadSafe
+@Slf4j
+public final class Batch implements AutoCloseable {
+
+    private static final ThreadLocal<Batch> CURRENT = new ThreadLocal<>();
+
+    private static final int MAX_FLUSH_ROUNDS = 100;
+
+    private final Map<AbstractObservableValue<?>, PendingEvent<?>> pendingEvents = new IdentityHashMap<>();
+    private final List<PendingEvent<?>> pendingEventOrder = new ArrayList<>();
+    private final Set<Runnable> pendingTaskKeys = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<Runnable> pendingTasks = new ArrayList<>();
+    private int depth;
+
+    private Batch() {
+    }
+
+    /**
+     * Begins a new batch or joins the batch that is already active on the current thread. The returned batch must be
+     * {@link #close() closed} exactly once, preferably using a try-with-resources block.
+     *
+     * @return the batch, never {@code null}.
+     */
+    @Nonnull
+    public static Batch begin() {
+        var batch = CURRENT.get();
+        if (batch == null) {
+            batch = new Batch();
+            CURRENT.set(batch);
+        }
+        batch.depth++;
+        return batch;
+    }
+
+    /**
+     * Runs the given command inside a batch. This is the same as calling {@link #begin()}, running the command and
+     * then calling {@link #close()}.
+     *
+     * @param command the command to run, never {@code null}.
+     */
+    public static void run(@Nonnull Runnable command) {
+        Objects.requireNonNull(command, "command must not be null");
+        var batch = begin();
+        try {
+            command.run();
+        } finally {
+            batch.close();
+        }
+    }
+
+    /**
+     * Returns whether a batch is currently active on the current thread.
+     *
+     * @return true if a batch is active, false if not.
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Runs the given task immediately if no batch is active. Otherwise, the task is postponed until the outermost
+     * batch is closed. A task that is postponed multiple times during the same batch (the same instance, that is) will
+     * only be run once. This is useful for listeners that recompute some aggregate state whenever any of a number of
+     * observable values change.
+     *
+     * @param task the task to run, never {@code null}.
+     */
+    public static void runOrDefer(@Nonnull Runnable task) {
+        Objects.requireNonNull(task, "task must not be null");
+        var batch = CURRENT.get();
+        if (batch == null) {
+            task.run();
+        } else {
+            batch.defer(task);
+        }
+    }
+
+    @Nullable
+    static Batch getCurrent() {
+        return CURRENT.get();
+    }
+
+    private void defer(@Nonnull Runnable task) {
+        if (pendingTaskKeys.add(task)) {
+            pendingTasks.add(task);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> void deferValueChangeEvent(@Nonnull AbstractObservableValue<T> sender, T oldValue, T value) {
+        var pendingEvent = (PendingEvent<T>) pendingEvents.get(sender);
+        if (pendingEvent == null) {
+            pendingEvent = new PendingEvent<>(sender, oldValue, value);
+            pendingEvents.put(sender, pendingEvent);
+            pendingEventOrder.add(pendingEvent);
+        } else {
+            pendingEvent.value = value;
+        }
+    }
+
+    /**
+     * Closes this batch. If this is the outermost batch, all pending events are delivered and all postponed tasks are
+     * run.
+     *
+     * @throws IllegalStateException if this batch is not active on the current thread.
+     */
+    @Override
+    public void close() {
+        if (CURRENT.get() != this || depth == 0) {
+            throw new IllegalStateException("The batch is not active on the current thread");
+        }
+        if (--depth == 0) {
+            try {
+                flush();
+            } finally {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    private void flush() {
+        // The batch stays current while flushing so that any changes made by the listeners are also coalesced.
+        var rounds = 0;
+        while (!pendingEventOrder.isEmpty() || !pendingTasks.isEmpty()) {
+            if (++rounds > MAX_FLUSH_ROUNDS) {
+                throw new IllegalStateException("The batch did not settle after " + MAX_FLUSH_ROUNDS
+                        + " rounds, there is probably a listener that keeps changing the values");
+            }
+            if (!pendingEventOrder.isEmpty()) {
+                var events = new ArrayList<>(pendingEventOrder);
+                pendingEventOrder.clear();
+                pendingEvents.clear();
+                log.trace("Delivering {} coalesced event(s)", events.size());
+                // Deliver all events in the same propagation so that every computed value is recomputed only once
+                Propagation.begin();
+                try {
+                    events.forEach(PendingEvent::deliver);
+                } finally {
+                    Propagation.end();
+                }
+            } else {
+                var tasks = new ArrayList<>(pendingTasks);
+                pendingTasks.clear();
+                pendingTaskKeys.clear();
+                log.trace("Running {} postponed task(s)", tasks.size());
+                tasks.forEach(Runnable::run);
+            }
+        }
+    }
+
+    private static class PendingEvent<T> {
+        private final AbstractObservableValue<T> sender;
+        private final T oldValue;
+        private T value;
+
+        PendingEvent(@Nonnull AbstractObservableValue<T> sender, T oldValue, T value) {
+            this.sender = sender;
+            this.oldValue = oldValue;
+            this.value = value;
+        }
+
+        void deliver() {
+            if (!sender.isEquivalent(oldValue, value)) {
+                sender.notifyValueChangeListeners(oldValue, value);
+            }
+        }
+    }
+}
@@ -16,14 +16,12 @@
 
 package net.pkhapps.appmodel4flow.property;
 
-import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.function.SerializableFunction;
 import lombok.ToString;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.NotThreadSafe;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 import java.util.stream.Stream;
 
 /**
@@ -32,6 +30,9 @@ import java.util.stream.Stream;
  * any of the other values change. <em>Only {@link ObservableValue#hasValue() non-empty} values will be passed to the
  * combiner function.</em>
  * <p>
+ * If the combiner is an {@link IncrementalCombiner}, the value is updated incrementally using only the values of the
+ * dependencies that have actually changed.
+ * <p>
  * The difference between this class and {@link ComputedValue} is that this class works with observable values of the
  * same type whereas the computed value works with observable values of different types.
  *
@@ -44,9 +45,15 @@ public class CombinedValue<T> extends AbstractComputedValue<T> {
 
     private static final long serialVersionUID = 1L;
 
+    private static final Object NO_CONTRIBUTION = new Object();
+
     private final List<ObservableValue<T>> dependencies;
     private final SerializableFunction<Stream<T>, T> combiner;
-    private final SerializableConsumer<ValueChangeEvent<T>> dependencyValueChangeListener = (event) -> updateCachedValue();
+    private final InvalidationListener dependencyInvalidationListener = this::onDependencyInvalidated;
+    private transient IncrementalCombiner.Accumulator<T> accumulator;
+    private transient Object[] contributions;
+    private transient BitSet changedDependencies;
+    private transient Map<ObservableValue<T>, int[]> dependencyIndices;
 
     /**
      * Creates a new {@code CombinedValue}.
@@ -58,7 +65,22 @@ public class CombinedValue<T> extends AbstractComputedValue<T> {
     @SafeVarargs
     public CombinedValue(@Nonnull SerializableFunction<Stream<T>, T> combiner,
                          @Nonnull ObservableValue<T>... dependencies) {
-        this(combiner, List.of(dependencies));
+        this(Evaluation.EAGER, combiner, List.of(dependencies));
+    }
+
+    /**
+     * Creates a new {@code CombinedValue}.
+     *
+     * @param evaluation   the evaluation mode to use, never {@code null}.
+     * @param combiner     the function to use to compute the value, never {@code null}.
+     * @param dependencies the observable values that will form the combined value, never {@code null} but must contain
+     *                     at least one value.
+     */
+    @SafeVarargs
+    @SuppressWarnings("WeakerAccess")
+    public CombinedValue(@Nonnull Evaluation evaluation, @Nonnull SerializableFunction<Stream<T>, T> combiner,
+                         @Nonnull ObservableValue<T>... dependencies) {
+        this(evaluation, combiner, List.of(dependencies));
     }
 
     /**
@@ -70,20 +92,118 @@ public class CombinedValue<T> extends AbstractComputedValue<T> {
      */
     public CombinedValue(@Nonnull SerializableFunction<Stream<T>, T> combiner,
                          @Nonnull List<ObservableValue<T>> dependencies) {
+        this(Evaluation.EAGER, combiner, dependencies);
+    }
+
+    /**
+     * Creates a new {@code CombinedValue}.
+     *
+     * @param evaluation   the evaluation mode to use, never {@code null}.
+     * @param combiner     the function to use to compute the value, never {@code null}.
+     * @param dependencies the observable values that will form the combined value, never {@code null} but must contain
+     *                     at least one value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public CombinedValue(@Nonnull Evaluation evaluation, @Nonnull SerializableFunction<Stream<T>, T> combiner,
+                         @Nonnull List<ObservableValue<T>> dependencies) {
+        super(evaluation);
         this.combiner = Objects.requireNonNull(combiner, "combiner must not be null");
         Objects.requireNonNull(dependencies, "dependencies must not be null");
         if (dependencies.size() == 0) {
             throw new IllegalArgumentException("Need at least one dependency");
         }
         this.dependencies = dependencies;
-        this.dependencies.forEach(dependency -> dependency.addWeakValueChangeListener(dependencyValueChangeListener));
-        updateCachedValue();
+        updateHeight(dependencies);
+        this.dependencies.forEach(dependency -> dependency.addWeakInvalidationListener(dependencyInvalidationListener));
+        invalidate();
+    }
+
+    private void onDependencyInvalidated(@Nonnull ObservableValue<?> sender) {
+        if (accumulator != null) {
+            var indices = getDependencyIndices().get(sender);
+            if (indices == null) {
+                accumulator = null; // Unknown sender, start over
+            } else {
+                for (var index : indices) {
+                    changedDependencies.set(index);
+                }
+            }
+        }
+        invalidate();
+    }
+
+    @Nonnull
+    private Map<ObservableValue<T>, int[]> getDependencyIndices() {
+        if (dependencyIndices == null) {
+            dependencyIndices = new IdentityHashMap<>(dependencies.size());
+            for (int i = 0; i < dependencies.size(); ++i) {
+                var existing = dependencyIndices.get(dependencies.get(i));
+                if (existing == null) {
+                    dependencyIndices.put(dependencies.get(i), new int[]{i});
+                } else {
+                    var indices = Arrays.copyOf(existing, existing.length + 1);
+                    indices[existing.length] = i;
+                    dependencyIndices.put(dependencies.get(i), indices);
+                }
+            }
+        }
+        return dependencyIndices;
+    }
 
+    @Nonnull
+    @Override
+    public CombinedValue<T> withEquivalence(@Nonnull Equivalence<T> equivalence) {
+        return (CombinedValue<T>) super.withEquivalence(equivalence);
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     protected T computeValue() {
+        if (combiner instanceof IncrementalCombiner) {
+            return computeValueIncrementally((IncrementalCombiner<T>) combiner);
+        }
         var values = dependencies.stream().filter(ObservableValue::hasValue).map(ObservableValue::getValue);
         return combiner.apply(values);
     }
+
+    @SuppressWarnings("unchecked")
+    private T computeValueIncrementally(@Nonnull IncrementalCombiner<T> incrementalCombiner) {
+        var current = accumulator;
+        // Clear the accumulator while updating it so that it is rebuilt next time if anything goes wrong
+        accumulator = null;
+        if (current != null) {
+            for (var i = changedDependencies.nextSetBit(0); i >= 0; i = changedDependencies.nextSetBit(i + 1)) {
+                if (contributions[i] != NO_CONTRIBUTION && !current.remove((T) contributions[i])) {
+                    current = null;
+                    break;
+                }
+                contribute(current, i);
+            }
+        }
+        if (current == null) {
+            current = incrementalCombiner.createAccumulator();
+            contributions = new Object[dependencies.size()];
+            for (int i = 0; i < dependencies.size(); ++i) {
+                contribute(current, i);
+            }
+        }
+        if (changedDependencies == null) {
+            changedDependencies = new BitSet(dependencies.size());
+        } else {
+            changedDependencies.clear();
+        }
+        accumulator = current;
+        return current.getResult();
+    }
+
+    private void contribute(@Nonnull IncrementalCombiner.Accumulator<T> accumulator, int index) {
+        var dependency = dependencies.get(index);
+        if (dependency.hasValue()) {
+            var value = dependency.getValue();
+            accumulator.add(value);
+            contributions[index] = value;
+        } else {
+            contributions[index] = NO_CONTRIBUTION;
+        }
+    }
 }
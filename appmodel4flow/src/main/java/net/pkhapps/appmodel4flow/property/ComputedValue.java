@@ -16,7 +16,6 @@
 
 package net.pkhapps.appmodel4flow.property;
 
-import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.function.SerializableSupplier;
 import lombok.ToString;
 
@@ -44,7 +43,7 @@ public class ComputedValue<T> extends AbstractComputedValue<T> {
 
     private final Collection<? extends ObservableValue> dependencies;
     private final SerializableSupplier<T> valueSupplier;
-    private final SerializableConsumer<ValueChangeEvent> dependencyValueChangeListener = (event) -> updateCachedValue();
+    private final InvalidationListener dependencyInvalidationListener = (sender) -> invalidate();
 
     /**
      * Creates a new {@code ComputedValue}.
@@ -53,25 +52,59 @@ public class ComputedValue<T> extends AbstractComputedValue<T> {
      * @param dependencies  the observable values that this computed value depends on, never {@code null} but must contain at least one value.
      */
     public ComputedValue(@Nonnull SerializableSupplier<T> valueSupplier, @Nonnull ObservableValue... dependencies) {
-        this(valueSupplier, Set.of(dependencies));
+        this(Evaluation.EAGER, valueSupplier, Set.of(dependencies));
     }
 
     /**
      * Creates a new {@code ComputedValue}.
      *
+     * @param evaluation    the evaluation mode to use, never {@code null}.
      * @param valueSupplier the function that will be used to compute the value, never {@code null}.
      * @param dependencies  the observable values that this computed value depends on, never {@code null} but must contain at least one value.
      */
-    @SuppressWarnings({"unchecked", "WeakerAccess"})
+    @SuppressWarnings("WeakerAccess")
+    public ComputedValue(@Nonnull Evaluation evaluation, @Nonnull SerializableSupplier<T> valueSupplier,
+                         @Nonnull ObservableValue... dependencies) {
+        this(evaluation, valueSupplier, Set.of(dependencies));
+    }
+
+    /**
+     * Creates a new {@code ComputedValue}.
+     *
+     * @param valueSupplier the function that will be used to compute the value, never {@code null}.
+     * @param dependencies  the observable values that this computed value depends on, never {@code null} but must contain at least one value.
+     */
+    @SuppressWarnings("WeakerAccess")
     public ComputedValue(@Nonnull SerializableSupplier<T> valueSupplier, @Nonnull Collection<? extends ObservableValue> dependencies) {
+        this(Evaluation.EAGER, valueSupplier, dependencies);
+    }
+
+    /**
+     * Creates a new {@code ComputedValue}.
+     *
+     * @param evaluation    the evaluation mode to use, never {@code null}.
+     * @param valueSupplier the function that will be used to compute the value, never {@code null}.
+     * @param dependencies  the observable values that this computed value depends on, never {@code null} but must contain at least one value.
+     */
+    @SuppressWarnings({"unchecked", "WeakerAccess"})
+    public ComputedValue(@Nonnull Evaluation evaluation, @Nonnull SerializableSupplier<T> valueSupplier,
+                         @Nonnull Collection<? extends ObservableValue> dependencies) {
+        super(evaluation);
         this.valueSupplier = Objects.requireNonNull(valueSupplier, "valueSupplier must not be null");
         Objects.requireNonNull(dependencies, "dependencies must not be null");
         if (dependencies.size() == 0) {
             throw new IllegalArgumentException("Need at least one dependency");
         }
         this.dependencies = dependencies;
-        this.dependencies.forEach(dependency -> dependency.addWeakValueChangeListener(dependencyValueChangeListener));
-        updateCachedValue();
+        updateHeight(dependencies);
+        this.dependencies.forEach(dependency -> dependency.addWeakInvalidationListener(dependencyInvalidationListener));
+        invalidate();
+    }
+
+    @Nonnull
+    @Override
+    public ComputedValue<T> withEquivalence(@Nonnull Equivalence<T> equivalence) {
+        return (ComputedValue<T>) super.withEquivalence(equivalence);
     }
 
     @Override
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.function.SerializablePredicate;
+import com.vaadin.flow.shared.Registration;
+import lombok.ToString;
+import net.pkhapps.appmodel4flow.util.ListenerCollection;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Implementation of {@link WritableObservableValue} that can be read and written by any thread without locking, e.g.
+ * by background threads that produce data for the UI. The value is updated using atomic compare-and-set operations,
+ * and the listeners are notified on the thread that changed the value.
+ * <p>
+ * The events of a single value are never delivered concurrently and always form a monotonic sequence: the old value
+ * of every event is the new value of the previous event. When several threads change the value at the same time, the
+ * thread that is already notifying the listeners delivers the changes of the other threads as well, which means that
+ * intermediate values may be skipped. Because of this, a listener that changes the value will not be notified of the
+ * new change until it has returned.
+ * <p>
+ * Since the listeners are notified on background threads, they must be thread-safe. Bindings deliver the changes to
+ * the UI through the {@link net.pkhapps.appmodel4flow.binding.PushController}, but other listeners, including
+ * computed values, run on the thread that changed the value. Changes are never deferred by a {@link Batch}.
+ * <p>
+ * The {@link #withEquivalence(Equivalence) equivalence} and {@link #withEmptyCheck(SerializablePredicate) empty check}
+ * should be set before the value is shared with other threads.
+ *
+ * @param <T> the value type.
+ */
+@ThreadSafe
+@ToString(of = "state")
+public class ConcurrentObservableValue<T> extends AbstractObservableValue<T> implements WritableObservableValue<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final AtomicReference<State<T>> state;
+    private final AtomicBoolean delivering = new AtomicBoolean();
+    private final ListenerCollection<ValueChangeEvent<T>> listeners = new ListenerCollection<>();
+    private transient volatile State<T> delivered;
+
+    /**
+     * Creates a new, empty {@code ConcurrentObservableValue}.
+     */
+    public ConcurrentObservableValue() {
+        this(null);
+    }
+
+    /**
+     * Creates a new {@code ConcurrentObservableValue} with the given value.
+     *
+     * @param value the initial value, may be {@code null}.
+     */
+    public ConcurrentObservableValue(T value) {
+        var initialState = new State<>(value, 0);
+        this.state = new AtomicReference<>(initialState);
+        this.delivered = initialState;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        delivering.set(false);
+        delivered = state.get();
+    }
+
+    @Nonnull
+    @Override
+    public ConcurrentObservableValue<T> withEmptyCheck(@Nonnull SerializablePredicate<T> emptyCheck) {
+        return (ConcurrentObservableValue<T>) super.withEmptyCheck(emptyCheck);
+    }
+
+    @Nonnull
+    @Override
+    public ConcurrentObservableValue<T> withEquivalence(@Nonnull Equivalence<T> equivalence) {
+        return (ConcurrentObservableValue<T>) super.withEquivalence(equivalence);
+    }
+
+    @Override
+    public T getValue() {
+        DependencyTracker.recordRead(this);
+        return state.get().value;
+    }
+
+    /**
+     * Returns the version of the value. The version is incremented every time the value changes.
+     *
+     * @return the version, starting from 0.
+     */
+    public long getVersion() {
+        return state.get().version;
+    }
+
+    /**
+     * Sets the value, notifying the listeners if the new value is different from the old one.
+     *
+     * @param value the new value to set.
+     */
+    @Override
+    public void setValue(T value) {
+        getAndSet(value);
+    }
+
+    /**
+     * Sets the value and returns the old value, notifying the listeners if the new value is different from the old
+     * one.
+     *
+     * @param value the new value to set.
+     * @return the old value.
+     */
+    public T getAndSet(T value) {
+        return getAndUpdate(old -> value);
+    }
+
+    /**
+     * Sets the value if the current value is the same instance as the expected value, notifying the listeners if the
+     * new value is different from the old one.
+     *
+     * @param expectedValue the expected current value.
+     * @param value         the new value to set.
+     * @return true if the value was set (or the current value was the expected value and equivalent to the new value),
+     * false if the current value was not the expected value.
+     */
+    public boolean compareAndSet(T expectedValue, T value) {
+        while (true) {
+            var current = state.get();
+            if (current.value != expectedValue) {
+                return false;
+            }
+            if (isEquivalent(current.value, value)) {
+                return true;
+            }
+            if (state.compareAndSet(current, new State<>(value, current.version + 1))) {
+                deliverChanges();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Atomically updates the value with the result of the given function and returns the new value. The function may
+     * be invoked several times if other threads change the value at the same time, so it should not have side effects.
+     *
+     * @param updateFunction the function that computes the new value from the current one, never {@code null}.
+     * @return the new value.
+     */
+    public T updateAndGet(@Nonnull UnaryOperator<T> updateFunction) {
+        return update(updateFunction, true);
+    }
+
+    /**
+     * Atomically updates the value with the result of the given function and returns the old value. The function may
+     * be invoked several times if other threads change the value at the same time, so it should not have side effects.
+     *
+     * @param updateFunction the function that computes the new value from the current one, never {@code null}.
+     * @return the old value.
+     */
+    public T getAndUpdate(@Nonnull UnaryOperator<T> updateFunction) {
+        return update(updateFunction, false);
+    }
+
+    private T update(@Nonnull UnaryOperator<T> updateFunction, boolean returnNewValue) {
+        Objects.requireNonNull(updateFunction, "updateFunction must not be null");
+        while (true) {
+            var current = state.get();
+            var value = updateFunction.apply(current.value);
+            if (isEquivalent(current.value, value)) {
+                return returnNewValue ? value : current.value;
+            }
+            if (state.compareAndSet(current, new State<>(value, current.version + 1))) {
+                deliverChanges();
+                return returnNewValue ? value : current.value;
+            }
+        }
+    }
+
+    private void deliverChanges() {
+        // Only one thread at a time delivers the changes. A thread that finds another thread delivering leaves its
+        // change to that thread, which checks for new changes before it stops.
+        while (delivering.compareAndSet(false, true)) {
+            try {
+                State<T> current;
+                while ((current = state.get()) != delivered) {
+                    var previous = delivered;
+                    delivered = current;
+                    if (!isEquivalent(previous.value, current.value)) {
+                        notifyValueChangeListeners(previous.value, current.value);
+                    }
+                }
+            } finally {
+                delivering.set(false);
+            }
+            if (state.get() == delivered) {
+                return;
+            }
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Registration addValueChangeListener(@Nonnull SerializableConsumer<ValueChangeEvent<T>> listener) {
+        return listeners.addListener(listener);
+    }
+
+    @Override
+    public void addWeakValueChangeListener(@Nonnull SerializableConsumer<ValueChangeEvent<T>> listener) {
+        listeners.addWeakListener(listener);
+    }
+
+    @Override
+    protected boolean hasValueChangeListeners() {
+        return listeners.containsListeners();
+    }
+
+    @Override
+    protected void notifyValueChangeListeners(T old, T value) {
+        if (listeners.containsListeners()) {
+            Propagation.begin();
+            try {
+                var event = new ValueChangeEvent<>(this, old, value);
+                reportEventDispatched(listeners.dispatch(ConcurrentObservableValue::notifyListener, event));
+            } finally {
+                Propagation.end();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void notifyListener(@Nonnull SerializableConsumer<ValueChangeEvent<T>> listener,
+                                           @Nonnull ValueChangeEvent<T> event) {
+        if (listener instanceof ChangeListener) {
+            ((ChangeListener<T>) listener).valueChanged(event.getSender(), event.getOldValue(), event.getValue());
+        } else {
+            listener.accept(event);
+        }
+    }
+
+    @Override
+    public <E> WritableObservableValue<E> map(@Nonnull SerializableFunction<T, E> mapFunction,
+                                              @Nonnull SerializableFunction<E, T> inverseMapFunction) {
+        return map(this, mapFunction, inverseMapFunction);
+    }
+
+    /**
+     * A value together with its version. A new instance is created for every change, so that compare-and-set
+     * operations can detect changes even if the same value instance is set again later.
+     */
+    @Immutable
+    @ToString(of = {"value", "version"})
+    private static final class State<T> implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final T value;
+        private final long version;
+
+        State(T value, long version) {
+            this.value = value;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.shared.Registration;
+import lombok.ToString;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Default implementation of {@link IntProperty}. Developers are free to use as-is or extend. However, in most cases
+ * they should not expose instances of this class directly to other classes but use the
+ * {@link IntProperty interface} instead.
+ */
+@NotThreadSafe
+@ToString(callSuper = true)
+public class DefaultIntProperty extends DefaultObservableInt implements IntProperty, FlagSet.Owner {
+
+    private static final long serialVersionUID = 1L;
+
+    private final FlagSet flags = new FlagSet(0);
+    private int cleanValue;
+
+    /**
+     * Creates a new {@code DefaultIntProperty} with the value {@code 0}.
+     */
+    public DefaultIntProperty() {
+    }
+
+    /**
+     * Creates a new {@code DefaultIntProperty} with the given value.
+     *
+     * @param value the initial value.
+     */
+    public DefaultIntProperty(int value) {
+        super(value);
+        this.cleanValue = value;
+    }
+
+    @Override
+    public void setIntValue(int value) {
+        if (flags.isSet(READ_ONLY_FLAG)) {
+            throw new ReadOnlyException();
+        }
+        super.setIntValue(value);
+        flags.set(DIRTY_FLAG, cleanValue != value);
+    }
+
+    @Override
+    public <E> WritableObservableValue<E> map(@Nonnull SerializableFunction<Integer, E> mapFunction,
+                                              @Nonnull SerializableFunction<E, Integer> inverseMapFunction) {
+        return map(this, mapFunction, inverseMapFunction);
+    }
+
+    @Nonnull
+    @Override
+    public ObservableBoolean isDirty() {
+        return flags.observe(DIRTY_FLAG);
+    }
+
+    @Override
+    public void resetDirtyFlag() {
+        this.cleanValue = getIntValue();
+        flags.set(DIRTY_FLAG, false);
+    }
+
+    @Override
+    public void discard() {
+        super.setIntValue(cleanValue);
+        flags.set(DIRTY_FLAG, false);
+    }
+
+    @Nonnull
+    @Override
+    public ObservableBoolean isReadOnly() {
+        return flags.observe(READ_ONLY_FLAG);
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) {
+        flags.set(READ_ONLY_FLAG, readOnly);
+    }
+
+    @Override
+    public boolean isFlagSet(int flag) {
+        return flags.isSet(flag);
+    }
+
+    @Nonnull
+    @Override
+    public Registration addFlagListener(@Nonnull FlagSet.FlagListener listener) {
+        return flags.addFlagListener(listener);
+    }
+
+    @Override
+    public void addWeakFlagListener(@Nonnull FlagSet.FlagListener listener) {
+        flags.addWeakFlagListener(listener);
+    }
+}
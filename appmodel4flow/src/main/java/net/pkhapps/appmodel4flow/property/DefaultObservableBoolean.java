@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import com.vaadin.flow.shared.Registration;
+import lombok.ToString;
+import net.pkhapps.appmodel4flow.util.GenericListenerCollection;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Objects;
+
+/**
+ * Default implementation of {@link ObservableBoolean}. The value is stored as a primitive and listeners registered
+ * through {@link #addBooleanChangeListener(BooleanChangeListener)} are notified without boxing. A
+ * {@link net.pkhapps.appmodel4flow.property.ObservableValue.ValueChangeEvent} is only created when there are
+ * listeners registered through the boxed {@link ObservableValue} API.
+ */
+@NotThreadSafe
+@ToString(of = "value")
+public class DefaultObservableBoolean
+        extends AbstractObservablePrimitive<Boolean, ObservableBoolean.BooleanChangeListener>
+        implements ObservableBoolean {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final GenericListenerCollection.Dispatcher<BooleanChangeListener, DefaultObservableBoolean>
+            DISPATCHER = (listener, sender) -> listener.booleanChanged(sender,
+            sender.getNotifiedOldBits() != 0, sender.getNotifiedBits() != 0);
+
+    private boolean value;
+
+    /**
+     * Creates a new {@code DefaultObservableBoolean} with the value {@code false}.
+     */
+    public DefaultObservableBoolean() {
+    }
+
+    /**
+     * Creates a new {@code DefaultObservableBoolean} with the given value.
+     *
+     * @param value the initial value.
+     */
+    public DefaultObservableBoolean(boolean value) {
+        this.value = value;
+    }
+
+    @Override
+    public boolean getBooleanValue() {
+        DependencyTracker.recordRead(this);
+        return value;
+    }
+
+    /**
+     * Sets the value, notifying the listeners if the new value is different from the old one.
+     *
+     * @param value the new value to set.
+     */
+    public void setBooleanValue(boolean value) {
+        if (this.value != value && !isUpdatingValue()) {
+            var oldValue = this.value;
+            this.value = value;
+            fireChange(oldValue ? 1 : 0, value ? 1 : 0);
+        }
+    }
+
+    /**
+     * Sets the value, notifying the listeners if the new value is different from the old one. This is the same as
+     * calling {@link #setBooleanValue(boolean)}.
+     *
+     * @param value the new value to set, never {@code null}.
+     */
+    public void setValue(@Nonnull Boolean value) {
+        setBooleanValue(Objects.requireNonNull(value, "value must not be null"));
+    }
+
+    @Nonnull
+    @Override
+    public Registration addBooleanChangeListener(@Nonnull BooleanChangeListener listener) {
+        return addPrimitiveChangeListener(listener);
+    }
+
+    @Override
+    public void addWeakBooleanChangeListener(@Nonnull BooleanChangeListener listener) {
+        addWeakPrimitiveChangeListener(listener);
+    }
+
+    @Override
+    long toBits(@Nonnull Boolean value) {
+        return value ? 1 : 0;
+    }
+
+    @Nonnull
+    @Override
+    Boolean fromBits(long bits) {
+        return bits != 0;
+    }
+
+    @Override
+    int dispatchPrimitiveChange(@Nonnull GenericListenerCollection<BooleanChangeListener> listeners) {
+        return listeners.dispatch(DISPATCHER, this);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import com.vaadin.flow.shared.Registration;
+import lombok.ToString;
+import net.pkhapps.appmodel4flow.util.GenericListenerCollection;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Objects;
+
+/**
+ * Default implementation of {@link ObservableDouble}. The value is stored as a primitive and listeners registered
+ * through {@link #addDoubleChangeListener(DoubleChangeListener)} are notified without boxing. A
+ * {@link net.pkhapps.appmodel4flow.property.ObservableValue.ValueChangeEvent} is only created when there are
+ * listeners registered through the boxed {@link ObservableValue} API.
+ */
+@NotThreadSafe
+@ToString(of = "value")
+public class DefaultObservableDouble extends AbstractObservablePrimitive<Double, ObservableDouble.DoubleChangeListener>
+        implements ObservableDouble {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final GenericListenerCollection.Dispatcher<DoubleChangeListener, DefaultObservableDouble>
+            DISPATCHER = (listener, sender) -> listener.doubleChanged(sender,
+            Double.longBitsToDouble(sender.getNotifiedOldBits()), Double.longBitsToDouble(sender.getNotifiedBits()));
+
+    private double value;
+
+    /**
+     * Creates a new {@code DefaultObservableDouble} with the value {@code 0.0}.
+     */
+    public DefaultObservableDouble() {
+    }
+
+    /**
+     * Creates a new {@code DefaultObservableDouble} with the given value.
+     *
+     * @param value the initial value.
+     */
+    public DefaultObservableDouble(double value) {
+        this.value = value;
+    }
+
+    @Override
+    public double getDoubleValue() {
+        DependencyTracker.recordRead(this);
+        return value;
+    }
+
+    /**
+     * Sets the value, notifying the listeners if the new value is different from the old one.
+     *
+     * @param value the new value to set.
+     */
+    public void setDoubleValue(double value) {
+        if (Double.compare(this.value, value) != 0 && !isUpdatingValue()) {
+            var oldValue = this.value;
+            this.value = value;
+            fireChange(Double.doubleToRawLongBits(oldValue), Double.doubleToRawLongBits(value));
+        }
+    }
+
+    /**
+     * Sets the value, notifying the listeners if the new value is different from the old one. This is the same as
+     * calling {@link #setDoubleValue(double)}.
+     *
+     * @param value the new value to set, never {@code null}.
+     */
+    public void setValue(@Nonnull Double value) {
+        setDoubleValue(Objects.requireNonNull(value, "value must not be null"));
+    }
+
+    @Nonnull
+    @Override
+    public Registration addDoubleChangeListener(@Nonnull DoubleChangeListener listener) {
+        return addPrimitiveChangeListener(listener);
+    }
+
+    @Override
+    public void addWeakDoubleChangeListener(@Nonnull DoubleChangeListener listener) {
+        addWeakPrimitiveChangeListener(listener);
+    }
+
+    @Override
+    long toBits(@Nonnull Double value) {
+        return Double.doubleToRawLongBits(value);
+    }
+
+    @Nonnull
+    @Override
+    Double fromBits(long bits) {
+        return Double.longBitsToDouble(bits);
+    }
+
+    @Override
+    int dispatchPrimitiveChange(@Nonnull GenericListenerCollection<DoubleChangeListener> listeners) {
+        return listeners.dispatch(DISPATCHER, this);
+    }
+}
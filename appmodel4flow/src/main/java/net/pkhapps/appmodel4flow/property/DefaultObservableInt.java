@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import com.vaadin.flow.shared.Registration;
+import lombok.ToString;
+import net.pkhapps.appmodel4flow.util.GenericListenerCollection;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Objects;
+
+/**
+ * Default implementation of {@link ObservableInt}. The value is stored as a primitive and listeners registered
+ * through {@link #addIntChangeListener(IntChangeListener)} are notified without boxing. A
+ * {@link net.pkhapps.appmodel4flow.property.ObservableValue.ValueChangeEvent} is only created when there are
+ * listeners registered through the boxed {@link ObservableValue} API.
+ */
+@NotThreadSafe
+@ToString(of = "value")
+public class DefaultObservableInt extends AbstractObservablePrimitive<Integer, ObservableInt.IntChangeListener>
+        implements ObservableInt {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final GenericListenerCollection.Dispatcher<IntChangeListener, DefaultObservableInt>
+            DISPATCHER = (listener, sender) -> listener.intChanged(sender,
+            (int) sender.getNotifiedOldBits(), (int) sender.getNotifiedBits());
+
+    private int value;
+
+    /**
+     * Creates a new {@code DefaultObservableInt} with the value {@code 0}.
+     */
+    public DefaultObservableInt() {
+    }
+
+    /**
+     * Creates a new {@code DefaultObservableInt} with the given value.
+     *
+     * @param value the initial value.
+     */
+    public DefaultObservableInt(int value) {
+        this.value = value;
+    }
+
+    @Override
+    public int getIntValue() {
+        DependencyTracker.recordRead(this);
+        return value;
+    }
+
+    /**
+     * Sets the value, notifying the listeners if the new value is different from the old one.
+     *
+     * @param value the new value to set.
+     */
+    public void setIntValue(int value) {
+        if (this.value != value && !isUpdatingValue()) {
+            var oldValue = this.value;
+            this.value = value;
+            fireChange(oldValue, value);
+        }
+    }
+
+    /**
+     * Sets the value, notifying the listeners if the new value is different from the old one. This is the same as
+     * calling {@link #setIntValue(int)}.
+     *
+     * @param value the new value to set, never {@code null}.
+     */
+    public void setValue(@Nonnull Integer value) {
+        setIntValue(Objects.requireNonNull(value, "value must not be null"));
+    }
+
+    @Nonnull
+    @Override
+    public Registration addIntChangeListener(@Nonnull IntChangeListener listener) {
+        return addPrimitiveChangeListener(listener);
+    }
+
+    @Override
+    public void addWeakIntChangeListener(@Nonnull IntChangeListener listener) {
+        addWeakPrimitiveChangeListener(listener);
+    }
+
+    @Override
+    long toBits(@Nonnull Integer value) {
+        return value;
+    }
+
+    @Nonnull
+    @Override
+    Integer fromBits(long bits) {
+        return (int) bits;
+    }
+
+    @Override
+    int dispatchPrimitiveChange(@Nonnull GenericListenerCollection<IntChangeListener> listeners) {
+        return listeners.dispatch(DISPATCHER, this);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import com.vaadin.flow.shared.Registration;
+import lombok.ToString;
+import net.pkhapps.appmodel4flow.util.GenericListenerCollection;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Objects;
+
+/**
+ * Default implementation of {@link ObservableLong}. The value is stored as a primitive and listeners registered
+ * through {@link #addLongChangeListener(LongChangeListener)} are notified without boxing. A
+ * {@link net.pkhapps.appmodel4flow.property.ObservableValue.ValueChangeEvent} is only created when there are
+ * listeners registered through the boxed {@link ObservableValue} API.
+ */
+@NotThreadSafe
+@ToString(of = "value")
+public class DefaultObservableLong extends AbstractObservablePrimitive<Long, ObservableLong.LongChangeListener>
+        implements ObservableLong {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final GenericListenerCollection.Dispatcher<LongChangeListener, DefaultObservableLong>
+            DISPATCHER = (listener, sender) -> listener.longChanged(sender,
+            sender.getNotifiedOldBits(), sender.getNotifiedBits());
+
+    private long value;
+
+    /**
+     * Creates a new {@code DefaultObservableLong} with the value {@code 0}.
+     */
+    public DefaultObservableLong() {
+    }
+
+    /**
+     * Creates a new {@code DefaultObservableLong} with the given value.
+     *
+     * @param value the initial value.
+     */
+    public DefaultObservableLong(long value) {
+        this.value = value;
+    }
+
+    @Override
+    public long getLongValue() {
+        DependencyTracker.recordRead(this);
+        return value;
+    }
+
+    /**
+     * Sets the value, notifying the listeners if the new value is different from the old one.
+     *
+     * @param value the new value to set.
+     */
+    public void setLongValue(long value) {
+        if (this.value != value && !isUpdatingValue()) {
+            var oldValue = this.value;
+            this.value = value;
+            fireChange(oldValue, value);
+        }
+    }
+
+    /**
+     * Sets the value, notifying the listeners if the new value is different from the old one. This is the same as
+     * calling {@link #setLongValue(long)}.
+     *
+     * @param value the new value to set, never {@code null}.
+     */
+    public void setValue(@Nonnull Long value) {
+        setLongValue(Objects.requireNonNull(value, "value must not be null"));
+    }
+
+    @Nonnull
+    @Override
+    public Registration addLongChangeListener(@Nonnull LongChangeListener listener) {
+        return addPrimitiveChangeListener(listener);
+    }
+
+    @Override
+    public void addWeakLongChangeListener(@Nonnull LongChangeListener listener) {
+        addWeakPrimitiveChangeListener(listener);
+    }
+
+    @Override
+    long toBits(@Nonnull Long value) {
+        return value;
+    }
+
+    @Nonnull
+    @Override
+    Long fromBits(long bits) {
+        return bits;
+    }
+
+    @Override
+    int dispatchPrimitiveChange(@Nonnull GenericListenerCollection<LongChangeListener> listeners) {
+        return listeners.dispatch(DISPATCHER, this);
+    }
+}
@@ -21,7 +21,6 @@ import lombok.ToString;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.NotThreadSafe;
-import java.util.Objects;
 
 /**
  * Default implementation of {@link ObservableValue} that considers {@code null} values to be {@link #isEmpty() empty}.
@@ -61,8 +60,15 @@ public class DefaultObservableValue<T> extends AbstractObservableValue<T> {
         return (DefaultObservableValue<T>) super.withEmptyCheck(emptyCheck);
     }
 
+    @Nonnull
+    @Override
+    public DefaultObservableValue<T> withEquivalence(@Nonnull Equivalence<T> equivalence) {
+        return (DefaultObservableValue<T>) super.withEquivalence(equivalence);
+    }
+
     @Override
     public T getValue() {
+        DependencyTracker.recordRead(this);
         return value;
     }
 
@@ -72,7 +78,7 @@ public class DefaultObservableValue<T> extends AbstractObservableValue<T> {
      * @param value the new value to set.
      */
     public void setValue(T value) {
-        if (!Objects.equals(this.value, value)) {
+        if (!isEquivalent(this.value, value)) {
             try {
                 if (!updatingValue) {
                     updatingValue = true;
@@ -18,11 +18,11 @@ package net.pkhapps.appmodel4flow.property;
 
 import com.vaadin.flow.function.SerializableFunction;
 import com.vaadin.flow.function.SerializablePredicate;
+import com.vaadin.flow.shared.Registration;
 import lombok.ToString;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.NotThreadSafe;
-import java.util.Objects;
 
 /**
  * Default implementation of {@link Property}. Developers are free to use as-is or extend.  However, in most cases they
@@ -32,12 +32,11 @@ import java.util.Objects;
  */
 @NotThreadSafe
 @ToString(callSuper = true)
-public class DefaultProperty<T> extends DefaultObservableValue<T> implements Property<T> {
+public class DefaultProperty<T> extends DefaultObservableValue<T> implements Property<T>, FlagSet.Owner {
 
     private static final long serialVersionUID = 1L;
 
-    private final DefaultObservableValue<Boolean> dirty = new DefaultObservableValue<>(false);
-    private final DefaultObservableValue<Boolean> readOnly = new DefaultObservableValue<>(false);
+    private final FlagSet flags = new FlagSet(0);
     private T cleanValue;
 
     /**
@@ -62,13 +61,19 @@ public class DefaultProperty<T> extends DefaultObservableValue<T> implements Pro
         return (DefaultProperty<T>) super.withEmptyCheck(emptyCheck);
     }
 
+    @Nonnull
+    @Override
+    public DefaultProperty<T> withEquivalence(@Nonnull Equivalence<T> equivalence) {
+        return (DefaultProperty<T>) super.withEquivalence(equivalence);
+    }
+
     @Override
     public void setValue(T value) {
-        if (readOnly.getValue()) {
+        if (flags.isSet(READ_ONLY_FLAG)) {
             throw new ReadOnlyException();
         }
         super.setValue(value);
-        dirty.setValue(!Objects.equals(cleanValue, value));
+        flags.set(DIRTY_FLAG, !isEquivalent(cleanValue, value));
     }
 
     @Override
@@ -79,30 +84,46 @@ public class DefaultProperty<T> extends DefaultObservableValue<T> implements Pro
 
     @Nonnull
     @Override
-    public ObservableValue<Boolean> isDirty() {
-        return dirty;
+    public ObservableBoolean isDirty() {
+        return flags.observe(DIRTY_FLAG);
     }
 
     @Override
     public void resetDirtyFlag() {
         this.cleanValue = getValue();
-        dirty.setValue(false);
+        flags.set(DIRTY_FLAG, false);
     }
 
     @Override
     public void discard() {
         super.setValue(cleanValue);
-        dirty.setValue(false);
+        flags.set(DIRTY_FLAG, false);
     }
 
     @Nonnull
     @Override
-    public ObservableValue<Boolean> isReadOnly() {
-        return readOnly;
+    public ObservableBoolean isReadOnly() {
+        return flags.observe(READ_ONLY_FLAG);
     }
 
     @Override
     public void setReadOnly(boolean readOnly) {
-        this.readOnly.setValue(readOnly);
+        flags.set(READ_ONLY_FLAG, readOnly);
+    }
+
+    @Override
+    public boolean isFlagSet(int flag) {
+        return flags.isSet(flag);
+    }
+
+    @Nonnull
+    @Override
+    public Registration addFlagListener(@Nonnull FlagSet.FlagListener listener) {
+        return flags.addFlagListener(listener);
+    }
+
+    @Override
+    public void addWeakFlagListener(@Nonnull FlagSet.FlagListener listener) {
+        flags.addWeakFlagListener(listener);
     }
 }
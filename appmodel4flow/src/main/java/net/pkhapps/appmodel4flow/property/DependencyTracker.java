@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records which observable values are read while a {@link TrackingComputedValue} computes its value. Observable values
+ * call {@link #recordRead(ObservableValue)} from their {@code getValue()} methods. When nothing is being tracked on
+ * any thread, this is a single read of a static counter.
+ * <p>
+ * Reads are recorded in the innermost frame of the current thread only. Computed values
+ * {@link #suspend() suspend} tracking while they compute their own values, so that the values they depend on are
+ * not recorded as dependencies of the tracking computed value that reads them.
+ */
+@NotThreadSafe
+final class DependencyTracker {
+
+    private static final AtomicInteger ACTIVE_FRAMES = new AtomicInteger();
+
+    private static final ThreadLocal<Frame> CURRENT = new ThreadLocal<>();
+
+    private DependencyTracker() {
+    }
+
+    /**
+     * Starts recording reads on the current thread. Every call must be followed by a call to {@link #end(Frame)}.
+     *
+     * @return the new frame, never {@code null}.
+     */
+    @Nonnull
+    static Frame begin() {
+        var frame = new Frame(CURRENT.get());
+        CURRENT.set(frame);
+        ACTIVE_FRAMES.incrementAndGet();
+        return frame;
+    }
+
+    /**
+     * Stops recording reads into the given frame and resumes recording into the frame that was current when it was
+     * started (if any).
+     *
+     * @param frame the frame returned by {@link #begin()}, never {@code null}.
+     */
+    static void end(@Nonnull Frame frame) {
+        ACTIVE_FRAMES.decrementAndGet();
+        if (frame.previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(frame.previous);
+        }
+    }
+
+    /**
+     * Suspends recording on the current thread until {@link #resume(Frame)} is called.
+     *
+     * @return the suspended frame that must be passed to {@link #resume(Frame)}, or {@code null} if nothing was being
+     * recorded.
+     */
+    @Nullable
+    static Frame suspend() {
+        if (ACTIVE_FRAMES.get() == 0) {
+            return null;
+        }
+        var frame = CURRENT.get();
+        if (frame != null) {
+            CURRENT.remove();
+        }
+        return frame;
+    }
+
+    /**
+     * Resumes recording into a frame that was {@link #suspend() suspended}.
+     *
+     * @param frame the frame returned by {@link #suspend()}, may be {@code null}.
+     */
+    static void resume(@Nullable Frame frame) {
+        if (frame != null) {
+            CURRENT.set(frame);
+        }
+    }
+
+    /**
+     * Records that the given observable value was read, if reads are being recorded on the current thread.
+     *
+     * @param observableValue the observable value that was read, never {@code null}.
+     */
+    static void recordRead(@Nonnull ObservableValue<?> observableValue) {
+        if (ACTIVE_FRAMES.get() != 0) {
+            var frame = CURRENT.get();
+            if (frame != null) {
+                frame.dependencies.add(observableValue);
+            }
+        }
+    }
+
+    /**
+     * The observable values read during a single computation.
+     */
+    static final class Frame {
+
+        private final Frame previous;
+        private final Set<ObservableValue<?>> dependencies = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private Frame(@Nullable Frame previous) {
+            this.previous = previous;
+        }
+
+        /**
+         * Returns the observable values that were read while this frame was current.
+         *
+         * @return a set of observable values compared by identity, never {@code null}.
+         */
+        @Nonnull
+        Set<ObservableValue<?>> getDependencies() {
+            return dependencies;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+
+/**
+ * Strategy for deciding whether two values of an {@link ObservableValue} are the same, in which case changing the
+ * value from one to the other does not fire any events. By default, observable values use
+ * {@link Object#equals(Object)}, which can be expensive for large values such as collections. Other strategies can
+ * be found in {@link net.pkhapps.appmodel4flow.property.support.Equivalences}.
+ *
+ * @param <T> the value type.
+ * @see net.pkhapps.appmodel4flow.property.support.Equivalences
+ */
+@FunctionalInterface
+public interface Equivalence<T> extends Serializable {
+
+    /**
+     * Checks whether the given values are equivalent.
+     *
+     * @param first  the first value, may be {@code null}.
+     * @param second the second value, may be {@code null}.
+     * @return true if the values are equivalent, false if they are not.
+     */
+    boolean isEquivalent(@Nullable T first, @Nullable T second);
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import com.vaadin.flow.shared.Registration;
+import lombok.ToString;
+import net.pkhapps.appmodel4flow.util.GenericListenerCollection;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A set of up to 32 boolean flags that are stored as the bits of a single {@code int}. Objects with several flags,
+ * such as the dirty and read-only flags of a {@link DefaultProperty}, use this class instead of one
+ * {@link DefaultObservableBoolean} per flag. An {@link ObservableBoolean} view of a flag is only created when it is
+ * {@link #observe(int) requested}, which means that flags that nobody observes cost a single bit.
+ * <p>
+ * A flag is identified by its bit mask, e.g. {@code 1 << 0}, {@code 1 << 1} and so on. Reading a flag through
+ * {@link #isSet(int)} does not create a view and is not recorded by {@link TrackingComputedValue}s. Objects that
+ * follow the flags of other objects, such as field binding groups, should use a {@link FlagListener} for the same
+ * reason. The views are meant for outside observers, like UI bindings.
+ */
+@NotThreadSafe
+@ToString(of = "flags")
+public final class FlagSet implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final FlagView[] NO_VIEWS = new FlagView[0];
+
+    private int flags;
+    private FlagView[] views = NO_VIEWS;
+    private GenericListenerCollection<FlagListener> flagListeners;
+
+    /**
+     * Creates a new {@code FlagSet}.
+     *
+     * @param initialFlags the bit masks of the flags that are initially set, OR:ed together.
+     */
+    public FlagSet(int initialFlags) {
+        this.flags = initialFlags;
+    }
+
+    /**
+     * Returns whether the given flag is set.
+     *
+     * @param flag the bit mask of the flag.
+     * @return true if the flag is set, false if it is cleared.
+     */
+    public boolean isSet(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    /**
+     * Sets or clears the given flag, notifying the listeners of its view if there is one and the flag changed.
+     *
+     * @param flag  the bit mask of the flag.
+     * @param value true to set the flag, false to clear it.
+     */
+    public void set(int flag, boolean value) {
+        if (isSet(flag) == value) {
+            return;
+        }
+        if (value) {
+            flags |= flag;
+        } else {
+            flags &= ~flag;
+        }
+        var index = indexOf(flag);
+        if (index < views.length && views[index] != null) {
+            views[index].update(value);
+        }
+        if (flagListeners != null) {
+            flagListeners.dispatch((listener, sender) -> listener.flagChanged(flag, value), this);
+        }
+    }
+
+    /**
+     * Registers a listener to be notified whenever a flag is set or cleared. Unlike listening to a view returned by
+     * {@link #observe(int)}, this does not create any views.
+     *
+     * @param listener the listener, never {@code null}.
+     * @return a registration handle for removing the listener, never {@code null}.
+     */
+    @Nonnull
+    public Registration addFlagListener(@Nonnull FlagListener listener) {
+        return getFlagListeners().addListener(listener);
+    }
+
+    /**
+     * Registers a listener to be notified whenever a flag is set or cleared. The listener is registered using a weak
+     * reference and will be automatically removed when garbage collected.
+     *
+     * @param listener the listener, never {@code null}.
+     */
+    public void addWeakFlagListener(@Nonnull FlagListener listener) {
+        getFlagListeners().addWeakListener(listener);
+    }
+
+    @Nonnull
+    private GenericListenerCollection<FlagListener> getFlagListeners() {
+        if (flagListeners == null) {
+            flagListeners = new GenericListenerCollection<>();
+        }
+        return flagListeners;
+    }
+
+    /**
+     * Returns an observable view of the given flag, creating it if necessary. The same view is returned every time.
+     * Setting the value of the view is the same as calling {@link #set(int, boolean)}.
+     *
+     * @param flag the bit mask of the flag.
+     * @return the view, never {@code null}.
+     */
+    @Nonnull
+    public ObservableBoolean observe(int flag) {
+        var index = indexOf(flag);
+        if (index >= views.length) {
+            views = Arrays.copyOf(views, index + 1);
+        }
+        var view = views[index];
+        if (view == null) {
+            view = new FlagView(this, flag);
+            views[index] = view;
+        }
+        return view;
+    }
+
+    private static int indexOf(int flag) {
+        if (Integer.bitCount(flag) != 1) {
+            throw new IllegalArgumentException("flag must have exactly one bit set");
+        }
+        return Integer.numberOfTrailingZeros(flag);
+    }
+
+    /**
+     * Listener that is notified when a flag of a {@link FlagSet} is set or cleared.
+     */
+    @FunctionalInterface
+    public interface FlagListener extends Serializable {
+
+        /**
+         * Called after a flag has been set or cleared.
+         *
+         * @param flag  the bit mask of the flag.
+         * @param value true if the flag was set, false if it was cleared.
+         */
+        void flagChanged(int flag, boolean value);
+    }
+
+    /**
+     * Interface implemented by objects that keep their flags in a {@link FlagSet}, such as {@link DefaultProperty}.
+     * It makes it possible to read and follow the flags without creating their observable views. The meaning of the
+     * bit masks is defined by the interface of the object, e.g. {@link Property#DIRTY_FLAG}.
+     */
+    public interface Owner {
+
+        /**
+         * Returns whether the given flag is set.
+         *
+         * @param flag the bit mask of the flag.
+         * @return true if the flag is set, false if it is cleared.
+         * @see FlagSet#isSet(int)
+         */
+        boolean isFlagSet(int flag);
+
+        /**
+         * Registers a listener to be notified whenever a flag is set or cleared.
+         *
+         * @param listener the listener, never {@code null}.
+         * @return a registration handle for removing the listener, never {@code null}.
+         * @see FlagSet#addFlagListener(FlagListener)
+         */
+        @Nonnull
+        Registration addFlagListener(@Nonnull FlagListener listener);
+
+        /**
+         * Registers a listener to be notified whenever a flag is set or cleared, using a weak reference.
+         *
+         * @param listener the listener, never {@code null}.
+         * @see FlagSet#addWeakFlagListener(FlagListener)
+         */
+        void addWeakFlagListener(@Nonnull FlagListener listener);
+    }
+
+    /**
+     * Observable view of a single flag.
+     */
+    private static final class FlagView extends DefaultObservableBoolean {
+
+        private static final long serialVersionUID = 1L;
+
+        private final FlagSet owner;
+        private final int flag;
+
+        FlagView(@Nonnull FlagSet owner, int flag) {
+            super(owner.isSet(flag));
+            this.owner = owner;
+            this.flag = flag;
+        }
+
+        @Override
+        public void setBooleanValue(boolean value) {
+            owner.set(flag, value);
+        }
+
+        void update(boolean value) {
+            super.setBooleanValue(value);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import com.vaadin.flow.function.SerializableFunction;
+
+import javax.annotation.Nonnull;
+import java.io.Serializable;
+import java.util.stream.Stream;
+
+/**
+ * A combiner for {@link CombinedValue} that can update the combined value incrementally. Instead of applying the
+ * combiner to all the values whenever one of them changes, the combined value keeps an {@link Accumulator} and only
+ * removes the old value and adds the new value of the dependency that changed. This makes the cost of a change
+ * independent of the number of dependencies.
+ * <p>
+ * Since this interface extends {@link SerializableFunction}, an incremental combiner can be used anywhere an ordinary
+ * combiner can. {@link CombinedValue} detects incremental combiners automatically.
+ *
+ * @param <T> the type of the values to combine.
+ * @see net.pkhapps.appmodel4flow.property.support.Combiners
+ */
+public interface IncrementalCombiner<T> extends SerializableFunction<Stream<T>, T> {
+
+    /**
+     * Creates a new, empty accumulator.
+     *
+     * @return the accumulator, never {@code null}.
+     */
+    @Nonnull
+    Accumulator<T> createAccumulator();
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The default implementation adds all the values to a new {@link #createAccumulator() accumulator} and returns
+     * its result.
+     */
+    @Override
+    default T apply(Stream<T> values) {
+        var accumulator = createAccumulator();
+        values.forEach(accumulator::add);
+        return accumulator.getResult();
+    }
+
+    /**
+     * Accumulator that keeps track of the combined value as values are added and removed. Only non-empty values are
+     * passed to the accumulator.
+     *
+     * @param <T> the type of the values to combine.
+     */
+    interface Accumulator<T> extends Serializable {
+
+        /**
+         * Adds the given value to the accumulator.
+         *
+         * @param value the value to add.
+         */
+        void add(T value);
+
+        /**
+         * Removes the given value from the accumulator. The value has previously been {@link #add(Object) added}.
+         *
+         * @param value the value to remove.
+         * @return true if the value was removed, false if the accumulator cannot remove the value incrementally. In the
+         * latter case, the combined value will create a new accumulator and add all values to it.
+         */
+        boolean remove(T value);
+
+        /**
+         * Returns the combined value of all the values currently in the accumulator.
+         *
+         * @return the combined value.
+         */
+        T getResult();
+    }
+}
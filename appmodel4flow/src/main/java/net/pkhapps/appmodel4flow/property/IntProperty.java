@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Specialization of {@link Property} for primitive {@code int} values. The {@link #isDirty() dirty} and
+ * {@link #isReadOnly() read-only} flags are exposed as {@link ObservableBoolean}s.
+ */
+public interface IntProperty extends WritableObservableInt, Property<Integer> {
+
+    /**
+     * Sets the value of this property without boxing it, notifying the listeners of the change.
+     *
+     * @param value the value to set.
+     * @throws ReadOnlyException if the property is {@link #isReadOnly() read-only}.
+     */
+    @Override
+    void setIntValue(int value);
+
+    @Nonnull
+    @Override
+    ObservableBoolean isDirty();
+
+    @Nonnull
+    @Override
+    ObservableBoolean isReadOnly();
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import com.vaadin.flow.shared.Registration;
+
+import javax.annotation.Nonnull;
+import java.io.Serializable;
+
+/**
+ * Specialization of {@link ObservableValue} for primitive {@code boolean} values. Clients that know they are dealing
+ * with a {@code boolean} can read the value using {@link #getBooleanValue()} and observe it using
+ * {@link #addBooleanChangeListener(BooleanChangeListener)}, neither of which box the value or create any event objects. The boxed
+ * {@link ObservableValue} API is still available for compatibility. The value is never {@code null} and thus never
+ * {@link #isEmpty() empty}.
+ */
+@SuppressWarnings({"unused", "UnusedReturnValue"})
+public interface ObservableBoolean extends ObservableValue<Boolean> {
+
+    /**
+     * Returns the current value without boxing it.
+     *
+     * @return the value.
+     */
+    boolean getBooleanValue();
+
+    @Nonnull
+    @Override
+    default Boolean getValue() {
+        return getBooleanValue();
+    }
+
+    /**
+     * Registers a listener to be notified when the value changes. The listener receives the old and new values as
+     * primitives.
+     *
+     * @param listener the listener, never {@code null}.
+     * @return a registration handle, never {@code null}.
+     */
+    @Nonnull
+    Registration addBooleanChangeListener(@Nonnull BooleanChangeListener listener);
+
+    /**
+     * Registers a listener to be notified when the value changes. The listener is registered using a weak reference and
+     * will be automatically removed when garbage collected. This means you have to make sure you keep another reference
+     * to the listener for as long as you need it or it will become garbage collected too soon.
+     *
+     * @param listener the listener, never {@code null}.
+     */
+    void addWeakBooleanChangeListener(@Nonnull BooleanChangeListener listener);
+
+    /**
+     * Listener interface for {@link ObservableBoolean} that receives the values as primitives.
+     */
+    @FunctionalInterface
+    interface BooleanChangeListener extends Serializable {
+
+        /**
+         * Called when the value of the observable value has changed.
+         *
+         * @param sender   the observable value whose value changed, never {@code null}.
+         * @param oldValue the old value.
+         * @param value    the current (new) value.
+         */
+        void booleanChanged(@Nonnull ObservableBoolean sender, boolean oldValue, boolean value);
+    }
+}
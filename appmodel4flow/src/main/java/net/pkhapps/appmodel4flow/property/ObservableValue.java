@@ -25,6 +25,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.io.Serializable;
+import java.time.Duration;
 import java.util.Objects;
 
 /**
@@ -91,6 +92,67 @@ public interface ObservableValue<T> extends Serializable {
      */
     void addWeakValueChangeListener(@Nonnull SerializableConsumer<Property.ValueChangeEvent<T>> listener);
 
+    /**
+     * Registers a listener to be notified when the value changes. Unlike
+     * {@link #addValueChangeListener(SerializableConsumer)}, the listener receives the sender and the values directly,
+     * which allows implementations to skip creating a {@link ValueChangeEvent}.
+     * <p>
+     * The default implementation registers the listener through
+     * {@link #addValueChangeListener(SerializableConsumer)}.
+     *
+     * @param listener the listener, never {@code null}.
+     * @return a registration handle, never {@code null}.
+     */
+    @Nonnull
+    default Registration addChangeListener(@Nonnull ChangeListener<T> listener) {
+        return addValueChangeListener(listener);
+    }
+
+    /**
+     * Registers a listener to be notified when the value changes, like {@link #addChangeListener(ChangeListener)}. The
+     * listener is registered using a weak reference and will be automatically removed when garbage collected.
+     * <p>
+     * The default implementation registers the listener through
+     * {@link #addWeakValueChangeListener(SerializableConsumer)}.
+     *
+     * @param listener the listener, never {@code null}.
+     */
+    default void addWeakChangeListener(@Nonnull ChangeListener<T> listener) {
+        addWeakValueChangeListener(listener);
+    }
+
+    /**
+     * Registers a listener to be notified when the value changes, without being told the old or the new value. This
+     * is the cheapest kind of listener and is intended for listeners that only need to know that something has
+     * changed, such as computed values that will read the new value later.
+     * <p>
+     * The default implementation registers the listener through
+     * {@link #addValueChangeListener(SerializableConsumer)}.
+     *
+     * @param listener the listener, never {@code null}.
+     * @return a registration handle, never {@code null}.
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    default Registration addInvalidationListener(@Nonnull InvalidationListener listener) {
+        return addValueChangeListener((SerializableConsumer) listener);
+    }
+
+    /**
+     * Registers a listener to be notified when the value changes, like
+     * {@link #addInvalidationListener(InvalidationListener)}. The listener is registered using a weak reference and
+     * will be automatically removed when garbage collected.
+     * <p>
+     * The default implementation registers the listener through
+     * {@link #addWeakValueChangeListener(SerializableConsumer)}.
+     *
+     * @param listener the listener, never {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    default void addWeakInvalidationListener(@Nonnull InvalidationListener listener) {
+        addWeakValueChangeListener((SerializableConsumer) listener);
+    }
+
     /**
      * Maps this observable value to an observable value with a different type. A map function is used to
      * convert the value. If null values are supported, the map function must also be able to handle null values.
@@ -103,6 +165,28 @@ public interface ObservableValue<T> extends Serializable {
     @Nonnull
     <E> ObservableValue<E> map(@Nonnull SerializableFunction<T, E> mapFunction);
 
+    /**
+     * Maps this observable value to an observable value with a different type, like
+     * {@link #map(SerializableFunction)}. Implementations typically cache the most recently mapped value and use it as
+     * the old value of the next event. If the cached value does not correspond to the old value of this observable
+     * value (e.g. because the mapped value was not observed when this value changed), the old value has to be mapped
+     * separately. Passing {@code false} as {@code mapOldValue} skips this, in which case the old value of the event
+     * will be the most recently mapped value (or {@code null}). This is useful when the map function is expensive and
+     * the listeners are only interested in the new value.
+     * <p>
+     * The default implementation ignores {@code mapOldValue} and delegates to {@link #map(SerializableFunction)}.
+     *
+     * @param mapFunction the function to use when converting the value from this observable value to the mapped value,
+     *                    never {@code null}.
+     * @param mapOldValue whether the old value should be mapped when it is not known by the mapped value.
+     * @param <E>         the type of the mapped observable value.
+     * @return an observable value that is backed by this observable value but has a different type, never {@code null}.
+     */
+    @Nonnull
+    default <E> ObservableValue<E> map(@Nonnull SerializableFunction<T, E> mapFunction, boolean mapOldValue) {
+        return map(mapFunction);
+    }
+
     /**
      * Maps this observable value to an observable value with a different type, using a function that takes this
      * {@code ObservableValue} instance and produces another {@link ObservableValue} instance. This gives the function
@@ -124,6 +208,52 @@ public interface ObservableValue<T> extends Serializable {
         return mapFunction.apply(this);
     }
 
+    /**
+     * Returns an observable value that takes the value of this observable value once it has not changed for the given
+     * period. Use this e.g. for search-as-you-type fields, so that the rest of the model is only updated when the user
+     * stops typing.
+     * <p>
+     * The timing is done by a single scheduler thread that is shared by all rate limited values. The changes are
+     * delivered through the {@link net.pkhapps.appmodel4flow.binding.PushController} to the UI that was current when
+     * this value changed.
+     *
+     * @param period the quiet period, must be positive.
+     * @return a debounced observable value, never {@code null}.
+     * @see #throttle(Duration)
+     * @see #sample(Duration)
+     */
+    @Nonnull
+    default ObservableValue<T> debounce(@Nonnull Duration period) {
+        return new RateLimitedObservableValue<>(this, RateLimitedObservableValue.Mode.DEBOUNCE, period);
+    }
+
+    /**
+     * Returns an observable value that takes the value of this observable value at most once per given period. The
+     * first change is taken immediately. Any further changes during the period are collected and the latest value is
+     * taken at the end of the period, which starts a new period. The timing and delivery is done as in
+     * {@link #debounce(Duration)}.
+     *
+     * @param period the minimum time between changes, must be positive.
+     * @return a throttled observable value, never {@code null}.
+     */
+    @Nonnull
+    default ObservableValue<T> throttle(@Nonnull Duration period) {
+        return new RateLimitedObservableValue<>(this, RateLimitedObservableValue.Mode.THROTTLE, period);
+    }
+
+    /**
+     * Returns an observable value that takes the latest value of this observable value at the end of the period that
+     * started with a change. Unlike {@link #throttle(Duration)}, the first change is not taken immediately. The timing
+     * and delivery is done as in {@link #debounce(Duration)}.
+     *
+     * @param period the sampling period, must be positive.
+     * @return a sampled observable value, never {@code null}.
+     */
+    @Nonnull
+    default ObservableValue<T> sample(@Nonnull Duration period) {
+        return new RateLimitedObservableValue<>(this, RateLimitedObservableValue.Mode.SAMPLE, period);
+    }
+
     /**
      * Event fired by a {@link ObservableValue} when the value changes.
      *
@@ -176,4 +306,53 @@ public interface ObservableValue<T> extends Serializable {
             return value;
         }
     }
+
+    /**
+     * Listener that is notified when the value of an {@link ObservableValue} changes. The sender and the values are
+     * passed as parameters so that no {@link ValueChangeEvent} needs to be created. For compatibility, this
+     * interface is also a value change listener that unpacks the event.
+     *
+     * @param <T> the value type.
+     * @see #addChangeListener(ChangeListener)
+     */
+    @FunctionalInterface
+    interface ChangeListener<T> extends SerializableConsumer<ValueChangeEvent<T>> {
+
+        /**
+         * Called when the value of the sender has changed.
+         *
+         * @param sender   the {@link ObservableValue} whose value changed, never {@code null}.
+         * @param oldValue the old value, may be {@code null}.
+         * @param value    the current (new) value, may be {@code null}.
+         */
+        void valueChanged(@Nonnull ObservableValue<T> sender, @Nullable T oldValue, @Nullable T value);
+
+        @Override
+        default void accept(ValueChangeEvent<T> event) {
+            valueChanged(event.getSender(), event.getOldValue(), event.getValue());
+        }
+    }
+
+    /**
+     * Listener that is notified when the value of an {@link ObservableValue} changes, without being told the old or
+     * the new value. For compatibility, this interface is also a value change listener that ignores the event
+     * contents.
+     *
+     * @see #addInvalidationListener(InvalidationListener)
+     */
+    @FunctionalInterface
+    interface InvalidationListener extends SerializableConsumer<ValueChangeEvent<?>> {
+
+        /**
+         * Called when the value of the sender has changed.
+         *
+         * @param sender the {@link ObservableValue} whose value changed, never {@code null}.
+         */
+        void invalidated(@Nonnull ObservableValue<?> sender);
+
+        @Override
+        default void accept(ValueChangeEvent<?> event) {
+            invalidated(event.getSender());
+        }
+    }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schedules the recomputation of {@link AbstractComputedValue}s so that changes propagate through the dependency graph
+ * without glitches. Every computed value has a topological height that is one more than the highest height of its
+ * dependencies (ordinary observable values have a height of zero). When a value changes, the computed values that
+ * depend on it are not recomputed right away but scheduled. Once the outermost event has been delivered, the scheduled
+ * values are recomputed in the order of their heights. This guarantees that a computed value is recomputed at most
+ * once per change, and only after all its dependencies are up to date.
+ * <p>
+ * One scheduler is kept per thread and reused by every propagation on that thread, so beginning and ending a
+ * propagation does not allocate anything.
+ */
+@NotThreadSafe
+final class Propagation {
+
+    private static final ThreadLocal<Propagation> CURRENT = ThreadLocal.withInitial(Propagation::new);
+
+    private final List<ArrayDeque<AbstractComputedValue<?>>> levels = new ArrayList<>();
+    private int depth;
+    private int scheduled;
+    private int lowestScheduledHeight = Integer.MAX_VALUE;
+
+    private Propagation() {
+    }
+
+    /**
+     * Begins (or joins) a propagation on the current thread. Every call must be followed by a call to {@link #end()}.
+     */
+    static void begin() {
+        CURRENT.get().depth++;
+    }
+
+    /**
+     * Ends the propagation on the current thread. If this was the outermost propagation, all scheduled computed values
+     * are recomputed. If recomputing a value fails, the remaining values are still recomputed before the first failure
+     * is rethrown.
+     */
+    static void end() {
+        var propagation = CURRENT.get();
+        try {
+            if (propagation.depth == 1) {
+                propagation.drain();
+            }
+        } finally {
+            if (--propagation.depth == 0) {
+                // Only discards anything if draining was aborted by an error; those values are recomputed when read
+                propagation.reset();
+            }
+        }
+    }
+
+    /**
+     * Schedules the given computed value for recomputation. If there is no propagation in progress, the value is
+     * recomputed right away.
+     *
+     * @param computedValue the computed value to schedule, never {@code null}.
+     */
+    static void schedule(@Nonnull AbstractComputedValue<?> computedValue) {
+        begin();
+        try {
+            CURRENT.get().enqueue(computedValue);
+        } finally {
+            end();
+        }
+    }
+
+    /**
+     * Returns the topological height of the given observable value.
+     *
+     * @param observableValue the observable value, may be {@code null}.
+     * @return the height, or zero if the value does not take part in the propagation.
+     */
+    static int heightOf(@Nullable ObservableValue<?> observableValue) {
+        return observableValue instanceof AbstractObservableValue
+                ? ((AbstractObservableValue<?>) observableValue).getHeight()
+                : 0;
+    }
+
+    private void enqueue(@Nonnull AbstractComputedValue<?> computedValue) {
+        var height = computedValue.getHeight();
+        while (levels.size() <= height) {
+            levels.add(new ArrayDeque<>());
+        }
+        levels.get(height).add(computedValue);
+        scheduled++;
+        if (height < lowestScheduledHeight) {
+            lowestScheduledHeight = height;
+        }
+    }
+
+    private void drain() {
+        // The propagation is still in progress while draining, so that values that change as a result of the
+        // recomputation are scheduled instead of being recomputed recursively.
+        RuntimeException failure = null;
+        while (scheduled > 0) {
+            var computedValue = levels.get(lowestScheduledHeight).poll();
+            if (computedValue == null) {
+                lowestScheduledHeight++;
+            } else {
+                scheduled--;
+                try {
+                    computedValue.updatePendingValue();
+                } catch (RuntimeException ex) {
+                    if (failure == null) {
+                        failure = ex;
+                    } else {
+                        failure.addSuppressed(ex);
+                    }
+                }
+            }
+        }
+        lowestScheduledHeight = Integer.MAX_VALUE;
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void reset() {
+        if (scheduled > 0) {
+            levels.forEach(ArrayDeque::clear);
+            scheduled = 0;
+            lowestScheduledHeight = Integer.MAX_VALUE;
+        }
+    }
+}
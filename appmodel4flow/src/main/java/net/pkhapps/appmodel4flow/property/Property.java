@@ -26,6 +26,16 @@ import javax.annotation.Nonnull;
 @SuppressWarnings("unused")
 public interface Property<T> extends WritableObservableValue<T> {
 
+    /**
+     * Bit mask of the {@link #isDirty() dirty} flag, for properties that are also {@link FlagSet.Owner}s.
+     */
+    int DIRTY_FLAG = 1;
+
+    /**
+     * Bit mask of the {@link #isReadOnly() read-only} flag, for properties that are also {@link FlagSet.Owner}s.
+     */
+    int READ_ONLY_FLAG = 1 << 1;
+
     /**
      * Sets the value of this property, notifying the listeners of the change.
      *
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import com.vaadin.flow.component.UI;
+import lombok.ToString;
+import net.pkhapps.appmodel4flow.binding.PushController;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Observable value that follows another observable value, but limits how often its own value changes. The timing is
+ * done by the {@link SharedScheduler} and the changes are delivered through the {@link PushController} to the
+ * {@link UI} that was current when the source value changed. If there was no current UI, the value is changed on the
+ * scheduler thread.
+ *
+ * @see ObservableValue#debounce(Duration)
+ * @see ObservableValue#throttle(Duration)
+ * @see ObservableValue#sample(Duration)
+ */
+@NotThreadSafe
+@ToString(of = {"sourceValue", "mode", "periodNanos"})
+final class RateLimitedObservableValue<T> extends AbstractObservableValue<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ObservableValue<T> sourceValue;
+    private final Mode mode;
+    private final long periodNanos;
+    private final ChangeListener<T> sourceValueListener = (sender, old, value) -> onSourceValueChange(value);
+    private volatile T value;
+    private transient Window<T> window;
+
+    /**
+     * The ways of limiting the rate of changes.
+     */
+    enum Mode {
+        /**
+         * The latest value is taken when the source value has not changed for a whole period.
+         */
+        DEBOUNCE,
+        /**
+         * A change is taken immediately, and then the latest value at the end of each period for as long as the source
+         * value keeps changing.
+         */
+        THROTTLE,
+        /**
+         * The latest value is taken at the end of the period that started with the first change.
+         */
+        SAMPLE
+    }
+
+    RateLimitedObservableValue(@Nonnull ObservableValue<T> sourceValue, @Nonnull Mode mode,
+                               @Nonnull Duration period) {
+        this.sourceValue = Objects.requireNonNull(sourceValue, "sourceValue must not be null");
+        this.mode = Objects.requireNonNull(mode, "mode must not be null");
+        Objects.requireNonNull(period, "period must not be null");
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        this.periodNanos = period.toNanos();
+        this.value = sourceValue.getValue();
+        sourceValue.addWeakChangeListener(sourceValueListener);
+    }
+
+    @Override
+    public T getValue() {
+        DependencyTracker.recordRead(this);
+        return value;
+    }
+
+    private void onSourceValueChange(T newValue) {
+        var ui = UI.getCurrent();
+        var pushController = PushController.getCurrent();
+        boolean emitNow = false;
+        synchronized (this) {
+            if (mode == Mode.DEBOUNCE) {
+                if (window != null) {
+                    window.future.cancel(false);
+                }
+                openWindow(newValue, true, ui, pushController);
+            } else if (window != null) {
+                window.update(newValue, ui, pushController);
+            } else if (mode == Mode.THROTTLE) {
+                emitNow = true;
+                openWindow(null, false, ui, pushController);
+            } else {
+                openWindow(newValue, true, ui, pushController);
+            }
+        }
+        if (emitNow) {
+            emit(newValue);
+        }
+    }
+
+    private void openWindow(@Nullable T pendingValue, boolean hasPendingValue, @Nullable UI ui,
+                            @Nonnull PushController pushController) {
+        window = new Window<>(this, pendingValue, hasPendingValue, ui, pushController);
+        window.future = SharedScheduler.schedule(window, periodNanos);
+    }
+
+    void closeWindow(@Nonnull Window<T> closedWindow) {
+        T pendingValue;
+        synchronized (this) {
+            if (window != closedWindow) {
+                return;
+            }
+            window = null;
+            if (!closedWindow.hasPendingValue) {
+                return;
+            }
+            pendingValue = closedWindow.pendingValue;
+            if (mode == Mode.THROTTLE) {
+                // Keep the rate limited also after a trailing change
+                openWindow(null, false, closedWindow.ui, closedWindow.pushController);
+            }
+        }
+        emit(pendingValue);
+    }
+
+    private void emit(T newValue) {
+        var old = value;
+        if (!isEquivalent(old, newValue)) {
+            value = newValue;
+            fireValueChangeEvent(old, newValue);
+        }
+    }
+
+    /**
+     * A single period during which changes of the source value are collected. The window is the scheduled task that
+     * ends the period.
+     */
+    private static final class Window<T> implements Runnable {
+
+        private final RateLimitedObservableValue<T> owner;
+        private T pendingValue;
+        private boolean hasPendingValue;
+        private volatile UI ui;
+        private volatile PushController pushController;
+        private ScheduledFuture<?> future;
+
+        Window(@Nonnull RateLimitedObservableValue<T> owner, @Nullable T pendingValue, boolean hasPendingValue,
+               @Nullable UI ui, @Nonnull PushController pushController) {
+            this.owner = owner;
+            this.pendingValue = pendingValue;
+            this.hasPendingValue = hasPendingValue;
+            this.ui = ui;
+            this.pushController = pushController;
+        }
+
+        void update(@Nullable T pendingValue, @Nullable UI ui, @Nonnull PushController pushController) {
+            this.pendingValue = pendingValue;
+            this.hasPendingValue = true;
+            this.ui = ui;
+            this.pushController = pushController;
+        }
+
+        @Override
+        public void run() {
+            pushController.push(() -> owner.closeWindow(this), ui);
+        }
+    }
+}
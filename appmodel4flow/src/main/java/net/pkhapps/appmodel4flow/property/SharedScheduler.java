@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single scheduler thread shared by all time based observable values in the JVM. The scheduled tasks should only
+ * hand the actual work over to the UI thread, so one thread is enough. The thread is a daemon thread and is only
+ * started when something is scheduled for the first time.
+ */
+@ThreadSafe
+final class SharedScheduler {
+
+    private SharedScheduler() {
+    }
+
+    /**
+     * Schedules the given task to run once after the given delay.
+     *
+     * @param task       the task to run, never {@code null}.
+     * @param delayNanos the delay in nanoseconds.
+     * @return a future that can be used to cancel the task, never {@code null}.
+     */
+    @Nonnull
+    static ScheduledFuture<?> schedule(@Nonnull Runnable task, long delayNanos) {
+        return Holder.EXECUTOR.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static final class Holder {
+
+        private static final ScheduledThreadPoolExecutor EXECUTOR = createExecutor();
+
+        @Nonnull
+        private static ScheduledThreadPoolExecutor createExecutor() {
+            var executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                var thread = new Thread(runnable, "appmodel4flow-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // Debounced values cancel their tasks all the time, don't keep them in the queue until they are due
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import com.vaadin.flow.function.SerializableSupplier;
+import lombok.ToString;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An {@link ObservableValue} that is computed dynamically from other {@link ObservableValue}s, like
+ * {@link ComputedValue}. The difference is that the dependencies are not declared up front. Instead, the computed
+ * value records which observable values are read while the value is being computed and listens to exactly those
+ * values until the next computation. For example, the following value only depends on {@code b} while {@code a} is
+ * true and only on {@code c} while {@code a} is false (and always on {@code a}):
+ * <pre>
+ * new TrackingComputedValue&lt;&gt;(() -&gt; a.getValue() ? b.getValue() : c.getValue());
+ * </pre>
+ * Only reads of the observable values provided by this library are recorded. Values that are read by another computed
+ * value while it computes its own value are not recorded, only the computed value itself.
+ *
+ * @param <T> the value type.
+ * @see ComputedValue
+ */
+@NotThreadSafe
+@ToString(onlyExplicitlyIncluded = true)
+public class TrackingComputedValue<T> extends AbstractComputedValue<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SerializableSupplier<T> valueSupplier;
+    private Map<ObservableValue<?>, Subscription<T>> subscriptions = Collections.emptyMap();
+
+    /**
+     * Creates a new {@code TrackingComputedValue}.
+     *
+     * @param valueSupplier the function that will be used to compute the value, never {@code null}.
+     */
+    public TrackingComputedValue(@Nonnull SerializableSupplier<T> valueSupplier) {
+        this(Evaluation.EAGER, valueSupplier);
+    }
+
+    /**
+     * Creates a new {@code TrackingComputedValue}.
+     *
+     * @param evaluation    the evaluation mode to use, never {@code null}.
+     * @param valueSupplier the function that will be used to compute the value, never {@code null}.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public TrackingComputedValue(@Nonnull Evaluation evaluation, @Nonnull SerializableSupplier<T> valueSupplier) {
+        super(evaluation);
+        this.valueSupplier = Objects.requireNonNull(valueSupplier, "valueSupplier must not be null");
+        invalidate();
+    }
+
+    /**
+     * Returns the observable values that were read during the most recent computation of the value, and that this
+     * computed value is currently listening to.
+     *
+     * @return an unmodifiable set of observable values, never {@code null}.
+     */
+    @Nonnull
+    @ToString.Include(name = "dependencies")
+    public Set<ObservableValue<?>> getDependencies() {
+        return Collections.unmodifiableSet(subscriptions.keySet());
+    }
+
+    @Nonnull
+    @Override
+    public TrackingComputedValue<T> withEquivalence(@Nonnull Equivalence<T> equivalence) {
+        return (TrackingComputedValue<T>) super.withEquivalence(equivalence);
+    }
+
+    @Override
+    protected T computeValue() {
+        var frame = DependencyTracker.begin();
+        try {
+            return valueSupplier.get();
+        } finally {
+            DependencyTracker.end(frame);
+            updateSubscriptions(frame.getDependencies());
+        }
+    }
+
+    private void updateSubscriptions(@Nonnull Set<ObservableValue<?>> dependencies) {
+        dependencies.remove(this);
+        if (dependencies.size() == subscriptions.size() && subscriptions.keySet().containsAll(dependencies)) {
+            return;
+        }
+        var newSubscriptions = new IdentityHashMap<ObservableValue<?>, Subscription<T>>(dependencies.size());
+        for (var dependency : dependencies) {
+            var subscription = subscriptions.get(dependency);
+            if (subscription == null) {
+                subscription = new Subscription<>(this);
+                dependency.addWeakInvalidationListener(subscription);
+            }
+            newSubscriptions.put(dependency, subscription);
+        }
+        // The subscriptions that are no longer used are garbage collected and removed from their observable values.
+        // Until then, they ignore any changes.
+        subscriptions = newSubscriptions;
+        updateHeight(dependencies);
+    }
+
+    /**
+     * Weakly registered listener of a single dependency.
+     */
+    private static final class Subscription<T> implements InvalidationListener {
+
+        private static final long serialVersionUID = 1L;
+
+        private final TrackingComputedValue<T> owner;
+
+        Subscription(@Nonnull TrackingComputedValue<T> owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void invalidated(@Nonnull ObservableValue<?> sender) {
+            if (owner.subscriptions.get(sender) == this) {
+                owner.invalidate();
+            }
+        }
+    }
+}
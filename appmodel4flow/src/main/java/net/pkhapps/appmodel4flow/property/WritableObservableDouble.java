@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+/**
+ * Specialization of {@link WritableObservableValue} for primitive {@code double} values. For more features, have a
+ * look at {@link DoubleProperty}.
+ */
+public interface WritableObservableDouble extends ObservableDouble, WritableObservableValue<Double> {
+
+    /**
+     * Sets the value without boxing it, notifying the listeners of the change.
+     *
+     * @param value the value to set.
+     */
+    void setDoubleValue(double value);
+}
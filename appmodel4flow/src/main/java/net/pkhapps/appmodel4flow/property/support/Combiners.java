@@ -17,8 +17,11 @@
 package net.pkhapps.appmodel4flow.property.support;
 
 import com.vaadin.flow.function.SerializableFunction;
+import net.pkhapps.appmodel4flow.property.IncrementalCombiner;
 
 import javax.annotation.Nonnull;
+import java.io.Serializable;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -28,54 +31,63 @@ import java.util.stream.Stream;
  */
 public final class Combiners {
 
+    private static final BooleanCountCombiner ALL_TRUE = new BooleanCountCombiner(
+            (count, trueCount, falseCount) -> count == trueCount);
+    private static final BooleanCountCombiner ANY_TRUE = new BooleanCountCombiner(
+            (count, trueCount, falseCount) -> trueCount > 0);
+    private static final BooleanCountCombiner ALL_FALSE = new BooleanCountCombiner(
+            (count, trueCount, falseCount) -> count == falseCount);
+    private static final BooleanCountCombiner ANY_FALSE = new BooleanCountCombiner(
+            (count, trueCount, falseCount) -> falseCount > 0);
+
     private Combiners() {
     }
 
     /**
      * Combiner that <em>ANDs</em> all the booleans in the stream together. If the stream is empty, the function returns
-     * true.
+     * true. The combiner is {@link IncrementalCombiner incremental}: it keeps count of the true and false values.
      *
      * @return a function that returns true if all of the booleans in the stream are true.
      */
     @Nonnull
     public static SerializableFunction<Stream<Boolean>, Boolean> allTrue() {
-        return values -> values.allMatch(Predicates.isTrue());
+        return ALL_TRUE;
     }
 
     /**
      * Combiner that <em>ORs</em> all the booleans in the stream together. If the stream is empty, the function returns
-     * false.
+     * false. The combiner is {@link IncrementalCombiner incremental}.
      *
      * @return a function that returns true if at least one of the booleans in the stream is true.
      */
     @Nonnull
     @SuppressWarnings("WeakerAccess")
     public static SerializableFunction<Stream<Boolean>, Boolean> anyTrue() {
-        return values -> values.anyMatch(Predicates.isTrue());
+        return ANY_TRUE;
     }
 
     /**
      * Combiner that <em>inverse ANDs</em> all of the booleans in the stream together. If the stream is empty, the
-     * function returns true.
+     * function returns true. The combiner is {@link IncrementalCombiner incremental}.
      *
      * @return a function that returns true if all of the booleans in the stream are false.
      */
     @Nonnull
     @SuppressWarnings("WeakerAccess")
     public static SerializableFunction<Stream<Boolean>, Boolean> allFalse() {
-        return values -> values.allMatch(Predicates.isFalse());
+        return ALL_FALSE;
     }
 
     /**
      * Combiner that <em>inverse ORs</em> all of the booleans in the stream together. If the stream is empty, the
-     * function returns false.
+     * function returns false. The combiner is {@link IncrementalCombiner incremental}.
      *
      * @return a function that returns true if at least one of the booleans in the stream is false.
      */
     @Nonnull
     @SuppressWarnings("WeakerAccess")
     public static SerializableFunction<Stream<Boolean>, Boolean> anyFalse() {
-        return values -> values.anyMatch(Predicates.isFalse());
+        return ANY_FALSE;
     }
 
     /**
@@ -101,4 +113,196 @@ public final class Combiners {
     public static SerializableFunction<Stream<String>, String> joinStrings(@Nonnull CharSequence delimiter) {
         return values -> values.collect(Collectors.joining(delimiter));
     }
+
+    /**
+     * Combiner that adds all the integers in the stream together. If the stream is empty, the function returns zero.
+     * The combiner is {@link IncrementalCombiner incremental}.
+     *
+     * @return a function that returns the sum of the integers.
+     */
+    @Nonnull
+    @SuppressWarnings("WeakerAccess")
+    public static IncrementalCombiner<Integer> sumOfIntegers() {
+        return IntegerSumAccumulator::new;
+    }
+
+    /**
+     * Combiner that adds all the longs in the stream together. If the stream is empty, the function returns zero.
+     * The combiner is {@link IncrementalCombiner incremental}.
+     *
+     * @return a function that returns the sum of the longs.
+     */
+    @Nonnull
+    @SuppressWarnings("WeakerAccess")
+    public static IncrementalCombiner<Long> sumOfLongs() {
+        return LongSumAccumulator::new;
+    }
+
+    /**
+     * Combiner that returns the smallest value in the stream, or {@code null} if the stream is empty. The combiner is
+     * {@link IncrementalCombiner incremental}: it keeps the values sorted, so that changing a value is a logarithmic
+     * operation.
+     *
+     * @param <T> the type of the values.
+     * @return a function that returns the smallest value.
+     */
+    @Nonnull
+    @SuppressWarnings("WeakerAccess")
+    public static <T extends Comparable<? super T>> IncrementalCombiner<T> min() {
+        return () -> new SortedAccumulator<>(true);
+    }
+
+    /**
+     * Combiner that returns the largest value in the stream, or {@code null} if the stream is empty. The combiner is
+     * {@link IncrementalCombiner incremental}: it keeps the values sorted, so that changing a value is a logarithmic
+     * operation.
+     *
+     * @param <T> the type of the values.
+     * @return a function that returns the largest value.
+     */
+    @Nonnull
+    @SuppressWarnings("WeakerAccess")
+    public static <T extends Comparable<? super T>> IncrementalCombiner<T> max() {
+        return () -> new SortedAccumulator<>(false);
+    }
+
+    @FunctionalInterface
+    private interface BooleanCountFunction extends Serializable {
+        boolean apply(int count, int trueCount, int falseCount);
+    }
+
+    private static class BooleanCountCombiner implements IncrementalCombiner<Boolean> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final BooleanCountFunction result;
+
+        BooleanCountCombiner(@Nonnull BooleanCountFunction result) {
+            this.result = result;
+        }
+
+        @Nonnull
+        @Override
+        public Accumulator<Boolean> createAccumulator() {
+            return new BooleanCountAccumulator(result);
+        }
+    }
+
+    private static class BooleanCountAccumulator implements IncrementalCombiner.Accumulator<Boolean> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final BooleanCountFunction result;
+        private int count;
+        private int trueCount;
+        private int falseCount;
+
+        BooleanCountAccumulator(@Nonnull BooleanCountFunction result) {
+            this.result = result;
+        }
+
+        @Override
+        public void add(Boolean value) {
+            count++;
+            if (Boolean.TRUE.equals(value)) {
+                trueCount++;
+            } else if (Boolean.FALSE.equals(value)) {
+                falseCount++;
+            }
+        }
+
+        @Override
+        public boolean remove(Boolean value) {
+            count--;
+            if (Boolean.TRUE.equals(value)) {
+                trueCount--;
+            } else if (Boolean.FALSE.equals(value)) {
+                falseCount--;
+            }
+            return true;
+        }
+
+        @Override
+        public Boolean getResult() {
+            return result.apply(count, trueCount, falseCount);
+        }
+    }
+
+    private static class IntegerSumAccumulator implements IncrementalCombiner.Accumulator<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private int sum;
+
+        @Override
+        public void add(Integer value) {
+            sum += value;
+        }
+
+        @Override
+        public boolean remove(Integer value) {
+            sum -= value;
+            return true;
+        }
+
+        @Override
+        public Integer getResult() {
+            return sum;
+        }
+    }
+
+    private static class LongSumAccumulator implements IncrementalCombiner.Accumulator<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private long sum;
+
+        @Override
+        public void add(Long value) {
+            sum += value;
+        }
+
+        @Override
+        public boolean remove(Long value) {
+            sum -= value;
+            return true;
+        }
+
+        @Override
+        public Long getResult() {
+            return sum;
+        }
+    }
+
+    private static class SortedAccumulator<T extends Comparable<? super T>>
+            implements IncrementalCombiner.Accumulator<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final TreeMap<T, Integer> values = new TreeMap<>();
+        private final boolean min;
+
+        SortedAccumulator(boolean min) {
+            this.min = min;
+        }
+
+        @Override
+        public void add(T value) {
+            values.merge(value, 1, Integer::sum);
+        }
+
+        @Override
+        public boolean remove(T value) {
+            values.computeIfPresent(value, (key, count) -> count == 1 ? null : count - 1);
+            return true;
+        }
+
+        @Override
+        public T getResult() {
+            if (values.isEmpty()) {
+                return null;
+            }
+            return min ? values.firstKey() : values.lastKey();
+        }
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property.support;
+
+import com.vaadin.flow.function.SerializableFunction;
+import net.pkhapps.appmodel4flow.property.Equivalence;
+
+import javax.annotation.Nonnull;
+import java.util.Objects;
+
+/**
+ * Utility class with {@link Equivalence} strategies for observable values.
+ */
+@SuppressWarnings("WeakerAccess")
+public final class Equivalences {
+
+    private static final Equivalence<Object> EQUALITY = Objects::equals;
+
+    private static final Equivalence<Object> IDENTITY = (first, second) -> first == second;
+
+    private static final Equivalence<Object> HASHED_EQUALITY = (first, second) -> first == second
+            || (first != null && second != null && first.hashCode() == second.hashCode() && first.equals(second));
+
+    private Equivalences() {
+    }
+
+    /**
+     * Equivalence that uses {@link Objects#equals(Object, Object)}. This is the default.
+     *
+     * @param <T> the value type.
+     * @return the equivalence, never {@code null}.
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public static <T> Equivalence<T> equality() {
+        return (Equivalence<T>) EQUALITY;
+    }
+
+    /**
+     * Equivalence that only considers the same instance to be equivalent. This is the cheapest strategy and is useful
+     * for immutable values that are always replaced when they change. Setting a new instance that is equal to the old
+     * one will fire an event.
+     *
+     * @param <T> the value type.
+     * @return the equivalence, never {@code null}.
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public static <T> Equivalence<T> identity() {
+        return (Equivalence<T>) IDENTITY;
+    }
+
+    /**
+     * Equivalence that compares the {@link Object#hashCode() hash codes} of the values before
+     * {@link Object#equals(Object) comparing} them. This gives the same result as {@link #equality()} but is much
+     * cheaper for values that are usually different, provided that the values cache their hash codes and are compared
+     * repeatedly (like strings). A value that is compared only once, right after it has been created, pays for a full
+     * hash code computation instead. Immutable values that are always replaced when they change, like selections, are
+     * better compared using {@link #identity()}.
+     *
+     * @param <T> the value type.
+     * @return the equivalence, never {@code null}.
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public static <T> Equivalence<T> hashedEquality() {
+        return (Equivalence<T>) HASHED_EQUALITY;
+    }
+
+    /**
+     * Equivalence that compares version stamps instead of the values themselves. Two values are equivalent if they
+     * are the same instance, or if they are of the same class and have equal version stamps. The stamp could be e.g.
+     * a version number or a modification counter, and it must change whenever the contents of the value change.
+     *
+     * @param versionStamp function that returns the version stamp of a non-{@code null} value, never {@code null}.
+     * @param <T>          the value type.
+     * @return the equivalence, never {@code null}.
+     */
+    @Nonnull
+    public static <T> Equivalence<T> versionStamp(@Nonnull SerializableFunction<T, ?> versionStamp) {
+        Objects.requireNonNull(versionStamp, "versionStamp must not be null");
+        return (first, second) -> first == second
+                || (first != null && second != null && first.getClass() == second.getClass()
+                && Objects.equals(versionStamp.apply(first), versionStamp.apply(second)));
+    }
+}
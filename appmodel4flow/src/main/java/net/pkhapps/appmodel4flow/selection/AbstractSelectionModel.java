@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.selection;
+
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.shared.Registration;
+import net.pkhapps.appmodel4flow.property.DefaultObservableValue;
+import net.pkhapps.appmodel4flow.property.WritableObservableValue;
+import net.pkhapps.appmodel4flow.property.support.Equivalences;
+import net.pkhapps.appmodel4flow.util.ListenerCollection;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Set;
+
+/**
+ * Base class for the selection models in this package. It keeps track of the selection change listeners and of the
+ * keys added to and removed from the selection until the change has been delivered, so that subclasses only have to
+ * compute the new selection and create the event.
+ * <p>
+ * Selections are compared using {@link Equivalences#identity()}, since a selection is immutable and every change
+ * replaces it with a new instance.
+ *
+ * @param <T> the type of the items in the selection.
+ * @param <K> the type of the keys (items or ids) that are recorded for the selection change events.
+ */
+@NotThreadSafe
+abstract class AbstractSelectionModel<T, K> extends DefaultObservableValue<Selection<T>>
+        implements SelectionModel<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ListenerCollection<SelectionChangeEvent<T>> selectionChangeListeners = new ListenerCollection<>();
+    private transient PendingSelectionDelta<K> pendingDelta;
+
+    AbstractSelectionModel(@Nonnull Selection<T> initialSelection) {
+        super(initialSelection);
+        withEquivalence(Equivalences.identity());
+    }
+
+    /**
+     * Replaces the selection, remembering the added and removed keys for the next selection change event if there
+     * are any listeners.
+     *
+     * @param old       the current selection, never {@code null}.
+     * @param selection the new selection, never {@code null}.
+     * @param added     the keys that were added, never {@code null}.
+     * @param removed   the keys that were removed, never {@code null}.
+     */
+    final void setSelection(@Nonnull Selection<T> old, @Nonnull Selection<T> selection, @Nonnull Set<K> added,
+                            @Nonnull Set<K> removed) {
+        if (selectionChangeListeners.containsListeners()) {
+            pendingDelta = PendingSelectionDelta.continueFrom(pendingDelta, old);
+            pendingDelta.apply(selection, added, removed);
+        }
+        super.setValue(selection);
+    }
+
+    /**
+     * Creates the event to send to the selection change listeners.
+     *
+     * @param old   the old selection.
+     * @param value the new selection.
+     * @param delta the keys added and removed between the selections, or {@code null} if they are not known and have
+     *              to be computed by comparing the selections.
+     * @return the event, never {@code null}.
+     */
+    @Nonnull
+    abstract SelectionChangeEvent<T> createSelectionChangeEvent(Selection<T> old, Selection<T> value,
+                                                                @Nullable PendingSelectionDelta<K> delta);
+
+    @Nonnull
+    @Override
+    public Registration addSelectionChangeListener(@Nonnull SerializableConsumer<SelectionChangeEvent<T>> listener) {
+        return selectionChangeListeners.addListener(listener);
+    }
+
+    @Override
+    protected boolean hasValueChangeListeners() {
+        return super.hasValueChangeListeners() || selectionChangeListeners.containsListeners();
+    }
+
+    @Override
+    protected void notifyValueChangeListeners(Selection<T> old, Selection<T> value) {
+        // Taken before notifying anybody, since a listener may change the selection again
+        var delta = pendingDelta;
+        pendingDelta = null;
+        super.notifyValueChangeListeners(old, value);
+        if (selectionChangeListeners.containsListeners()) {
+            selectionChangeListeners.fireEvent(createSelectionChangeEvent(old, value,
+                    delta != null && delta.describes(old, value) ? delta : null));
+        }
+    }
+
+    @Override
+    public <E> WritableObservableValue<E> map(@Nonnull SerializableFunction<Selection<T>, E> mapFunction,
+                                              @Nonnull SerializableFunction<E, Selection<T>> inverseMapFunction) {
+        return map(this, mapFunction, inverseMapFunction);
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.pkhapps.appmodel4flow.selection;
+
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.Query;
+import lombok.ToString;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of {@link Selection} that contains all the items of a {@link DataProvider} except the excluded ones.
+ * This is what "select all" produces: only the excluded items are stored, no matter how many items the data provider
+ * has. {@link #contains(Object)} only looks at the excluded items, {@link #size()} asks the data provider for its size
+ * and {@link #stream()} fetches the items from the data provider as they are consumed.
+ * <p>
+ * Items are identified by {@link DataProvider#getId(Object)}. The excluded items are assumed to exist in the data
+ * provider. Two selections are equal if they have the same data provider instance and exclude the same items.
+ *
+ * @param <T> the type of the items in the selection.
+ */
+@Immutable
+@ToString(of = "excluded")
+public class AllExceptSelection<T> implements Selection<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final DataProvider<T, ?> dataProvider;
+    private final Map<Object, T> excluded;
+    private transient int hashCode;
+
+    /**
+     * Creates a new {@code AllExceptSelection} that contains all the items of the given data provider.
+     *
+     * @param dataProvider the data provider, never {@code null}.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public AllExceptSelection(@Nonnull DataProvider<T, ?> dataProvider) {
+        this(dataProvider, Collections.emptySet());
+    }
+
+    /**
+     * Creates a new {@code AllExceptSelection} that contains all the items of the given data provider except the
+     * given items.
+     *
+     * @param dataProvider  the data provider, never {@code null}.
+     * @param excludedItems the items to exclude, never {@code null}.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public AllExceptSelection(@Nonnull DataProvider<T, ?> dataProvider, @Nonnull Collection<T> excludedItems) {
+        this(dataProvider, new LinkedHashMap<>());
+        Objects.requireNonNull(excludedItems, "excludedItems must not be null");
+        excludedItems.forEach(item -> excluded.put(dataProvider.getId(item), item));
+    }
+
+    private AllExceptSelection(@Nonnull DataProvider<T, ?> dataProvider, @Nonnull Map<Object, T> excluded) {
+        this.dataProvider = Objects.requireNonNull(dataProvider, "dataProvider must not be null");
+        this.excluded = excluded;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // The hash codes of the ids may be different in this JVM, so the hash code is recomputed when needed
+        hashCode = 0;
+    }
+
+    /**
+     * Returns the data provider whose items this selection contains.
+     *
+     * @return the data provider, never {@code null}.
+     */
+    @Nonnull
+    public DataProvider<T, ?> getDataProvider() {
+        return dataProvider;
+    }
+
+    /**
+     * Returns the items that are not selected.
+     *
+     * @return an unmodifiable collection of items, never {@code null}.
+     */
+    @Nonnull
+    public Collection<T> getExcludedItems() {
+        return Collections.unmodifiableCollection(excluded.values());
+    }
+
+    /**
+     * Returns a copy of this selection that also contains the given items.
+     *
+     * @param items the items to include, never {@code null}.
+     * @return the new selection, never {@code null}.
+     */
+    @Nonnull
+    public AllExceptSelection<T> including(@Nonnull Collection<T> items) {
+        Objects.requireNonNull(items, "items must not be null");
+        var newExcluded = new LinkedHashMap<>(excluded);
+        items.forEach(item -> newExcluded.remove(dataProvider.getId(item)));
+        return new AllExceptSelection<>(dataProvider, newExcluded);
+    }
+
+    /**
+     * Returns a copy of this selection that does not contain the given items.
+     *
+     * @param items the items to exclude, never {@code null}.
+     * @return the new selection, never {@code null}.
+     */
+    @Nonnull
+    public AllExceptSelection<T> excluding(@Nonnull Collection<T> items) {
+        Objects.requireNonNull(items, "items must not be null");
+        var newExcluded = new LinkedHashMap<>(excluded);
+        items.forEach(item -> newExcluded.put(dataProvider.getId(item), item));
+        return new AllExceptSelection<>(dataProvider, newExcluded);
+    }
+
+    /**
+     * Returns the items that are excluded from this selection but not from the given one. Used to compute the
+     * difference between two selections without fetching any items from the data provider.
+     */
+    @Nonnull
+    Stream<T> excludedItemsNotIn(@Nonnull AllExceptSelection<T> other) {
+        return excluded.entrySet().stream()
+                .filter(entry -> !other.excluded.containsKey(entry.getKey()))
+                .map(Map.Entry::getValue);
+    }
+
+    /**
+     * Returns whether this selection is taken from the same data provider instance as the given one.
+     */
+    boolean hasSameDataProvider(@Nonnull AllExceptSelection<?> other) {
+        return dataProvider == other.dataProvider;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This asks the data provider for its size, which may result in a backend query. A selection of all items is
+     * empty if the data provider is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This asks the data provider for its size, which may result in a backend query.
+     */
+    @Override
+    public int size() {
+        return Math.max(0, sizeOf(dataProvider) - excluded.size());
+    }
+
+    private static <T, F> int sizeOf(@Nonnull DataProvider<T, F> dataProvider) {
+        return dataProvider.size(new Query<>());
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return item != null && !excluded.containsKey(dataProvider.getId(item));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The items are fetched from the data provider every time this method is called.
+     */
+    @Nonnull
+    @Override
+    public Stream<T> stream() {
+        var items = fetch(dataProvider);
+        return excluded.isEmpty() ? items : items.filter(this::contains);
+    }
+
+    private static <T, F> Stream<T> fetch(@Nonnull DataProvider<T, F> dataProvider) {
+        return dataProvider.fetch(new Query<>());
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<T> iterator() {
+        return stream().iterator();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AllExceptSelection)) {
+            return false;
+        }
+        var other = (AllExceptSelection<?>) o;
+        return hasSameDataProvider(other) && hashCode() == other.hashCode()
+                && excluded.keySet().equals(other.excluded.keySet());
+    }
+
+    @Override
+    public int hashCode() {
+        var h = hashCode;
+        if (h == 0) {
+            h = 31 * System.identityHashCode(dataProvider) + excluded.keySet().hashCode();
+            hashCode = h;
+        }
+        return h;
+    }
+}
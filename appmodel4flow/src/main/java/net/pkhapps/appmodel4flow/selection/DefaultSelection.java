@@ -16,11 +16,12 @@
 
 package net.pkhapps.appmodel4flow.selection;
 
-import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -28,17 +29,24 @@ import java.util.stream.Stream;
 /**
  * Default implementation of {@link Selection}. Developers should not need to create instances of this directly but
  * it is also not prohibited to do so.
+ * <p>
+ * The hash code is computed once and cached, and two selections with different hash codes are never compared item by
+ * item. In the same way, a hash index of the items is built the first time {@link #contains(Object)} is called on a
+ * selection with more than a few items.
  *
  * @param <T> the type of the items in the selection.
  */
 @Immutable
-@ToString
-@EqualsAndHashCode
+@ToString(of = "items")
 public class DefaultSelection<T> implements Selection<T> {
 
     private static final long serialVersionUID = 1L;
 
+    private static final int INDEX_THRESHOLD = 8;
+
     private final List<T> items;
+    private transient int hashCode;
+    private transient volatile Set<T> index;
 
     /**
      * Creates a new empty {@code DefaultSelection}.
@@ -84,11 +92,77 @@ public class DefaultSelection<T> implements Selection<T> {
         }
     }
 
+    /**
+     * Creates a new {@code DefaultSelection} that takes ownership of the given list instead of copying it.
+     */
+    private DefaultSelection(@Nonnull List<T> items, @SuppressWarnings("unused") boolean owned) {
+        this.items = items;
+    }
+
+    /**
+     * Creates a new {@code DefaultSelection} backed by the given list, which must not be modified afterwards. This is
+     * used by {@link DefaultSelectionModel} to avoid copying lists it has built itself.
+     *
+     * @param items the items in the selection, never {@code null}.
+     * @param <T>   the type of the items in the selection.
+     * @return the selection, never {@code null}.
+     */
+    @Nonnull
+    static <T> DefaultSelection<T> ofOwnedList(@Nonnull List<T> items) {
+        return new DefaultSelection<>(items, true);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // The hash codes of the items may be different in this JVM, so the hash code is recomputed when needed
+        hashCode = 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DefaultSelection)) {
+            return false;
+        }
+        var other = (DefaultSelection<?>) o;
+        return items.size() == other.items.size() && hashCode() == other.hashCode() && items.equals(other.items);
+    }
+
+    @Override
+    public int hashCode() {
+        var h = hashCode;
+        if (h == 0) {
+            h = items.hashCode();
+            hashCode = h;
+        }
+        return h;
+    }
+
     @Override
     public boolean isEmpty() {
         return items.isEmpty();
     }
 
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public boolean contains(T item) {
+        if (items.size() <= INDEX_THRESHOLD) {
+            return items.contains(item);
+        }
+        var index = this.index;
+        if (index == null) {
+            index = new HashSet<>(items);
+            this.index = index;
+        }
+        return index.contains(item);
+    }
+
     @Nonnull
     @Override
     public Stream<T> stream() {
@@ -16,22 +16,42 @@
 
 package net.pkhapps.appmodel4flow.selection;
 
-import com.vaadin.flow.function.SerializableFunction;
-import net.pkhapps.appmodel4flow.property.DefaultObservableValue;
-import net.pkhapps.appmodel4flow.property.WritableObservableValue;
+import net.pkhapps.appmodel4flow.property.support.Equivalences;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Default implementation of {@link SelectionModel}. Developers are free to use this whenever they need an
  * implementation of the model interface.
+ * <p>
+ * Selections are compared using {@link Equivalences#identity()}, since a selection is immutable and every change
+ * replaces it with a new instance. Only {@link #select(Collection)} compares the items, so that selecting the same
+ * items again does not fire an event.
+ * <p>
+ * The items added and removed through {@link #add(Collection)}, {@link #remove(Collection)} and
+ * {@link #toggle(Object)} are remembered until the change has been delivered, so {@link SelectionChangeEvent}s for
+ * those changes are created without comparing the old and new selections. This also works inside a
+ * {@link net.pkhapps.appmodel4flow.property.Batch Batch}, where the changes are combined into one event. Other changes
+ * are compared when the event is fired.
+ * <p>
+ * Adding items to and removing items from an {@link AllExceptSelection} or a {@link RangeSelection} produces a new
+ * selection of the same kind, so a "select all" or a range of rows is never expanded into a list of items. The
+ * indices of the items added to or removed from a {@link RangeSelection} are looked up with a single pass over the
+ * source list per call.
  *
  * @param <T> the type of the items in the selection.
  */
 @NotThreadSafe
-public class DefaultSelectionModel<T> extends DefaultObservableValue<Selection<T>> implements SelectionModel<T> {
+public class DefaultSelectionModel<T> extends AbstractSelectionModel<T, T> {
 
     private static final long serialVersionUID = 1L;
 
@@ -41,12 +61,155 @@ public class DefaultSelectionModel<T> extends DefaultObservableValue<Selection<T
 
     @Override
     public void select(@Nonnull Collection<T> items) {
-        setValue(new DefaultSelection<>(items));
+        var selection = new DefaultSelection<>(items);
+        if (!selection.equals(getSelection())) {
+            setValue(selection);
+        }
     }
 
     @Override
-    public <E> WritableObservableValue<E> map(@Nonnull SerializableFunction<Selection<T>, E> mapFunction,
-                                              @Nonnull SerializableFunction<E, Selection<T>> inverseMapFunction) {
-        return map(this, mapFunction, inverseMapFunction);
+    public void add(@Nonnull Collection<T> items) {
+        Objects.requireNonNull(items, "items must not be null");
+        var selection = getSelection();
+        if (selection instanceof RangeSelection) {
+            addToRanges((RangeSelection<T>) selection, items);
+            return;
+        }
+        var added = new LinkedHashSet<>(items);
+        added.removeIf(selection::contains);
+        if (added.isEmpty()) {
+            return;
+        }
+        if (selection instanceof AllExceptSelection) {
+            setSelection(selection, ((AllExceptSelection<T>) selection).including(added), added,
+                    Collections.emptySet());
+        } else {
+            setSelection(selection, withItems(selection, added), added, Collections.emptySet());
+        }
+    }
+
+    /**
+     * Adds the given items to a range selection. The indices of the items are looked up with a single pass over the
+     * source list. If some of the items are not in the source list, the selection is expanded into a
+     * {@link DefaultSelection}.
+     */
+    private void addToRanges(@Nonnull RangeSelection<T> selection, @Nonnull Collection<T> items) {
+        var indices = selection.indicesOf(items);
+        var added = new LinkedHashSet<T>();
+        var addedIndices = new int[items.size()];
+        var count = 0;
+        var allInSource = true;
+        for (var item : items) {
+            var index = indices.get(item);
+            if (index == null) {
+                allInSource = false;
+                added.add(item);
+            } else if (!selection.containsIndex(index) && added.add(item)) {
+                addedIndices[count++] = index;
+            }
+        }
+        if (added.isEmpty()) {
+            return;
+        }
+        if (allInSource) {
+            Arrays.sort(addedIndices, 0, count);
+            setSelection(selection, selection.withIndices(addedIndices, count), added, Collections.emptySet());
+        } else {
+            setSelection(selection, withItems(selection, added), added, Collections.emptySet());
+        }
+    }
+
+    @Nonnull
+    private static <T> Selection<T> withItems(@Nonnull Selection<T> selection, @Nonnull Set<T> added) {
+        var newItems = new ArrayList<T>(selection.size() + added.size());
+        selection.forEach(newItems::add);
+        newItems.addAll(added);
+        return DefaultSelection.ofOwnedList(newItems);
+    }
+
+    @Override
+    public void remove(@Nonnull Collection<T> items) {
+        Objects.requireNonNull(items, "items must not be null");
+        var selection = getSelection();
+        if (selection instanceof RangeSelection) {
+            removeFromRanges((RangeSelection<T>) selection, items);
+            return;
+        }
+        var removed = new LinkedHashSet<>(items);
+        removed.removeIf(item -> !selection.contains(item));
+        if (removed.isEmpty()) {
+            return;
+        }
+        if (selection instanceof AllExceptSelection) {
+            setSelection(selection, ((AllExceptSelection<T>) selection).excluding(removed), Collections.emptySet(),
+                    removed);
+        } else {
+            var newItems = new ArrayList<T>(selection.size() - removed.size());
+            selection.forEach(item -> {
+                if (!removed.contains(item)) {
+                    newItems.add(item);
+                }
+            });
+            setSelection(selection, DefaultSelection.ofOwnedList(newItems), Collections.emptySet(), removed);
+        }
+    }
+
+    /**
+     * Removes the given items from a range selection. The indices of the items are looked up with a single pass over
+     * the source list.
+     */
+    private void removeFromRanges(@Nonnull RangeSelection<T> selection, @Nonnull Collection<T> items) {
+        var indices = selection.indicesOf(items);
+        var removed = new LinkedHashSet<T>();
+        var removedIndices = new int[items.size()];
+        var count = 0;
+        for (var item : items) {
+            var index = indices.get(item);
+            if (index != null && selection.containsIndex(index) && removed.add(item)) {
+                removedIndices[count++] = index;
+            }
+        }
+        if (!removed.isEmpty()) {
+            Arrays.sort(removedIndices, 0, count);
+            setSelection(selection, selection.withoutIndices(removedIndices, count), Collections.emptySet(),
+                    removed);
+        }
+    }
+
+    @Override
+    public void toggle(@Nonnull T item) {
+        Objects.requireNonNull(item, "item must not be null");
+        var selection = getSelection();
+        if (!(selection instanceof RangeSelection)) {
+            if (selection.contains(item)) {
+                remove(Collections.singleton(item));
+            } else {
+                add(Collections.singleton(item));
+            }
+            return;
+        }
+        // Look up the index once instead of once for checking and once for adding or removing
+        var ranges = (RangeSelection<T>) selection;
+        var index = ranges.getSource().indexOf(item);
+        if (index < 0) {
+            var added = Collections.singleton(item);
+            setSelection(selection, withItems(selection, added), added, Collections.emptySet());
+        } else if (ranges.containsIndex(index)) {
+            setSelection(selection, ranges.withoutRange(index, index + 1), Collections.emptySet(),
+                    Collections.singleton(item));
+        } else {
+            setSelection(selection, ranges.withRange(index, index + 1), Collections.singleton(item),
+                    Collections.emptySet());
+        }
+    }
+
+    @Nonnull
+    @Override
+    SelectionChangeEvent<T> createSelectionChangeEvent(Selection<T> old, Selection<T> value,
+                                                       @Nullable PendingSelectionDelta<T> delta) {
+        if (delta != null) {
+            return new SelectionChangeEvent<>(this, old, value, delta.getAdded(), delta.getRemoved());
+        }
+        return SelectionChangeEvent.between(this, old, value);
     }
 }
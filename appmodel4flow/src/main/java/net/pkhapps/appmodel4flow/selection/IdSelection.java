@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.pkhapps.appmodel4flow.selection;
+
+import com.vaadin.flow.function.SerializableFunction;
+import lombok.ToString;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of {@link Selection} that only stores the ids of the selected items, e.g. the ids returned by
+ * {@link com.vaadin.flow.data.provider.DataProvider#getId(Object)}. The items themselves are loaded through an
+ * {@link ItemLoader} every time the selection is {@link #stream() streamed} or iterated, which means that a selection
+ * of thousands of rows does not keep thousands of entities in memory. Checking whether an item is selected only
+ * requires its id.
+ * <p>
+ * Two id selections are equal if they contain the same ids, in the same order.
+ * <p>
+ * The selections created by {@link IdSelectionModel} when ids are added or removed share the id set of the previous
+ * selection and only store the ids that were added to or removed from it. These overlays are merged into a new id set
+ * once they grow larger than the square root of the shared set, so toggling a single row in a selection of
+ * {@code n} ids copies {@code O(sqrt(n))} ids instead of all of them.
+ *
+ * @param <T> the type of the items in the selection.
+ */
+@Immutable
+@ToString(of = "ids")
+public class IdSelection<T> implements Selection<T> {
+
+    private static final long serialVersionUID = 1L;
+    private static final int MIN_OVERLAY_SIZE = 16;
+
+    // The selected ids are the base ids that have not been removed, followed by the added ids. An id of the base set
+    // that is removed and then added again is in both overlays, since it has moved to the end of the selection.
+    private final Set<Object> baseIds;
+    private final Set<Object> addedIds;
+    private final Set<Object> removedIds;
+    private final SerializableFunction<T, ?> idFunction;
+    private final ItemLoader<T> loader;
+    private transient Set<Object> ids = new IdSet();
+    private transient int hashCode;
+
+    /**
+     * Creates a new {@code IdSelection}.
+     *
+     * @param ids        the ids of the selected items, never {@code null}.
+     * @param idFunction the function that returns the id of an item, never {@code null}.
+     * @param loader     the loader to load the selected items with, never {@code null}.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public IdSelection(@Nonnull Collection<?> ids, @Nonnull SerializableFunction<T, ?> idFunction,
+                       @Nonnull ItemLoader<T> loader) {
+        this(new LinkedHashSet<>(Objects.requireNonNull(ids, "ids must not be null")), Collections.emptySet(),
+                Collections.emptySet(), idFunction, loader);
+    }
+
+    private IdSelection(@Nonnull Set<Object> baseIds, @Nonnull Set<Object> addedIds, @Nonnull Set<Object> removedIds,
+                        @Nonnull SerializableFunction<T, ?> idFunction, @Nonnull ItemLoader<T> loader) {
+        this.baseIds = baseIds;
+        this.addedIds = addedIds;
+        this.removedIds = removedIds;
+        this.idFunction = Objects.requireNonNull(idFunction, "idFunction must not be null");
+        this.loader = Objects.requireNonNull(loader, "loader must not be null");
+    }
+
+    /**
+     * Creates a new {@code IdSelection} with the given ids and the same id function and loader as this selection.
+     * The set is not copied and must not be modified afterwards.
+     */
+    @Nonnull
+    IdSelection<T> withOwnedIds(@Nonnull Set<Object> ids) {
+        return new IdSelection<>(ids, Collections.emptySet(), Collections.emptySet(), idFunction, loader);
+    }
+
+    /**
+     * Creates a new {@code IdSelection} with the given ids added to the end of this selection. The ids must not be
+     * selected already. The ids of this selection are shared, not copied.
+     */
+    @Nonnull
+    IdSelection<T> withAddedIds(@Nonnull Collection<Object> ids) {
+        var added = new LinkedHashSet<>(addedIds);
+        added.addAll(ids);
+        return withOverlays(added, removedIds);
+    }
+
+    /**
+     * Creates a new {@code IdSelection} without the given ids. The ids must be selected. The ids of this selection are
+     * shared, not copied.
+     */
+    @Nonnull
+    IdSelection<T> withoutIds(@Nonnull Collection<Object> ids) {
+        var added = addedIds;
+        var removed = removedIds;
+        for (var id : ids) {
+            if (added.contains(id)) {
+                if (added == addedIds) {
+                    added = new LinkedHashSet<>(addedIds);
+                }
+                added.remove(id);
+            } else {
+                if (removed == removedIds) {
+                    removed = new HashSet<>(removedIds);
+                }
+                removed.add(id);
+            }
+        }
+        return withOverlays(added, removed);
+    }
+
+    @Nonnull
+    private IdSelection<T> withOverlays(@Nonnull Set<Object> added, @Nonnull Set<Object> removed) {
+        var maxOverlaySize = Math.max(MIN_OVERLAY_SIZE, (int) Math.sqrt(baseIds.size()));
+        if (added.size() + removed.size() > maxOverlaySize) {
+            var selection = new IdSelection<>(baseIds, added, removed, idFunction, loader);
+            return withOwnedIds(new LinkedHashSet<>(selection.ids));
+        }
+        return new IdSelection<>(baseIds, added, removed, idFunction, loader);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        ids = new IdSet();
+        // The hash codes of the ids may be different in this JVM, so the hash code is recomputed when needed
+        hashCode = 0;
+    }
+
+    /**
+     * Returns the ids of the selected items.
+     *
+     * @return an unmodifiable set of ids in selection order, never {@code null}.
+     */
+    @Nonnull
+    public Set<Object> getIds() {
+        return ids;
+    }
+
+    /**
+     * Returns whether the item with the given id is selected.
+     *
+     * @param id the id to look for.
+     * @return true if the id is selected, false if not.
+     */
+    public boolean containsId(Object id) {
+        return addedIds.contains(id) || (baseIds.contains(id) && !removedIds.contains(id));
+    }
+
+    /**
+     * Returns the id of the given item, using the id function of this selection.
+     *
+     * @param item the item, never {@code null}.
+     * @return the id of the item.
+     */
+    public Object getId(@Nonnull T item) {
+        return idFunction.apply(item);
+    }
+
+    /**
+     * Returns the loader used to load the selected items.
+     *
+     * @return the loader, never {@code null}.
+     */
+    @Nonnull
+    public ItemLoader<T> getLoader() {
+        return loader;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public int size() {
+        return baseIds.size() - removedIds.size() + addedIds.size();
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return item != null && containsId(idFunction.apply(item));
+    }
+
+    @Nonnull
+    @Override
+    public Optional<T> getFirst() {
+        if (isEmpty()) {
+            return Optional.empty();
+        }
+        return loader.load(Collections.singleton(ids.iterator().next())).findFirst();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The items are loaded through the {@link ItemLoader} every time this method is called.
+     */
+    @Nonnull
+    @Override
+    public Stream<T> stream() {
+        return isEmpty() ? Stream.empty() : loader.load(ids);
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<T> iterator() {
+        return stream().iterator();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IdSelection)) {
+            return false;
+        }
+        var other = (IdSelection<?>) o;
+        return size() == other.size() && hashCode() == other.hashCode() && ids.equals(other.ids)
+                && sameOrder(other.ids);
+    }
+
+    private boolean sameOrder(@Nonnull Set<Object> otherIds) {
+        var iterator = otherIds.iterator();
+        for (var id : ids) {
+            if (!Objects.equals(id, iterator.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        var h = hashCode;
+        if (h == 0) {
+            h = ids.hashCode();
+            hashCode = h;
+        }
+        return h;
+    }
+
+    /**
+     * Unmodifiable view of the selected ids, in selection order.
+     */
+    private final class IdSet extends AbstractSet<Object> {
+
+        @Override
+        public boolean contains(Object o) {
+            return containsId(o);
+        }
+
+        @Override
+        public int size() {
+            return IdSelection.this.size();
+        }
+
+        @Nonnull
+        @Override
+        public Iterator<Object> iterator() {
+            var remainingBaseIds = removedIds.isEmpty() ? baseIds.stream()
+                    : baseIds.stream().filter(id -> !removedIds.contains(id));
+            return addedIds.isEmpty() ? remainingBaseIds.iterator()
+                    : Stream.concat(remainingBaseIds, addedIds.stream()).iterator();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.pkhapps.appmodel4flow.selection;
+
+import lombok.ToString;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Event fired by an {@link IdSelectionModel} when its selection changes. The event contains the ids of the added and
+ * removed items, and the items themselves are only loaded the first time {@link #getAddedItems()} or
+ * {@link #getRemovedItems()} is called.
+ *
+ * @param <T> the type of the items in the selection.
+ */
+@SuppressWarnings("WeakerAccess")
+@NotThreadSafe
+@ToString(of = {"addedIds", "removedIds"})
+public class IdSelectionChangeEvent<T> extends SelectionChangeEvent<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Set<Object> addedIds;
+    private final Set<Object> removedIds;
+    private final ItemLoader<T> loader;
+    private Set<T> addedItems;
+    private Set<T> removedItems;
+
+    /**
+     * Creates a new {@code IdSelectionChangeEvent}.
+     *
+     * @param sender       the selection model that fired the event, never {@code null}.
+     * @param oldSelection the old selection, never {@code null}.
+     * @param selection    the new selection, never {@code null}.
+     * @param addedIds     the ids that are in the new selection but not in the old one, never {@code null}.
+     * @param removedIds   the ids that are in the old selection but not in the new one, never {@code null}.
+     */
+    public IdSelectionChangeEvent(@Nonnull SelectionModel<T> sender, @Nonnull IdSelection<T> oldSelection,
+                                  @Nonnull IdSelection<T> selection, @Nonnull Set<Object> addedIds,
+                                  @Nonnull Set<Object> removedIds) {
+        super(sender, oldSelection, selection);
+        this.addedIds = Collections.unmodifiableSet(Objects.requireNonNull(addedIds, "addedIds must not be null"));
+        this.removedIds = Collections.unmodifiableSet(Objects.requireNonNull(removedIds,
+                "removedIds must not be null"));
+        this.loader = selection.getLoader();
+    }
+
+    /**
+     * Creates a new {@code IdSelectionChangeEvent} by comparing the ids of the old and new selections. No items are
+     * loaded.
+     *
+     * @param sender       the selection model that fired the event, never {@code null}.
+     * @param oldSelection the old selection, never {@code null}.
+     * @param selection    the new selection, never {@code null}.
+     * @param <T>          the type of the items in the selection.
+     * @return the event, never {@code null}.
+     */
+    @Nonnull
+    public static <T> IdSelectionChangeEvent<T> between(@Nonnull SelectionModel<T> sender,
+                                                        @Nonnull IdSelection<T> oldSelection,
+                                                        @Nonnull IdSelection<T> selection) {
+        var addedIds = new LinkedHashSet<>(selection.getIds());
+        addedIds.removeAll(oldSelection.getIds());
+        var removedIds = new LinkedHashSet<>(oldSelection.getIds());
+        removedIds.removeAll(selection.getIds());
+        return new IdSelectionChangeEvent<>(sender, oldSelection, selection, addedIds, removedIds);
+    }
+
+    @Nonnull
+    @Override
+    public IdSelection<T> getOldSelection() {
+        return (IdSelection<T>) super.getOldSelection();
+    }
+
+    @Nonnull
+    @Override
+    public IdSelection<T> getSelection() {
+        return (IdSelection<T>) super.getSelection();
+    }
+
+    /**
+     * Returns the ids of the items that were added to the selection.
+     *
+     * @return an unmodifiable set of ids, never {@code null}.
+     */
+    @Nonnull
+    public Set<Object> getAddedIds() {
+        return addedIds;
+    }
+
+    /**
+     * Returns the ids of the items that were removed from the selection.
+     *
+     * @return an unmodifiable set of ids, never {@code null}.
+     */
+    @Nonnull
+    public Set<Object> getRemovedIds() {
+        return removedIds;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The items are loaded through the {@link ItemLoader} of the selection the first time this method is called.
+     */
+    @Nonnull
+    @Override
+    public Set<T> getAddedItems() {
+        if (addedItems == null) {
+            addedItems = load(addedIds);
+        }
+        return addedItems;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The items are loaded through the {@link ItemLoader} of the selection the first time this method is called.
+     */
+    @Nonnull
+    @Override
+    public Set<T> getRemovedItems() {
+        if (removedItems == null) {
+            removedItems = load(removedIds);
+        }
+        return removedItems;
+    }
+
+    @Nonnull
+    private Set<T> load(@Nonnull Set<Object> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<T> items = loader.load(ids).collect(Collectors.toCollection(LinkedHashSet::new));
+        return Collections.unmodifiableSet(items);
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.pkhapps.appmodel4flow.selection;
+
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.function.SerializableFunction;
+import net.pkhapps.appmodel4flow.property.support.Equivalences;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link SelectionModel} that only stores the ids of the selected items, intended for components
+ * that fetch their items lazily from a {@link DataProvider}. The selection is always an {@link IdSelection}; selections
+ * of items that are set through {@link #setValue(Selection)} or {@link #select(Collection)} are converted to ids right
+ * away. The items are loaded through an {@link ItemLoader} only when somebody actually iterates over the selection.
+ * <p>
+ * Selection change listeners receive {@link IdSelectionChangeEvent}s, which are created without loading any items.
+ * Adding and removing ids does not copy the ids of the current selection; the new selection shares them, see
+ * {@link IdSelection}.
+ * <p>
+ * Selections are compared using {@link Equivalences#identity()}, since a selection is immutable and every change
+ * replaces it with a new instance. Only {@link #selectIds(Collection)} compares the ids, so that selecting the same
+ * items again does not fire an event.
+ *
+ * @param <T> the type of the items in the selection.
+ */
+@NotThreadSafe
+public class IdSelectionModel<T> extends AbstractSelectionModel<T, Object> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SerializableFunction<T, ?> idFunction;
+
+    /**
+     * Creates a new {@code IdSelectionModel}.
+     *
+     * @param idFunction the function that returns the id of an item, never {@code null}.
+     * @param loader     the loader to load the selected items with, never {@code null}.
+     */
+    public IdSelectionModel(@Nonnull SerializableFunction<T, ?> idFunction, @Nonnull ItemLoader<T> loader) {
+        super(new IdSelection<>(Collections.emptySet(), idFunction, loader));
+        this.idFunction = idFunction;
+    }
+
+    /**
+     * Creates a new {@code IdSelectionModel} that uses the {@link DataProvider#getId(Object) ids} of the given data
+     * provider.
+     *
+     * @param dataProvider the data provider to get the ids from, never {@code null}.
+     * @param loader       the loader to load the selected items with, never {@code null}.
+     */
+    public IdSelectionModel(@Nonnull DataProvider<T, ?> dataProvider, @Nonnull ItemLoader<T> loader) {
+        this(Objects.requireNonNull(dataProvider, "dataProvider must not be null")::getId, loader);
+    }
+
+    /**
+     * Returns the current selection as an {@link IdSelection}.
+     *
+     * @return the selection, never {@code null}.
+     */
+    @Nonnull
+    public IdSelection<T> getIdSelection() {
+        return (IdSelection<T>) getValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the selection is not an {@link IdSelection}, it is converted into one using the id function of this model.
+     * {@code null} clears the selection.
+     */
+    @Override
+    public void setValue(Selection<T> value) {
+        if (value instanceof IdSelection) {
+            super.setValue(value);
+        } else if (value == null) {
+            selectIds(Collections.emptySet());
+        } else {
+            select(value.stream().collect(Collectors.toList()));
+        }
+    }
+
+    @Override
+    public void select(@Nonnull Collection<T> items) {
+        selectIds(toIds(items));
+    }
+
+    /**
+     * Selects the items with the specified ids. If the collection contains no ids, this method will clear the
+     * selection.
+     *
+     * @param ids the ids to select, never {@code null}.
+     */
+    public void selectIds(@Nonnull Collection<?> ids) {
+        Objects.requireNonNull(ids, "ids must not be null");
+        var selection = getIdSelection().withOwnedIds(new LinkedHashSet<>(ids));
+        if (!selection.equals(getIdSelection())) {
+            super.setValue(selection);
+        }
+    }
+
+    @Override
+    public void add(@Nonnull Collection<T> items) {
+        addIds(toIds(items));
+    }
+
+    /**
+     * Adds the items with the specified ids to the selection. Ids that are already selected are ignored.
+     *
+     * @param ids the ids to add, never {@code null}.
+     */
+    public void addIds(@Nonnull Collection<?> ids) {
+        Objects.requireNonNull(ids, "ids must not be null");
+        var selection = getIdSelection();
+        var added = new LinkedHashSet<Object>(ids);
+        added.removeIf(selection::containsId);
+        if (!added.isEmpty()) {
+            setSelection(selection, selection.withAddedIds(added), added, Collections.emptySet());
+        }
+    }
+
+    @Override
+    public void remove(@Nonnull Collection<T> items) {
+        removeIds(toIds(items));
+    }
+
+    /**
+     * Removes the items with the specified ids from the selection. Ids that are not selected are ignored.
+     *
+     * @param ids the ids to remove, never {@code null}.
+     */
+    public void removeIds(@Nonnull Collection<?> ids) {
+        Objects.requireNonNull(ids, "ids must not be null");
+        var selection = getIdSelection();
+        var removed = new LinkedHashSet<Object>(ids);
+        removed.removeIf(id -> !selection.containsId(id));
+        if (!removed.isEmpty()) {
+            setSelection(selection, selection.withoutIds(removed), Collections.emptySet(), removed);
+        }
+    }
+
+    @Nonnull
+    private Set<Object> toIds(@Nonnull Collection<T> items) {
+        Objects.requireNonNull(items, "items must not be null");
+        var ids = new LinkedHashSet<>();
+        for (var item : items) {
+            ids.add(idFunction.apply(item));
+        }
+        return ids;
+    }
+
+    @Nonnull
+    @Override
+    SelectionChangeEvent<T> createSelectionChangeEvent(Selection<T> old, Selection<T> value,
+                                                       @Nullable PendingSelectionDelta<Object> delta) {
+        var oldIdSelection = (IdSelection<T>) old;
+        var idSelection = (IdSelection<T>) value;
+        if (delta != null) {
+            return new IdSelectionChangeEvent<>(this, oldIdSelection, idSelection, delta.getAdded(),
+                    delta.getRemoved());
+        }
+        return IdSelectionChangeEvent.between(this, oldIdSelection, idSelection);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.pkhapps.appmodel4flow.selection;
+
+import javax.annotation.Nonnull;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+/**
+ * Function that loads the items with the given ids, typically from a database or a backend service. Used by
+ * {@link IdSelection} and {@link IdSelectionModel} to resolve selected items only when they are needed.
+ *
+ * @param <T> the type of the items.
+ */
+@FunctionalInterface
+public interface ItemLoader<T> extends Serializable {
+
+    /**
+     * Loads the items with the given ids. Ids of items that no longer exist should be ignored. The order of the
+     * returned items is not significant.
+     *
+     * @param ids the ids of the items to load, never {@code null} and never empty.
+     * @return a stream of the loaded items, never {@code null}.
+     */
+    @Nonnull
+    Stream<T> load(@Nonnull Collection<Object> ids);
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.pkhapps.appmodel4flow.selection;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The keys (items or ids) added to and removed from a selection since it had a certain base value, recorded by a
+ * selection model until the change has been delivered to the listeners. Consecutive changes are combined, so that a
+ * key that is first added and then removed again is not reported at all.
+ *
+ * @param <K> the type of the keys.
+ */
+@NotThreadSafe
+final class PendingSelectionDelta<K> {
+
+    private final Selection<?> base;
+    private final Set<K> added = new LinkedHashSet<>();
+    private final Set<K> removed = new LinkedHashSet<>();
+    private Selection<?> target;
+
+    private PendingSelectionDelta(@Nonnull Selection<?> base) {
+        this.base = base;
+        this.target = base;
+    }
+
+    /**
+     * Returns the given delta if it ends with the given selection, or a new, empty delta that starts from it.
+     *
+     * @param delta the current delta, may be {@code null}.
+     * @param old   the selection that is about to be changed, never {@code null}.
+     * @param <K>   the type of the keys.
+     * @return the delta to record the next change in, never {@code null}.
+     */
+    @Nonnull
+    static <K> PendingSelectionDelta<K> continueFrom(@Nullable PendingSelectionDelta<K> delta,
+                                                     @Nonnull Selection<?> old) {
+        return delta != null && delta.target == old ? delta : new PendingSelectionDelta<>(old);
+    }
+
+    /**
+     * Records a change.
+     *
+     * @param selection the selection after the change, never {@code null}.
+     * @param addedKeys the keys that were added, never {@code null}.
+     * @param removedKeys the keys that were removed, never {@code null}.
+     */
+    void apply(@Nonnull Selection<?> selection, @Nonnull Collection<K> addedKeys, @Nonnull Collection<K> removedKeys) {
+        for (var key : addedKeys) {
+            if (!removed.remove(key)) {
+                added.add(key);
+            }
+        }
+        for (var key : removedKeys) {
+            if (!added.remove(key)) {
+                removed.add(key);
+            }
+        }
+        target = selection;
+    }
+
+    /**
+     * Returns whether this delta describes the change from {@code old} to {@code value}.
+     */
+    boolean describes(@Nullable Selection<?> old, @Nullable Selection<?> value) {
+        return base == old && target == value;
+    }
+
+    @Nonnull
+    Set<K> getAdded() {
+        return added;
+    }
+
+    @Nonnull
+    Set<K> getRemoved() {
+        return removed;
+    }
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.pkhapps.appmodel4flow.selection;
+
+import lombok.ToString;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of {@link Selection} that contains ranges of items from a list, such as the rows selected with
+ * shift-click in a grid. Only the sorted, non-overlapping index ranges are stored, so selecting a range of a million
+ * rows takes as much memory as selecting one row. {@link #size()} adds up the lengths of the ranges,
+ * {@link #containsIndex(int)} is a binary search and {@link #stream()} reads the items straight from the list.
+ * {@link #contains(Object)} has to find the index of the item first, which is a linear search through the list
+ * ({@code O(n)}) using {@link List#indexOf(Object)}; prefer {@link #containsIndex(int)} when the index is known.
+ * <p>
+ * The ranges refer to positions in the list and do not follow changes made to the list afterwards. If the list
+ * shrinks, the parts of the ranges beyond its end are ignored by all the methods that read the selection. The items of
+ * the list are assumed to be distinct. Two selections are equal if they have the same list instance and the same
+ * ranges.
+ *
+ * @param <T> the type of the items in the selection.
+ */
+@Immutable
+@ToString(of = "ranges")
+public class RangeSelection<T> implements Selection<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<T> source;
+    /**
+     * Start (inclusive) and end (exclusive) indices of the ranges, sorted and merged: {@code [from0, to0, from1, ...]}.
+     */
+    private final int[] ranges;
+
+    /**
+     * Creates a new, empty {@code RangeSelection}.
+     *
+     * @param source the list to select items from, never {@code null}.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public RangeSelection(@Nonnull List<T> source) {
+        this(source, new int[0]);
+    }
+
+    /**
+     * Creates a new {@code RangeSelection} that contains a single range of items.
+     *
+     * @param source the list to select items from, never {@code null}.
+     * @param from   the index of the first item in the range (inclusive).
+     * @param to     the index after the last item in the range (exclusive).
+     */
+    @SuppressWarnings("WeakerAccess")
+    public RangeSelection(@Nonnull List<T> source, int from, int to) {
+        this(source, singleRange(from, to));
+    }
+
+    private RangeSelection(@Nonnull List<T> source, @Nonnull int[] ranges) {
+        this.source = Objects.requireNonNull(source, "source must not be null");
+        this.ranges = ranges;
+    }
+
+    @Nonnull
+    private static int[] singleRange(int from, int to) {
+        checkRange(from, to);
+        return from == to ? new int[0] : new int[]{from, to};
+    }
+
+    private static void checkRange(int from, int to) {
+        if (from < 0 || to < from) {
+            throw new IndexOutOfBoundsException("Invalid range [" + from + ", " + to + ")");
+        }
+    }
+
+    /**
+     * Returns the list that the items are selected from.
+     *
+     * @return the list, never {@code null}.
+     */
+    @Nonnull
+    public List<T> getSource() {
+        return source;
+    }
+
+    /**
+     * Returns a copy of this selection that also contains the given range of items.
+     *
+     * @param from the index of the first item in the range (inclusive).
+     * @param to   the index after the last item in the range (exclusive).
+     * @return the new selection, never {@code null}.
+     */
+    @Nonnull
+    public RangeSelection<T> withRange(int from, int to) {
+        checkRange(from, to);
+        if (from == to) {
+            return this;
+        }
+        var result = new int[ranges.length + 2];
+        var length = 0;
+        var i = 0;
+        // Copy the ranges that end before the new range
+        while (i < ranges.length && ranges[i + 1] < from) {
+            result[length++] = ranges[i];
+            result[length++] = ranges[i + 1];
+            i += 2;
+        }
+        // Merge the ranges that overlap or touch the new range
+        var start = from;
+        var end = to;
+        while (i < ranges.length && ranges[i] <= to) {
+            start = Math.min(start, ranges[i]);
+            end = Math.max(end, ranges[i + 1]);
+            i += 2;
+        }
+        result[length++] = start;
+        result[length++] = end;
+        while (i < ranges.length) {
+            result[length++] = ranges[i++];
+        }
+        return new RangeSelection<>(source, Arrays.copyOf(result, length));
+    }
+
+    /**
+     * Returns a copy of this selection that does not contain the given range of items.
+     *
+     * @param from the index of the first item in the range (inclusive).
+     * @param to   the index after the last item in the range (exclusive).
+     * @return the new selection, never {@code null}.
+     */
+    @Nonnull
+    public RangeSelection<T> withoutRange(int from, int to) {
+        checkRange(from, to);
+        if (from == to) {
+            return this;
+        }
+        var result = new int[ranges.length + 2];
+        var length = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            var start = ranges[i];
+            var end = ranges[i + 1];
+            if (end <= from || start >= to) {
+                result[length++] = start;
+                result[length++] = end;
+            } else {
+                if (start < from) {
+                    result[length++] = start;
+                    result[length++] = from;
+                }
+                if (end > to) {
+                    result[length++] = to;
+                    result[length++] = end;
+                }
+            }
+        }
+        return new RangeSelection<>(source, Arrays.copyOf(result, length));
+    }
+
+    /**
+     * Returns a copy of this selection that also contains the given indices, which must be sorted in ascending order.
+     * Consecutive indices are added as one range.
+     */
+    @Nonnull
+    RangeSelection<T> withIndices(@Nonnull int[] sortedIndices, int count) {
+        var result = this;
+        var i = 0;
+        while (i < count) {
+            var from = sortedIndices[i];
+            var to = from + 1;
+            while (++i < count && sortedIndices[i] <= to) {
+                to = Math.max(to, sortedIndices[i] + 1);
+            }
+            result = result.withRange(from, to);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a copy of this selection that does not contain the given indices, which must be sorted in ascending
+     * order. Consecutive indices are removed as one range.
+     */
+    @Nonnull
+    RangeSelection<T> withoutIndices(@Nonnull int[] sortedIndices, int count) {
+        var result = this;
+        var i = 0;
+        while (i < count) {
+            var from = sortedIndices[i];
+            var to = from + 1;
+            while (++i < count && sortedIndices[i] <= to) {
+                to = Math.max(to, sortedIndices[i] + 1);
+            }
+            result = result.withoutRange(from, to);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the indices of the given items in the source list, looked up with a single pass over the list. Items
+     * that are not in the list are left out of the returned map.
+     */
+    @Nonnull
+    Map<T, Integer> indicesOf(@Nonnull Collection<T> items) {
+        var remaining = new HashSet<>(items);
+        var indices = new HashMap<T, Integer>(remaining.size() * 2);
+        var index = 0;
+        for (var item : source) {
+            if (remaining.remove(item)) {
+                indices.put(item, index);
+                if (remaining.isEmpty()) {
+                    break;
+                }
+            }
+            ++index;
+        }
+        return indices;
+    }
+
+    /**
+     * Returns whether the item at the given index is selected.
+     *
+     * @param index the index of the item in the source list.
+     * @return true if the index is inside one of the ranges, false if not.
+     */
+    public boolean containsIndex(int index) {
+        if (index >= source.size()) {
+            return false;
+        }
+        var low = 0;
+        var high = ranges.length / 2;
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (ranges[middle * 2 + 1] <= index) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low < ranges.length / 2 && ranges[low * 2] <= index;
+    }
+
+    /**
+     * Returns the indices of the selected items in ascending order. Indices beyond the end of the source list are
+     * skipped.
+     *
+     * @return a stream of indices, never {@code null}.
+     */
+    @Nonnull
+    public IntStream indices() {
+        return IntStream.range(0, ranges.length / 2).flatMap(i -> IntStream.range(start(i), end(i)));
+    }
+
+    /**
+     * Returns the start of the given range, clipped to the size of the source list.
+     */
+    private int start(int range) {
+        return Math.min(ranges[range * 2], source.size());
+    }
+
+    /**
+     * Returns the end of the given range, clipped to the size of the source list.
+     */
+    private int end(int range) {
+        return Math.min(ranges[range * 2 + 1], source.size());
+    }
+
+    /**
+     * Returns the indices that are selected in this selection but not in the given one, without going through the
+     * indices that both selections contain.
+     */
+    @Nonnull
+    IntStream indicesNotIn(@Nonnull RangeSelection<?> other) {
+        var difference = this;
+        for (int i = 0; i < other.ranges.length; i += 2) {
+            difference = difference.withoutRange(other.ranges[i], other.ranges[i + 1]);
+        }
+        return difference.indices();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        // The ranges are sorted, so if the first one starts beyond the end of the list, all of them do
+        return ranges.length == 0 || ranges[0] >= source.size();
+    }
+
+    @Override
+    public int size() {
+        var size = 0;
+        for (int i = 0; i < ranges.length / 2; ++i) {
+            size += end(i) - start(i);
+        }
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This looks up the index of the item in the source list and then checks the ranges.
+     */
+    @Override
+    public boolean contains(T item) {
+        return !isEmpty() && containsIndex(source.indexOf(item));
+    }
+
+    @Nonnull
+    @Override
+    public Optional<T> getFirst() {
+        return isEmpty() ? Optional.empty() : Optional.ofNullable(source.get(ranges[0]));
+    }
+
+    @Nonnull
+    @Override
+    public Stream<T> stream() {
+        return IntStream.range(0, ranges.length / 2)
+                .mapToObj(i -> source.subList(start(i), end(i)))
+                .flatMap(List::stream);
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<T> iterator() {
+        return stream().iterator();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RangeSelection)) {
+            return false;
+        }
+        var other = (RangeSelection<?>) o;
+        return source == other.source && Arrays.equals(ranges, other.ranges);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(source) + Arrays.hashCode(ranges);
+    }
+}
@@ -19,6 +19,7 @@ package net.pkhapps.appmodel4flow.selection;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
 import java.io.Serializable;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -49,6 +50,26 @@ public interface Selection<T> extends Iterable<T>, Serializable {
         return !isEmpty();
     }
 
+    /**
+     * Returns the number of items in this selection.
+     *
+     * @return the number of items.
+     */
+    default int size() {
+        return (int) stream().count();
+    }
+
+    /**
+     * Returns whether this selection contains the given item. The default implementation scans through all the items,
+     * but implementations are expected to do better than that.
+     *
+     * @param item the item to look for.
+     * @return true if the item is selected, false if not.
+     */
+    default boolean contains(T item) {
+        return stream().anyMatch(selectedItem -> Objects.equals(selectedItem, item));
+    }
+
     /**
      * Returns the first item in this selection.
      *
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.selection;
+
+import lombok.ToString;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Event fired by a {@link SelectionModel} when its selection changes. In addition to the old and new selections, the
+ * event contains the items that were added to and removed from the selection, so that listeners can do work in
+ * proportion to the size of the change instead of the size of the selection.
+ *
+ * @param <T> the type of the items in the selection.
+ * @see SelectionModel#addSelectionChangeListener(com.vaadin.flow.function.SerializableConsumer)
+ */
+@SuppressWarnings("WeakerAccess")
+@Immutable
+@ToString(of = {"addedItems", "removedItems"})
+public class SelectionChangeEvent<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SelectionModel<T> sender;
+    private final Selection<T> oldSelection;
+    private final Selection<T> selection;
+    private final Set<T> addedItems;
+    private final Set<T> removedItems;
+
+    /**
+     * Creates a new {@code SelectionChangeEvent}.
+     *
+     * @param sender       the selection model that fired the event, never {@code null}.
+     * @param oldSelection the old selection, never {@code null}.
+     * @param selection    the new selection, never {@code null}.
+     * @param addedItems   the items that are in the new selection but not in the old one, never {@code null}.
+     * @param removedItems the items that are in the old selection but not in the new one, never {@code null}.
+     */
+    public SelectionChangeEvent(@Nonnull SelectionModel<T> sender, @Nonnull Selection<T> oldSelection,
+                                @Nonnull Selection<T> selection, @Nonnull Set<T> addedItems,
+                                @Nonnull Set<T> removedItems) {
+        this.sender = Objects.requireNonNull(sender, "sender must not be null");
+        this.oldSelection = Objects.requireNonNull(oldSelection, "oldSelection must not be null");
+        this.selection = Objects.requireNonNull(selection, "selection must not be null");
+        this.addedItems = Collections.unmodifiableSet(Objects.requireNonNull(addedItems,
+                "addedItems must not be null"));
+        this.removedItems = Collections.unmodifiableSet(Objects.requireNonNull(removedItems,
+                "removedItems must not be null"));
+    }
+
+    /**
+     * Constructor for subclasses that resolve the added and removed items on demand. Such subclasses must override
+     * {@link #getAddedItems()} and {@link #getRemovedItems()}.
+     *
+     * @param sender       the selection model that fired the event, never {@code null}.
+     * @param oldSelection the old selection, never {@code null}.
+     * @param selection    the new selection, never {@code null}.
+     */
+    protected SelectionChangeEvent(@Nonnull SelectionModel<T> sender, @Nonnull Selection<T> oldSelection,
+                                   @Nonnull Selection<T> selection) {
+        this.sender = Objects.requireNonNull(sender, "sender must not be null");
+        this.oldSelection = Objects.requireNonNull(oldSelection, "oldSelection must not be null");
+        this.selection = Objects.requireNonNull(selection, "selection must not be null");
+        this.addedItems = null;
+        this.removedItems = null;
+    }
+
+    /**
+     * Creates a new {@code SelectionChangeEvent} by comparing the old and new selections. This takes time in
+     * proportion to the sizes of the selections and is used when the change is not known in advance. Two
+     * {@link AllExceptSelection}s or {@link RangeSelection}s of the same items are compared without going through the
+     * items, in proportion to the size of the change.
+     *
+     * @param sender       the selection model that fired the event, never {@code null}.
+     * @param oldSelection the old selection, {@code null} is treated as an empty selection.
+     * @param selection    the new selection, {@code null} is treated as an empty selection.
+     * @param <T>          the type of the items in the selection.
+     * @return the event, never {@code null}.
+     */
+    @Nonnull
+    public static <T> SelectionChangeEvent<T> between(@Nonnull SelectionModel<T> sender,
+                                                      @Nullable Selection<T> oldSelection,
+                                                      @Nullable Selection<T> selection) {
+        var old = oldSelection == null ? new DefaultSelection<T>() : oldSelection;
+        var current = selection == null ? new DefaultSelection<T>() : selection;
+        if (old instanceof AllExceptSelection && current instanceof AllExceptSelection
+                && ((AllExceptSelection<T>) old).hasSameDataProvider((AllExceptSelection<T>) current)) {
+            // Only the excluded items can differ
+            var oldAllExcept = (AllExceptSelection<T>) old;
+            var currentAllExcept = (AllExceptSelection<T>) current;
+            return new SelectionChangeEvent<>(sender, old, current,
+                    oldAllExcept.excludedItemsNotIn(currentAllExcept).collect(toLinkedHashSet()),
+                    currentAllExcept.excludedItemsNotIn(oldAllExcept).collect(toLinkedHashSet()));
+        }
+        if (old instanceof RangeSelection && current instanceof RangeSelection
+                && ((RangeSelection<T>) old).getSource() == ((RangeSelection<T>) current).getSource()) {
+            var oldRanges = (RangeSelection<T>) old;
+            var currentRanges = (RangeSelection<T>) current;
+            var source = currentRanges.getSource();
+            return new SelectionChangeEvent<>(sender, old, current,
+                    currentRanges.indicesNotIn(oldRanges).mapToObj(source::get).collect(toLinkedHashSet()),
+                    oldRanges.indicesNotIn(currentRanges).mapToObj(source::get).collect(toLinkedHashSet()));
+        }
+        var addedItems = new LinkedHashSet<T>();
+        current.forEach(item -> {
+            if (!old.contains(item)) {
+                addedItems.add(item);
+            }
+        });
+        var removedItems = new LinkedHashSet<T>();
+        old.forEach(item -> {
+            if (!current.contains(item)) {
+                removedItems.add(item);
+            }
+        });
+        return new SelectionChangeEvent<>(sender, old, current, addedItems, removedItems);
+    }
+
+    @Nonnull
+    private static <T> Collector<T, ?, Set<T>> toLinkedHashSet() {
+        return Collectors.toCollection(LinkedHashSet::new);
+    }
+
+    /**
+     * Returns the {@link SelectionModel} that fired this event.
+     *
+     * @return the selection model, never {@code null}.
+     */
+    @Nonnull
+    public SelectionModel<T> getSender() {
+        return sender;
+    }
+
+    /**
+     * Returns the old selection.
+     *
+     * @return the old selection, never {@code null}.
+     */
+    @Nonnull
+    public Selection<T> getOldSelection() {
+        return oldSelection;
+    }
+
+    /**
+     * Returns the current (new) selection.
+     *
+     * @return the new selection, never {@code null}.
+     */
+    @Nonnull
+    public Selection<T> getSelection() {
+        return selection;
+    }
+
+    /**
+     * Returns the items that were added to the selection.
+     *
+     * @return an unmodifiable set of items, never {@code null}.
+     */
+    @Nonnull
+    public Set<T> getAddedItems() {
+        return addedItems;
+    }
+
+    /**
+     * Returns the items that were removed from the selection.
+     *
+     * @return an unmodifiable set of items, never {@code null}.
+     */
+    @Nonnull
+    public Set<T> getRemovedItems() {
+        return removedItems;
+    }
+}
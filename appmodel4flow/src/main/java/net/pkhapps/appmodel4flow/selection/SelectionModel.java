@@ -16,11 +16,18 @@
 
 package net.pkhapps.appmodel4flow.selection;
 
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.shared.Registration;
 import net.pkhapps.appmodel4flow.property.WritableObservableValue;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * Interface defining a selection model. The model contains a selection of items and notifies its listeners whenever
@@ -67,4 +74,67 @@ public interface SelectionModel<T> extends WritableObservableValue<Selection<T>>
      * @param items the items to select, never {@code null}.
      */
     void select(@Nonnull Collection<T> items);
+
+    /**
+     * Adds the specified items to the selection. Items that are already selected are ignored.
+     *
+     * @param items the items to add, never {@code null}.
+     */
+    default void add(@Nonnull Collection<T> items) {
+        Objects.requireNonNull(items, "items must not be null");
+        var selection = getSelection();
+        var added = new LinkedHashSet<>(items);
+        added.removeIf(selection::contains);
+        if (!added.isEmpty()) {
+            var newItems = new ArrayList<T>(selection.size() + added.size());
+            selection.forEach(newItems::add);
+            newItems.addAll(added);
+            select(newItems);
+        }
+    }
+
+    /**
+     * Removes the specified items from the selection. Items that are not selected are ignored.
+     *
+     * @param items the items to remove, never {@code null}.
+     */
+    default void remove(@Nonnull Collection<T> items) {
+        Objects.requireNonNull(items, "items must not be null");
+        var selection = getSelection();
+        var removed = new HashSet<>(items);
+        removed.removeIf(item -> !selection.contains(item));
+        if (!removed.isEmpty()) {
+            select(selection.stream().filter(item -> !removed.contains(item)).collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Removes the given item from the selection if it is selected, and adds it otherwise.
+     *
+     * @param item the item to toggle, never {@code null}.
+     */
+    default void toggle(@Nonnull T item) {
+        Objects.requireNonNull(item, "item must not be null");
+        if (getSelection().contains(item)) {
+            remove(Collections.singleton(item));
+        } else {
+            add(Collections.singleton(item));
+        }
+    }
+
+    /**
+     * Registers a listener to be notified when the selection changes. Unlike value change listeners, selection change
+     * listeners are told which items were added and removed. The default implementation compares the old and new
+     * selections every time, but implementations like {@link DefaultSelectionModel} pass on the changes made through
+     * {@link #add(Collection)}, {@link #remove(Collection)} and {@link #toggle(Object)} without comparing anything.
+     *
+     * @param listener the listener, never {@code null}.
+     * @return a registration handle for removing the listener, never {@code null}.
+     */
+    @Nonnull
+    default Registration addSelectionChangeListener(@Nonnull SerializableConsumer<SelectionChangeEvent<T>> listener) {
+        Objects.requireNonNull(listener, "listener must not be null");
+        return addChangeListener((sender, oldValue, value) ->
+                listener.accept(SelectionChangeEvent.between(this, oldValue, value)));
+    }
 }
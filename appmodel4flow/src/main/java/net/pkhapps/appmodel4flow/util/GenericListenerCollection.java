@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.util;
+
+import com.vaadin.flow.shared.Registration;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Helper class for managing listeners of any type and dispatching calls to them. Both strong and weak listener
+ * references are supported and the class is thread-safe. If your listeners are simple event consumers, use
+ * {@link ListenerCollection} instead.
+ * <p>
+ * The listeners are kept in an immutable snapshot array that is rebuilt whenever a listener is added or removed
+ * (copy-on-write). Dispatching only reads the current snapshot, so no locks are taken and no objects are allocated
+ * while dispatching. Listeners that are added or removed during a dispatch will not affect that particular dispatch.
+ * <p>
+ * Weak listeners are stored in the same array as {@link WeakReference}s. Garbage collected weak listeners are pruned
+ * the next time a dispatch is made, or when a listener is added to the collection, as the weak references are
+ * registered with a {@link ReferenceQueue} that belongs to the collection. The references do not point back to the
+ * collection, so a collection never stays reachable because of its cleared references.
+ *
+ * @param <LISTENER> the listener type.
+ */
+@ThreadSafe
+@Slf4j
+public class GenericListenerCollection<LISTENER extends Serializable> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Snapshot NO_LISTENERS = new Snapshot(new Object[0]);
+
+    private transient volatile Snapshot snapshot = NO_LISTENERS;
+    private transient ReferenceQueue<Object> clearedReferences;
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        var strongListeners = new ArrayList<Object>();
+        var weakListeners = new ArrayList<Object>();
+        for (Object entry : snapshot.entries) {
+            if (entry instanceof ListenerReference) {
+                var listener = ((ListenerReference) entry).get();
+                if (listener != null) {
+                    weakListeners.add(listener);
+                }
+            } else {
+                strongListeners.add(entry);
+            }
+        }
+        out.writeObject(strongListeners);
+        out.writeObject(weakListeners);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        var strongListeners = (List<?>) in.readObject();
+        var weakListeners = (List<?>) in.readObject();
+        var entries = new Object[strongListeners.size() + weakListeners.size()];
+        var i = 0;
+        for (Object listener : strongListeners) {
+            entries[i++] = listener;
+        }
+        for (Object listener : weakListeners) {
+            entries[i++] = new ListenerReference(listener, getClearedReferences(), strongListeners.contains(listener));
+        }
+        publish(entries);
+    }
+
+    /**
+     * Invokes the given dispatcher once for every registered listener. The {@code argument} is passed on to the
+     * dispatcher as-is, which makes it possible to use non-capturing dispatchers that do not allocate anything.
+     *
+     * @param dispatcher the dispatcher that invokes the actual listener method, never {@code null}.
+     * @param argument   the argument to pass to the dispatcher.
+     * @param <ARG>      the type of the argument.
+     * @return the number of listeners that were notified.
+     */
+    @SuppressWarnings("unchecked")
+    public <ARG> int dispatch(@Nonnull Dispatcher<? super LISTENER, ARG> dispatcher, ARG argument) {
+        Objects.requireNonNull(dispatcher, "dispatcher must not be null");
+        final Object[] snapshot = this.snapshot.entries;
+        if (log.isTraceEnabled()) {
+            log.trace("Dispatching {} to {} listener(s)", argument, snapshot.length);
+        }
+        boolean containsClearedReferences = false;
+        int notified = 0;
+        for (Object entry : snapshot) {
+            LISTENER listener;
+            if (entry instanceof ListenerReference) {
+                var reference = (ListenerReference) entry;
+                listener = (LISTENER) reference.get();
+                if (listener == null) {
+                    containsClearedReferences = true;
+                    continue;
+                } else if (reference.shadowed) {
+                    continue;
+                }
+            } else {
+                listener = (LISTENER) entry;
+            }
+            dispatcher.dispatch(listener, argument);
+            ++notified;
+        }
+        if (containsClearedReferences) {
+            pruneClearedReferences();
+        }
+        return notified;
+    }
+
+    /**
+     * Registers the given listener to be notified when calls are {@link #dispatch(Dispatcher, Object) dispatched}.
+     *
+     * @param listener the listener, never {@code null}.
+     * @return a registration handle, never {@code null}.
+     */
+    @Nonnull
+    public Registration addListener(@Nonnull LISTENER listener) {
+        Objects.requireNonNull(listener, "listener must not be null");
+        synchronized (this) {
+            expungeClearedReferences();
+            var entries = snapshot.entries;
+            if (indexOfListener(entries, listener) < 0) {
+                var newEntries = Arrays.copyOf(entries, entries.length + 1);
+                newEntries[entries.length] = listener;
+                setShadowed(newEntries, listener, true);
+                publish(newEntries);
+            }
+        }
+        return () -> removeListener(listener);
+    }
+
+    private synchronized void removeListener(@Nonnull LISTENER listener) {
+        var entries = snapshot.entries;
+        var index = indexOfListener(entries, listener);
+        if (index >= 0) {
+            var newEntries = new Object[entries.length - 1];
+            System.arraycopy(entries, 0, newEntries, 0, index);
+            System.arraycopy(entries, index + 1, newEntries, index, newEntries.length - index);
+            setShadowed(newEntries, listener, false);
+            publish(newEntries);
+        }
+    }
+
+    /**
+     * Registers the given listener to be notified when calls are {@link #dispatch(Dispatcher, Object) dispatched}.
+     * The listener is registered using a weak reference and will be automatically removed when garbage collected.
+     * This means you have to make sure you keep another reference to the listener for as long as you need it or it
+     * will become garbage collected too soon.
+     *
+     * @param listener the listener, never {@code null}.
+     */
+    public void addWeakListener(@Nonnull LISTENER listener) {
+        Objects.requireNonNull(listener, "listener must not be null");
+        synchronized (this) {
+            expungeClearedReferences();
+            var entries = snapshot.entries;
+            if (indexOfWeakListener(entries, listener) < 0) {
+                var newEntries = Arrays.copyOf(entries, entries.length + 1);
+                newEntries[entries.length] = new ListenerReference(listener, getClearedReferences(),
+                        indexOfListener(entries, listener) >= 0);
+                publish(newEntries);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the listener collection currently contains any listeners.
+     *
+     * @return true if there is at least one listener registered, false if there are none.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public boolean containsListeners() {
+        for (Object entry : snapshot.entries) {
+            if (!(entry instanceof ListenerReference) || ((ListenerReference) entry).get() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether the listener collection currently contains any listener that matches the given predicate.
+     *
+     * @param predicate the predicate to test the listeners with, never {@code null}.
+     * @return true if at least one listener matches, false if none do.
+     */
+    @SuppressWarnings("unchecked")
+    public boolean containsListener(@Nonnull Predicate<? super LISTENER> predicate) {
+        Objects.requireNonNull(predicate, "predicate must not be null");
+        for (Object entry : snapshot.entries) {
+            var listener = entry instanceof ListenerReference ? ((ListenerReference) entry).get() : entry;
+            if (listener != null && predicate.test((LISTENER) listener)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOfListener(@Nonnull Object[] entries, @Nonnull Object listener) {
+        for (int i = 0; i < entries.length; ++i) {
+            if (!(entries[i] instanceof ListenerReference) && entries[i].equals(listener)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfWeakListener(@Nonnull Object[] entries, @Nonnull Object listener) {
+        for (int i = 0; i < entries.length; ++i) {
+            if (entries[i] instanceof ListenerReference && listener.equals(((ListenerReference) entries[i]).get())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Replaces the weak references to the given listener with references that are (or are not) shadowed by a strong
+     * registration of the same listener. The references are immutable so that dispatches using an older snapshot
+     * are not affected.
+     */
+    private void setShadowed(@Nonnull Object[] entries, @Nonnull Object listener, boolean shadowed) {
+        var index = indexOfWeakListener(entries, listener);
+        if (index >= 0) {
+            entries[index] = new ListenerReference(listener, getClearedReferences(), shadowed);
+        }
+    }
+
+    private synchronized void pruneClearedReferences() {
+        var entries = snapshot.entries;
+        var remaining = 0;
+        for (Object entry : entries) {
+            if (!(entry instanceof ListenerReference) || ((ListenerReference) entry).get() != null) {
+                remaining++;
+            }
+        }
+        if (remaining < entries.length) {
+            var newEntries = new Object[remaining];
+            var i = 0;
+            for (Object entry : entries) {
+                if (!(entry instanceof ListenerReference) || ((ListenerReference) entry).get() != null) {
+                    newEntries[i++] = entry;
+                }
+            }
+            publish(newEntries);
+        }
+    }
+
+    /**
+     * Prunes the weak listeners that have been garbage collected since the last call. Must be called while holding the
+     * lock.
+     */
+    private void expungeClearedReferences() {
+        if (clearedReferences != null && clearedReferences.poll() != null) {
+            while (clearedReferences.poll() != null) {
+                // Drain the queue, one pruning removes all the cleared references
+            }
+            pruneClearedReferences();
+        }
+    }
+
+    /**
+     * Returns the queue that the weak references of this collection are registered with. Must be called while holding
+     * the lock (or from {@link #readObject(ObjectInputStream)}).
+     */
+    @Nonnull
+    private ReferenceQueue<Object> getClearedReferences() {
+        if (clearedReferences == null) {
+            clearedReferences = new ReferenceQueue<>();
+        }
+        return clearedReferences;
+    }
+
+    /**
+     * Publishes a new snapshot. Must be called while holding the lock (or from
+     * {@link #readObject(ObjectInputStream)}).
+     */
+    private void publish(@Nonnull Object[] entries) {
+        snapshot = entries.length == 0 ? NO_LISTENERS : new Snapshot(entries);
+    }
+
+    /**
+     * Immutable snapshot of the registered listeners.
+     */
+    private static final class Snapshot {
+
+        /**
+         * Contains either listeners (strong references) or {@link ListenerReference}s to listeners (weak references).
+         * Never modified once published.
+         */
+        private final Object[] entries;
+
+        Snapshot(@Nonnull Object[] entries) {
+            this.entries = entries;
+        }
+    }
+
+    /**
+     * Weak reference to a listener. A weak listener that has also been registered as a strong listener is
+     * <em>shadowed</em> and skipped during dispatch, so that it is only invoked once.
+     */
+    private static final class ListenerReference extends WeakReference<Object> {
+
+        private final boolean shadowed;
+
+        ListenerReference(@Nonnull Object listener, @Nonnull ReferenceQueue<Object> queue, boolean shadowed) {
+            super(listener, queue);
+            this.shadowed = shadowed;
+        }
+    }
+
+    /**
+     * Functional interface for invoking a listener during a {@link #dispatch(Dispatcher, Object) dispatch}.
+     *
+     * @param <LISTENER> the listener type.
+     * @param <ARG>      the type of the argument passed to the dispatcher.
+     */
+    @FunctionalInterface
+    public interface Dispatcher<LISTENER, ARG> {
+
+        /**
+         * Invokes the given listener.
+         *
+         * @param listener the listener to invoke, never {@code null}.
+         * @param argument the argument that was passed to {@link #dispatch(Dispatcher, Object)}.
+         */
+        void dispatch(@Nonnull LISTENER listener, ARG argument);
+    }
+}
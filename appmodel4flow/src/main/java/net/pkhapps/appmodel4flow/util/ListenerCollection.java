@@ -18,49 +18,28 @@ package net.pkhapps.appmodel4flow.util;
 
 import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.shared.Registration;
-import lombok.extern.slf4j.Slf4j;
+import net.pkhapps.appmodel4flow.metrics.AppModelMetrics;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.ThreadSafe;
-import java.io.*;
-import java.util.*;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.Objects;
 
 /**
  * Helper class for managing listeners and firing events to them. Both strong and weak listener references are supported
  * and the class is thread-safe.
+ * <p>
+ * The listeners are kept in an immutable snapshot array that is rebuilt whenever a listener is added or removed
+ * (copy-on-write). Firing an event only reads the current snapshot, so no locks are taken and no objects are allocated
+ * while dispatching. Listeners that are added or removed while an event is being fired will not affect that particular
+ * event. Garbage collected weak listeners are pruned the next time an event is fired or a listener is added.
+ *
+ * @param <EVENT> the event type.
  */
 @ThreadSafe
-@Slf4j
-public class ListenerCollection<EVENT> implements Serializable {
+public class ListenerCollection<EVENT> extends GenericListenerCollection<SerializableConsumer<EVENT>> {
 
     private static final long serialVersionUID = 1L;
 
-    private final ReentrantReadWriteLock listenerLock = new ReentrantReadWriteLock();
-    private Set<SerializableConsumer<EVENT>> listeners;
-    private transient Map<SerializableConsumer<EVENT>, Void> weakListeners;
-
-    private void writeObject(ObjectOutputStream out) throws IOException {
-        out.defaultWriteObject();
-        if (weakListeners != null) {
-            out.writeObject(new HashSet<>(weakListeners.keySet()));
-        }
-    }
-
-    @SuppressWarnings("unchecked")
-    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
-        in.defaultReadObject();
-        try {
-            Set<SerializableConsumer<EVENT>> weakListeners = (Set<SerializableConsumer<EVENT>>) in.readObject();
-            if (weakListeners.size() > 0) {
-                this.weakListeners = new WeakHashMap<>();
-                weakListeners.forEach(listener -> this.weakListeners.put(listener, null));
-            }
-        } catch (OptionalDataException ex) {
-            // Ignore it
-        }
-    }
-
     /**
      * Fires the given event to all registered listeners.
      *
@@ -68,20 +47,11 @@ public class ListenerCollection<EVENT> implements Serializable {
      */
     public void fireEvent(@Nonnull EVENT event) {
         Objects.requireNonNull(event, "event must not be null");
-        Set<SerializableConsumer<EVENT>> listeners = new HashSet<>();
-        listenerLock.readLock().lock();
-        try {
-            if (this.listeners != null) {
-                listeners.addAll(this.listeners);
-            }
-            if (this.weakListeners != null) {
-                listeners.addAll(this.weakListeners.keySet());
-            }
-        } finally {
-            listenerLock.readLock().unlock();
+        var notified = dispatch(SerializableConsumer::accept, event);
+        var metrics = AppModelMetrics.getCurrent();
+        if (metrics.isEnabled()) {
+            metrics.eventDispatched(event, notified);
         }
-        log.trace("Firing event {} to {} listener(s)", event, listeners.size());
-        listeners.forEach(listener -> listener.accept(event));
     }
 
     /**
@@ -91,25 +61,9 @@ public class ListenerCollection<EVENT> implements Serializable {
      * @return a registration handle, never {@code null}.
      */
     @Nonnull
+    @Override
     public Registration addListener(@Nonnull SerializableConsumer<EVENT> listener) {
-        Objects.requireNonNull(listener, "listener must not be null");
-        listenerLock.writeLock().lock();
-        try {
-            if (listeners == null) {
-                listeners = new HashSet<>();
-            }
-            listeners.add(listener);
-        } finally {
-            listenerLock.writeLock().unlock();
-        }
-        return () -> {
-            listenerLock.writeLock().lock();
-            try {
-                listeners.remove(listener);
-            } finally {
-                listenerLock.writeLock().unlock();
-            }
-        };
+        return super.addListener(listener);
     }
 
     /**
@@ -120,34 +74,8 @@ public class ListenerCollection<EVENT> implements Serializable {
      *
      * @param listener the listener, never {@code null}.
      */
+    @Override
     public void addWeakListener(@Nonnull SerializableConsumer<EVENT> listener) {
-        Objects.requireNonNull(listener, "listener must not be null");
-        listenerLock.writeLock().lock();
-        try {
-            if (weakListeners == null) {
-                weakListeners = new WeakHashMap<>();
-            }
-            weakListeners.put(listener, null);
-        } finally {
-            listenerLock.writeLock().unlock();
-        }
-    }
-
-    /**
-     * Returns whether the listener collection currently contains any listeners.
-     *
-     * @return true if there is at least one listener registered, false if there are none.
-     */
-    @SuppressWarnings("WeakerAccess")
-    public boolean containsListeners() {
-        listenerLock.readLock().lock();
-        try {
-            if (listeners != null && listeners.size() > 0) {
-                return true;
-            }
-            return weakListeners != null && weakListeners.size() > 0;
-        } finally {
-            listenerLock.readLock().unlock();
-        }
+        super.addWeakListener(listener);
     }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.pkhapps.appmodel4flow.binding;
+
+import com.vaadin.flow.data.provider.DataChangeEvent;
+import net.pkhapps.appmodel4flow.list.DefaultObservableList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link ObservableListDataProvider}.
+ */
+public class ObservableListDataProviderTest {
+
+    private DefaultObservableList<String> list;
+    private ObservableListDataProvider<String> dataProvider;
+    private List<DataChangeEvent<String>> events;
+
+    @Before
+    public void setUp() {
+        list = new DefaultObservableList<>(Arrays.asList("a", "b", "c"));
+        dataProvider = new ObservableListDataProvider<>(list);
+        events = new ArrayList<>();
+        dataProvider.addDataProviderListener(events::add);
+    }
+
+    @Test
+    public void itemReplacedWithEqualItem_onlyItemRefreshed() {
+        list.set(1, new String("b"));
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0)).isInstanceOf(DataChangeEvent.DataRefreshEvent.class);
+        assertThat(((DataChangeEvent.DataRefreshEvent<String>) events.get(0)).getItem()).isEqualTo("b");
+    }
+
+    @Test
+    public void itemReplacedWithOtherItem_allRefreshed() {
+        list.set(1, "x");
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0)).isNotInstanceOf(DataChangeEvent.DataRefreshEvent.class);
+    }
+
+    @Test
+    public void itemAdded_allRefreshed() {
+        list.add("d");
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0)).isNotInstanceOf(DataChangeEvent.DataRefreshEvent.class);
+        assertThat(dataProvider.getItems()).containsExactly("a", "b", "c", "d");
+    }
+
+    @Test
+    public void remove_noLongerRefreshed() {
+        dataProvider.remove();
+        list.add("d");
+        assertThat(events).isEmpty();
+    }
+}
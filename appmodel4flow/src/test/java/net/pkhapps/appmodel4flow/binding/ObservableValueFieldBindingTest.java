@@ -16,12 +16,20 @@
 
 package net.pkhapps.appmodel4flow.binding;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.binder.ValueContext;
 import com.vaadin.flow.data.converter.Converter;
+import com.vaadin.flow.data.converter.StringToIntegerConverter;
+import net.pkhapps.appmodel4flow.AppModel;
 import net.pkhapps.appmodel4flow.property.DefaultObservableValue;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -79,4 +87,56 @@ public class ObservableValueFieldBindingTest {
         model.setValue("hello");
         assertThat(field.getValue()).isEmpty();
     }
+
+    @Test
+    public void valueContext_cachedBetweenConversions() {
+        var created = new AtomicInteger();
+        binding = new ObservableValueFieldBinding<>(model, field, Converter.identity()) {
+            @Override
+            protected ValueContext createValueContext() {
+                created.incrementAndGet();
+                return super.createValueContext();
+            }
+        };
+        model.setValue("hello");
+        model.setValue("world");
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    public void valueContext_invalidatedOnAttachAndDetach() {
+        var contexts = new ArrayList<ValueContext>();
+        binding = new ObservableValueFieldBinding<>(model, field, Converter.identity()) {
+            @Override
+            protected ValueContext createValueContext() {
+                var context = super.createValueContext();
+                contexts.add(context);
+                return context;
+            }
+        };
+        var ui = new UI();
+        ui.add(field);
+        model.setValue("hello");
+        ui.remove(field);
+        model.setValue("world");
+        assertThat(contexts).hasSize(2);
+    }
+
+    @Test
+    public void setLocale_attachedFieldsConvertedAgain() {
+        var ui = new UI();
+        ui.setLocale(Locale.US);
+        var numberModel = new DefaultObservableValue<>(1234567);
+        var attachedField = new TextField();
+        var detachedField = new TextField();
+        ui.add(attachedField);
+        new ObservableValueFieldBinding<>(numberModel, attachedField, new StringToIntegerConverter("error"));
+        new ObservableValueFieldBinding<>(numberModel, detachedField, new StringToIntegerConverter("error"));
+        assertThat(attachedField.getValue()).isEqualTo("1,234,567");
+
+        AppModel.setLocale(ui, Locale.GERMANY);
+
+        assertThat(attachedField.getValue()).isEqualTo("1.234.567");
+        assertThat(detachedField.getValue()).isEqualTo("1,234,567");
+    }
 }
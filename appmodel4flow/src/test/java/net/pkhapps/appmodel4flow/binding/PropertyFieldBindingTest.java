@@ -17,6 +17,7 @@
 package net.pkhapps.appmodel4flow.binding;
 
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.binder.ErrorLevel;
 import com.vaadin.flow.data.binder.Result;
 import com.vaadin.flow.data.binder.ValidationResult;
 import com.vaadin.flow.data.converter.Converter;
@@ -28,6 +29,8 @@ import org.junit.Test;
 
 import javax.annotation.Nonnull;
 import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -255,6 +258,86 @@ public class PropertyFieldBindingTest {
         assertThat(textModel.getValue()).isNull();
     }
 
+    @Test
+    public void setFieldValue_sameErrorsAsBefore_handlerIsNotInvokedAgain() {
+        var resultHandler = new ResultHandlerMock<Integer, String>();
+        binding.withBindingResultHandler(resultHandler);
+        binding.withValidator(new IntegerRangeValidator("intError", 0, 100));
+        field.setValue("110");
+        field.setValue("120");
+        field.setValue("130");
+        assertThat(resultHandler.invocationCount).isEqualTo(1);
+        field.setValue("50");
+        assertThat(resultHandler.invocationCount).isEqualTo(2);
+        assertThat(resultHandler.validationResults).noneMatch(ValidationResult::isError);
+    }
+
+    @Test
+    public void setFieldValue_warningChanges_handlerIsInvoked() {
+        var resultHandler = new ResultHandlerMock<Integer, String>();
+        binding.withBindingResultHandler(resultHandler);
+        binding.withValidator((value, context) -> value > 100 ? ValidationResult.create("tooLarge", ErrorLevel.WARNING)
+                : value > 50 ? ValidationResult.create("large", ErrorLevel.INFO) : ValidationResult.ok());
+        field.setValue("60");
+        assertThat(resultHandler.invocationCount).isEqualTo(1);
+        field.setValue("70");
+        assertThat(resultHandler.invocationCount).isEqualTo(1);
+        field.setValue("110");
+        assertThat(resultHandler.invocationCount).isEqualTo(2);
+        assertThat(resultHandler.validationResults).extracting(ValidationResult::getErrorMessage)
+                .containsExactly("tooLarge");
+        field.setValue("10");
+        assertThat(resultHandler.invocationCount).isEqualTo(3);
+        assertThat(resultHandler.validationResults).extracting(ValidationResult::getErrorLevel)
+                .containsExactly(Optional.empty());
+    }
+
+    @Test
+    public void setFieldValue_sameModelValue_validatorIsNotInvokedAgain() {
+        var invocations = new AtomicInteger();
+        binding.withValidator((value, context) -> {
+            invocations.incrementAndGet();
+            return ValidationResult.ok();
+        });
+        field.setValue("50");
+        field.setValue("050");
+        assertThat(model.getValue()).isEqualTo(50);
+        assertThat(invocations).hasValue(1);
+        binding.validateModel();
+        assertThat(invocations).hasValue(2);
+    }
+
+    @Test
+    public void withStopAtFirstValidationErrorEnabled_remainingValidatorsAreSkipped() {
+        var resultHandler = new ResultHandlerMock<Integer, String>();
+        var invocations = new AtomicInteger();
+        binding.withBindingResultHandler(resultHandler);
+        binding.withStopAtFirstValidationErrorEnabled();
+        binding.withValidator(new IntegerRangeValidator("intError", 0, 100));
+        binding.withValidator((value, context) -> {
+            invocations.incrementAndGet();
+            return ValidationResult.error("otherError");
+        });
+        field.setValue("110");
+        assertThat(invocations).hasValue(0);
+        assertThat(resultHandler.validationResults).extracting(ValidationResult::getErrorMessage)
+                .containsExactly("intError");
+        field.setValue("50");
+        assertThat(invocations).hasValue(1);
+        assertThat(resultHandler.validationResults).extracting(ValidationResult::isError)
+                .containsExactly(false, true);
+    }
+
+    @Test
+    public void validateModelAndHandleResults_resultsUnchanged_handlerIsInvokedAnyway() {
+        var resultHandler = new ResultHandlerMock<Integer, String>();
+        binding.withBindingResultHandler(resultHandler);
+        binding.asRequired("reqError");
+        binding.validateModelAndHandleResults();
+        binding.validateModelAndHandleResults();
+        assertThat(resultHandler.invocationCount).isEqualTo(2);
+    }
+
     static class ResultHandlerMock<MODEL, PRESENTATION> implements TwoWayFieldBinding.BindingResultHandler<MODEL, PRESENTATION> {
 
         int invocationCount = 0;
@@ -18,11 +18,18 @@ package net.pkhapps.appmodel4flow.binding;
 
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.selection.MultiSelectionEvent;
+import net.pkhapps.appmodel4flow.selection.AllExceptSelection;
 import net.pkhapps.appmodel4flow.selection.DefaultSelectionModel;
+import net.pkhapps.appmodel4flow.selection.IdSelectionModel;
+import net.pkhapps.appmodel4flow.selection.RangeSelection;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -56,6 +63,48 @@ public class SelectionModelGridBindingTest {
         assertThat(grid.getSelectedItems()).containsOnly("item2");
     }
 
+    @Test
+    public void gridSelection_modelListenerAddsItem_addedItemSelectedInGrid() {
+        selectionModel.addSelectionChangeListener(event -> {
+            if (event.getAddedItems().contains("item1")) {
+                selectionModel.add(Set.of("item3"));
+            }
+        });
+        grid.select("item1");
+        assertThat(selectionModel.getSelection()).containsOnly("item1", "item3");
+        assertThat(grid.getSelectedItems()).containsOnly("item1", "item3");
+    }
+
+    @Test
+    public void gridSelection_modelListenerRejectsItem_itemDeselectedInGrid() {
+        selectionModel.addSelectionChangeListener(event -> {
+            if (event.getAddedItems().contains("item2")) {
+                selectionModel.remove(Set.of("item2"));
+            }
+        });
+        grid.select("item1");
+        grid.select("item2");
+        assertThat(selectionModel.getSelection()).containsOnly("item1");
+        assertThat(grid.getSelectedItems()).containsOnly("item1");
+    }
+
+    @Test
+    public void singleSelectGridSelection_modelListenerChangesSelection_gridFollowsModel() {
+        var singleSelectGrid = new Grid<String>();
+        singleSelectGrid.setSelectionMode(Grid.SelectionMode.SINGLE);
+        singleSelectGrid.setDataProvider(DataProvider.ofItems("item1", "item2", "item3"));
+        var model = new DefaultSelectionModel<String>();
+        new SelectionModelGridBinding<>(model, singleSelectGrid);
+        model.addSelectionChangeListener(event -> {
+            if (event.getSelection().contains("item2")) {
+                model.selectOne("item3");
+            }
+        });
+        singleSelectGrid.select("item2");
+        assertThat(model.getSelection()).containsOnly("item3");
+        assertThat(singleSelectGrid.getSelectedItems()).containsOnly("item3");
+    }
+
     @Test
     public void gridSelectionIsClearedWhenModelIsCleared() {
         selectionModel.selectOne("item1");
@@ -76,4 +125,100 @@ public class SelectionModelGridBindingTest {
         grid.select("item1");
         assertThat(selectionModel.getSelection()).isEmpty();
     }
+
+    @Test
+    public void modelItemAdded_onlyAddedItemUpdatedInGrid() {
+        selectionModel.select(Arrays.asList("item1", "item2"));
+        List<MultiSelectionEvent<Grid<String>, String>> events = new ArrayList<>();
+        grid.asMultiSelect().addSelectionListener(events::add);
+
+        selectionModel.add(Set.of("item3"));
+        selectionModel.remove(Set.of("item1"));
+
+        assertThat(grid.getSelectedItems()).containsOnly("item2", "item3");
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).getAddedSelection()).containsExactly("item3");
+        assertThat(events.get(0).getRemovedSelection()).isEmpty();
+        assertThat(events.get(1).getAddedSelection()).isEmpty();
+        assertThat(events.get(1).getRemovedSelection()).containsExactly("item1");
+    }
+
+    @Test
+    public void modelSelectionReplaced_onlyDifferenceUpdatedInGrid() {
+        selectionModel.select(Arrays.asList("item1", "item2"));
+        List<MultiSelectionEvent<Grid<String>, String>> events = new ArrayList<>();
+        grid.asMultiSelect().addSelectionListener(events::add);
+
+        selectionModel.select(Arrays.asList("item2", "item3"));
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getAddedSelection()).containsExactly("item3");
+        assertThat(events.get(0).getRemovedSelection()).containsExactly("item1");
+    }
+
+    @Test
+    public void gridItemDeselected_itemRemovedFromModel() {
+        selectionModel.select(Arrays.asList("item1", "item2"));
+        grid.deselect("item1");
+        assertThat(selectionModel.getSelection()).containsExactly("item2");
+    }
+
+    @Test
+    public void singleSelect_modelSelectionIsReflectedInGrid() {
+        grid.setSelectionMode(Grid.SelectionMode.SINGLE);
+        selectionModel.selectOne("item2");
+        assertThat(grid.getSelectedItems()).containsOnly("item2");
+        selectionModel.clear();
+        assertThat(grid.getSelectedItems()).isEmpty();
+    }
+
+    @Test
+    public void idSelectionModel_onlyChangedIdsLoaded() {
+        binding.remove();
+        grid.deselectAll();
+        var loadedIds = new ArrayList<Object>();
+        var idSelectionModel = new IdSelectionModel<>(grid.getDataProvider(), ids -> {
+            loadedIds.addAll(ids);
+            return ids.stream().map(String.class::cast);
+        });
+        new SelectionModelGridBinding<>(idSelectionModel, grid);
+
+        idSelectionModel.selectIds(Arrays.asList("item1", "item2"));
+        assertThat(grid.getSelectedItems()).containsOnly("item1", "item2");
+        loadedIds.clear();
+
+        idSelectionModel.selectIds(Arrays.asList("item2", "item3"));
+        assertThat(grid.getSelectedItems()).containsOnly("item2", "item3");
+        assertThat(loadedIds).containsExactly("item3");
+
+        grid.deselect("item2");
+        assertThat(idSelectionModel.getIdSelection().getIds()).containsExactly("item3");
+    }
+
+    @Test
+    public void allExceptSelection_gridChangesKeepModelCompact() {
+        selectionModel.setValue(new AllExceptSelection<>(grid.getDataProvider()));
+        assertThat(grid.getSelectedItems()).containsOnly("item1", "item2", "item3");
+
+        grid.deselect("item2");
+
+        assertThat(selectionModel.getSelection()).isInstanceOf(AllExceptSelection.class);
+        assertThat(((AllExceptSelection<String>) selectionModel.getSelection()).getExcludedItems())
+                .containsExactly("item2");
+    }
+
+    @Test
+    public void rangeSelection_onlyDifferenceUpdatedInGrid() {
+        var source = List.of("item1", "item2", "item3");
+        selectionModel.setValue(new RangeSelection<>(source, 0, 2));
+        assertThat(grid.getSelectedItems()).containsOnly("item1", "item2");
+        List<MultiSelectionEvent<Grid<String>, String>> events = new ArrayList<>();
+        grid.asMultiSelect().addSelectionListener(events::add);
+
+        selectionModel.setValue(new RangeSelection<>(source, 1, 3));
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getAddedSelection()).containsExactly("item3");
+        assertThat(events.get(0).getRemovedSelection()).containsExactly("item1");
+    }
 }
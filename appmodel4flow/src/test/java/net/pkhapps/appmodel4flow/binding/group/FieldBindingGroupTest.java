@@ -24,10 +24,13 @@ import com.vaadin.flow.data.converter.StringToIntegerConverter;
 import com.vaadin.flow.data.validator.StringLengthValidator;
 import net.pkhapps.appmodel4flow.binding.PropertyFieldBinding;
 import net.pkhapps.appmodel4flow.property.DefaultProperty;
+import net.pkhapps.appmodel4flow.property.ObservableBoolean;
 import org.junit.Before;
 import org.junit.Test;
 
+import javax.annotation.Nonnull;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -88,6 +91,62 @@ public class FieldBindingGroupTest {
         assertThat(group.isModelValid().getValue()).isTrue();
     }
 
+    @Test
+    public void modelValidFlag_oneOfTwoInvalidBindingsFixed_stillInvalid() {
+        var otherField = new TextField();
+        group.withBinding(new PropertyFieldBinding<>(new DefaultProperty<String>(), otherField, Converter.identity())
+                .withValidator(new StringLengthValidator("lengthError", 3, 10)));
+        stringField.setValue("this string is too long");
+        otherField.setValue("this string is too long");
+        stringField.setValue("this is OK");
+        assertThat(group.isModelValid().getValue()).isFalse();
+        otherField.setValue("this is OK");
+        assertThat(group.isModelValid().getValue()).isTrue();
+    }
+
+    @Test
+    public void withBinding_flagOwners_observableFlagsNotCreated() {
+        var observedFlags = new AtomicInteger();
+        var property = new DefaultProperty<String>() {
+            @Nonnull
+            @Override
+            public ObservableBoolean isDirty() {
+                observedFlags.incrementAndGet();
+                return super.isDirty();
+            }
+
+            @Nonnull
+            @Override
+            public ObservableBoolean isReadOnly() {
+                observedFlags.incrementAndGet();
+                return super.isReadOnly();
+            }
+        };
+        var field = new TextField();
+        var binding = new PropertyFieldBinding<>(property, field, Converter.<String>identity()) {
+            @Nonnull
+            @Override
+            public ObservableBoolean isPresentationValid() {
+                observedFlags.incrementAndGet();
+                return super.isPresentationValid();
+            }
+
+            @Nonnull
+            @Override
+            public ObservableBoolean isModelValid() {
+                observedFlags.incrementAndGet();
+                return super.isModelValid();
+            }
+        };
+        group.withBinding(binding);
+        field.setValue("foo");
+        property.setReadOnly(true);
+
+        assertThat(group.isDirty().getValue()).isTrue();
+        assertThat(field.isReadOnly()).isTrue();
+        assertThat(observedFlags).hasValue(0);
+    }
+
     @Test
     public void converterResultHandler_error() {
         var handlerInvoked = new AtomicBoolean(false);
@@ -179,4 +238,15 @@ public class FieldBindingGroupTest {
         booleanField.setValue(true);
         assertThat(booleanProperty.getValue()).isFalse();
     }
+
+    @Test
+    public void dispose_flagsNoLongerFollowed() {
+        stringField.setValue("this string is too long");
+        group.dispose();
+        assertThat(group.isModelValid().getValue()).isTrue();
+        assertThat(group.isDirty().getValue()).isFalse();
+
+        stringProperty.setValue("foo");
+        assertThat(group.isDirty().getValue()).isFalse();
+    }
 }
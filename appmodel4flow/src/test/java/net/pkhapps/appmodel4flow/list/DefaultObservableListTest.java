@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.pkhapps.appmodel4flow.list;
+
+import net.pkhapps.appmodel4flow.property.Batch;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link DefaultObservableList}.
+ */
+public class DefaultObservableListTest {
+
+    @Test
+    public void add_addedChangeFired() {
+        var list = new DefaultObservableList<>(Arrays.asList("a", "c"));
+        var recorder = new ListChangeRecorder<>(list);
+        list.add(1, "b");
+        assertThat(recorder.getLastChanges()).hasSize(1);
+        var change = recorder.getLastChanges().get(0);
+        assertThat(change.getType()).isEqualTo(ListChangeEvent.Type.ADDED);
+        assertThat(change.getFrom()).isEqualTo(1);
+        assertThat(change.getItems()).containsExactly("b");
+        assertThat(recorder.getReplica()).isEqualTo(list);
+    }
+
+    @Test
+    public void set_replacedChangeFired() {
+        var list = new DefaultObservableList<>(Arrays.asList("a", "b"));
+        var recorder = new ListChangeRecorder<>(list);
+        list.set(1, "x");
+        var change = recorder.getLastChanges().get(0);
+        assertThat(change.getType()).isEqualTo(ListChangeEvent.Type.REPLACED);
+        assertThat(change.getRemovedItems()).containsExactly("b");
+        assertThat(change.getItems()).containsExactly("x");
+        assertThat(recorder.getEvents().get(0).isReplacementOnly()).isTrue();
+    }
+
+    @Test
+    public void addAll_singleRangeFired() {
+        var list = new DefaultObservableList<String>();
+        var recorder = new ListChangeRecorder<>(list);
+        list.addAll(Arrays.asList("a", "b", "c"));
+        assertThat(recorder.getEvents()).hasSize(1);
+        assertThat(recorder.getLastChanges()).hasSize(1);
+        assertThat(recorder.getLastChanges().get(0).getItems()).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    public void removeBackwardsInBatch_mergedIntoOneRemoval() {
+        var list = new DefaultObservableList<>(Arrays.asList("a", "b", "c", "d", "e"));
+        var recorder = new ListChangeRecorder<>(list);
+        Batch.run(() -> {
+            list.remove(3);
+            list.remove(2);
+            list.remove(1);
+        });
+        assertThat(recorder.getLastChanges()).hasSize(1);
+        var change = recorder.getLastChanges().get(0);
+        assertThat(change.getType()).isEqualTo(ListChangeEvent.Type.REMOVED);
+        assertThat(change.getFrom()).isEqualTo(1);
+        assertThat(change.getTo()).isEqualTo(1);
+        assertThat(change.getRemovedItems()).containsExactly("b", "c", "d");
+        assertThat(recorder.getReplica()).isEqualTo(list);
+    }
+
+    @Test
+    public void noListeners_bulkOperationsStillApplied() {
+        var list = new DefaultObservableList<>(Arrays.asList(3, 1, 2, 5, 4));
+        list.sort(Comparator.naturalOrder());
+        assertThat(list).containsExactly(1, 2, 3, 4, 5);
+        list.removeIf(i -> i % 2 == 0);
+        assertThat(list).containsExactly(1, 3, 5);
+        list.setAll(Arrays.asList(7, 8));
+        assertThat(list).containsExactly(7, 8);
+        list.subList(0, 1).clear();
+        assertThat(list).containsExactly(8);
+    }
+
+    @Test
+    public void removeIf_oneChangePerRun() {
+        var list = new DefaultObservableList<>(Arrays.asList(1, 2, 3, 4, 5, 6, 7));
+        var recorder = new ListChangeRecorder<>(list);
+        list.removeIf(i -> i == 2 || i == 3 || i == 5 || i == 7);
+        assertThat(list).containsExactly(1, 4, 6);
+        assertThat(recorder.getEvents()).hasSize(1);
+        assertThat(recorder.getLastChanges()).hasSize(3);
+        assertThat(recorder.getLastChanges().get(0).getRemovedItems()).containsExactly(2, 3);
+        assertThat(recorder.getReplica()).isEqualTo(list);
+    }
+
+    @Test
+    public void subListClear_singleRemovedChange() {
+        var list = new DefaultObservableList<>(Arrays.asList(1, 2, 3, 4));
+        var recorder = new ListChangeRecorder<>(list);
+        list.subList(1, 3).clear();
+        assertThat(list).containsExactly(1, 4);
+        assertThat(recorder.getLastChanges()).hasSize(1);
+        assertThat(recorder.getLastChanges().get(0).getRemovedItems()).containsExactly(2, 3);
+    }
+
+    @Test
+    public void move_movedChangeFired() {
+        var list = new DefaultObservableList<>(Arrays.asList("a", "b", "c", "d"));
+        var recorder = new ListChangeRecorder<>(list);
+        list.move(0, 2, 2);
+        assertThat(list).containsExactly("c", "d", "a", "b");
+        var change = recorder.getLastChanges().get(0);
+        assertThat(change.getType()).isEqualTo(ListChangeEvent.Type.MOVED);
+        assertThat(change.getFrom()).isEqualTo(0);
+        assertThat(change.getTo()).isEqualTo(2);
+        assertThat(change.getItems()).containsExactly("a", "b");
+        assertThat(recorder.getReplica()).isEqualTo(list);
+    }
+
+    @Test
+    public void sort_onlyChangedRangeReplaced() {
+        var list = new DefaultObservableList<>(Arrays.asList(1, 3, 2, 4));
+        var recorder = new ListChangeRecorder<>(list);
+        list.sort(Comparator.naturalOrder());
+        var change = recorder.getLastChanges().get(0);
+        assertThat(change.getFrom()).isEqualTo(1);
+        assertThat(change.getItems()).containsExactly(2, 3);
+        assertThat(recorder.getReplica()).isEqualTo(list);
+    }
+
+    @Test
+    public void batch_changesDeliveredInOneEvent() {
+        var list = new DefaultObservableList<>(Arrays.asList("a", "b"));
+        var recorder = new ListChangeRecorder<>(list);
+        Batch.run(() -> {
+            list.add("c");
+            list.add("d");
+            list.remove(0);
+            assertThat(recorder.getEvents()).isEmpty();
+        });
+        assertThat(recorder.getEvents()).hasSize(1);
+        assertThat(recorder.getLastChanges()).hasSize(2);
+        assertThat(recorder.getReplica()).isEqualTo(list);
+    }
+
+    @Test
+    public void setAll_removedAndAddedFired() {
+        var list = new DefaultObservableList<>(Arrays.asList("a", "b"));
+        var recorder = new ListChangeRecorder<>(list);
+        list.setAll(List.of("x", "y", "z"));
+        assertThat(recorder.getEvents()).hasSize(1);
+        assertThat(recorder.getReplica()).isEqualTo(list);
+    }
+
+    @Test
+    public void iteratorRemove_changeFired() {
+        var list = new DefaultObservableList<>(Arrays.asList("a", "b", "c"));
+        var recorder = new ListChangeRecorder<>(list);
+        var iterator = list.iterator();
+        iterator.next();
+        iterator.next();
+        iterator.remove();
+        assertThat(list).containsExactly("a", "c");
+        assertThat(recorder.getReplica()).isEqualTo(list);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.pkhapps.appmodel4flow.list;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link FilteredObservableList}.
+ */
+public class FilteredObservableListTest {
+
+    @Test
+    public void initialItems_filtered() {
+        var source = new DefaultObservableList<>(Arrays.asList(1, 2, 3, 4));
+        assertThat(source.filtered(i -> i % 2 == 0)).containsExactly(2, 4);
+    }
+
+    @Test
+    public void sourceItemsAdded_onlyMatchingItemsAdded() {
+        var source = new DefaultObservableList<>(Arrays.asList(2, 4));
+        var filtered = source.filtered(i -> i % 2 == 0);
+        var recorder = new ListChangeRecorder<>(filtered);
+        source.addAll(1, Arrays.asList(5, 6, 7, 8));
+        assertThat(filtered).containsExactly(2, 6, 8, 4);
+        assertThat(recorder.getLastChanges()).hasSize(1);
+        assertThat(recorder.getLastChanges().get(0).getFrom()).isEqualTo(1);
+        assertThat(recorder.getLastChanges().get(0).getItems()).containsExactly(6, 8);
+    }
+
+    @Test
+    public void nonMatchingSourceItemRemoved_noEvent() {
+        var source = new DefaultObservableList<>(Arrays.asList(1, 2, 3));
+        var filtered = source.filtered(i -> i % 2 == 0);
+        var recorder = new ListChangeRecorder<>(filtered);
+        source.remove(0);
+        assertThat(recorder.getEvents()).isEmpty();
+        source.remove(0);
+        assertThat(filtered).isEmpty();
+        assertThat(recorder.getEvents()).hasSize(1);
+    }
+
+    @Test
+    public void sourceItemReplaced_itemAddedOrRemovedDependingOnPredicate() {
+        var source = new DefaultObservableList<>(Arrays.asList(1, 2, 3));
+        var filtered = source.filtered(i -> i % 2 == 0);
+        var recorder = new ListChangeRecorder<>(filtered);
+        source.set(0, 10);
+        assertThat(filtered).containsExactly(10, 2);
+        source.set(1, 11);
+        assertThat(filtered).containsExactly(10);
+        source.set(0, 12);
+        assertThat(recorder.getLastChanges().get(0).getType()).isEqualTo(ListChangeEvent.Type.REPLACED);
+        assertThat(recorder.getReplica()).isEqualTo(filtered);
+    }
+
+    @Test
+    public void randomChanges_filteredListConsistentWithSource() {
+        var random = new Random(42);
+        var source = new DefaultObservableList<Integer>();
+        var filtered = source.filtered(i -> i % 3 != 0);
+        var recorder = new ListChangeRecorder<>(filtered);
+        for (int round = 0; round < 2000; ++round) {
+            var size = source.size();
+            switch (random.nextInt(5)) {
+                case 0:
+                    source.add(random.nextInt(size + 1), random.nextInt(100));
+                    break;
+                case 1:
+                    if (size > 0) {
+                        source.remove(random.nextInt(size));
+                    }
+                    break;
+                case 2:
+                    if (size > 0) {
+                        source.set(random.nextInt(size), random.nextInt(100));
+                    }
+                    break;
+                case 3:
+                    if (size > 1) {
+                        var count = 1 + random.nextInt(size / 2);
+                        source.move(random.nextInt(size - count + 1), random.nextInt(size - count + 1), count);
+                    }
+                    break;
+                default:
+                    source.addAll(random.nextInt(size + 1), Arrays.asList(random.nextInt(100), random.nextInt(100)));
+            }
+            assertThat(filtered).isEqualTo(source.stream().filter(i -> i % 3 != 0).collect(Collectors.toList()));
+        }
+        assertThat(recorder.getReplica()).isEqualTo(filtered);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.pkhapps.appmodel4flow.list;
+
+import com.vaadin.flow.function.SerializableConsumer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * List change listener to be used in automatic tests. It records the received events and applies the changes to a
+ * copy of the list, which should always be equal to the observed list.
+ */
+public class ListChangeRecorder<T> implements SerializableConsumer<ListChangeEvent<T>> {
+
+    private final List<ListChangeEvent<T>> events = new ArrayList<>();
+    private final List<T> replica;
+
+    public ListChangeRecorder(ObservableList<T> list) {
+        replica = new ArrayList<>(list);
+        list.addListChangeListener(this);
+    }
+
+    public List<ListChangeEvent<T>> getEvents() {
+        return events;
+    }
+
+    public List<ListChangeEvent.Change<T>> getLastChanges() {
+        return events.get(events.size() - 1).getChanges();
+    }
+
+    public List<T> getReplica() {
+        return replica;
+    }
+
+    @Override
+    public void accept(ListChangeEvent<T> event) {
+        events.add(event);
+        for (var change : event.getChanges()) {
+            var from = change.getFrom();
+            switch (change.getType()) {
+                case ADDED:
+                    replica.addAll(from, change.getItems());
+                    break;
+                case REMOVED:
+                    replica.subList(from, from + change.size()).clear();
+                    break;
+                case REPLACED:
+                    for (int i = 0; i < change.size(); ++i) {
+                        replica.set(from + i, change.getItems().get(i));
+                    }
+                    break;
+                case MOVED:
+                    replica.subList(from, from + change.size()).clear();
+                    replica.addAll(change.getTo(), change.getItems());
+                    break;
+            }
+        }
+    }
+}
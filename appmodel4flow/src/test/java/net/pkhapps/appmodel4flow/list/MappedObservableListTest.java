@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.pkhapps.appmodel4flow.list;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link MappedObservableList}.
+ */
+public class MappedObservableListTest {
+
+    @Test
+    public void sourceChanged_onlyAffectedItemsMapped() {
+        var mapCount = new AtomicInteger();
+        var source = new DefaultObservableList<>(Arrays.asList("a", "b", "c"));
+        var mapped = source.mapped(s -> {
+            mapCount.incrementAndGet();
+            return s.toUpperCase();
+        });
+        assertThat(mapped).containsExactly("A", "B", "C");
+        assertThat(mapCount).hasValue(3);
+
+        source.add(1, "x");
+        source.set(0, "y");
+        assertThat(mapped).containsExactly("Y", "X", "B", "C");
+        assertThat(mapCount).hasValue(5);
+    }
+
+    @Test
+    public void sourceChanged_changesForwarded() {
+        var source = new DefaultObservableList<>(Arrays.asList("a", "b", "c", "d"));
+        var mapped = source.mapped(String::toUpperCase);
+        var recorder = new ListChangeRecorder<>(mapped);
+        source.remove(1);
+        source.move(0, 2);
+        source.set(0, "e");
+        assertThat(recorder.getEvents()).hasSize(3);
+        assertThat(recorder.getEvents().get(1).getChanges().get(0).getType()).isEqualTo(ListChangeEvent.Type.MOVED);
+        assertThat(recorder.getReplica()).isEqualTo(mapped).containsExactly("E", "D", "A");
+    }
+}
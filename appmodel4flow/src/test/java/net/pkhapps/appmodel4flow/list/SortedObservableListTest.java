@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.pkhapps.appmodel4flow.list;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link SortedObservableList}.
+ */
+public class SortedObservableListTest {
+
+    @Test
+    public void sourceItemAdded_insertedInOrder() {
+        var source = new DefaultObservableList<>(Arrays.asList(3, 1, 2));
+        var sorted = source.sorted(Integer::compare);
+        var recorder = new ListChangeRecorder<>(sorted);
+        assertThat(sorted).containsExactly(1, 2, 3);
+        source.add(0, 0);
+        assertThat(sorted).containsExactly(0, 1, 2, 3);
+        assertThat(recorder.getLastChanges().get(0).getFrom()).isZero();
+    }
+
+    @Test
+    public void sourceItemReplacedWithoutAffectingOrder_replacedInPlace() {
+        var source = new DefaultObservableList<>(Arrays.asList(10, 20, 30));
+        var sorted = source.sorted(Integer::compare);
+        var recorder = new ListChangeRecorder<>(sorted);
+        source.set(0, 15);
+        assertThat(recorder.getLastChanges()).hasSize(1);
+        assertThat(recorder.getLastChanges().get(0).getType()).isEqualTo(ListChangeEvent.Type.REPLACED);
+        source.set(0, 35);
+        assertThat(sorted).containsExactly(20, 30, 35);
+        assertThat(recorder.getReplica()).isEqualTo(sorted);
+    }
+
+    @Test
+    public void sourceItemsMoved_noEvent() {
+        var source = new DefaultObservableList<>(Arrays.asList(3, 1, 2));
+        var sorted = source.sorted(Integer::compare);
+        var recorder = new ListChangeRecorder<>(sorted);
+        source.move(0, 2);
+        assertThat(recorder.getEvents()).isEmpty();
+    }
+
+    @Test
+    public void randomChanges_sortedListConsistentWithSource() {
+        var random = new Random(42);
+        var source = new DefaultObservableList<Integer>();
+        var sorted = source.sorted(Integer::compare);
+        var recorder = new ListChangeRecorder<>(sorted);
+        for (int round = 0; round < 2000; ++round) {
+            var size = source.size();
+            switch (random.nextInt(3)) {
+                case 0:
+                    source.add(random.nextInt(size + 1), random.nextInt(50));
+                    break;
+                case 1:
+                    if (size > 0) {
+                        source.remove(random.nextInt(size));
+                    }
+                    break;
+                default:
+                    if (size > 0) {
+                        source.set(random.nextInt(size), random.nextInt(50));
+                    }
+            }
+            var expected = new ArrayList<>(source);
+            expected.sort(Comparator.naturalOrder());
+            assertThat(sorted).isEqualTo(expected);
+        }
+        assertThat(recorder.getReplica()).isEqualTo(sorted);
+    }
+}
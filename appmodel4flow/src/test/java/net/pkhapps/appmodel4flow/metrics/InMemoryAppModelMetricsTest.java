@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.metrics;
+
+import net.pkhapps.appmodel4flow.action.TestAction;
+import net.pkhapps.appmodel4flow.property.ComputedValue;
+import net.pkhapps.appmodel4flow.property.DefaultObservableBoolean;
+import net.pkhapps.appmodel4flow.property.DefaultObservableValue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link InMemoryAppModelMetrics}.
+ */
+public class InMemoryAppModelMetricsTest {
+
+    private InMemoryAppModelMetrics metrics;
+
+    @Before
+    public void setUp() {
+        metrics = new InMemoryAppModelMetrics();
+        AppModelMetrics.setCurrent(metrics);
+    }
+
+    @After
+    public void tearDown() {
+        AppModelMetrics.setCurrent(null);
+    }
+
+    @Test
+    public void noMetricsInstalled_disabled() {
+        AppModelMetrics.setCurrent(null);
+        assertThat(AppModelMetrics.getCurrent().isEnabled()).isFalse();
+    }
+
+    @Test
+    public void valueChanged_eventAndFanOutRecorded() {
+        var value = new DefaultObservableValue<>("hello");
+        value.addValueChangeListener(event -> {
+        });
+        value.addValueChangeListener(event -> {
+        });
+        value.setValue("world");
+        value.setValue("again");
+
+        var statistics = metrics.getEventStatistics().get(DefaultObservableValue.class.getName());
+        assertThat(statistics.getCount()).isEqualTo(2);
+        assertThat(statistics.getNotificationCount()).isEqualTo(4);
+        assertThat(statistics.getMaxListenerCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void primitiveValueChanged_primitiveAndBoxedListeners_oneEventRecordedForValue() {
+        var value = new DefaultObservableBoolean();
+        value.addBooleanChangeListener((sender, oldValue, newValue) -> {
+        });
+        value.addValueChangeListener(event -> {
+        });
+        value.setBooleanValue(true);
+
+        assertThat(metrics.getEventStatistics()).containsOnlyKeys(DefaultObservableBoolean.class.getName());
+        var statistics = metrics.getEventStatistics().get(DefaultObservableBoolean.class.getName());
+        assertThat(statistics.getCount()).isEqualTo(1);
+        assertThat(statistics.getNotificationCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void valueComputed_computationRecorded() {
+        var value = new DefaultObservableValue<>(1);
+        new ComputedValue<>(() -> value.getValue() * 2, value);
+        value.setValue(2);
+
+        var statistics = metrics.getComputationStatistics().get(ComputedValue.class.getName());
+        assertThat(statistics.getCount()).isEqualTo(2);
+        assertThat(statistics.getFailureCount()).isZero();
+        assertThat(statistics.getHistogram()).hasSize(7);
+        assertThat(statistics.getHistogram()).containsAnyOf(1L, 2L);
+    }
+
+    @Test
+    public void actionPerformed_actionRecorded() {
+        var action = new TestAction();
+        action.perform();
+
+        var statistics = metrics.getActionStatistics().get(TestAction.class.getName());
+        assertThat(statistics.getCount()).isEqualTo(1);
+        assertThat(statistics.getFailureCount()).isZero();
+    }
+
+    @Test
+    public void writeTo_statisticsWrittenAsText() {
+        new TestAction().perform();
+        var out = new StringWriter();
+        metrics.writeTo(new PrintWriter(out));
+        assertThat(out.toString()).contains("# Events", "# Computations", "# Actions", TestAction.class.getName());
+    }
+
+    @Test
+    public void reset_statisticsCleared() {
+        new TestAction().perform();
+        metrics.reset();
+        assertThat(metrics.getActionStatistics()).isEmpty();
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.model;
+
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.Command;
+import net.pkhapps.appmodel4flow.binding.PushController;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link ApplicationScopedValue}.
+ */
+public class ApplicationScopedValueTest {
+
+    private final ManualExecutor executor = new ManualExecutor();
+    private final DirectPushController pushController = new DirectPushController();
+
+    @Test
+    public void subscribe_localValueInitializedWithCurrentValue() {
+        var shared = new ApplicationScopedValue<>(executor, "hello");
+        var local = shared.subscribe(new UI(), pushController);
+        assertThat(local.getValue()).isEqualTo("hello");
+        assertThat(shared.getSubscriptionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void subscribeTwice_sameLocalValueReturned() {
+        var shared = new ApplicationScopedValue<>(executor, "hello");
+        var ui = new UI();
+        assertThat(shared.subscribe(ui, pushController)).isSameAs(shared.subscribe(ui, pushController));
+        assertThat(shared.getSubscriptionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void valueChangedSeveralTimes_oneCoalescedUpdatePerUi() {
+        var shared = new ApplicationScopedValue<>(executor, "hello");
+        var first = shared.subscribe(new UI(), pushController);
+        var second = shared.subscribe(new UI(), pushController);
+
+        shared.setValue("world");
+        shared.setValue("again");
+        assertThat(executor.tasks).hasSize(2);
+        assertThat(first.getValue()).isEqualTo("hello");
+
+        executor.runAll();
+        assertThat(first.getValue()).isEqualTo("again");
+        assertThat(second.getValue()).isEqualTo("again");
+        assertThat(pushController.pushCount).isEqualTo(2);
+
+        shared.setValue("more");
+        assertThat(executor.tasks).hasSize(2);
+    }
+
+    @Test
+    public void unsubscribe_noLongerUpdated() {
+        var shared = new ApplicationScopedValue<>(executor, "hello");
+        var ui = new UI();
+        var local = shared.subscribe(ui, pushController);
+        shared.unsubscribe(ui);
+
+        shared.setValue("world");
+        assertThat(executor.tasks).isEmpty();
+        assertThat(local.getValue()).isEqualTo("hello");
+        assertThat(shared.getSubscriptionCount()).isZero();
+    }
+
+    @Test
+    public void pushFails_uiUnsubscribedAndOthersStillUpdated() {
+        var shared = new ApplicationScopedValue<>(executor, "hello");
+        var failingUi = new TestUI();
+        shared.subscribe(failingUi, new PushController() {
+            @Override
+            protected void doPush(@Nonnull Command command, @Nullable UI ui) {
+                throw new IllegalStateException("UI is detached");
+            }
+        });
+        var other = shared.subscribe(new UI(), pushController);
+        assertThat(failingUi.hasDetachListener()).isTrue();
+
+        shared.setValue("world");
+        executor.runAll();
+        assertThat(shared.getSubscriptionCount()).isEqualTo(1);
+        assertThat(other.getValue()).isEqualTo("world");
+        assertThat(failingUi.hasDetachListener()).isFalse();
+
+        shared.setValue("again");
+        assertThat(executor.tasks).hasSize(1);
+    }
+
+    @Test
+    public void unsubscribe_detachListenerRemoved() {
+        var shared = new ApplicationScopedValue<>(executor, "hello");
+        var ui = new TestUI();
+        shared.subscribe(ui, pushController);
+        shared.unsubscribe(ui);
+        assertThat(ui.hasDetachListener()).isFalse();
+    }
+
+    private static class TestUI extends UI {
+
+        boolean hasDetachListener() {
+            return hasListener(DetachEvent.class);
+        }
+    }
+
+    private static class ManualExecutor implements Executor {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(@Nonnull Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+    }
+
+    private static class DirectPushController extends PushController {
+
+        private int pushCount;
+
+        @Override
+        protected void doPush(@Nonnull Command command, @Nullable UI ui) {
+            pushCount++;
+            command.execute();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link AsyncComputedValue}.
+ */
+public class AsyncComputedValueTest {
+
+    @Test
+    public void constructed_computationNotStartedUntilValueRequested() {
+        var executor = new ManualExecutor();
+        var name = new DefaultProperty<>("Joe");
+        var computed = new AsyncComputedValue<>(executor, () -> name.getValue().toUpperCase(), name);
+        assertThat(executor.tasks).isEmpty();
+
+        assertThat(computed.getValue()).isNull();
+        assertThat(executor.tasks).hasSize(1);
+    }
+
+    @Test
+    public void computationNotYetRun_valueNullAndComputing() {
+        var executor = new ManualExecutor();
+        var name = new DefaultProperty<>("Joe");
+        var computed = new AsyncComputedValue<>(executor, () -> name.getValue().toUpperCase(), name);
+        assertThat(computed.getValue()).isNull();
+        assertThat(computed.isComputing().getBooleanValue()).isTrue();
+    }
+
+    @Test
+    public void computationRun_valueUpdatedAndEventFired() {
+        var executor = new ManualExecutor();
+        var name = new DefaultProperty<>("Joe");
+        var computed = new AsyncComputedValue<>(executor, () -> name.getValue().toUpperCase(), name);
+        AtomicReference<ObservableValue.ValueChangeEvent<String>> event = new AtomicReference<>();
+        computed.addValueChangeListener(event::set);
+
+        executor.runAll();
+        assertThat(computed.getValue()).isEqualTo("JOE");
+        assertThat(computed.isComputing().getBooleanValue()).isFalse();
+        assertThat(event.get().getOldValue()).isNull();
+        assertThat(event.get().getValue()).isEqualTo("JOE");
+    }
+
+    @Test
+    public void dependencyChangedWhileComputing_supersededResultIgnored() {
+        var executor = new ManualExecutor();
+        var name = new DefaultProperty<>("Joe");
+        var computed = new AsyncComputedValue<>(executor, () -> name.getValue().toUpperCase(), name);
+        computed.getValue(); // Starts the first computation
+        var first = executor.take();
+        name.setValue("Smith");
+        var second = executor.take();
+
+        second.run();
+        assertThat(computed.getValue()).isEqualTo("SMITH");
+        assertThat(computed.isComputing().getBooleanValue()).isFalse();
+
+        first.run(); // Was cancelled and does not do anything
+        assertThat(computed.getValue()).isEqualTo("SMITH");
+    }
+
+    @Test
+    public void dependencyChangedWhileComputing_computingUntilLatestCompleted() {
+        var executor = new ManualExecutor();
+        var name = new DefaultProperty<>("Joe");
+        var computed = new AsyncComputedValue<>(executor, () -> name.getValue().toUpperCase(), name);
+        computed.getValue(); // Starts the first computation
+        executor.runAll();
+        name.setValue("Smith");
+        name.setValue("Cool");
+        assertThat(computed.isComputing().getBooleanValue()).isTrue();
+        assertThat(computed.getValue()).isEqualTo("JOE");
+
+        executor.runAll();
+        assertThat(computed.isComputing().getBooleanValue()).isFalse();
+        assertThat(computed.getValue()).isEqualTo("COOL");
+    }
+
+    @Test
+    public void computationFails_previousValueKept() {
+        var executor = new ManualExecutor();
+        var name = new DefaultProperty<>("Joe");
+        var computed = new AsyncComputedValue<>(executor, () -> name.getValue().toUpperCase(), name);
+        computed.getValue(); // Starts the first computation
+        executor.runAll();
+        name.setValue(null);
+        executor.runAll();
+        assertThat(computed.getValue()).isEqualTo("JOE");
+        assertThat(computed.isComputing().getBooleanValue()).isFalse();
+    }
+
+    @Test
+    public void defaultExecutor_computedInBackground() throws Exception {
+        var name = new DefaultProperty<>("Joe");
+        var latch = new CountDownLatch(1);
+        var thread = new AtomicReference<Thread>();
+        var computed = new AsyncComputedValue<>(() -> {
+            thread.set(Thread.currentThread());
+            return name.getValue().toUpperCase();
+        }, name);
+        computed.isComputing().addBooleanChangeListener((sender, oldValue, value) -> {
+            if (!value) {
+                latch.countDown();
+            }
+        });
+        if (!computed.isComputing().getBooleanValue()) {
+            latch.countDown();
+        }
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(computed.getValue()).isEqualTo("JOE");
+        assertThat(thread.get()).isNotSameAs(Thread.currentThread());
+    }
+
+    @Test
+    public void listenerWaitsForThreadThatChangesDependency_noDeadlock() {
+        var executor = new ManualExecutor();
+        var name = new DefaultProperty<>("Joe");
+        var computed = new AsyncComputedValue<>(executor, () -> name.getValue().toUpperCase(), name);
+        var otherThreadCompleted = new AtomicBoolean();
+        computed.addValueChangeListener(event -> {
+            var other = new Thread(() -> name.setValue("Smith"));
+            other.start();
+            try {
+                other.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            otherThreadCompleted.set(!other.isAlive());
+        });
+
+        executor.take().run(); // There is no current UI, so the result is delivered on this thread
+        assertThat(otherThreadCompleted).isTrue();
+        assertThat(computed.isComputing().getBooleanValue()).isTrue();
+        executor.runAll();
+        assertThat(computed.getValue()).isEqualTo("SMITH");
+    }
+
+    private static class ManualExecutor implements Executor {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        Runnable take() {
+            return tasks.remove(0);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                take().run();
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.pkhapps.appmodel4flow.property;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit test for {@link Batch}.
+ */
+public class BatchTest {
+
+    @Test
+    public void run_multipleChanges_singleCoalescedEventDeliveredAfterwards() {
+        var value = new DefaultObservableValue<>("a");
+        List<String> events = new ArrayList<>();
+        value.addValueChangeListener(event -> events.add(event.getOldValue() + "->" + event.getValue()));
+        Batch.run(() -> {
+            value.setValue("b");
+            value.setValue("c");
+            value.setValue("d");
+            assertThat(events).isEmpty();
+        });
+        assertThat(events).containsExactly("a->d");
+        assertThat(Batch.isActive()).isFalse();
+    }
+
+    @Test
+    public void run_valueChangedBackToOriginal_noEventDelivered() {
+        var value = new DefaultObservableValue<>("a");
+        List<String> events = new ArrayList<>();
+        value.addValueChangeListener(event -> events.add(event.getValue()));
+        Batch.run(() -> {
+            value.setValue("b");
+            value.setValue("a");
+        });
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    public void begin_nestedBatches_eventsDeliveredWhenOutermostIsClosed() {
+        var value = new DefaultObservableValue<>("a");
+        List<String> events = new ArrayList<>();
+        value.addValueChangeListener(event -> events.add(event.getValue()));
+        try (var outer = Batch.begin()) {
+            try (var inner = Batch.begin()) {
+                assertThat(inner).isSameAs(outer);
+                value.setValue("b");
+            }
+            assertThat(events).isEmpty();
+            assertThat(Batch.isActive()).isTrue();
+        }
+        assertThat(events).containsExactly("b");
+    }
+
+    @Test
+    public void run_computedValue_recomputedOnceAfterBatch() {
+        var first = new DefaultObservableValue<>(1);
+        var second = new DefaultObservableValue<>(2);
+        var computations = new AtomicInteger();
+        var sum = new ComputedValue<>(() -> {
+            computations.incrementAndGet();
+            return first.getValue() + second.getValue();
+        }, first, second);
+        List<Integer> events = new ArrayList<>();
+        sum.addValueChangeListener(event -> events.add(event.getValue()));
+        computations.set(0);
+        Batch.run(() -> {
+            first.setValue(10);
+            second.setValue(20);
+        });
+        assertThat(computations).hasValue(1);
+        assertThat(events).containsExactly(30);
+    }
+
+    @Test
+    public void run_primitiveValue_primitiveListenersNotifiedOnce() {
+        var value = new DefaultObservableInt(1);
+        List<String> events = new ArrayList<>();
+        value.addIntChangeListener((sender, oldValue, newValue) -> events.add(oldValue + "->" + newValue));
+        Batch.run(() -> {
+            value.setIntValue(2);
+            value.setIntValue(3);
+        });
+        assertThat(events).containsExactly("1->3");
+    }
+
+    @Test
+    public void run_listenerChangesValueDuringDelivery_changeAlsoDelivered() {
+        var source = new DefaultObservableValue<>("a");
+        var target = new DefaultObservableValue<>("");
+        source.addValueChangeListener(event -> target.setValue(event.getValue().toUpperCase()));
+        List<String> events = new ArrayList<>();
+        target.addValueChangeListener(event -> events.add(event.getValue()));
+        Batch.run(() -> source.setValue("b"));
+        assertThat(events).containsExactly("B");
+    }
+
+    @Test
+    public void runOrDefer_sameTaskDeferredManyTimes_runOnce() {
+        var runs = new AtomicInteger();
+        Runnable task = runs::incrementAndGet;
+        Batch.run(() -> {
+            Batch.runOrDefer(task);
+            Batch.runOrDefer(task);
+            assertThat(runs).hasValue(0);
+        });
+        assertThat(runs).hasValue(1);
+        Batch.runOrDefer(task);
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    public void run_commandThrowsException_eventsStillDeliveredAndBatchClosed() {
+        var value = new DefaultObservableValue<>("a");
+        List<String> events = new ArrayList<>();
+        value.addValueChangeListener(event -> events.add(event.getValue()));
+        assertThatThrownBy(() -> Batch.run(() -> {
+            value.setValue("b");
+            throw new IllegalArgumentException("expected");
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThat(events).containsExactly("b");
+        assertThat(Batch.isActive()).isFalse();
+    }
+
+    @Test
+    public void close_calledTwice_exceptionThrown() {
+        var batch = Batch.begin();
+        batch.close();
+        assertThatThrownBy(batch::close).isInstanceOf(IllegalStateException.class);
+    }
+}
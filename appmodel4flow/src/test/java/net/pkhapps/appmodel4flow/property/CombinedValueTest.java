@@ -19,7 +19,9 @@ package net.pkhapps.appmodel4flow.property;
 import net.pkhapps.appmodel4flow.property.support.Combiners;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -57,4 +59,97 @@ public class CombinedValueTest {
         assertThat(event.get().getOldValue()).isEqualTo("Hello");
         assertThat(event.get().getValue()).isEqualTo("Hello,World");
     }
+
+    @Test
+    public void incrementalCombiner_dependencyChanged_onlyChangedValueRemovedAndAdded() {
+        List<String> operations = new ArrayList<>();
+        IncrementalCombiner<Integer> combiner = () -> new IncrementalCombiner.Accumulator<>() {
+            private int sum;
+
+            @Override
+            public void add(Integer value) {
+                operations.add("+" + value);
+                sum += value;
+            }
+
+            @Override
+            public boolean remove(Integer value) {
+                operations.add("-" + value);
+                sum -= value;
+                return true;
+            }
+
+            @Override
+            public Integer getResult() {
+                return sum;
+            }
+        };
+        var value1 = new DefaultObservableValue<Integer>(1);
+        var value2 = new DefaultObservableValue<Integer>(2);
+        var value3 = new DefaultObservableValue<Integer>();
+        var combined = new CombinedValue<Integer>(combiner, value1, value2, value3);
+        assertThat(combined.getValue()).isEqualTo(3);
+        assertThat(operations).containsExactly("+1", "+2");
+        operations.clear();
+
+        value2.setValue(20);
+        assertThat(combined.getValue()).isEqualTo(21);
+        assertThat(operations).containsExactly("-2", "+20");
+        operations.clear();
+
+        value3.setValue(300);
+        value1.setValue(null);
+        assertThat(combined.getValue()).isEqualTo(320);
+        assertThat(operations).containsExactly("+300", "-1");
+    }
+
+    @Test
+    public void incrementalCombiner_sameDependencyTwice_countedTwice() {
+        var value = new DefaultObservableValue<Integer>(1);
+        var combined = new CombinedValue<Integer>(Combiners.sumOfIntegers(), value, value);
+        assertThat(combined.getValue()).isEqualTo(2);
+        value.setValue(5);
+        assertThat(combined.getValue()).isEqualTo(10);
+    }
+
+    @Test
+    public void incrementalCombiner_accumulatorCannotRemove_rebuilt() {
+        var value1 = new DefaultObservableValue<Integer>(1);
+        var value2 = new DefaultObservableValue<Integer>(2);
+        IncrementalCombiner<Integer> combiner = () -> new IncrementalCombiner.Accumulator<>() {
+            private int max = Integer.MIN_VALUE;
+
+            @Override
+            public void add(Integer value) {
+                max = Math.max(max, value);
+            }
+
+            @Override
+            public boolean remove(Integer value) {
+                return value < max;
+            }
+
+            @Override
+            public Integer getResult() {
+                return max;
+            }
+        };
+        var combined = new CombinedValue<Integer>(combiner, value1, value2);
+        value2.setValue(0);
+        assertThat(combined.getValue()).isEqualTo(1);
+    }
+
+    @Test
+    public void allTrue_manyDependencies_tracksChanges() {
+        List<ObservableValue<Boolean>> flags = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            flags.add(new DefaultObservableValue<>(true));
+        }
+        var combined = new CombinedValue<Boolean>(Combiners.allTrue(), flags);
+        assertThat(combined.getValue()).isTrue();
+        ((DefaultObservableValue<Boolean>) flags.get(42)).setValue(false);
+        assertThat(combined.getValue()).isFalse();
+        ((DefaultObservableValue<Boolean>) flags.get(42)).setValue(true);
+        assertThat(combined.getValue()).isTrue();
+    }
 }
@@ -19,6 +19,7 @@ package net.pkhapps.appmodel4flow.property;
 import org.junit.Test;
 
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -55,4 +56,101 @@ public class ComputedValueTest {
         assertThat(event.get().getOldValue()).isEqualTo("Joe Cool");
         assertThat(event.get().getValue()).isEqualTo("Joe Smith");
     }
+
+    @Test
+    public void withEquivalence_equivalentValueComputed_noEventFired() {
+        var name = new DefaultProperty<>("Joe");
+        var computed = new ComputedValue<>(() -> name.getValue().length(), name)
+                .withEquivalence((first, second) -> first % 2 == second % 2);
+        AtomicReference<ObservableValue.ValueChangeEvent<Integer>> event = new AtomicReference<>();
+        computed.addValueChangeListener(event::set);
+
+        name.setValue("Smith");
+        assertThat(event.get()).isNull();
+
+        name.setValue("Alex");
+        assertThat(event.get().getOldValue()).isEqualTo(3);
+        assertThat(event.get().getValue()).isEqualTo(4);
+    }
+
+    @Test
+    public void lazy_noListeners_computedOnlyWhenRead() {
+        var name = new DefaultProperty<>("Joe");
+        var computations = new AtomicInteger();
+        var computed = new ComputedValue<>(AbstractComputedValue.Evaluation.LAZY, () -> {
+            computations.incrementAndGet();
+            return name.getValue().toUpperCase();
+        }, name);
+        assertThat(computations).hasValue(0);
+
+        name.setValue("Cool");
+        name.setValue("Smith");
+        assertThat(computations).hasValue(0);
+
+        assertThat(computed.getValue()).isEqualTo("SMITH");
+        assertThat(computed.getValue()).isEqualTo("SMITH");
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    public void lazy_listenerAdded_recomputedOnChangeWithCorrectOldValue() {
+        var name = new DefaultProperty<>("Joe");
+        var computed = new ComputedValue<>(AbstractComputedValue.Evaluation.LAZY, () -> name.getValue().toUpperCase(),
+                name);
+        name.setValue("Cool");
+        AtomicReference<ObservableValue.ValueChangeEvent<String>> event = new AtomicReference<>();
+        computed.addValueChangeListener(event::set);
+        assertThat(event.get()).isNull();
+
+        name.setValue("Smith");
+        assertThat(event.get().getOldValue()).isEqualTo("COOL");
+        assertThat(event.get().getValue()).isEqualTo("SMITH");
+    }
+
+    @Test
+    public void lazy_chainedLazyValuesAndUnobservedMapView_computedOnlyWhenEndOfChainRead() {
+        var name = new DefaultProperty<>("Joe");
+        var computations = new AtomicInteger();
+        var upperCase = new ComputedValue<>(AbstractComputedValue.Evaluation.LAZY, () -> {
+            computations.incrementAndGet();
+            return name.getValue().toUpperCase();
+        }, name);
+        var greeting = new ComputedValue<>(AbstractComputedValue.Evaluation.LAZY, () -> {
+            computations.incrementAndGet();
+            return "Hello " + upperCase.getValue();
+        }, upperCase);
+        var length = upperCase.map(String::length);
+        assertThat(computations).hasValue(0);
+
+        for (var newName : new String[]{"Cool", "Smith", "Jane", "Doe", "Bob"}) {
+            name.setValue(newName);
+        }
+        assertThat(computations).hasValue(0);
+
+        assertThat(greeting.getValue()).isEqualTo("Hello BOB");
+        assertThat(computations).hasValue(2);
+        assertThat(length.getValue()).isEqualTo(3);
+        assertThat(computations).hasValue(2);
+
+        name.setValue("Alice");
+        assertThat(computations).hasValue(2);
+        assertThat(greeting.getValue()).isEqualTo("Hello ALICE");
+        assertThat(computations).hasValue(4);
+    }
+
+    @Test
+    public void lazy_chainedLazyValuesWithListenerAtEnd_recomputedOnChange() {
+        var name = new DefaultProperty<>("Joe");
+        var upperCase = new ComputedValue<>(AbstractComputedValue.Evaluation.LAZY, () -> name.getValue().toUpperCase(),
+                name);
+        var greeting = new ComputedValue<>(AbstractComputedValue.Evaluation.LAZY,
+                () -> "Hello " + upperCase.getValue(), upperCase);
+        var length = greeting.map(String::length);
+        AtomicReference<ObservableValue.ValueChangeEvent<Integer>> event = new AtomicReference<>();
+        length.addValueChangeListener(event::set);
+
+        name.setValue("Smith");
+        assertThat(event.get().getOldValue()).isEqualTo(9);
+        assertThat(event.get().getValue()).isEqualTo(11);
+    }
 }
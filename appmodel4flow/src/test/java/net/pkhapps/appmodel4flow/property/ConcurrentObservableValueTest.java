@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link ConcurrentObservableValue}.
+ */
+public class ConcurrentObservableValueTest {
+
+    @Test
+    public void setValue_listenerNotifiedAndVersionIncremented() {
+        var value = new ConcurrentObservableValue<>("hello");
+        AtomicReference<ObservableValue.ValueChangeEvent<String>> event = new AtomicReference<>();
+        value.addValueChangeListener(event::set);
+
+        value.setValue("world");
+        assertThat(value.getValue()).isEqualTo("world");
+        assertThat(value.getVersion()).isEqualTo(1);
+        assertThat(event.get().getOldValue()).isEqualTo("hello");
+        assertThat(event.get().getValue()).isEqualTo("world");
+    }
+
+    @Test
+    public void setValue_sameValue_noEventAndVersionUnchanged() {
+        var value = new ConcurrentObservableValue<>("hello");
+        AtomicReference<ObservableValue.ValueChangeEvent<String>> event = new AtomicReference<>();
+        value.addValueChangeListener(event::set);
+
+        value.setValue("hello");
+        assertThat(value.getVersion()).isZero();
+        assertThat(event.get()).isNull();
+    }
+
+    @Test
+    public void updateAndGet_newValueReturned() {
+        var value = new ConcurrentObservableValue<>(1);
+        assertThat(value.updateAndGet(v -> v + 1)).isEqualTo(2);
+        assertThat(value.getValue()).isEqualTo(2);
+    }
+
+    @Test
+    public void getAndUpdate_oldValueReturned() {
+        var value = new ConcurrentObservableValue<>(1);
+        assertThat(value.getAndUpdate(v -> v + 1)).isEqualTo(1);
+        assertThat(value.getValue()).isEqualTo(2);
+    }
+
+    @Test
+    public void compareAndSet_expectedValue_valueSet() {
+        var original = "hello";
+        var value = new ConcurrentObservableValue<>(original);
+        assertThat(value.compareAndSet(original, "world")).isTrue();
+        assertThat(value.getValue()).isEqualTo("world");
+    }
+
+    @Test
+    public void compareAndSet_unexpectedValue_valueNotSet() {
+        var value = new ConcurrentObservableValue<>("hello");
+        assertThat(value.compareAndSet("other", "world")).isFalse();
+        assertThat(value.getValue()).isEqualTo("hello");
+    }
+
+    @Test
+    public void listenerChangesValue_notifiedAfterReturning() {
+        var value = new ConcurrentObservableValue<>(0);
+        var events = new ArrayList<String>();
+        value.addChangeListener((sender, oldValue, newValue) -> {
+            events.add("begin " + oldValue + "->" + newValue);
+            if (newValue == 1) {
+                value.setValue(2);
+            }
+            events.add("end " + oldValue + "->" + newValue);
+        });
+        value.setValue(1);
+        assertThat(events).containsExactly("begin 0->1", "end 0->1", "begin 1->2", "end 1->2");
+    }
+
+    @Test
+    public void concurrentUpdates_allAppliedAndEventsMonotonic() throws Exception {
+        var threads = 8;
+        var updatesPerThread = 10_000;
+        var value = new ConcurrentObservableValue<>(0);
+        List<int[]> events = new ArrayList<>();
+        value.addChangeListener((sender, oldValue, newValue) -> events.add(new int[]{oldValue, newValue}));
+
+        var executor = Executors.newFixedThreadPool(threads);
+        var start = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < threads; ++i) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                    for (int j = 0; j < updatesPerThread; ++j) {
+                        value.updateAndGet(v -> v + 1);
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(value.getValue()).isEqualTo(threads * updatesPerThread);
+        assertThat(value.getVersion()).isEqualTo(threads * updatesPerThread);
+        var previous = 0;
+        for (int[] event : events) {
+            assertThat(event[0]).isEqualTo(previous);
+            assertThat(event[1]).isGreaterThan(event[0]);
+            previous = event[1];
+        }
+        assertThat(previous).isEqualTo(threads * updatesPerThread);
+    }
+}
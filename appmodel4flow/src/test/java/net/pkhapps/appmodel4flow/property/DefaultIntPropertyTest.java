@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link DefaultIntProperty}.
+ */
+public class DefaultIntPropertyTest {
+
+    @Test
+    public void dirtyFlag_trueAfterSettingValue() {
+        DefaultIntProperty property = new DefaultIntProperty();
+        property.setIntValue(123);
+        assertThat(property.isDirty().getBooleanValue()).isTrue();
+    }
+
+    @Test
+    public void dirtyFlag_falseAfterSettingValueBackToOriginal() {
+        DefaultIntProperty property = new DefaultIntProperty(1);
+        property.setIntValue(2);
+        property.setIntValue(1);
+        assertThat(property.isDirty().getBooleanValue()).isFalse();
+    }
+
+    @Test
+    public void dirtyFlag_falseAfterSettingCleanValue() {
+        DefaultIntProperty property = new DefaultIntProperty();
+        property.setCleanValue(123);
+        assertThat(property.getIntValue()).isEqualTo(123);
+        assertThat(property.isDirty().getBooleanValue()).isFalse();
+    }
+
+    @Test(expected = Property.ReadOnlyException.class)
+    public void readOnlyFlag_settingBoxedValueThrowsException() {
+        DefaultIntProperty property = new DefaultIntProperty();
+        property.setReadOnly(true);
+        property.setValue(123);
+    }
+
+    @Test
+    public void discard_flagReset_valueSetToOld() {
+        DefaultIntProperty property = new DefaultIntProperty();
+        property.setIntValue(1);
+        property.resetDirtyFlag();
+        property.setIntValue(2);
+        property.discard();
+        assertThat(property.getIntValue()).isEqualTo(1);
+        assertThat(property.isDirty().getBooleanValue()).isFalse();
+    }
+
+    @Test
+    public void map_changesInMappedPropertyAreWrittenBack() {
+        DefaultIntProperty property = new DefaultIntProperty(123);
+        WritableObservableValue<String> mappedValue = property.map(String::valueOf, Integer::parseInt);
+        mappedValue.setValue("456");
+        assertThat(property.getIntValue()).isEqualTo(456);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link DefaultObservableBoolean}.
+ */
+public class DefaultObservableBooleanTest {
+
+    @Test
+    public void defaultConstructor() {
+        DefaultObservableBoolean value = new DefaultObservableBoolean();
+        assertThat(value.getBooleanValue()).isFalse();
+        assertThat(value.getValue()).isFalse();
+        assertThat(value.hasValue()).isTrue();
+    }
+
+    @Test
+    public void setBooleanValue_differentValue_primitiveListenerNotified() {
+        DefaultObservableBoolean value = new DefaultObservableBoolean();
+        List<String> changes = new ArrayList<>();
+        value.addBooleanChangeListener((sender, oldValue, newValue) -> {
+            assertThat(sender).isSameAs(value);
+            changes.add(oldValue + "->" + newValue);
+        });
+        value.setBooleanValue(true);
+        value.setBooleanValue(false);
+        assertThat(changes).containsExactly("false->true", "true->false");
+    }
+
+    @Test
+    public void setBooleanValue_sameValue_noListenersNotified() {
+        DefaultObservableBoolean value = new DefaultObservableBoolean(true);
+        AtomicReference<ObservableValue.ValueChangeEvent<Boolean>> event = new AtomicReference<>();
+        List<Boolean> changes = new ArrayList<>();
+        value.addValueChangeListener(event::set);
+        value.addBooleanChangeListener((sender, oldValue, newValue) -> changes.add(newValue));
+        value.setBooleanValue(true);
+        assertThat(event.get()).isNull();
+        assertThat(changes).isEmpty();
+    }
+
+    @Test
+    public void setValue_boxedListenerNotified() {
+        DefaultObservableBoolean value = new DefaultObservableBoolean();
+        AtomicReference<ObservableValue.ValueChangeEvent<Boolean>> event = new AtomicReference<>();
+        value.addValueChangeListener(event::set);
+        value.setValue(true);
+        assertThat(value.getBooleanValue()).isTrue();
+        assertThat(event.get().getSender()).isSameAs(value);
+        assertThat(event.get().getOldValue()).isFalse();
+        assertThat(event.get().getValue()).isTrue();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void setValue_null_exceptionThrown() {
+        new DefaultObservableBoolean().setValue(null);
+    }
+
+    @Test
+    public void map_changesToOriginalAreObservedInMappedValue() {
+        DefaultObservableBoolean value = new DefaultObservableBoolean();
+        ObservableValue<String> mappedValue = value.map(String::valueOf);
+        value.setBooleanValue(true);
+        assertThat(mappedValue.getValue()).isEqualTo("true");
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link DefaultObservableDouble}.
+ */
+public class DefaultObservableDoubleTest {
+
+    @Test
+    public void setDoubleValue_differentValue_primitiveListenerNotified() {
+        DefaultObservableDouble value = new DefaultObservableDouble();
+        List<String> changes = new ArrayList<>();
+        value.addDoubleChangeListener((sender, oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+        value.setDoubleValue(1.5);
+        assertThat(value.getValue()).isEqualTo(1.5);
+        assertThat(changes).containsExactly("0.0->1.5");
+    }
+
+    @Test
+    public void setDoubleValue_nanTwice_listenerNotifiedOnce() {
+        DefaultObservableDouble value = new DefaultObservableDouble();
+        List<Double> changes = new ArrayList<>();
+        value.addDoubleChangeListener((sender, oldValue, newValue) -> changes.add(newValue));
+        value.setDoubleValue(Double.NaN);
+        value.setDoubleValue(Double.NaN);
+        assertThat(changes).hasSize(1);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link DefaultObservableInt}.
+ */
+public class DefaultObservableIntTest {
+
+    @Test
+    public void defaultConstructor() {
+        DefaultObservableInt value = new DefaultObservableInt();
+        assertThat(value.getIntValue()).isEqualTo(0);
+        assertThat(value.getValue()).isEqualTo(0);
+    }
+
+    @Test
+    public void setIntValue_differentValue_allListenersNotified() {
+        DefaultObservableInt value = new DefaultObservableInt(1);
+        List<String> changes = new ArrayList<>();
+        AtomicReference<ObservableValue.ValueChangeEvent<Integer>> event = new AtomicReference<>();
+        value.addIntChangeListener((sender, oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+        value.addValueChangeListener(event::set);
+        value.setIntValue(1000);
+        assertThat(changes).containsExactly("1->1000");
+        assertThat(event.get().getOldValue()).isEqualTo(1);
+        assertThat(event.get().getValue()).isEqualTo(1000);
+    }
+
+    @Test
+    public void setIntValue_sameValue_noListenersNotified() {
+        DefaultObservableInt value = new DefaultObservableInt(1000);
+        List<Integer> changes = new ArrayList<>();
+        value.addIntChangeListener((sender, oldValue, newValue) -> changes.add(newValue));
+        value.setIntValue(1000);
+        assertThat(changes).isEmpty();
+    }
+
+    @Test
+    public void setIntValue_fromListener_ignored() {
+        DefaultObservableInt value = new DefaultObservableInt();
+        value.addIntChangeListener((sender, oldValue, newValue) -> value.setIntValue(newValue + 1));
+        value.setIntValue(1);
+        assertThat(value.getIntValue()).isEqualTo(1);
+    }
+
+    @Test
+    public void setIntValue_fromListenerDuringBatch_otherListenersSeeDeliveredChange() {
+        DefaultObservableInt value = new DefaultObservableInt();
+        List<String> changes = new ArrayList<>();
+        value.addIntChangeListener((sender, oldValue, newValue) -> {
+            if (newValue == 5) {
+                value.setIntValue(6);
+            }
+        });
+        value.addIntChangeListener((sender, oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+        Batch.run(() -> {
+            value.setIntValue(2);
+            value.setIntValue(5);
+        });
+        assertThat(changes).containsExactly("0->5", "5->6");
+        assertThat(value.getIntValue()).isEqualTo(6);
+    }
+}
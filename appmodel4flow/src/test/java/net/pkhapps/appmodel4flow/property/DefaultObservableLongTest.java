@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link DefaultObservableLong}.
+ */
+public class DefaultObservableLongTest {
+
+    @Test
+    public void setLongValue_differentValue_primitiveListenerNotified() {
+        DefaultObservableLong value = new DefaultObservableLong();
+        List<String> changes = new ArrayList<>();
+        value.addLongChangeListener((sender, oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+        value.setLongValue(Long.MAX_VALUE);
+        assertThat(value.getValue()).isEqualTo(Long.MAX_VALUE);
+        assertThat(changes).containsExactly("0->" + Long.MAX_VALUE);
+    }
+}
@@ -16,8 +16,10 @@
 
 package net.pkhapps.appmodel4flow.property;
 
+import net.pkhapps.appmodel4flow.property.support.Equivalences;
 import org.junit.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -63,6 +65,88 @@ public class DefaultObservableValueTest {
         assertThat(event.get()).isNull();
     }
 
+    @Test
+    public void setValue_identityEquivalence_equalInstanceFiresEvent() {
+        DefaultObservableValue<String> value = new DefaultObservableValue<>("hello")
+                .withEquivalence(Equivalences.identity());
+        AtomicReference<ObservableValue.ValueChangeEvent> event = new AtomicReference<>();
+        value.addValueChangeListener(event::set);
+        value.setValue(new String("hello"));
+        assertThat(event.get()).isNotNull();
+    }
+
+    @Test
+    public void setValue_customEquivalence_equivalentValueIgnored() {
+        DefaultObservableValue<String> value = new DefaultObservableValue<>("hello")
+                .withEquivalence((first, second) -> first != null && first.equalsIgnoreCase(second));
+        AtomicReference<ObservableValue.ValueChangeEvent> event = new AtomicReference<>();
+        value.addValueChangeListener(event::set);
+        value.setValue("HELLO");
+        assertThat(value.getValue()).isEqualTo("hello");
+        assertThat(event.get()).isNull();
+    }
+
+    @Test
+    public void addChangeListener_differentValues_listenerNotifiedWithValues() {
+        DefaultObservableValue<String> value = new DefaultObservableValue<>("hello");
+        AtomicReference<ObservableValue<String>> sender = new AtomicReference<>();
+        AtomicReference<String> oldValue = new AtomicReference<>();
+        AtomicReference<String> newValue = new AtomicReference<>();
+        value.addChangeListener((s, old, v) -> {
+            sender.set(s);
+            oldValue.set(old);
+            newValue.set(v);
+        });
+        value.setValue("world");
+        assertThat(sender.get()).isSameAs(value);
+        assertThat(oldValue.get()).isEqualTo("hello");
+        assertThat(newValue.get()).isEqualTo("world");
+    }
+
+    @Test
+    public void addInvalidationListener_differentValues_listenerNotified() {
+        DefaultObservableValue<String> value = new DefaultObservableValue<>();
+        AtomicReference<ObservableValue<?>> sender = new AtomicReference<>();
+        value.addInvalidationListener(sender::set);
+        value.setValue("hello");
+        assertThat(sender.get()).isSameAs(value);
+    }
+
+    @Test
+    public void addInvalidationListener_registrationRemoved_listenerNotNotified() {
+        DefaultObservableValue<String> value = new DefaultObservableValue<>();
+        AtomicInteger count = new AtomicInteger();
+        value.addInvalidationListener(sender -> count.incrementAndGet()).remove();
+        value.setValue("hello");
+        assertThat(count.get()).isZero();
+    }
+
+    @Test
+    public void setValue_severalValueChangeListeners_sameEventDeliveredToAll() {
+        DefaultObservableValue<String> value = new DefaultObservableValue<>();
+        AtomicReference<ObservableValue.ValueChangeEvent> first = new AtomicReference<>();
+        AtomicReference<ObservableValue.ValueChangeEvent> second = new AtomicReference<>();
+        AtomicInteger changes = new AtomicInteger();
+        value.addValueChangeListener(first::set);
+        value.addChangeListener((s, old, v) -> changes.incrementAndGet());
+        value.addValueChangeListener(second::set);
+        value.setValue("hello");
+        assertThat(first.get()).isNotNull().isSameAs(second.get());
+        assertThat(changes.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void setValue_listenerChangesValueOfAnotherValue_eachListenerSeesOwnValues() {
+        DefaultObservableValue<String> first = new DefaultObservableValue<>();
+        DefaultObservableValue<String> second = new DefaultObservableValue<>();
+        AtomicReference<String> lastSeenByFirst = new AtomicReference<>();
+        first.addChangeListener((s, old, v) -> second.setValue(v + "!"));
+        first.addChangeListener((s, old, v) -> lastSeenByFirst.set(v));
+        first.setValue("hello");
+        assertThat(second.getValue()).isEqualTo("hello!");
+        assertThat(lastSeenByFirst.get()).isEqualTo("hello");
+    }
+
     @Test
     public void map_changesToOriginalAreObservedInMappedValue() {
         DefaultObservableValue<Integer> value = new DefaultObservableValue<>(123);
@@ -75,6 +159,73 @@ public class DefaultObservableValueTest {
         assertThat(event.get().getValue()).isEqualTo("456");
     }
 
+    @Test
+    public void map_valueReadRepeatedly_mapFunctionInvokedOncePerSourceValue() {
+        DefaultObservableValue<Integer> value = new DefaultObservableValue<>(123);
+        AtomicInteger invocations = new AtomicInteger();
+        ObservableValue<String> mappedValue = value.map(v -> {
+            invocations.incrementAndGet();
+            return String.valueOf(v);
+        });
+        assertThat(mappedValue.getValue()).isEqualTo("123");
+        assertThat(mappedValue.getValue()).isEqualTo("123");
+        assertThat(invocations).hasValue(1);
+        value.setValue(456);
+        assertThat(mappedValue.getValue()).isEqualTo("456");
+        assertThat(mappedValue.getValue()).isEqualTo("456");
+        assertThat(invocations).hasValue(2);
+    }
+
+    @Test
+    public void map_sourceReturnsEqualInstances_mapFunctionInvokedOnce() {
+        DefaultObservableInt value = new DefaultObservableInt(123456);
+        AtomicInteger invocations = new AtomicInteger();
+        ObservableValue<String> mappedValue = value.map(v -> {
+            invocations.incrementAndGet();
+            return String.valueOf(v);
+        });
+        assertThat(mappedValue.getValue()).isEqualTo("123456");
+        assertThat(mappedValue.getValue()).isEqualTo("123456");
+        assertThat(invocations).hasValue(1);
+    }
+
+    @Test
+    public void map_withListener_onlyNewValueMapped() {
+        DefaultObservableValue<Integer> value = new DefaultObservableValue<>(123);
+        AtomicInteger invocations = new AtomicInteger();
+        ObservableValue<String> mappedValue = value.map(v -> {
+            invocations.incrementAndGet();
+            return String.valueOf(v);
+        });
+        AtomicReference<ObservableValue.ValueChangeEvent> event = new AtomicReference<>();
+        mappedValue.addValueChangeListener(event::set);
+        value.setValue(456);
+        invocations.set(0);
+        value.setValue(789);
+        assertThat(invocations).hasValue(1);
+        assertThat(event.get().getOldValue()).isEqualTo("456");
+        assertThat(event.get().getValue()).isEqualTo("789");
+    }
+
+    @Test
+    public void map_withoutOldValueMapping_mostRecentlyMappedValueUsedAsOldValue() {
+        DefaultObservableValue<Integer> value = new DefaultObservableValue<>(123);
+        AtomicInteger invocations = new AtomicInteger();
+        ObservableValue<String> mappedValue = value.map(v -> {
+            invocations.incrementAndGet();
+            return String.valueOf(v);
+        }, false);
+        assertThat(mappedValue.getValue()).isEqualTo("123");
+        value.setValue(456);
+        AtomicReference<ObservableValue.ValueChangeEvent> event = new AtomicReference<>();
+        mappedValue.addValueChangeListener(event::set);
+        invocations.set(0);
+        value.setValue(789);
+        assertThat(invocations).hasValue(1);
+        assertThat(event.get().getOldValue()).isEqualTo("123");
+        assertThat(event.get().getValue()).isEqualTo("789");
+    }
+
     @Test
     public void withEmptyCheck() {
         DefaultObservableValue<String> value = new DefaultObservableValue<String>().withEmptyCheck(String::isEmpty);
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link FlagSet}.
+ */
+public class FlagSetTest {
+
+    private static final int FIRST = 1;
+    private static final int SECOND = 1 << 1;
+    private static final int LAST = 1 << 31;
+
+    @Test
+    public void initialFlags_set() {
+        var flags = new FlagSet(FIRST | LAST);
+        assertThat(flags.isSet(FIRST)).isTrue();
+        assertThat(flags.isSet(SECOND)).isFalse();
+        assertThat(flags.isSet(LAST)).isTrue();
+    }
+
+    @Test
+    public void set_otherFlagsUnchanged() {
+        var flags = new FlagSet(FIRST);
+        flags.set(SECOND, true);
+        flags.set(FIRST, false);
+        assertThat(flags.isSet(FIRST)).isFalse();
+        assertThat(flags.isSet(SECOND)).isTrue();
+    }
+
+    @Test
+    public void observe_sameViewReturnedWithCurrentValue() {
+        var flags = new FlagSet(LAST);
+        var view = flags.observe(LAST);
+        assertThat(view.getBooleanValue()).isTrue();
+        assertThat(flags.observe(LAST)).isSameAs(view);
+    }
+
+    @Test
+    public void set_viewListenersNotified() {
+        var flags = new FlagSet(0);
+        var changes = new ArrayList<Boolean>();
+        flags.observe(SECOND).addBooleanChangeListener((sender, oldValue, value) -> changes.add(value));
+        flags.set(SECOND, true);
+        flags.set(SECOND, true);
+        flags.set(FIRST, true);
+        flags.set(SECOND, false);
+        assertThat(changes).containsExactly(true, false);
+        assertThat(flags.observe(SECOND).getBooleanValue()).isFalse();
+    }
+
+    @Test
+    public void set_flagListenersNotifiedOfChangedFlags() {
+        var flags = new FlagSet(0);
+        var changes = new ArrayList<String>();
+        var registration = flags.addFlagListener((flag, value) -> changes.add(flag + "=" + value));
+        flags.set(SECOND, true);
+        flags.set(SECOND, true);
+        flags.set(FIRST, true);
+        registration.remove();
+        flags.set(FIRST, false);
+        assertThat(changes).containsExactly("2=true", "1=true");
+    }
+
+    @Test
+    public void setThroughView_flagSet() {
+        var flags = new FlagSet(0);
+        ((DefaultObservableBoolean) flags.observe(FIRST)).setBooleanValue(true);
+        assertThat(flags.isSet(FIRST)).isTrue();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void observe_severalBits_exceptionThrown() {
+        new FlagSet(0).observe(FIRST | SECOND);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.pkhapps.appmodel4flow.property;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit test for {@link Propagation}.
+ */
+public class PropagationTest {
+
+    @Test
+    public void diamond_sourceChanged_bottomRecomputedOnceWithConsistentValues() {
+        var a = new DefaultObservableValue<>(1);
+        var b = new ComputedValue<>(() -> a.getValue() + 1, a);
+        var c = new ComputedValue<>(() -> a.getValue() * 10, a);
+        var computations = new AtomicInteger();
+        var d = new ComputedValue<>(() -> {
+            computations.incrementAndGet();
+            return b.getValue() + "/" + c.getValue();
+        }, b, c);
+        List<String> events = new ArrayList<>();
+        d.addValueChangeListener(event -> events.add(event.getValue()));
+        computations.set(0);
+
+        a.setValue(2);
+
+        assertThat(computations).hasValue(1);
+        assertThat(events).containsExactly("3/20");
+    }
+
+    @Test
+    public void heights_computedFromDependencies() {
+        var a = new DefaultObservableValue<>(1);
+        var b = new ComputedValue<>(a::getValue, a);
+        var mapped = b.map(value -> value * 2);
+        var c = new ComputedValue<>(mapped::getValue, mapped, a);
+        assertThat(a.getHeight()).isEqualTo(0);
+        assertThat(b.getHeight()).isEqualTo(1);
+        assertThat(Propagation.heightOf(mapped)).isEqualTo(1);
+        assertThat(c.getHeight()).isEqualTo(2);
+    }
+
+    @Test
+    public void deepGraph_sourceChanged_everyNodeRecomputedOnce() {
+        // Every layer consists of two nodes that both depend on both nodes of the previous layer. Without scheduling,
+        // the number of recomputations would grow exponentially with the number of layers.
+        var layers = 10;
+        var source = new DefaultObservableValue<>(0);
+        var computations = new AtomicInteger();
+        ObservableValue<Integer> left = new ComputedValue<>(source::getValue, source);
+        ObservableValue<Integer> right = new ComputedValue<>(() -> -source.getValue(), source);
+        for (int i = 0; i < layers; ++i) {
+            var previousLeft = left;
+            var previousRight = right;
+            left = new ComputedValue<>(() -> {
+                computations.incrementAndGet();
+                return previousLeft.getValue() + previousRight.getValue();
+            }, previousLeft, previousRight);
+            right = new ComputedValue<>(() -> {
+                computations.incrementAndGet();
+                return previousLeft.getValue() - previousRight.getValue();
+            }, previousLeft, previousRight);
+        }
+        var result = left;
+        computations.set(0);
+
+        source.setValue(1);
+
+        assertThat(computations).hasValue(2 * layers);
+        int expectedLeft = 1, expectedRight = -1;
+        for (int i = 0; i < layers; ++i) {
+            var previousLeft = expectedLeft;
+            expectedLeft = previousLeft + expectedRight;
+            expectedRight = previousLeft - expectedRight;
+        }
+        assertThat(result.getValue()).isEqualTo(expectedLeft);
+    }
+
+    @Test
+    public void listener_readsScheduledComputedValue_valueRecomputedOnDemand() {
+        var a = new DefaultObservableValue<>(1);
+        var b = new ComputedValue<>(() -> a.getValue() + 1, a);
+        var c = new ComputedValue<>(() -> a.getValue() * 10, a);
+        List<Integer> observed = new ArrayList<>();
+        b.addValueChangeListener(event -> observed.add(c.getValue()));
+
+        a.setValue(2);
+
+        assertThat(observed).containsExactly(20);
+    }
+
+    @Test
+    public void recomputationFails_otherValuesStillRecomputedAndNextPropagationUnaffected() {
+        var a = new DefaultObservableValue<>(1);
+        var failing = new ComputedValue<>(() -> {
+            if (a.getValue() == 2) {
+                throw new IllegalStateException("Failed to compute");
+            }
+            return a.getValue();
+        }, a);
+        var b = new ComputedValue<>(() -> a.getValue() * 10, a);
+        List<Integer> failingValues = new ArrayList<>();
+        List<Integer> bValues = new ArrayList<>();
+        failing.addValueChangeListener(event -> failingValues.add(event.getValue()));
+        b.addValueChangeListener(event -> bValues.add(event.getValue()));
+
+        assertThatThrownBy(() -> a.setValue(2)).isInstanceOf(IllegalStateException.class);
+        assertThat(bValues).containsExactly(20);
+
+        a.setValue(3);
+        assertThat(failingValues).containsExactly(3);
+        assertThat(bValues).containsExactly(20, 30);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link RateLimitedObservableValue}.
+ */
+public class RateLimitedObservableValueTest {
+
+    private static final Duration PERIOD = Duration.ofMillis(100);
+
+    @Test
+    public void initialValue_sameAsSource() {
+        var source = new DefaultObservableValue<>("a");
+        assertThat(source.debounce(PERIOD).getValue()).isEqualTo("a");
+        assertThat(source.throttle(PERIOD).getValue()).isEqualTo("a");
+        assertThat(source.sample(PERIOD).getValue()).isEqualTo("a");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroPeriod_exceptionThrown() {
+        new DefaultObservableValue<>("a").debounce(Duration.ZERO);
+    }
+
+    @Test
+    public void debounce_rapidChanges_onlyLatestValueTakenAfterPeriod() throws Exception {
+        var source = new DefaultObservableValue<>("a");
+        var debounced = source.debounce(PERIOD);
+        var listener = new RecordingListener(1);
+        debounced.addChangeListener(listener);
+
+        source.setValue("b");
+        source.setValue("c");
+        source.setValue("d");
+        assertThat(debounced.getValue()).isEqualTo("a");
+
+        listener.await();
+        assertThat(debounced.getValue()).isEqualTo("d");
+        Thread.sleep(PERIOD.toMillis() * 2);
+        assertThat(listener.values).containsExactly("d");
+    }
+
+    @Test
+    public void throttle_firstChangeTakenImmediatelyAndLatestAtEndOfPeriod() throws Exception {
+        var source = new DefaultObservableValue<>("a");
+        var throttled = source.throttle(PERIOD);
+        var listener = new RecordingListener(2);
+        throttled.addChangeListener(listener);
+
+        source.setValue("b");
+        assertThat(throttled.getValue()).isEqualTo("b");
+        source.setValue("c");
+        source.setValue("d");
+        assertThat(throttled.getValue()).isEqualTo("b");
+
+        listener.await();
+        assertThat(listener.values).containsExactly("b", "d");
+    }
+
+    @Test
+    public void sample_latestValueTakenAtEndOfPeriod() throws Exception {
+        var source = new DefaultObservableValue<>("a");
+        var sampled = source.sample(PERIOD);
+        var listener = new RecordingListener(1);
+        sampled.addChangeListener(listener);
+
+        source.setValue("b");
+        source.setValue("c");
+        assertThat(sampled.getValue()).isEqualTo("a");
+
+        listener.await();
+        assertThat(listener.values).containsExactly("c");
+    }
+
+    @Test
+    public void debounce_changedBackToOriginalValue_noEvent() throws Exception {
+        var source = new DefaultObservableValue<>("a");
+        var debounced = source.debounce(PERIOD);
+        var listener = new RecordingListener(1);
+        debounced.addChangeListener(listener);
+
+        source.setValue("b");
+        source.setValue("a");
+        assertThat(listener.latch.await(PERIOD.toMillis() * 3, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(listener.values).isEmpty();
+    }
+
+    private static class RecordingListener implements ObservableValue.ChangeListener<String> {
+
+        private final List<String> values = new CopyOnWriteArrayList<>();
+        private final CountDownLatch latch;
+
+        RecordingListener(int expectedChanges) {
+            latch = new CountDownLatch(expectedChanges);
+        }
+
+        @Override
+        public void valueChanged(ObservableValue<String> sender, String oldValue, String value) {
+            values.add(value);
+            latch.countDown();
+        }
+
+        void await() throws InterruptedException {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link TrackingComputedValue}.
+ */
+@SuppressWarnings("Convert2Diamond") // IntelliJ does not work properly with the 'var' keyword and the diamond operator.
+public class TrackingComputedValueTest {
+
+    @Test
+    public void initialComputedValue_dependenciesRecorded() {
+        var firstName = new DefaultProperty<>("Joe");
+        var lastName = new DefaultProperty<>("Cool");
+        var computed = new TrackingComputedValue<>(() -> firstName.getValue() + " " + lastName.getValue());
+        assertThat(computed.getValue()).isEqualTo("Joe Cool");
+        assertThat(computed.getDependencies()).containsExactlyInAnyOrder(firstName, lastName);
+    }
+
+    @Test
+    public void dependencyChanged_valueRecomputedAndListenersNotified() {
+        var firstName = new DefaultProperty<>("Joe");
+        var lastName = new DefaultProperty<>("Cool");
+        var computed = new TrackingComputedValue<String>(() -> firstName.getValue() + " " + lastName.getValue());
+        AtomicReference<ObservableValue.ValueChangeEvent<String>> event = new AtomicReference<>();
+        computed.addValueChangeListener(event::set);
+
+        lastName.setValue("Smith");
+        assertThat(computed.getValue()).isEqualTo("Joe Smith");
+        assertThat(event.get().getOldValue()).isEqualTo("Joe Cool");
+        assertThat(event.get().getValue()).isEqualTo("Joe Smith");
+    }
+
+    @Test
+    public void branch_unusedDependencyChanged_notRecomputed() {
+        var condition = new DefaultObservableValue<>(true);
+        var whenTrue = new DefaultObservableValue<>("a");
+        var whenFalse = new DefaultObservableValue<>("b");
+        var computations = new AtomicInteger();
+        var computed = new TrackingComputedValue<String>(() -> {
+            computations.incrementAndGet();
+            return condition.getValue() ? whenTrue.getValue() : whenFalse.getValue();
+        });
+        assertThat(computed.getDependencies()).containsExactlyInAnyOrder(condition, whenTrue);
+        assertThat(computations.get()).isEqualTo(1);
+
+        whenFalse.setValue("c");
+        assertThat(computations.get()).isEqualTo(1);
+
+        condition.setValue(false);
+        assertThat(computations.get()).isEqualTo(2);
+        assertThat(computed.getValue()).isEqualTo("c");
+        assertThat(computed.getDependencies()).containsExactlyInAnyOrder(condition, whenFalse);
+
+        whenTrue.setValue("d");
+        assertThat(computations.get()).isEqualTo(2);
+
+        whenFalse.setValue("e");
+        assertThat(computations.get()).isEqualTo(3);
+        assertThat(computed.getValue()).isEqualTo("e");
+    }
+
+    @Test
+    public void nestedComputedValue_onlyComputedValueRecorded() {
+        var value = new DefaultObservableValue<>(1);
+        var doubled = new ComputedValue<>(() -> value.getValue() * 2, value);
+        var mapped = value.map(v -> v * 3);
+        var computed = new TrackingComputedValue<>(() -> doubled.getValue() + mapped.getValue());
+        assertThat(computed.getValue()).isEqualTo(5);
+        assertThat(computed.getDependencies()).containsExactlyInAnyOrder(doubled, mapped);
+
+        value.setValue(2);
+        assertThat(computed.getValue()).isEqualTo(10);
+    }
+
+    @Test
+    public void primitiveDependency_recorded() {
+        var value = new DefaultObservableInt(1);
+        var computed = new TrackingComputedValue<>(() -> value.getIntValue() + 1);
+        assertThat(computed.getDependencies()).containsExactly(value);
+
+        value.setIntValue(2);
+        assertThat(computed.getValue()).isEqualTo(3);
+    }
+
+    @Test
+    public void lazyEvaluation_notRecomputedUntilRead() {
+        var value = new DefaultObservableValue<>(1);
+        var computations = new AtomicInteger();
+        var computed = new TrackingComputedValue<Integer>(AbstractComputedValue.Evaluation.LAZY, () -> {
+            computations.incrementAndGet();
+            return value.getValue() + 1;
+        });
+        assertThat(computed.getValue()).isEqualTo(2);
+        assertThat(computations.get()).isEqualTo(1);
+
+        value.setValue(2);
+        value.setValue(3);
+        assertThat(computations.get()).isEqualTo(1);
+        assertThat(computed.getValue()).isEqualTo(4);
+        assertThat(computations.get()).isEqualTo(2);
+    }
+}
@@ -16,6 +16,7 @@
 
 package net.pkhapps.appmodel4flow.property.support;
 
+import net.pkhapps.appmodel4flow.property.IncrementalCombiner;
 import org.junit.Test;
 
 import java.util.stream.Stream;
@@ -66,4 +67,50 @@ public class CombinersTest {
         assertThat(Combiners.joinStrings(",").apply(Stream.of("A", "B", "C"))).isEqualTo("A,B,C");
         assertThat(Combiners.joinStrings(",").apply(Stream.empty())).isEmpty();
     }
+
+    @Test
+    public void sumOfIntegers() {
+        assertThat(Combiners.sumOfIntegers().apply(Stream.of(1, 2, 3))).isEqualTo(6);
+        assertThat(Combiners.sumOfIntegers().apply(Stream.empty())).isEqualTo(0);
+    }
+
+    @Test
+    public void sumOfLongs() {
+        assertThat(Combiners.sumOfLongs().apply(Stream.of(1L, 2L, 3L))).isEqualTo(6L);
+        assertThat(Combiners.sumOfLongs().apply(Stream.empty())).isEqualTo(0L);
+    }
+
+    @Test
+    public void min() {
+        assertThat(Combiners.<Integer>min().apply(Stream.of(3, 1, 2))).isEqualTo(1);
+        assertThat(Combiners.<Integer>min().apply(Stream.empty())).isNull();
+    }
+
+    @Test
+    public void max() {
+        assertThat(Combiners.<Integer>max().apply(Stream.of(3, 1, 2))).isEqualTo(3);
+        assertThat(Combiners.<Integer>max().apply(Stream.empty())).isNull();
+    }
+
+    @Test
+    public void allTrue_accumulator_valuesAddedAndRemoved() {
+        var accumulator = ((IncrementalCombiner<Boolean>) Combiners.allTrue()).createAccumulator();
+        accumulator.add(true);
+        accumulator.add(false);
+        assertThat(accumulator.getResult()).isFalse();
+        assertThat(accumulator.remove(false)).isTrue();
+        assertThat(accumulator.getResult()).isTrue();
+    }
+
+    @Test
+    public void min_accumulator_duplicateValuesAddedAndRemoved() {
+        var accumulator = Combiners.<Integer>min().createAccumulator();
+        accumulator.add(1);
+        accumulator.add(1);
+        accumulator.add(2);
+        accumulator.remove(1);
+        assertThat(accumulator.getResult()).isEqualTo(1);
+        accumulator.remove(1);
+        assertThat(accumulator.getResult()).isEqualTo(2);
+    }
 }
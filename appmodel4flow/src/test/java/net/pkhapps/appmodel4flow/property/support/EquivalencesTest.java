@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.pkhapps.appmodel4flow.property.support;
+
+import net.pkhapps.appmodel4flow.property.Equivalence;
+import net.pkhapps.appmodel4flow.selection.DefaultSelection;
+import net.pkhapps.appmodel4flow.selection.Selection;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link Equivalences}.
+ */
+public class EquivalencesTest {
+
+    @Test
+    public void equality() {
+        Equivalence<String> equivalence = Equivalences.equality();
+        assertThat(equivalence.isEquivalent(new String("hello"), "hello")).isTrue();
+        assertThat(equivalence.isEquivalent("hello", "world")).isFalse();
+        assertThat(equivalence.isEquivalent(null, null)).isTrue();
+        assertThat(equivalence.isEquivalent("hello", null)).isFalse();
+    }
+
+    @Test
+    public void identity() {
+        Equivalence<String> equivalence = Equivalences.identity();
+        var value = "hello";
+        assertThat(equivalence.isEquivalent(value, value)).isTrue();
+        assertThat(equivalence.isEquivalent(new String("hello"), value)).isFalse();
+        assertThat(equivalence.isEquivalent(null, null)).isTrue();
+        assertThat(equivalence.isEquivalent(value, null)).isFalse();
+    }
+
+    @Test
+    public void identity_immutableSelections_equalButReplacedSelectionNotEquivalent() {
+        Equivalence<Selection<String>> equivalence = Equivalences.identity();
+        var selection = new DefaultSelection<>(List.of("a", "b"));
+        assertThat(equivalence.isEquivalent(selection, selection)).isTrue();
+        assertThat(equivalence.isEquivalent(selection, new DefaultSelection<>(List.of("a", "b")))).isFalse();
+    }
+
+    @Test
+    public void hashedEquality() {
+        Equivalence<List<String>> equivalence = Equivalences.hashedEquality();
+        assertThat(equivalence.isEquivalent(new ArrayList<>(List.of("a", "b")), List.of("a", "b"))).isTrue();
+        assertThat(equivalence.isEquivalent(List.of("a", "b"), List.of("b", "a"))).isFalse();
+        assertThat(equivalence.isEquivalent(null, null)).isTrue();
+        assertThat(equivalence.isEquivalent(List.of(), null)).isFalse();
+        assertThat(equivalence.isEquivalent(null, List.of())).isFalse();
+    }
+
+    @Test
+    public void versionStamp() {
+        Equivalence<Versioned> equivalence = Equivalences.versionStamp(Versioned::getVersion);
+        var first = new Versioned(1);
+        assertThat(equivalence.isEquivalent(first, first)).isTrue();
+        assertThat(equivalence.isEquivalent(first, new Versioned(1))).isTrue();
+        assertThat(equivalence.isEquivalent(first, new Versioned(2))).isFalse();
+        assertThat(equivalence.isEquivalent(null, null)).isTrue();
+        assertThat(equivalence.isEquivalent(first, null)).isFalse();
+    }
+
+    private static class Versioned {
+
+        private final long version;
+
+        Versioned(long version) {
+            this.version = version;
+        }
+
+        long getVersion() {
+            return version;
+        }
+    }
+}
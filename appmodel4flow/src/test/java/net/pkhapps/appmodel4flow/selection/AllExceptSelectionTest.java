@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.pkhapps.appmodel4flow.selection;
+
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.ListDataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.function.SerializablePredicate;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link AllExceptSelection}.
+ */
+public class AllExceptSelectionTest {
+
+    private ListDataProvider<String> dataProvider;
+
+    @Before
+    public void setUp() {
+        dataProvider = DataProvider.ofItems("a", "b", "c", "d");
+    }
+
+    @Test
+    public void allItems() {
+        var selection = new AllExceptSelection<>(dataProvider);
+        assertThat(selection.size()).isEqualTo(4);
+        assertThat(selection.isEmpty()).isFalse();
+        assertThat(selection.contains("c")).isTrue();
+        assertThat(selection.stream()).containsExactly("a", "b", "c", "d");
+    }
+
+    @Test
+    public void excludedItems_notContained() {
+        var selection = new AllExceptSelection<>(dataProvider, List.of("b", "d"));
+        assertThat(selection.size()).isEqualTo(2);
+        assertThat(selection.contains("b")).isFalse();
+        assertThat(selection.contains("c")).isTrue();
+        assertThat(selection.stream()).containsExactly("a", "c");
+        assertThat(selection.getFirst()).contains("a");
+    }
+
+    @Test
+    public void includingAndExcluding_returnNewSelections() {
+        var selection = new AllExceptSelection<>(dataProvider, List.of("b"));
+        var excluded = selection.excluding(Set.of("a"));
+        var included = excluded.including(Set.of("b"));
+        assertThat(selection.getExcludedItems()).containsExactly("b");
+        assertThat(excluded.getExcludedItems()).containsExactlyInAnyOrder("a", "b");
+        assertThat(included.getExcludedItems()).containsExactly("a");
+    }
+
+    @Test
+    public void emptyDataProvider_empty() {
+        var selection = new AllExceptSelection<>(DataProvider.<String>ofItems());
+        assertThat(selection.isEmpty()).isTrue();
+        assertThat(selection.size()).isZero();
+        assertThat(selection.getFirst()).isEmpty();
+        assertThat(selection.stream()).isEmpty();
+    }
+
+    @Test
+    public void allExcluded_empty() {
+        var selection = new AllExceptSelection<>(dataProvider, List.of("a", "b", "c", "d"));
+        assertThat(selection.isEmpty()).isTrue();
+        assertThat(selection.stream()).isEmpty();
+    }
+
+    @Test
+    public void isEmpty_queriesDataProviderSize() {
+        var sizeQueries = new AtomicInteger();
+        var countingDataProvider = new ListDataProvider<>(List.of("a", "b")) {
+            @Override
+            public int size(Query<String, SerializablePredicate<String>> query) {
+                sizeQueries.incrementAndGet();
+                return super.size(query);
+            }
+        };
+        assertThat(new AllExceptSelection<>(countingDataProvider).isEmpty()).isFalse();
+        assertThat(sizeQueries).hasValue(1);
+        assertThat(new AllExceptSelection<>(countingDataProvider, List.of("a")).isEmpty()).isFalse();
+        assertThat(sizeQueries).hasValue(2);
+    }
+
+    @Test
+    public void equalsAndHashCode() {
+        var selection = new AllExceptSelection<>(dataProvider, List.of("a", "b"));
+        assertThat(selection).isEqualTo(new AllExceptSelection<>(dataProvider, List.of("b", "a")));
+        assertThat(selection.hashCode())
+                .isEqualTo(new AllExceptSelection<>(dataProvider, List.of("b", "a")).hashCode());
+        assertThat(selection).isNotEqualTo(new AllExceptSelection<>(dataProvider, List.of("a")));
+        assertThat(selection).isNotEqualTo(new AllExceptSelection<>(DataProvider.ofItems("a", "b", "c", "d"),
+                List.of("a", "b")));
+    }
+}
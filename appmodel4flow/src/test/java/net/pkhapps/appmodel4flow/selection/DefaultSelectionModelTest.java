@@ -16,9 +16,15 @@
 
 package net.pkhapps.appmodel4flow.selection;
 
+import com.vaadin.flow.data.provider.DataProvider;
+import net.pkhapps.appmodel4flow.property.Batch;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 
@@ -70,6 +76,16 @@ public class DefaultSelectionModelTest {
         assertThat(listenerFired).isFalse();
     }
 
+    @Test
+    public void select_sameItemsAgain_noEventFired() {
+        var model = new DefaultSelectionModel<String>();
+        model.select(Arrays.asList("hello", "world"));
+        var listenerFired = new AtomicBoolean(false);
+        model.addValueChangeListener(event -> listenerFired.set(true));
+        model.select(Arrays.asList("hello", "world"));
+        assertThat(listenerFired).isFalse();
+    }
+
     @Test
     public void map_oneWay() {
         var model = new DefaultSelectionModel<String>();
@@ -93,4 +109,187 @@ public class DefaultSelectionModelTest {
 
         assertThat(model.getSelection().stream()).containsExactly("Hello", "World");
     }
+
+    @Test
+    public void add_itemsAppendedOnce() {
+        var model = new DefaultSelectionModel<String>();
+        model.selectOne("hello");
+        model.add(Arrays.asList("hello", "world", "world"));
+        assertThat(model.getSelection()).containsExactly("hello", "world");
+    }
+
+    @Test
+    public void remove_unselectedItemsIgnored() {
+        var model = new DefaultSelectionModel<String>();
+        model.select(Arrays.asList("hello", "world"));
+        var listenerFired = new AtomicBoolean(false);
+        model.addValueChangeListener(event -> listenerFired.set(true));
+        model.remove(Set.of("foo"));
+        assertThat(listenerFired).isFalse();
+        model.remove(Set.of("hello", "foo"));
+        assertThat(model.getSelection()).containsExactly("world");
+    }
+
+    @Test
+    public void toggle() {
+        var model = new DefaultSelectionModel<String>();
+        model.toggle("hello");
+        assertThat(model.getSelection()).containsExactly("hello");
+        model.toggle("hello");
+        assertThat(model.getSelection()).isEmpty();
+    }
+
+    @Test
+    public void selectionChangeListener_addAndRemove_deltaReported() {
+        var model = new DefaultSelectionModel<String>();
+        model.select(Arrays.asList("a", "b"));
+        List<SelectionChangeEvent<String>> events = new ArrayList<>();
+        model.addSelectionChangeListener(events::add);
+
+        model.add(Set.of("c"));
+        model.remove(Set.of("a"));
+
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).getAddedItems()).containsExactly("c");
+        assertThat(events.get(0).getRemovedItems()).isEmpty();
+        assertThat(events.get(1).getAddedItems()).isEmpty();
+        assertThat(events.get(1).getRemovedItems()).containsExactly("a");
+        assertThat(events.get(1).getSelection()).containsExactly("b", "c");
+    }
+
+    @Test
+    public void selectionChangeListener_batch_deltasCombined() {
+        var model = new DefaultSelectionModel<String>();
+        model.select(Arrays.asList("a", "b"));
+        List<SelectionChangeEvent<String>> events = new ArrayList<>();
+        model.addSelectionChangeListener(events::add);
+
+        Batch.run(() -> {
+            model.toggle("c");
+            model.toggle("a");
+            model.toggle("d");
+            model.toggle("c");
+        });
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getAddedItems()).containsExactly("d");
+        assertThat(events.get(0).getRemovedItems()).containsExactly("a");
+    }
+
+    @Test
+    public void selectionChangeListener_select_deltaComputed() {
+        var model = new DefaultSelectionModel<String>();
+        model.select(Arrays.asList("a", "b"));
+        List<SelectionChangeEvent<String>> events = new ArrayList<>();
+        model.addSelectionChangeListener(events::add);
+
+        model.select(Arrays.asList("b", "c"));
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getOldSelection()).containsExactly("a", "b");
+        assertThat(events.get(0).getAddedItems()).containsExactly("c");
+        assertThat(events.get(0).getRemovedItems()).containsExactly("a");
+    }
+
+    @Test
+    public void allExceptSelection_addAndRemove_staysCompact() {
+        var dataProvider = DataProvider.ofItems("a", "b", "c", "d");
+        var model = new DefaultSelectionModel<String>();
+        model.setValue(new AllExceptSelection<>(dataProvider));
+        List<SelectionChangeEvent<String>> events = new ArrayList<>();
+        model.addSelectionChangeListener(events::add);
+
+        model.remove(Set.of("b", "c"));
+        model.add(Set.of("c"));
+
+        assertThat(model.getSelection()).isInstanceOf(AllExceptSelection.class);
+        assertThat(((AllExceptSelection<String>) model.getSelection()).getExcludedItems()).containsExactly("b");
+        assertThat(model.getSelection()).containsExactly("a", "c", "d");
+        assertThat(events.get(1).getAddedItems()).containsExactly("c");
+    }
+
+    @Test
+    public void allExceptSelection_replaced_deltaComputedFromExcludedItems() {
+        var dataProvider = DataProvider.ofItems("a", "b", "c", "d");
+        var model = new DefaultSelectionModel<String>();
+        model.setValue(new AllExceptSelection<>(dataProvider, List.of("a")));
+        List<SelectionChangeEvent<String>> events = new ArrayList<>();
+        model.addSelectionChangeListener(events::add);
+
+        model.setValue(new AllExceptSelection<>(dataProvider, List.of("b")));
+
+        assertThat(events.get(0).getAddedItems()).containsExactly("a");
+        assertThat(events.get(0).getRemovedItems()).containsExactly("b");
+    }
+
+    @Test
+    public void rangeSelection_addAndRemove_staysCompact() {
+        var source = List.of("a", "b", "c", "d", "e");
+        var model = new DefaultSelectionModel<String>();
+        model.setValue(new RangeSelection<>(source, 1, 3));
+        List<SelectionChangeEvent<String>> events = new ArrayList<>();
+        model.addSelectionChangeListener(events::add);
+
+        model.add(Set.of("d"));
+        model.remove(Set.of("b"));
+        model.setValue(((RangeSelection<String>) model.getSelection()).withRange(0, 5));
+
+        assertThat(model.getSelection()).isEqualTo(new RangeSelection<>(source, 0, 5));
+        assertThat(events).hasSize(3);
+        assertThat(events.get(0).getAddedItems()).containsExactly("d");
+        assertThat(events.get(1).getRemovedItems()).containsExactly("b");
+        assertThat(events.get(2).getAddedItems()).containsExactly("a", "b", "e");
+    }
+
+    @Test
+    public void rangeSelection_addRemoveAndToggle_sourceScannedOncePerCall() {
+        var source = new ScanCountingList(List.of("a", "b", "c", "d", "e", "f"));
+        var model = new DefaultSelectionModel<String>();
+        model.setValue(new RangeSelection<>(source, 0, 1));
+
+        model.add(List.of("c", "b", "e", "a"));
+        assertThat(source.scans).isEqualTo(1);
+        model.remove(List.of("e", "f"));
+        assertThat(source.scans).isEqualTo(2);
+        model.toggle("d");
+        assertThat(source.scans).isEqualTo(3);
+
+        assertThat(model.getSelection()).isEqualTo(new RangeSelection<>(source, 0, 4));
+    }
+
+    @Test
+    public void rangeSelection_itemNotInSource_selectionExpanded() {
+        var source = List.of("a", "b", "c");
+        var model = new DefaultSelectionModel<String>();
+        model.setValue(new RangeSelection<>(source, 0, 2));
+
+        model.add(List.of("b", "x", "c"));
+
+        assertThat(model.getSelection()).isInstanceOf(DefaultSelection.class);
+        assertThat(model.getSelection()).containsExactly("a", "b", "x", "c");
+    }
+
+    /**
+     * List that counts how many times it has been scanned for items.
+     */
+    private static class ScanCountingList extends ArrayList<String> {
+
+        private int scans;
+
+        ScanCountingList(List<String> items) {
+            super(items);
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            scans++;
+            return super.indexOf(o);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            scans++;
+            return super.iterator();
+        }
+    }
 }
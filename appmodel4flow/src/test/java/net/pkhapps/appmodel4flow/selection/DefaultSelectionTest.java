@@ -20,6 +20,8 @@ import org.junit.Test;
 
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -40,6 +42,15 @@ public class DefaultSelectionTest {
         assertThat(firstSelection).isNotEqualTo(null);
     }
 
+    @Test
+    public void equals_differentItems_notEqual() {
+        var firstSelection = new DefaultSelection<>(List.of("hello", "world"));
+        var secondSelection = new DefaultSelection<>(List.of("world", "hello"));
+
+        assertThat(firstSelection).isNotEqualTo(secondSelection);
+        assertThat(firstSelection).isNotEqualTo(new DefaultSelection<>("hello"));
+    }
+
     @Test
     public void isEmpty_emptySelection_returnsTrue() {
         var emptySelection = new DefaultSelection<>();
@@ -70,4 +81,20 @@ public class DefaultSelectionTest {
         var iterator = selection.iterator();
         iterator.remove();
     }
+
+    @Test
+    public void contains_smallSelection() {
+        var selection = new DefaultSelection<>(List.of("hello", "world"));
+        assertThat(selection.contains("world")).isTrue();
+        assertThat(selection.contains("foo")).isFalse();
+        assertThat(selection.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void contains_largeSelection() {
+        var selection = new DefaultSelection<>(IntStream.range(0, 1000).boxed().collect(Collectors.toList()));
+        assertThat(selection.contains(999)).isTrue();
+        assertThat(selection.contains(1000)).isFalse();
+        assertThat(selection.size()).isEqualTo(1000);
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.pkhapps.appmodel4flow.selection;
+
+import net.pkhapps.appmodel4flow.property.Batch;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link IdSelectionModel}.
+ */
+public class IdSelectionModelTest {
+
+    private final List<Object> loadedIds = new ArrayList<>();
+    private IdSelectionModel<String> model;
+
+    @Before
+    public void setUp() {
+        model = new IdSelectionModel<>(item -> item.toUpperCase(Locale.ROOT), requestedIds -> {
+            loadedIds.addAll(requestedIds);
+            return requestedIds.stream().map(id -> id.toString().toLowerCase(Locale.ROOT));
+        });
+    }
+
+    @Test
+    public void select_onlyIdsStored() {
+        model.select(Arrays.asList("a", "b"));
+        assertThat(model.getIdSelection().getIds()).containsExactly("A", "B");
+        assertThat(model.getSelection().contains("b")).isTrue();
+        assertThat(loadedIds).isEmpty();
+        assertThat(model.getSelection()).containsExactly("a", "b");
+    }
+
+    @Test
+    public void selectIds_sameIdsAgain_noEventFired() {
+        model.selectIds(Arrays.asList("A", "B"));
+        var events = new ArrayList<Object>();
+        model.addValueChangeListener(events::add);
+        model.selectIds(Arrays.asList("A", "B"));
+        assertThat(events).isEmpty();
+        model.selectIds(Arrays.asList("B", "A"));
+        assertThat(events).hasSize(1);
+    }
+
+    @Test
+    public void setValue_otherSelectionConvertedToIds() {
+        model.setValue(new DefaultSelection<>(Arrays.asList("a", "c")));
+        assertThat(model.getValue()).isInstanceOf(IdSelection.class);
+        assertThat(model.getIdSelection().getIds()).containsExactly("A", "C");
+        model.setValue(null);
+        assertThat(model.getSelection().isEmpty()).isTrue();
+    }
+
+    @Test
+    public void addIdsAndRemoveIds() {
+        model.selectIds(Set.of("A"));
+        model.addIds(Arrays.asList("B", "A"));
+        model.removeIds(Set.of("A", "C"));
+        assertThat(model.getIdSelection().getIds()).containsExactly("B");
+    }
+
+    @Test
+    public void toggle() {
+        model.toggle("a");
+        assertThat(model.getIdSelection().getIds()).containsExactly("A");
+        model.toggle("a");
+        assertThat(model.getSelection().isEmpty()).isTrue();
+    }
+
+    @Test
+    public void selectionChangeListener_idsReportedWithoutLoading() {
+        model.selectIds(Arrays.asList("A", "B"));
+        var events = new ArrayList<IdSelectionChangeEvent<String>>();
+        model.addSelectionChangeListener(event -> events.add((IdSelectionChangeEvent<String>) event));
+
+        model.addIds(Set.of("C"));
+        model.selectIds(Arrays.asList("B", "C", "D"));
+
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).getAddedIds()).containsExactly("C");
+        assertThat(events.get(0).getRemovedIds()).isEmpty();
+        assertThat(events.get(1).getAddedIds()).containsExactly("D");
+        assertThat(events.get(1).getRemovedIds()).containsExactly("A");
+        assertThat(loadedIds).isEmpty();
+
+        assertThat(events.get(1).getAddedItems()).containsExactly("d");
+        assertThat(loadedIds).containsExactly("D");
+    }
+
+    @Test
+    public void selectionChangeListener_changesInBatchCombined() {
+        model.selectIds(Arrays.asList("A", "B"));
+        var events = new ArrayList<IdSelectionChangeEvent<String>>();
+        model.addSelectionChangeListener(event -> events.add((IdSelectionChangeEvent<String>) event));
+
+        Batch.run(() -> {
+            model.addIds(Set.of("C"));
+            model.removeIds(Set.of("A"));
+            model.removeIds(Set.of("C"));
+        });
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getAddedIds()).isEmpty();
+        assertThat(events.get(0).getRemovedIds()).containsExactly("A");
+    }
+}
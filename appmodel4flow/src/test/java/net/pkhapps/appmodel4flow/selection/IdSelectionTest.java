@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.pkhapps.appmodel4flow.selection;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link IdSelection}.
+ */
+public class IdSelectionTest {
+
+    private final List<Object> loadedIds = new ArrayList<>();
+
+    private IdSelection<String> createSelection(Object... ids) {
+        return new IdSelection<>(Arrays.asList(ids), item -> item.toUpperCase(Locale.ROOT), requestedIds -> {
+            loadedIds.addAll(requestedIds);
+            return requestedIds.stream().map(id -> id.toString().toLowerCase(Locale.ROOT));
+        });
+    }
+
+    @Test
+    public void sizeAndContains_nothingLoaded() {
+        var selection = createSelection("A", "B");
+        assertThat(selection.size()).isEqualTo(2);
+        assertThat(selection.isEmpty()).isFalse();
+        assertThat(selection.contains("a")).isTrue();
+        assertThat(selection.contains("c")).isFalse();
+        assertThat(selection.containsId("B")).isTrue();
+        assertThat(loadedIds).isEmpty();
+    }
+
+    @Test
+    public void stream_itemsLoadedOnDemand() {
+        var selection = createSelection("A", "B");
+        assertThat(selection.stream()).containsExactly("a", "b");
+        assertThat(loadedIds).containsExactly("A", "B");
+    }
+
+    @Test
+    public void getFirst_onlyFirstItemLoaded() {
+        var selection = createSelection("A", "B");
+        assertThat(selection.getFirst()).contains("a");
+        assertThat(loadedIds).containsExactly("A");
+    }
+
+    @Test
+    public void empty_nothingLoaded() {
+        var selection = createSelection();
+        assertThat(selection.getFirst()).isEmpty();
+        assertThat(selection.stream()).isEmpty();
+        assertThat(loadedIds).isEmpty();
+    }
+
+    @Test
+    public void equalsAndHashCode_comparesIdsInOrder() {
+        assertThat(createSelection("A", "B")).isEqualTo(createSelection("A", "B"));
+        assertThat(createSelection("A", "B").hashCode()).isEqualTo(createSelection("A", "B").hashCode());
+        assertThat(createSelection("A", "B")).isNotEqualTo(createSelection("B", "A"));
+        assertThat(createSelection("A", "B")).isNotEqualTo(createSelection("A"));
+    }
+
+    @Test
+    public void withoutIdsAndWithAddedIds_removedIdAddedAgain_movedToEnd() {
+        var selection = createSelection("A", "B", "C").withoutIds(List.of("A")).withAddedIds(List.of("D", "A"));
+        assertThat(selection.getIds()).containsExactly("B", "C", "D", "A");
+        assertThat(selection.size()).isEqualTo(4);
+        assertThat(selection.containsId("A")).isTrue();
+        assertThat(selection).isEqualTo(createSelection("B", "C", "D", "A"));
+        assertThat(selection.hashCode()).isEqualTo(createSelection("B", "C", "D", "A").hashCode());
+
+        var removedAgain = selection.withoutIds(List.of("A", "D"));
+        assertThat(removedAgain.getIds()).containsExactly("B", "C");
+        assertThat(removedAgain.containsId("A")).isFalse();
+        assertThat(selection.getIds()).containsExactly("B", "C", "D", "A");
+    }
+
+    @Test
+    public void withAddedIds_manySingleAdditions_idsInSelectionOrder() {
+        var selection = createSelection();
+        var expected = new ArrayList<Object>();
+        for (var i = 0; i < 200; ++i) {
+            selection = selection.withAddedIds(List.of(i));
+            expected.add(i);
+            if (i % 3 == 0) {
+                selection = selection.withoutIds(List.of(i / 2));
+                expected.remove((Object) (i / 2));
+            }
+        }
+        assertThat(selection.getIds()).containsExactlyElementsOf(expected);
+        assertThat(selection.size()).isEqualTo(expected.size());
+        assertThat(selection).isEqualTo(createSelection(expected.toArray()));
+        assertThat(loadedIds).isEmpty();
+    }
+
+    @Test
+    public void serializeAndDeserialize_sharedIds_idsRestored() throws Exception {
+        ItemLoader<String> loader = ids -> ids.stream().map(Object::toString);
+        var selection = new IdSelection<String>(List.of("A", "B"), item -> item, loader).withoutIds(List.of("A"))
+                .withAddedIds(List.of("C"));
+
+        var bos = new ByteArrayOutputStream();
+        var oos = new ObjectOutputStream(bos);
+        oos.writeObject(selection);
+
+        var bis = new ByteArrayInputStream(bos.toByteArray());
+        var ois = new ObjectInputStream(bis);
+        @SuppressWarnings("unchecked")
+        var selectionAfterSerialization = (IdSelection<String>) ois.readObject();
+
+        assertThat(selectionAfterSerialization.getIds()).containsExactly("B", "C");
+        assertThat(selectionAfterSerialization).isEqualTo(selection);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2018 the original authors (see project POM file)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.pkhapps.appmodel4flow.selection;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit test for {@link RangeSelection}.
+ */
+public class RangeSelectionTest {
+
+    private final List<Integer> source = IntStream.range(0, 20).boxed().collect(Collectors.toList());
+
+    @Test
+    public void singleRange() {
+        var selection = new RangeSelection<>(source, 3, 6);
+        assertThat(selection.size()).isEqualTo(3);
+        assertThat(selection.contains(3)).isTrue();
+        assertThat(selection.contains(6)).isFalse();
+        assertThat(selection.stream()).containsExactly(3, 4, 5);
+        assertThat(selection.getFirst()).contains(3);
+    }
+
+    @Test
+    public void withRange_overlappingAndAdjacentRangesMerged() {
+        var selection = new RangeSelection<>(source, 2, 4)
+                .withRange(10, 12)
+                .withRange(4, 6)
+                .withRange(5, 11)
+                .withRange(15, 16);
+        assertThat(selection.indices()).containsExactly(2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 15);
+        assertThat(selection).isEqualTo(new RangeSelection<>(source, 2, 12).withRange(15, 16));
+    }
+
+    @Test
+    public void withoutRange_rangesSplitAndTrimmed() {
+        var selection = new RangeSelection<>(source, 0, 10)
+                .withoutRange(3, 5)
+                .withoutRange(8, 15);
+        assertThat(selection.indices()).containsExactly(0, 1, 2, 5, 6, 7);
+        assertThat(selection.containsIndex(2)).isTrue();
+        assertThat(selection.containsIndex(3)).isFalse();
+        assertThat(selection.containsIndex(5)).isTrue();
+        assertThat(selection.containsIndex(8)).isFalse();
+        assertThat(selection.size()).isEqualTo(6);
+    }
+
+    @Test
+    public void empty() {
+        var selection = new RangeSelection<>(source);
+        assertThat(selection.isEmpty()).isTrue();
+        assertThat(selection.size()).isZero();
+        assertThat(selection.contains(1)).isFalse();
+        assertThat(selection.getFirst()).isEmpty();
+        assertThat(selection.withRange(1, 3).withoutRange(0, 5).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void sourceShrunk_rangesBeyondEndIgnored() {
+        var shrinking = new ArrayList<>(source);
+        var selection = new RangeSelection<>(shrinking, 2, 4).withRange(8, 12).withRange(15, 18);
+        shrinking.subList(10, shrinking.size()).clear();
+        assertThat(selection.size()).isEqualTo(4);
+        assertThat(selection.stream()).containsExactly(2, 3, 8, 9);
+        assertThat(selection.indices()).containsExactly(2, 3, 8, 9);
+        assertThat(selection.containsIndex(11)).isFalse();
+
+        shrinking.subList(2, shrinking.size()).clear();
+        assertThat(selection.isEmpty()).isTrue();
+        assertThat(selection.size()).isZero();
+        assertThat(selection.getFirst()).isEmpty();
+        assertThat(selection.stream()).isEmpty();
+    }
+
+    @Test
+    public void indicesNotIn() {
+        var selection = new RangeSelection<>(source, 0, 10);
+        var other = new RangeSelection<>(source, 2, 4).withRange(8, 12);
+        assertThat(selection.indicesNotIn(other)).containsExactly(0, 1, 4, 5, 6, 7);
+        assertThat(other.indicesNotIn(selection)).containsExactly(10, 11);
+    }
+}
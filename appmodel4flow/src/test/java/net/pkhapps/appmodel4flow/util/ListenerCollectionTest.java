@@ -21,6 +21,7 @@ import com.vaadin.flow.shared.Registration;
 import org.junit.Test;
 
 import java.io.*;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
@@ -52,6 +53,26 @@ public class ListenerCollectionTest {
         assertThat(receivedEvent.get()).isEqualTo("hello");
     }
 
+    @SuppressWarnings("UnusedAssignment")
+    @Test
+    public void addWeakListener_listenerGarbageCollected_collectionStillGarbageCollectable() throws Exception {
+        ListenerCollection<String> collection = new ListenerCollection<>();
+        AtomicReference<String> receivedEvent = new AtomicReference<>();
+        SerializableConsumer<String> listener = receivedEvent::set;
+        collection.addWeakListener(listener);
+        WeakReference<ListenerCollection<String>> collectionReference = new WeakReference<>(collection);
+
+        listener = null;
+        System.gc();
+        Thread.sleep(100); // Give the cleared reference time to be enqueued
+        collection = null;
+        for (int i = 0; i < 10 && collectionReference.get() != null; ++i) {
+            System.gc();
+        }
+
+        assertThat(collectionReference.get()).isNull();
+    }
+
     @Test
     public void addListener_listenerRemovableFromRegistrationHandle() {
         ListenerCollection<String> collection = new ListenerCollection<>();
@@ -71,6 +92,77 @@ public class ListenerCollectionTest {
         assertThat(collection.containsListeners()).isFalse();
     }
 
+    @Test
+    public void fireEvent_listenerAddedDuringFiring_notNotifiedUntilNextEvent() {
+        ListenerCollection<String> collection = new ListenerCollection<>();
+        List<String> receivedEvents = new ArrayList<>();
+        SerializableConsumer<String> secondListener = event -> receivedEvents.add("second:" + event);
+        collection.addListener(event -> {
+            receivedEvents.add("first:" + event);
+            collection.addListener(secondListener);
+        });
+
+        collection.fireEvent("hello");
+        assertThat(receivedEvents).containsExactly("first:hello");
+
+        collection.fireEvent("world");
+        assertThat(receivedEvents).containsExactly("first:hello", "first:world", "second:world");
+    }
+
+    @Test
+    public void fireEvent_listenerRemovedDuringFiring_stillNotifiedOfCurrentEvent() {
+        ListenerCollection<String> collection = new ListenerCollection<>();
+        List<String> receivedEvents = new ArrayList<>();
+        AtomicReference<Registration> secondRegistration = new AtomicReference<>();
+        collection.addListener(event -> {
+            receivedEvents.add("first:" + event);
+            secondRegistration.get().remove();
+        });
+        secondRegistration.set(collection.addListener(event -> receivedEvents.add("second:" + event)));
+
+        collection.fireEvent("hello");
+        assertThat(receivedEvents).containsExactly("first:hello", "second:hello");
+
+        collection.fireEvent("world");
+        assertThat(receivedEvents).containsExactly("first:hello", "second:hello", "first:world");
+    }
+
+    @Test
+    public void addListener_sameListenerAsStrongAndWeak_notifiedOnce() {
+        ListenerCollection<String> collection = new ListenerCollection<>();
+        List<String> receivedEvents = new ArrayList<>();
+        SerializableConsumer<String> listener = receivedEvents::add;
+        collection.addListener(listener);
+        collection.addWeakListener(listener);
+
+        collection.fireEvent("hello");
+        assertThat(receivedEvents).containsExactly("hello");
+    }
+
+    @Test
+    public void addListener_sameListenerAsStrongAndWeak_strongRegistrationRemoved_stillNotifiedThroughWeak() {
+        ListenerCollection<String> collection = new ListenerCollection<>();
+        List<String> receivedEvents = new ArrayList<>();
+        SerializableConsumer<String> listener = receivedEvents::add;
+        collection.addWeakListener(listener);
+        collection.addListener(listener).remove();
+
+        collection.fireEvent("hello");
+        assertThat(receivedEvents).containsExactly("hello");
+    }
+
+    @Test
+    public void addWeakListener_sameListenerTwice_notifiedOnce() {
+        ListenerCollection<String> collection = new ListenerCollection<>();
+        List<String> receivedEvents = new ArrayList<>();
+        SerializableConsumer<String> listener = receivedEvents::add;
+        collection.addWeakListener(listener);
+        collection.addWeakListener(listener);
+
+        collection.fireEvent("hello");
+        assertThat(receivedEvents).containsExactly("hello");
+    }
+
     @Test
     public void serializeAndDeserializeWithWeakListeners() throws Exception {
         var testObject = new SerializationTestObject();